@@ -0,0 +1,161 @@
+package yehor.epam.actions;
+
+import org.slf4j.Logger;
+import yehor.epam.entities.User;
+import yehor.epam.utilities.LoggerManager;
+
+import java.util.*;
+
+import static yehor.epam.utilities.constants.CommandConstants.*;
+
+/**
+ * Immutable table of commands accessible by each role, compiled once.
+ * Every command gets an index shared with CommandFactory, role permissions are bit sets of the indexes
+ */
+public final class CommandAccessTable {
+    private static final Logger logger = LoggerManager.getLogger(CommandAccessTable.class);
+    /**
+     * All known commands, position in the list is the command index
+     */
+    private static final List<String> COMMANDS = List.of(
+            COMMAND_VIEW_MAIN_PAGE, COMMAND_VIEW_SCHEDULE_PAGE, COMMAND_VIEW_ERROR_PAGE,
+            COMMAND_VIEW_LOGIN_PAGE, COMMAND_LOGIN, COMMAND_VIEW_REGISTER_PAGE, COMMAND_REGISTER, COMMAND_LOGOUT,
+            COMMAND_VIEW_PROFILE_PAGE,
+            COMMAND_VIEW_ADD_FILM_PAGE, COMMAND_ADD_FILM, COMMAND_VIEW_FILMS_SETTING_PAGE, COMMAND_VIEW_FILM_PAGE_PAGE,
+            COMMAND_DELETE_FILM,
+            COMMAND_VIEW_ADD_SESSION_PAGE, COMMAND_ADD_SESSION, COMMAND_VIEW_SESSIONS_SETTING_PAGE,
+            COMMAND_VIEW_SESSION_PAGE, COMMAND_VIEW_SESSION_INFO_PAGE, COMMAND_DELETE_SESSION,
+            COMMAND_VIEW_BUY_TICKET_PAGE, COMMAND_BUY_TICKET, COMMAND_VIEW_SUCCESS_PAY_PAGE,
+            COMMAND_SEND_MAIL, COMMAND_SEND_TICKET_VIA_MAIL, COMMAND_DOWNLOAD_PDF_TICKET, COMMAND_EXPORT_TICKETS
+    );
+    /**
+     * Index of empty command, it is the main page
+     */
+    private static final int DEFAULT_INDEX = 0;
+    /**
+     * Role names as they are stored in session or cookies
+     */
+    private static final Map<String, User.Role> ROLES_BY_NAME = new HashMap<>();
+
+    static {
+        for (User.Role role : User.Role.values()) {
+            ROLES_BY_NAME.put(role.toString(), role);
+        }
+    }
+
+    private final Map<String, Integer> indexByCommand;
+    private final Map<User.Role, BitSet> accessByRole = new EnumMap<>(User.Role.class);
+
+    private CommandAccessTable() {
+        final Map<String, Integer> indexes = new HashMap<>();
+        for (int i = 0; i < COMMANDS.size(); i++) {
+            indexes.put(COMMANDS.get(i), i);
+        }
+        indexByCommand = Collections.unmodifiableMap(indexes);
+        initGuestAccess();
+        initUserAccess();
+        initAdminAccess();
+        logger.info("CommandAccessTable was compiled for {} commands", COMMANDS.size());
+    }
+
+    private static final class CommandAccessTableHolder {
+        private static final CommandAccessTable commandAccessTable = new CommandAccessTable();
+    }
+
+    /**
+     * Get application-wide CommandAccessTable
+     *
+     * @return CommandAccessTable
+     */
+    public static CommandAccessTable getInstance() {
+        return CommandAccessTableHolder.commandAccessTable;
+    }
+
+    /**
+     * Get role from session attribute value
+     *
+     * @param value Role or its name, may be null
+     * @return role, GUEST for null or unknown value
+     */
+    public static User.Role toRole(Object value) {
+        if (value instanceof User.Role) return (User.Role) value;
+        if (value == null) return User.Role.GUEST;
+        return ROLES_BY_NAME.getOrDefault(value.toString(), User.Role.GUEST);
+    }
+
+    /**
+     * Get number of known commands
+     *
+     * @return size of command index
+     */
+    public int size() {
+        return COMMANDS.size();
+    }
+
+    /**
+     * Get index of the command
+     *
+     * @param command command name, null or empty for main page
+     * @return index or -1 if command is unknown
+     */
+    public int indexOf(String command) {
+        if (command == null || command.isEmpty()) return DEFAULT_INDEX;
+        return indexByCommand.getOrDefault(command, -1);
+    }
+
+    /**
+     * Check if the role can execute the command
+     *
+     * @param role    user role
+     * @param command command name, null or empty for main page
+     * @return true if allowed, false for unknown command
+     */
+    public boolean isAllowed(User.Role role, String command) {
+        final int index = indexOf(command);
+        return index >= 0 && accessByRole.get(role).get(index);
+    }
+
+    private void allow(User.Role role, String... commands) {
+        final BitSet access = accessByRole.computeIfAbsent(role, r -> new BitSet(COMMANDS.size()));
+        for (String command : commands) {
+            final Integer index = indexByCommand.get(command);
+            if (index == null) throw new IllegalStateException("Command isn't registered in access table: " + command);
+            access.set(index);
+        }
+    }
+
+    /**
+     * init GUEST accessible commands
+     */
+    private void initGuestAccess() {
+        allow(User.Role.GUEST, COMMAND_VIEW_ERROR_PAGE, COMMAND_VIEW_MAIN_PAGE, COMMAND_VIEW_SCHEDULE_PAGE,
+                COMMAND_VIEW_SESSION_PAGE, COMMAND_VIEW_FILM_PAGE_PAGE);
+        allow(User.Role.GUEST, COMMAND_VIEW_LOGIN_PAGE, COMMAND_LOGIN, COMMAND_REGISTER, COMMAND_VIEW_REGISTER_PAGE);
+    }
+
+    /**
+     * init USER accessible commands
+     */
+    private void initUserAccess() {
+        allow(User.Role.USER, COMMAND_VIEW_ERROR_PAGE, COMMAND_VIEW_MAIN_PAGE, COMMAND_VIEW_SCHEDULE_PAGE,
+                COMMAND_VIEW_SESSION_PAGE, COMMAND_VIEW_FILM_PAGE_PAGE);
+        allow(User.Role.USER, COMMAND_LOGOUT);
+        allow(User.Role.USER, COMMAND_VIEW_PROFILE_PAGE, COMMAND_VIEW_BUY_TICKET_PAGE, COMMAND_BUY_TICKET,
+                COMMAND_VIEW_SUCCESS_PAY_PAGE);
+        allow(User.Role.USER, COMMAND_SEND_MAIL, COMMAND_DOWNLOAD_PDF_TICKET, COMMAND_EXPORT_TICKETS,
+                COMMAND_SEND_TICKET_VIA_MAIL);
+    }
+
+    /**
+     * init ADMIN accessible commands
+     */
+    private void initAdminAccess() {
+        allow(User.Role.ADMIN, COMMAND_VIEW_ERROR_PAGE, COMMAND_VIEW_MAIN_PAGE, COMMAND_VIEW_SCHEDULE_PAGE,
+                COMMAND_VIEW_FILM_PAGE_PAGE);
+        allow(User.Role.ADMIN, COMMAND_LOGOUT);
+        allow(User.Role.ADMIN, COMMAND_VIEW_ADD_FILM_PAGE, COMMAND_ADD_FILM, COMMAND_VIEW_FILMS_SETTING_PAGE,
+                COMMAND_DELETE_FILM);
+        allow(User.Role.ADMIN, COMMAND_VIEW_ADD_SESSION_PAGE, COMMAND_ADD_SESSION, COMMAND_VIEW_SESSIONS_SETTING_PAGE,
+                COMMAND_DELETE_SESSION, COMMAND_VIEW_SESSION_INFO_PAGE, COMMAND_EXPORT_TICKETS);
+    }
+}
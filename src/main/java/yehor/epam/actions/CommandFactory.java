@@ -10,6 +10,7 @@ import yehor.epam.actions.commands.signing.*;
 import yehor.epam.actions.commands.tickets.BuyTicketCommand;
 import yehor.epam.actions.commands.tickets.BuyTicketPageCommand;
 import yehor.epam.actions.commands.tickets.DownloadPDFTicketCommand;
+import yehor.epam.actions.commands.tickets.ExportTicketsCommand;
 import yehor.epam.utilities.LoggerManager;
 
 import java.util.HashMap;
@@ -19,18 +20,37 @@ import static yehor.epam.utilities.constants.CommandConstants.*;
 
 /**
  * Factory class from Factory method pattern
- * Define received command and create appropriate object which implementing BaseCommand interface
+ * Define received command and return appropriate object which implementing BaseCommand interface.
+ * Commands are stateless, so they are created once and shared among all requests.
+ * Commands are stored by their index in {@link CommandAccessTable}
  */
 public class CommandFactory {
     private static final Logger logger = LoggerManager.getLogger(CommandFactory.class);
 
+    private final CommandAccessTable accessTable = CommandAccessTable.getInstance();
     /**
-     * Map contains String commands and BaseCommand objects
+     * BaseCommand objects by command index
      */
-    private Map<String, BaseCommand> commandMap;
+    private final BaseCommand[] commands;
+    /**
+     * Command for empty or unknown command param
+     */
+    private final BaseCommand defaultCommand;
+
+    public CommandFactory() {
+        final Map<String, BaseCommand> commandMap = createCommandMap();
+        commands = new BaseCommand[accessTable.size()];
+        commandMap.forEach((name, command) -> {
+            final int index = accessTable.indexOf(name);
+            if (index < 0) throw new IllegalStateException("Command isn't registered in access table: " + name);
+            commands[index] = command;
+        });
+        defaultCommand = commandMap.get(COMMAND_VIEW_MAIN_PAGE);
+        logger.info("CommandFactory was initialized with {} commands", commandMap.size());
+    }
 
-    private void init() {
-        commandMap = new HashMap<>();
+    private Map<String, BaseCommand> createCommandMap() {
+        final Map<String, BaseCommand> commandMap = new HashMap<>();
 
         // general pages
         commandMap.put(COMMAND_VIEW_MAIN_PAGE, new MainPageCommand());
@@ -69,6 +89,8 @@ public class CommandFactory {
         //commandMap.put(COMMAND_SEND_MAIL, new SendMailCommand());
         //commandMap.put(COMMAND_SEND_TICKET_VIA_MAIL, new SendTicketViaMailCommand());
         commandMap.put(COMMAND_DOWNLOAD_PDF_TICKET, new DownloadPDFTicketCommand());
+        commandMap.put(COMMAND_EXPORT_TICKETS, new ExportTicketsCommand());
+        return commandMap;
     }
 
     /**
@@ -78,15 +100,15 @@ public class CommandFactory {
      * @return appropriate BaseCommand object by received String command
      */
     public BaseCommand defineCommand(HttpServletRequest request) {
-        if (commandMap == null || commandMap.isEmpty()) {
-            init();
-        }
-
         String command = request.getParameter("command");
-        logger.info("CommandFactory received command: " + command);
+        logger.debug("CommandFactory received command: {}", command);
 
-        if (command == null || command.isEmpty())
-            return commandMap.get(COMMAND_VIEW_MAIN_PAGE);
-        return commandMap.get(command);
+        final int index = accessTable.indexOf(command);
+        final BaseCommand baseCommand = index < 0 ? null : commands[index];
+        if (baseCommand == null) {
+            logger.warn("Unknown command: {}, default one is used", command);
+            return defaultCommand;
+        }
+        return baseCommand;
     }
 }
@@ -0,0 +1,65 @@
+package yehor.epam.actions;
+
+import java.lang.annotation.*;
+import java.time.Duration;
+
+/**
+ * Marks command which blocks for long time, so Controller executes it asynchronously
+ * on a dedicated bounded executor of its workload instead of a container thread
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface SlowCommand {
+    /**
+     * Kind of the blocking work
+     *
+     * @return workload
+     */
+    Workload value();
+
+    /**
+     * Kind of blocking work with settings of its executor
+     */
+    enum Workload {
+        /**
+         * PDF rendering, CPU bound
+         */
+        PDF(Math.max(2, Runtime.getRuntime().availableProcessors() / 2), 32, Duration.ofSeconds(30)),
+        /**
+         * Outbound HTTP calls, e.g. captcha verification, waits for network
+         */
+        REMOTE_CALL(16, 64, Duration.ofSeconds(15)),
+        /**
+         * Password hashing, CPU bound
+         */
+        PASSWORD_HASHING(Math.max(2, Runtime.getRuntime().availableProcessors() / 2), 64, Duration.ofSeconds(10));
+
+        private final int threads;
+        private final int queueCapacity;
+        private final Duration timeout;
+
+        Workload(int threads, int queueCapacity, Duration timeout) {
+            this.threads = threads;
+            this.queueCapacity = queueCapacity;
+            this.timeout = timeout;
+        }
+
+        public int getThreads() {
+            return threads;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        /**
+         * Get timeout after which the client gets 503 and the command is interrupted
+         *
+         * @return timeout
+         */
+        public Duration getTimeout() {
+            return timeout;
+        }
+    }
+}
@@ -7,9 +7,8 @@ import yehor.epam.actions.BaseCommand;
 import yehor.epam.entities.Film;
 import yehor.epam.services.FilmService;
 import yehor.epam.services.PaginationService;
+import yehor.epam.services.ServiceContainer;
 import yehor.epam.services.impl.ErrorService;
-import yehor.epam.services.impl.FilmServiceImpl;
-import yehor.epam.services.impl.PaginationServiceImpl;
 import yehor.epam.utilities.LoggerManager;
 
 import java.util.List;
@@ -28,8 +27,8 @@ public class MainPageCommand implements BaseCommand {
     private final PaginationService paginationService;
 
     public MainPageCommand() {
-        filmService = new FilmServiceImpl();
-        paginationService = new PaginationServiceImpl();
+        filmService = ServiceContainer.getInstance().get(FilmService.class);
+        paginationService = ServiceContainer.getInstance().get(PaginationService.class);
     }
 
     @Override
@@ -44,7 +43,7 @@ public class MainPageCommand implements BaseCommand {
             final int totalPages = filmService.countTotalPages(size);
 
             request.setAttribute("totalPages", totalPages);
-            request.getSession().setAttribute("filmList", all);
+            request.setAttribute("filmList", all);
             request.getRequestDispatcher(MAIN_PAGE_PATH).forward(request, response);
         } catch (Exception e) {
             ErrorService.handleException(request, response, CLASS_NAME, e);
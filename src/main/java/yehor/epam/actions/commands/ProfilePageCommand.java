@@ -6,11 +6,11 @@ import org.slf4j.Logger;
 import yehor.epam.actions.BaseCommand;
 import yehor.epam.entities.Ticket;
 import yehor.epam.services.PaginationService;
+import yehor.epam.services.ServiceContainer;
 import yehor.epam.services.TicketService;
 import yehor.epam.services.impl.ErrorService;
-import yehor.epam.services.impl.PaginationServiceImpl;
-import yehor.epam.services.impl.TicketServiceImpl;
 import yehor.epam.utilities.LoggerManager;
+import yehor.epam.utilities.RequestContext;
 
 import java.util.List;
 import java.util.Map;
@@ -28,8 +28,8 @@ public class ProfilePageCommand implements BaseCommand {
     private final PaginationService paginationService;
 
     public ProfilePageCommand() {
-        ticketService = new TicketServiceImpl();
-        paginationService = new PaginationServiceImpl();
+        ticketService = ServiceContainer.getInstance().get(TicketService.class);
+        paginationService = ServiceContainer.getInstance().get(PaginationService.class);
     }
 
     @Override
@@ -39,7 +39,7 @@ public class ProfilePageCommand implements BaseCommand {
             final Map<String, Integer> paginationMap = paginationService.getPaginationParamsFromRequest(request);
             int page = paginationMap.get(PAGE_NO_PARAM);
             int size = paginationMap.get(PAGE_SIZE_PARAM);
-            final int userId = Integer.parseInt(request.getSession().getAttribute(USER_ID).toString());
+            final int userId = RequestContext.get(request).getUserId();
             final List<Ticket> ticketList = ticketService.getAllByUserId(userId, page, size);
             final int totalPages = ticketService.countTotalPagesByUserId(userId, size);
 
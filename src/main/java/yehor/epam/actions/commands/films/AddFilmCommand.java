@@ -8,9 +8,8 @@ import yehor.epam.entities.Film;
 import yehor.epam.entities.Genre;
 import yehor.epam.services.FilmService;
 import yehor.epam.services.GenreService;
+import yehor.epam.services.ServiceContainer;
 import yehor.epam.services.impl.ErrorService;
-import yehor.epam.services.impl.FilmServiceImpl;
-import yehor.epam.services.impl.GenreServiceImpl;
 import yehor.epam.utilities.LoggerManager;
 import yehor.epam.utilities.RedirectManager;
 
@@ -32,8 +31,8 @@ public class AddFilmCommand implements BaseCommand {
     private final GenreService genreService;
 
     public AddFilmCommand() {
-        filmService = new FilmServiceImpl();
-        genreService = new GenreServiceImpl();
+        filmService = ServiceContainer.getInstance().get(FilmService.class);
+        genreService = ServiceContainer.getInstance().get(GenreService.class);
     }
 
     @Override
@@ -5,9 +5,9 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import yehor.epam.actions.BaseCommand;
 import yehor.epam.entities.Genre;
-import yehor.epam.services.impl.ErrorService;
 import yehor.epam.services.GenreService;
-import yehor.epam.services.impl.GenreServiceImpl;
+import yehor.epam.services.ServiceContainer;
+import yehor.epam.services.impl.ErrorService;
 import yehor.epam.utilities.LoggerManager;
 
 import java.util.List;
@@ -23,7 +23,7 @@ public class AddFilmPageCommand implements BaseCommand {
     private final GenreService genreService;
 
     public AddFilmPageCommand() {
-        genreService = new GenreServiceImpl();
+        genreService = ServiceContainer.getInstance().get(GenreService.class);
     }
 
     @Override
@@ -5,9 +5,9 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import yehor.epam.actions.BaseCommand;
 import yehor.epam.exceptions.ServiceException;
-import yehor.epam.services.impl.ErrorService;
 import yehor.epam.services.FilmService;
-import yehor.epam.services.impl.FilmServiceImpl;
+import yehor.epam.services.ServiceContainer;
+import yehor.epam.services.impl.ErrorService;
 import yehor.epam.utilities.LoggerManager;
 import yehor.epam.utilities.RedirectManager;
 
@@ -24,7 +24,7 @@ public class DeleteFilmCommand implements BaseCommand {
     private final FilmService filmService;
 
     public DeleteFilmCommand() {
-        filmService = new FilmServiceImpl();
+        filmService = ServiceContainer.getInstance().get(FilmService.class);
     }
 
     @Override
@@ -5,9 +5,9 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import yehor.epam.actions.BaseCommand;
 import yehor.epam.entities.Film;
-import yehor.epam.services.impl.ErrorService;
 import yehor.epam.services.FilmService;
-import yehor.epam.services.impl.FilmServiceImpl;
+import yehor.epam.services.ServiceContainer;
+import yehor.epam.services.impl.ErrorService;
 import yehor.epam.utilities.LoggerManager;
 
 import static yehor.epam.utilities.constants.JspPagePathConstants.FILM_INFO_PAGE_PATH;
@@ -21,7 +21,7 @@ public class FilmInfoPageCommand implements BaseCommand {
     private final FilmService filmService;
 
     public FilmInfoPageCommand() {
-        filmService = new FilmServiceImpl();
+        filmService = ServiceContainer.getInstance().get(FilmService.class);
     }
     @Override
     public void execute(HttpServletRequest request, HttpServletResponse response) {
@@ -8,10 +8,9 @@ import yehor.epam.entities.Film;
 import yehor.epam.entities.Session;
 import yehor.epam.exceptions.ServiceException;
 import yehor.epam.services.FilmService;
+import yehor.epam.services.ServiceContainer;
 import yehor.epam.services.SessionService;
 import yehor.epam.services.impl.ErrorService;
-import yehor.epam.services.impl.FilmServiceImpl;
-import yehor.epam.services.impl.SessionServiceImpl;
 import yehor.epam.utilities.LoggerManager;
 import yehor.epam.utilities.RedirectManager;
 
@@ -35,8 +34,8 @@ public class AddSessionCommand implements BaseCommand {
     private final FilmService filmService;
 
     public AddSessionCommand() {
-        sessionService = new SessionServiceImpl();
-        filmService = new FilmServiceImpl();
+        sessionService = ServiceContainer.getInstance().get(SessionService.class);
+        filmService = ServiceContainer.getInstance().get(FilmService.class);
     }
 
     @Override
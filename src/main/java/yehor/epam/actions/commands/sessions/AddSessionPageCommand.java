@@ -5,11 +5,12 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import yehor.epam.actions.BaseCommand;
 import yehor.epam.entities.Film;
-import yehor.epam.services.impl.ErrorService;
 import yehor.epam.services.FilmService;
-import yehor.epam.services.impl.FilmServiceImpl;
+import yehor.epam.services.ServiceContainer;
+import yehor.epam.services.impl.ErrorService;
 import yehor.epam.utilities.LoggerManager;
 
+import java.time.LocalDate;
 import java.util.List;
 
 import static yehor.epam.utilities.constants.JspPagePathConstants.ADD_SESSION_PAGE_PATH;
@@ -23,7 +24,7 @@ public class AddSessionPageCommand implements BaseCommand {
     private final FilmService filmService;
 
     public AddSessionPageCommand() {
-        filmService = new FilmServiceImpl();
+        filmService = ServiceContainer.getInstance().get(FilmService.class);
     }
 
     @Override
@@ -32,6 +33,7 @@ public class AddSessionPageCommand implements BaseCommand {
         try {
             final List<Film> filmList = filmService.getAll();
             request.setAttribute("filmList", filmList);
+            request.setAttribute("nowDate", LocalDate.now());
             logger.debug("Forward to add session page");
             request.getRequestDispatcher(ADD_SESSION_PAGE_PATH).forward(request, response);
         } catch (Exception e) {
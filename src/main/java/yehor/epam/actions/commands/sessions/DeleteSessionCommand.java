@@ -4,9 +4,9 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import yehor.epam.actions.BaseCommand;
-import yehor.epam.services.impl.ErrorService;
+import yehor.epam.services.ServiceContainer;
 import yehor.epam.services.SessionService;
-import yehor.epam.services.impl.SessionServiceImpl;
+import yehor.epam.services.impl.ErrorService;
 import yehor.epam.utilities.LoggerManager;
 import yehor.epam.utilities.RedirectManager;
 
@@ -21,7 +21,7 @@ public class DeleteSessionCommand implements BaseCommand {
     private final SessionService sessionService;
 
     public DeleteSessionCommand() {
-        sessionService = new SessionServiceImpl();
+        sessionService = ServiceContainer.getInstance().get(SessionService.class);
     }
 
     @Override
@@ -6,11 +6,10 @@ import org.slf4j.Logger;
 import yehor.epam.actions.BaseCommand;
 import yehor.epam.entities.Seat;
 import yehor.epam.entities.Session;
-import yehor.epam.services.impl.ErrorService;
 import yehor.epam.services.SeatService;
+import yehor.epam.services.ServiceContainer;
 import yehor.epam.services.SessionService;
-import yehor.epam.services.impl.SeatServiceImpl;
-import yehor.epam.services.impl.SessionServiceImpl;
+import yehor.epam.services.impl.ErrorService;
 import yehor.epam.utilities.LoggerManager;
 
 import java.util.List;
@@ -27,8 +26,8 @@ public class SessionPageCommand implements BaseCommand {
     private final SeatService seatService;
 
     public SessionPageCommand() {
-        sessionService = new SessionServiceImpl();
-        seatService = new SeatServiceImpl();
+        sessionService = ServiceContainer.getInstance().get(SessionService.class);
+        seatService = ServiceContainer.getInstance().get(SeatService.class);
     }
     @Override
     public void execute(HttpServletRequest request, HttpServletResponse response) {
@@ -6,10 +6,9 @@ import org.slf4j.Logger;
 import yehor.epam.actions.BaseCommand;
 import yehor.epam.entities.Session;
 import yehor.epam.services.PaginationService;
-import yehor.epam.services.impl.ErrorService;
+import yehor.epam.services.ServiceContainer;
 import yehor.epam.services.SessionService;
-import yehor.epam.services.impl.PaginationServiceImpl;
-import yehor.epam.services.impl.SessionServiceImpl;
+import yehor.epam.services.impl.ErrorService;
 import yehor.epam.utilities.LoggerManager;
 
 import java.util.List;
@@ -29,8 +28,8 @@ public class SessionsSettingPageCommand implements BaseCommand {
     private final PaginationService paginationService;
 
     public SessionsSettingPageCommand() {
-        sessionService = new SessionServiceImpl();
-        paginationService = new PaginationServiceImpl();
+        sessionService = ServiceContainer.getInstance().get(SessionService.class);
+        paginationService = ServiceContainer.getInstance().get(PaginationService.class);
     }
 
     @Override
@@ -2,29 +2,28 @@ package yehor.epam.actions.commands.signing;
 
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import jakarta.servlet.http.HttpSession;
 import org.slf4j.Logger;
 import yehor.epam.actions.BaseCommand;
+import yehor.epam.actions.SlowCommand;
+import yehor.epam.actions.SlowCommand.Workload;
 import yehor.epam.entities.User;
 import yehor.epam.exceptions.AuthException;
 import yehor.epam.exceptions.ServiceException;
 import yehor.epam.services.CookieService;
+import yehor.epam.services.ServiceContainer;
 import yehor.epam.services.UserService;
-import yehor.epam.services.impl.CookieServiceImpl;
 import yehor.epam.services.impl.ErrorService;
-import yehor.epam.services.impl.UserServiceImpl;
 import yehor.epam.utilities.LoggerManager;
 import yehor.epam.utilities.RedirectManager;
 
 import static yehor.epam.utilities.constants.CommandConstants.COMMAND_VIEW_MAIN_PAGE;
 import static yehor.epam.utilities.constants.CommandConstants.COMMAND_VIEW_PROFILE_PAGE;
 import static yehor.epam.utilities.constants.JspPagePathConstants.LOGIN_PAGE_PATH;
-import static yehor.epam.utilities.constants.OtherConstants.USER_ID;
-import static yehor.epam.utilities.constants.OtherConstants.USER_ROLE;
 
 /**
  * User login class, check if user exist and verify login and password
  */
+@SlowCommand(Workload.PASSWORD_HASHING)
 public class LoginCommand implements BaseCommand {
     private static final Logger logger = LoggerManager.getLogger(LoginCommand.class);
     private static final String CLASS_NAME = LoginCommand.class.getName();
@@ -32,8 +31,8 @@ public class LoginCommand implements BaseCommand {
     private final CookieService cookieService;
 
     public LoginCommand() {
-        userService = new UserServiceImpl();
-        cookieService = new CookieServiceImpl();
+        userService = ServiceContainer.getInstance().get(UserService.class);
+        cookieService = ServiceContainer.getInstance().get(CookieService.class);
     }
 
     @Override
@@ -45,8 +44,7 @@ public class LoginCommand implements BaseCommand {
             if (emailError.isBlank()) {
                 final String password = request.getParameter("password");
                 final String rememberMe = request.getParameter("rememberMe");
-                userService.authenticateUser(login, password);
-                final User user = userService.getUserByLogin(login);
+                final User user = userService.authenticate(login, password);
                 prepareUser(user, request, response, rememberMe);
 
                 final String redirectPage = getRedirectPage(user.getUserRole());
@@ -67,9 +65,6 @@ public class LoginCommand implements BaseCommand {
      * @param rememberMe checkbox value Remember me
      */
     private void prepareUser(User user, HttpServletRequest request, HttpServletResponse response, String rememberMe) {
-        HttpSession session = request.getSession(true);
-        session.setAttribute(USER_ID, user.getId());
-        session.setAttribute(USER_ROLE, user.getUserRole());
         logger.info("User with id: " + user.getId() + ", role = " + user.getUserRole().toString() + " login");
         cookieService.loginCookie(response, user, rememberMe);
     }
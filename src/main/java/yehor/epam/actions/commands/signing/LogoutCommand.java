@@ -5,37 +5,42 @@ import jakarta.servlet.http.HttpServletResponse;
 import jakarta.servlet.http.HttpSession;
 import org.slf4j.Logger;
 import yehor.epam.actions.BaseCommand;
-import yehor.epam.entities.User;
+import yehor.epam.exceptions.ServiceException;
 import yehor.epam.services.CookieService;
-import yehor.epam.services.impl.CookieServiceImpl;
+import yehor.epam.services.ServiceContainer;
+import yehor.epam.services.UserService;
 import yehor.epam.services.impl.ErrorService;
 import yehor.epam.utilities.LoggerManager;
+import yehor.epam.utilities.RequestContext;
 
 import java.io.IOException;
 
 import static yehor.epam.utilities.constants.CommandConstants.COMMAND_MAIN_SERVLET;
-import static yehor.epam.utilities.constants.OtherConstants.USER_ID;
-import static yehor.epam.utilities.constants.OtherConstants.USER_ROLE;
 
 /**
- * Command to log out User, end sessions and clean cookie
+ * Command to log out User, end sessions and clean cookie.
+ * Refresh tokens of the user are revoked, so a copied remember-me cookie stops working too
  */
 public class LogoutCommand implements BaseCommand {
     private static final Logger logger = LoggerManager.getLogger(LogoutCommand.class);
     private static final String CLASS_NAME = LogoutCommand.class.getName();
     private final CookieService cookieService;
+    private final UserService userService;
 
     public LogoutCommand() {
-        cookieService = new CookieServiceImpl();
+        cookieService = ServiceContainer.getInstance().get(CookieService.class);
+        userService = ServiceContainer.getInstance().get(UserService.class);
     }
 
     @Override
     public void execute(HttpServletRequest request, HttpServletResponse response) {
         logger.debug("Called execute() in " + CLASS_NAME);
         try {
-            final HttpSession session = request.getSession();
-            logUserLogout(session);
-            session.invalidate();
+            final RequestContext context = RequestContext.get(request);
+            logger.info("User with id = " + context.getUserId() + ", role = " + context.getRole() + " logout");
+            if (context.getUserId() != 0) revokeLogins(context.getUserId());
+            final HttpSession session = request.getSession(false);
+            if (session != null) session.invalidate();
             cookieService.logoutCookie(request, response);
             response.sendRedirect(COMMAND_MAIN_SERVLET);
         } catch (IOException e) {
@@ -43,9 +48,14 @@ public class LogoutCommand implements BaseCommand {
         }
     }
 
-    private void logUserLogout(HttpSession session) {
-        final int userId = Integer.parseInt(session.getAttribute(USER_ID).toString());
-        final User.Role userRole = User.Role.valueOf(session.getAttribute(USER_ROLE).toString());
-        logger.info("User with id = " + userId + ", role = " + userRole + " logout");
+    /**
+     * Logout isn't failed if refresh tokens couldn't be revoked, cookies are erased anyway
+     */
+    private void revokeLogins(int userId) {
+        try {
+            userService.revokeLogins(userId);
+        } catch (ServiceException e) {
+            logger.warn("Couldn't revoke logins of user with id: " + userId, e);
+        }
     }
 }
@@ -3,19 +3,19 @@ package yehor.epam.actions.commands.signing;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import jakarta.servlet.http.HttpSession;
 import org.slf4j.Logger;
 import yehor.epam.actions.BaseCommand;
+import yehor.epam.actions.SlowCommand;
+import yehor.epam.actions.SlowCommand.Workload;
 import yehor.epam.entities.User;
 import yehor.epam.exceptions.RegisterException;
+import yehor.epam.exceptions.VerifyException;
 import yehor.epam.exceptions.ServiceException;
 import yehor.epam.services.CookieService;
+import yehor.epam.services.ServiceContainer;
 import yehor.epam.services.UserService;
 import yehor.epam.services.VerifyService;
-import yehor.epam.services.impl.CookieServiceImpl;
 import yehor.epam.services.impl.ErrorService;
-import yehor.epam.services.impl.UserServiceImpl;
-import yehor.epam.services.impl.VerifyServiceImpl;
 import yehor.epam.utilities.LoggerManager;
 import yehor.epam.utilities.PassEncryptionManager;
 import yehor.epam.utilities.RedirectManager;
@@ -25,6 +25,8 @@ import java.io.IOException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import static yehor.epam.utilities.constants.CommandConstants.COMMAND_VIEW_PROFILE_PAGE;
 import static yehor.epam.utilities.constants.JspPagePathConstants.REGISTER_PAGE_PATH;
@@ -33,6 +35,7 @@ import static yehor.epam.utilities.constants.OtherConstants.*;
 /**
  * Command for User registration
  */
+@SlowCommand(Workload.REMOTE_CALL)
 public class RegisterCommand implements BaseCommand {
     private static final Logger logger = LoggerManager.getLogger(RegisterCommand.class);
     private static final String CLASS_NAME = RegisterCommand.class.getName();
@@ -41,22 +44,22 @@ public class RegisterCommand implements BaseCommand {
     private final VerifyService verifyService;
 
     public RegisterCommand() {
-        userService = new UserServiceImpl();
-        cookieService = new CookieServiceImpl();
-        verifyService = new VerifyServiceImpl();
+        userService = ServiceContainer.getInstance().get(UserService.class);
+        cookieService = ServiceContainer.getInstance().get(CookieService.class);
+        verifyService = ServiceContainer.getInstance().get(VerifyService.class);
     }
 
     @Override
     public void execute(HttpServletRequest request, HttpServletResponse response) {
         logger.debug("Called execute() in " + CLASS_NAME);
         try {
-            //captcha validation
-            verifyService.captchaValidation(request, response);
-
             final Map<String, String> userParamMap = getUserParamMap(request);
             final List<String> errorList = userService.getUserValidErrorList(userParamMap);
             if (errorList.isEmpty()) {
+                //captcha of a valid form only is verified, meanwhile the password is hashed
+                final CompletableFuture<Boolean> captcha = verifyService.verifyAsync(request);
                 final User user = getEncryptedUser(userParamMap);
+                awaitCaptcha(captcha);
                 saveUser(request, response, user);
                 response.sendRedirect(RedirectManager.getRedirectLocation(COMMAND_VIEW_PROFILE_PAGE));
             } else {
@@ -67,6 +70,22 @@ public class RegisterCommand implements BaseCommand {
         }
     }
 
+    /**
+     * Wait for captcha verification, it's bounded by timeout of the captcha client
+     *
+     * @param captcha future of captcha verification
+     */
+    private void awaitCaptcha(CompletableFuture<Boolean> captcha) {
+        final boolean verified;
+        try {
+            verified = captcha.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof VerifyException) throw (VerifyException) e.getCause();
+            throw new VerifyException("Exception while verifying recaptcha", e.getCause());
+        }
+        if (!verified) throw new VerifyException("Couldn't verify the captcha, try again");
+    }
+
     /**
      * Forward to add film page with error list
      *
@@ -83,7 +102,7 @@ public class RegisterCommand implements BaseCommand {
     }
 
     /**
-     * Call service method to save user
+     * Call service method to save user, id generated by database is set to the user on save
      *
      * @param request  HttpServletRequest
      * @param response HttpServletResponse
@@ -91,8 +110,6 @@ public class RegisterCommand implements BaseCommand {
      */
     private void saveUser(HttpServletRequest request, HttpServletResponse response, User user) throws ServiceException {
         final boolean inserted = userService.save(user);
-        final int userId = userService.getMaxId();
-        user.setId(userId);
         if (inserted) {
             prepareUserSessionAndCookie(request, response, user);
         } else {
@@ -102,7 +119,7 @@ public class RegisterCommand implements BaseCommand {
     }
 
     /**
-     * Set cookies and Session attributes (UserId and UserRole)
+     * Set signed login cookie
      *
      * @param request  HttpServletRequest
      * @param response HttpServletResponse
@@ -110,9 +127,6 @@ public class RegisterCommand implements BaseCommand {
      */
     private void prepareUserSessionAndCookie(HttpServletRequest request, HttpServletResponse response, User user) {
         logger.info("User was inserted");
-        final HttpSession session = request.getSession(true);
-        session.setAttribute(USER_ID, user.getId());
-        session.setAttribute(USER_ROLE, user.getUserRole());
         final String rememberMe = request.getParameter("rememberMe");
         cookieService.loginCookie(response, user, rememberMe);
     }
@@ -2,38 +2,61 @@ package yehor.epam.actions.commands.tickets;
 
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
 import org.slf4j.Logger;
 import yehor.epam.actions.BaseCommand;
+import yehor.epam.entities.PendingOrder;
+import yehor.epam.entities.Seat;
+import yehor.epam.entities.Session;
 import yehor.epam.entities.Ticket;
-import yehor.epam.services.TicketService;
+import yehor.epam.entities.User;
+import yehor.epam.exceptions.TicketException;
+import yehor.epam.services.*;
 import yehor.epam.services.impl.ErrorService;
-import yehor.epam.services.impl.TicketServiceImpl;
 import yehor.epam.utilities.LoggerManager;
+import yehor.epam.utilities.RequestContext;
 import yehor.epam.utilities.RedirectManager;
 
 import java.util.List;
 
 import static yehor.epam.utilities.constants.CommandConstants.COMMAND_VIEW_SUCCESS_PAY_PAGE;
+import static yehor.epam.utilities.constants.OtherConstants.PENDING_ORDER_ATTRIBUTE;
 
 /**
- * Command to save tickets
+ * Command to save tickets of pending order
  */
 public class BuyTicketCommand implements BaseCommand {
     private static final Logger logger = LoggerManager.getLogger(BuyTicketCommand.class);
     private static final String CLASS_NAME = BuyTicketCommand.class.getName();
     private final TicketService ticketService;
+    private final SessionService sessionService;
+    private final UserService userService;
+    private final SeatService seatService;
 
     public BuyTicketCommand() {
-        ticketService = new TicketServiceImpl();
+        ticketService = ServiceContainer.getInstance().get(TicketService.class);
+        sessionService = ServiceContainer.getInstance().get(SessionService.class);
+        userService = ServiceContainer.getInstance().get(UserService.class);
+        seatService = ServiceContainer.getInstance().get(SeatService.class);
     }
 
     @Override
     public void execute(HttpServletRequest request, HttpServletResponse response) {
         logger.debug("Called execute() in " + CLASS_NAME);
         try {
-            List<Ticket> ticketList = (List<Ticket>) request.getSession().getAttribute("ticketList");
-            logger.debug("Received ticketList = " + ticketList);
+            final HttpSession httpSession = request.getSession();
+            final PendingOrder order = (PendingOrder) httpSession.getAttribute(PENDING_ORDER_ATTRIBUTE);
+            logger.debug("Received pending order = " + order);
+            final int userId = RequestContext.get(request).getUserId();
+            if (order == null || order.getUserId() != userId) {
+                throw new TicketException("There is no pending order of user with id = " + userId);
+            }
+            final Session session = sessionService.getById(order.getSessionId());
+            final User user = userService.getById(userId);
+            final List<Seat> seatList = seatService.getSeatListByIdArray(order.getSeatIdParams());
+            final List<Ticket> ticketList = ticketService.formTicketList(session, seatList, user);
             ticketService.saveAll(ticketList);
+            httpSession.removeAttribute(PENDING_ORDER_ATTRIBUTE);
             response.sendRedirect(RedirectManager.getRedirectLocation(COMMAND_VIEW_SUCCESS_PAY_PAGE));
         } catch (Exception e) {
             ErrorService.handleException(request, response, CLASS_NAME, e);
@@ -4,25 +4,29 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import yehor.epam.actions.BaseCommand;
+import yehor.epam.entities.PendingOrder;
 import yehor.epam.entities.Seat;
 import yehor.epam.entities.Session;
 import yehor.epam.entities.Ticket;
 import yehor.epam.entities.User;
 import yehor.epam.services.SeatService;
+import yehor.epam.services.ServiceContainer;
 import yehor.epam.services.SessionService;
 import yehor.epam.services.TicketService;
 import yehor.epam.services.UserService;
 import yehor.epam.services.impl.*;
 import yehor.epam.utilities.LoggerManager;
+import yehor.epam.utilities.RequestContext;
 
 import java.math.BigDecimal;
 import java.util.List;
 
 import static yehor.epam.utilities.constants.JspPagePathConstants.PAYING_PAGE_PATH;
-import static yehor.epam.utilities.constants.OtherConstants.USER_ID;
+import static yehor.epam.utilities.constants.OtherConstants.PENDING_ORDER_ATTRIBUTE;
 
 /**
- * Command show page of chosen tickets
+ * Command show page of chosen tickets.
+ * Only ids of the order are kept in session, tickets are request data of the page
  */
 public class BuyTicketPageCommand implements BaseCommand {
     private static final Logger logger = LoggerManager.getLogger(BuyTicketPageCommand.class);
@@ -33,10 +37,10 @@ public class BuyTicketPageCommand implements BaseCommand {
     private final SeatService seatService;
 
     public BuyTicketPageCommand() {
-        ticketService = new TicketServiceImpl();
-        sessionService = new SessionServiceImpl();
-        userService = new UserServiceImpl();
-        seatService = new SeatServiceImpl();
+        ticketService = ServiceContainer.getInstance().get(TicketService.class);
+        sessionService = ServiceContainer.getInstance().get(SessionService.class);
+        userService = ServiceContainer.getInstance().get(UserService.class);
+        seatService = ServiceContainer.getInstance().get(SeatService.class);
     }
 
     @Override
@@ -44,7 +48,7 @@ public class BuyTicketPageCommand implements BaseCommand {
         logger.debug("Called execute() in " + CLASS_NAME);
         try {
             final int sessionId = Integer.parseInt(request.getParameter("sessionId"));
-            final int userId = Integer.parseInt(request.getSession().getAttribute(USER_ID).toString());
+            final int userId = RequestContext.get(request).getUserId();
             final String[] seatIds = request.getParameterMap().get("seatIds");
 
             final Session session = sessionService.getById(sessionId);
@@ -53,7 +57,9 @@ public class BuyTicketPageCommand implements BaseCommand {
             final List<Ticket> ticketList = ticketService.formTicketList(session, seatList, user);
             final BigDecimal totalCost = ticketService.countTotalCostOfTicketList(ticketList);
 
-            request.getSession().setAttribute("ticketList", ticketList);
+            final int[] chosenSeatIds = seatList.stream().mapToInt(Seat::getId).toArray();
+            request.getSession().setAttribute(PENDING_ORDER_ATTRIBUTE, new PendingOrder(sessionId, userId, chosenSeatIds));
+            request.setAttribute("ticketList", ticketList);
             request.setAttribute("session", session);
             request.setAttribute("totalCost", totalCost);
 
@@ -2,32 +2,37 @@ package yehor.epam.actions.commands.tickets;
 
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import jakarta.servlet.jsp.jstl.core.Config;
 import org.slf4j.Logger;
 import yehor.epam.actions.BaseCommand;
+import yehor.epam.actions.SlowCommand;
+import yehor.epam.actions.SlowCommand.Workload;
+import yehor.epam.cache.RenderedTicketCache;
 import yehor.epam.entities.Ticket;
+import yehor.epam.services.ConditionalGetService;
+import yehor.epam.services.ServiceContainer;
 import yehor.epam.services.TicketPdfService;
 import yehor.epam.services.TicketService;
 import yehor.epam.services.impl.ErrorService;
-import yehor.epam.services.impl.TicketPdfServiceImpl;
-import yehor.epam.services.impl.TicketServiceImpl;
 import yehor.epam.utilities.LoggerManager;
+import yehor.epam.utilities.RequestContext;
 
-import java.io.ByteArrayOutputStream;
 import java.util.Locale;
 
 /**
  * Command to download Ticket in PDF format
  */
+@SlowCommand(Workload.PDF)
 public class DownloadPDFTicketCommand implements BaseCommand {
     private static final Logger logger = LoggerManager.getLogger(DownloadPDFTicketCommand.class);
     private static final String CLASS_NAME = DownloadPDFTicketCommand.class.getName();
     private final TicketService ticketService;
     private final TicketPdfService ticketPdfService;
+    private final ConditionalGetService conditionalGetService;
 
     public DownloadPDFTicketCommand() {
-        ticketService = new TicketServiceImpl();
-        ticketPdfService = new TicketPdfServiceImpl();
+        ticketService = ServiceContainer.getInstance().get(TicketService.class);
+        ticketPdfService = ServiceContainer.getInstance().get(TicketPdfService.class);
+        conditionalGetService = ServiceContainer.getInstance().get(ConditionalGetService.class);
     }
 
     @Override
@@ -35,10 +40,14 @@ public class DownloadPDFTicketCommand implements BaseCommand {
         logger.debug("Called execute() in " + CLASS_NAME);
         try {
             int ticketId = Integer.parseInt(request.getParameter("ticketId"));
+            final Locale locale = RequestContext.get(request).getLocale();
+            // rendered ticket never changes, so neither DB nor renderer is needed if it was already rendered
+            if (conditionalGetService.isNotModified(request, response, RenderedTicketCache.eTag(ticketId, locale))
+                    || ticketPdfService.writeCachedPdfTicketToResponse(ticketId, locale, request, response)) {
+                return;
+            }
             final Ticket ticket = ticketService.getById(ticketId);
-            final Locale locale = (Locale) Config.get(request.getSession(), Config.FMT_LOCALE);
-            final ByteArrayOutputStream stream = ticketPdfService.formPDFTicket(ticket, locale);
-            ticketPdfService.writePdfToResponse(stream, response);
+            ticketPdfService.writePdfTicketToResponse(ticket, locale, response);
         } catch (Exception e) {
             ErrorService.handleException(request, response, CLASS_NAME, e);
         }
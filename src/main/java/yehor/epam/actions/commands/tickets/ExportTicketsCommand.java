@@ -0,0 +1,59 @@
+package yehor.epam.actions.commands.tickets;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import yehor.epam.actions.BaseCommand;
+import yehor.epam.actions.SlowCommand;
+import yehor.epam.actions.SlowCommand.Workload;
+import yehor.epam.entities.Ticket;
+import yehor.epam.entities.User;
+import yehor.epam.services.ServiceContainer;
+import yehor.epam.services.TicketExportService;
+import yehor.epam.services.TicketExportService.Format;
+import yehor.epam.services.TicketService;
+import yehor.epam.services.impl.ErrorService;
+import yehor.epam.utilities.LoggerManager;
+import yehor.epam.utilities.RequestContext;
+
+import java.util.List;
+import java.util.Locale;
+
+import static yehor.epam.utilities.constants.OtherConstants.*;
+
+/**
+ * Command to download all tickets of session in one PDF or ZIP file.
+ * User gets own tickets, admin gets all sold tickets of the session
+ */
+@SlowCommand(Workload.PDF)
+public class ExportTicketsCommand implements BaseCommand {
+    private static final Logger logger = LoggerManager.getLogger(ExportTicketsCommand.class);
+    private static final String CLASS_NAME = ExportTicketsCommand.class.getName();
+    private final TicketService ticketService;
+    private final TicketExportService ticketExportService;
+
+    public ExportTicketsCommand() {
+        ticketService = ServiceContainer.getInstance().get(TicketService.class);
+        ticketExportService = ServiceContainer.getInstance().get(TicketExportService.class);
+    }
+
+    @Override
+    public void execute(HttpServletRequest request, HttpServletResponse response) {
+        logger.debug("Called execute() in " + CLASS_NAME);
+        try {
+            final int sessionId = Integer.parseInt(request.getParameter("sessionId"));
+            final Format format = Format.valueOf(request.getParameter(EXPORT_FORMAT_PARAM).toUpperCase(Locale.ROOT));
+            final RequestContext context = RequestContext.get(request);
+            final List<Ticket> ticketList;
+            if (context.getRole() == User.Role.ADMIN) {
+                ticketList = ticketService.getAllBySessionId(sessionId);
+            } else {
+                ticketList = ticketService.getAllBySessionIdAndUserId(sessionId, context.getUserId());
+            }
+            final Locale locale = context.getLocale();
+            ticketExportService.writeTicketsToResponse(ticketList, locale, format, response);
+        } catch (Exception e) {
+            ErrorService.handleException(request, response, CLASS_NAME, e);
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package yehor.epam.cache;
+
+import org.slf4j.Logger;
+import yehor.epam.entities.Film;
+import yehor.epam.utilities.LoggerManager;
+import yehor.epam.utilities.MBeanManager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import static yehor.epam.utilities.constants.OtherConstants.FILM_CACHE_MAX_SIZE;
+
+/**
+ * Read-through cache of the film catalogue: full list, page slices, films by id and total row amount.
+ * Stores FilmSnapshot objects only. Any film writing should call {@link #invalidate()}.
+ * <p>
+ * Every invalidation increases the generation, values loaded under an older generation are not stored,
+ * so a slow reader can't put back data which was read before the film was saved or deleted.
+ * Reading is lock-free, storing and invalidation are synchronized
+ */
+public class FilmCache implements FilmCacheMBean {
+    private static final Logger logger = LoggerManager.getLogger(FilmCache.class);
+
+    private final LruCache<Integer, FilmSnapshot> filmById;
+    private final LruCache<String, List<Film>> pages;
+    private final AtomicLong generation = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private volatile List<Film> allFilms;
+    private volatile Integer totalRows;
+
+    public FilmCache(int maxSize) {
+        filmById = new LruCache<>(maxSize);
+        pages = new LruCache<>(maxSize);
+    }
+
+    private static final class FilmCacheHolder {
+        private static final FilmCache filmCache = createFilmCache();
+
+        private static FilmCache createFilmCache() {
+            final FilmCache cache = new FilmCache(FILM_CACHE_MAX_SIZE);
+            MBeanManager.register(cache, "Cache", "FilmCache");
+            return cache;
+        }
+    }
+
+    /**
+     * Get application-wide FilmCache
+     *
+     * @return FilmCache
+     */
+    public static FilmCache getInstance() {
+        return FilmCacheHolder.filmCache;
+    }
+
+    /**
+     * Get current generation, must be taken before loading values from DB
+     *
+     * @return generation
+     */
+    public long getGeneration() {
+        return generation.get();
+    }
+
+    /**
+     * Get all films
+     *
+     * @return unmodifiable list of films or null if absent
+     */
+    public List<Film> getAll() {
+        return count(allFilms);
+    }
+
+    /**
+     * Store all films
+     *
+     * @param filmList   films from DB
+     * @param generation generation taken before loading
+     * @return unmodifiable list of FilmSnapshot
+     */
+    public List<Film> putAll(List<Film> filmList, long generation) {
+        final List<Film> snapshots = snapshotList(filmList);
+        synchronized (this) {
+            if (isActual(generation)) {
+                allFilms = snapshots;
+                snapshots.forEach(film -> filmById.put(film.getId(), (FilmSnapshot) film));
+            }
+        }
+        return snapshots;
+    }
+
+    /**
+     * Get page of films
+     *
+     * @param page page number
+     * @param size page size
+     * @return unmodifiable list of films or null if absent
+     */
+    public List<Film> getPage(int page, int size) {
+        return count(pages.get(pageKey(page, size)));
+    }
+
+    /**
+     * Store page of films
+     *
+     * @param page       page number
+     * @param size       page size
+     * @param filmList   films from DB
+     * @param generation generation taken before loading
+     * @return unmodifiable list of FilmSnapshot
+     */
+    public List<Film> putPage(int page, int size, List<Film> filmList, long generation) {
+        final List<Film> snapshots = snapshotList(filmList);
+        synchronized (this) {
+            if (isActual(generation)) {
+                pages.put(pageKey(page, size), snapshots);
+            }
+        }
+        return snapshots;
+    }
+
+    /**
+     * Get film by id
+     *
+     * @param id film id
+     * @return film or null if absent
+     */
+    public Film getById(int id) {
+        return count(filmById.get(id));
+    }
+
+    /**
+     * Store film
+     *
+     * @param film       film from DB, might be null
+     * @param generation generation taken before loading
+     * @return FilmSnapshot or null if film is null
+     */
+    public Film put(Film film, long generation) {
+        if (film == null) return null;
+        final FilmSnapshot snapshot = FilmSnapshot.of(film);
+        synchronized (this) {
+            if (isActual(generation)) {
+                filmById.put(snapshot.getId(), snapshot);
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+     * Get total amount of films in DB
+     *
+     * @return amount or null if absent
+     */
+    public Integer getTotalRows() {
+        return count(totalRows);
+    }
+
+    /**
+     * Store total amount of films in DB
+     *
+     * @param amount     amount
+     * @param generation generation taken before loading
+     */
+    public synchronized void putTotalRows(int amount, long generation) {
+        if (isActual(generation)) {
+            totalRows = amount;
+        }
+    }
+
+    @Override
+    public synchronized void invalidate() {
+        generation.incrementAndGet();
+        allFilms = null;
+        totalRows = null;
+        pages.clear();
+        filmById.clear();
+        logger.debug("Film cache was invalidated");
+    }
+
+    @Override
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    @Override
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    @Override
+    public long getEvictionCount() {
+        return filmById.getEvictionCount() + pages.getEvictionCount();
+    }
+
+    @Override
+    public int getSize() {
+        return filmById.size() + pages.size();
+    }
+
+    private boolean isActual(long loadGeneration) {
+        return generation.get() == loadGeneration;
+    }
+
+    private <T> T count(T value) {
+        if (value == null) misses.increment();
+        else hits.increment();
+        return value;
+    }
+
+    private List<Film> snapshotList(List<Film> filmList) {
+        if (filmList == null || filmList.isEmpty()) return Collections.emptyList();
+        final List<Film> snapshots = new ArrayList<>(filmList.size());
+        for (Film film : filmList) {
+            snapshots.add(FilmSnapshot.of(film));
+        }
+        return Collections.unmodifiableList(snapshots);
+    }
+
+    private String pageKey(int page, int size) {
+        return page + ":" + size;
+    }
+}
@@ -0,0 +1,19 @@
+package yehor.epam.cache;
+
+/**
+ * JMX view of FilmCache
+ */
+public interface FilmCacheMBean {
+    long getHitCount();
+
+    long getMissCount();
+
+    long getEvictionCount();
+
+    int getSize();
+
+    /**
+     * Drop all cached films
+     */
+    void invalidate();
+}
@@ -0,0 +1,95 @@
+package yehor.epam.cache;
+
+import yehor.epam.entities.Film;
+import yehor.epam.entities.Genre;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable copy of Film with its Genres, safe to share among requests
+ */
+public final class FilmSnapshot extends Film {
+    private static final String IMMUTABLE_MESSAGE = "FilmSnapshot is immutable";
+    private static final String GENRE_DELIMITER = ", ";
+    /**
+     * Genre names joined by comma, computed once as the snapshot can't change
+     */
+    private final String genreNames;
+
+    private FilmSnapshot(int id, String name, String description, String posterUrl, Duration duration, List<Genre> genreList) {
+        super(id, name, description, posterUrl, duration, genreList);
+        this.genreNames = joinGenreNames(genreList);
+    }
+
+    /**
+     * Get immutable copy of the film
+     *
+     * @param film film
+     * @return FilmSnapshot, or the same object if it is already a snapshot
+     */
+    public static FilmSnapshot of(Film film) {
+        if (film instanceof FilmSnapshot) return (FilmSnapshot) film;
+        return new FilmSnapshot(film.getId(), film.getName(), film.getDescription(), film.getPosterUrl(),
+                film.getDuration(), copyGenres(film.getGenreList()));
+    }
+
+    /**
+     * Get genre names joined by comma
+     *
+     * @return genre names, e.g. "Drama, Comedy"
+     */
+    public String getGenreNames() {
+        return genreNames;
+    }
+
+    private static String joinGenreNames(List<Genre> genreList) {
+        final StringBuilder names = new StringBuilder();
+        for (Genre genre : genreList) {
+            if (names.length() > 0) names.append(GENRE_DELIMITER);
+            names.append(genre.getName());
+        }
+        return names.toString();
+    }
+
+    private static List<Genre> copyGenres(List<Genre> genreList) {
+        if (genreList == null || genreList.isEmpty()) return Collections.emptyList();
+        final List<Genre> copy = new ArrayList<>(genreList.size());
+        for (Genre genre : genreList) {
+            copy.add(new Genre(genre.getId(), genre.getName()));
+        }
+        return Collections.unmodifiableList(copy);
+    }
+
+    @Override
+    public void setId(int id) {
+        throw new UnsupportedOperationException(IMMUTABLE_MESSAGE);
+    }
+
+    @Override
+    public void setDuration(Duration duration) {
+        throw new UnsupportedOperationException(IMMUTABLE_MESSAGE);
+    }
+
+    @Override
+    public void setGenreList(List<Genre> genreList) {
+        throw new UnsupportedOperationException(IMMUTABLE_MESSAGE);
+    }
+
+    @Override
+    public void setName(String name) {
+        throw new UnsupportedOperationException(IMMUTABLE_MESSAGE);
+    }
+
+    @Override
+    public void setDescription(String description) {
+        throw new UnsupportedOperationException(IMMUTABLE_MESSAGE);
+    }
+
+    @Override
+    public void setPosterUrl(String posterUrl) {
+        throw new UnsupportedOperationException(IMMUTABLE_MESSAGE);
+    }
+}
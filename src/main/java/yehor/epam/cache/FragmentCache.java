@@ -0,0 +1,99 @@
+package yehor.epam.cache;
+
+import org.slf4j.Logger;
+import yehor.epam.utilities.LoggerManager;
+import yehor.epam.utilities.MBeanManager;
+
+import static yehor.epam.utilities.constants.OtherConstants.FRAGMENT_CACHE_MAX_SIZE;
+
+/**
+ * Cache of rendered HTML fragments of JSP pages.
+ * Key contains version of the data shown in the fragment, so fragments of changed data are never read again
+ * and are evicted as the least recently used
+ */
+public class FragmentCache implements FragmentCacheMBean {
+    private static final Logger logger = LoggerManager.getLogger(FragmentCache.class);
+    private final LruCache<String, String> fragments;
+
+    public FragmentCache(int maxSize) {
+        fragments = new LruCache<>(maxSize);
+    }
+
+    private static final class FragmentCacheHolder {
+        private static final FragmentCache fragmentCache = createFragmentCache();
+
+        private static FragmentCache createFragmentCache() {
+            final FragmentCache cache = new FragmentCache(FRAGMENT_CACHE_MAX_SIZE);
+            MBeanManager.register(cache, "Cache", "FragmentCache");
+            return cache;
+        }
+    }
+
+    /**
+     * Get application-wide FragmentCache
+     *
+     * @return FragmentCache
+     */
+    public static FragmentCache getInstance() {
+        return FragmentCacheHolder.fragmentCache;
+    }
+
+    /**
+     * Build fragment key
+     *
+     * @param region  fragment kind, e.g. filmCard
+     * @param key     id of the entity shown in the fragment
+     * @param locale  locale of the page
+     * @param version version of the data shown in the fragment
+     * @return key
+     */
+    public static String key(String region, Object key, Object locale, long version) {
+        return region + ':' + key + ':' + locale + ':' + version;
+    }
+
+    /**
+     * Get rendered fragment
+     *
+     * @param key fragment key
+     * @return HTML or null if absent
+     */
+    public String get(String key) {
+        return fragments.get(key);
+    }
+
+    /**
+     * Store rendered fragment
+     *
+     * @param key  fragment key
+     * @param html HTML
+     */
+    public void put(String key, String html) {
+        fragments.put(key, html);
+    }
+
+    @Override
+    public void invalidate() {
+        fragments.clear();
+        logger.debug("Fragment cache was invalidated");
+    }
+
+    @Override
+    public long getHitCount() {
+        return fragments.getHitCount();
+    }
+
+    @Override
+    public long getMissCount() {
+        return fragments.getMissCount();
+    }
+
+    @Override
+    public long getEvictionCount() {
+        return fragments.getEvictionCount();
+    }
+
+    @Override
+    public int getSize() {
+        return fragments.size();
+    }
+}
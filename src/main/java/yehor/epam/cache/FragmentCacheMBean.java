@@ -0,0 +1,19 @@
+package yehor.epam.cache;
+
+/**
+ * JMX view of FragmentCache
+ */
+public interface FragmentCacheMBean {
+    long getHitCount();
+
+    long getMissCount();
+
+    long getEvictionCount();
+
+    int getSize();
+
+    /**
+     * Drop all cached fragments
+     */
+    void invalidate();
+}
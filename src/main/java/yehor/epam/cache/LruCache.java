@@ -0,0 +1,132 @@
+package yehor.epam.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
+
+/**
+ * Bounded thread-safe cache with Least Recently Used eviction policy.
+ * Counts hits, misses and evictions
+ *
+ * @param <K> key type
+ * @param <V> value type
+ */
+public class LruCache<K, V> {
+    private final int maxSize;
+    private final Map<K, V> map;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Create cache
+     *
+     * @param maxSize max amount of entries, the least recently used entry is evicted after exceeding it
+     */
+    public LruCache(int maxSize) {
+        if (maxSize < 1) throw new IllegalArgumentException("Cache max size should be positive, got: " + maxSize);
+        this.maxSize = maxSize;
+        this.map = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                final boolean evict = size() > LruCache.this.maxSize;
+                if (evict) evictions.increment();
+                return evict;
+            }
+        };
+    }
+
+    /**
+     * Get value by key
+     *
+     * @param key key
+     * @return value or null if there is no such key
+     */
+    public V get(K key) {
+        final V value;
+        synchronized (map) {
+            value = map.get(key);
+        }
+        if (value == null) misses.increment();
+        else hits.increment();
+        return value;
+    }
+
+    /**
+     * Put value to the cache
+     *
+     * @param key   key
+     * @param value value
+     */
+    public void put(K key, V value) {
+        synchronized (map) {
+            map.put(key, value);
+        }
+    }
+
+    /**
+     * Remove value by key
+     *
+     * @param key key
+     */
+    public void remove(K key) {
+        synchronized (map) {
+            map.remove(key);
+        }
+    }
+
+    /**
+     * Remove entries which keys match the filter
+     *
+     * @param filter key filter
+     */
+    public void removeIf(Predicate<K> filter) {
+        synchronized (map) {
+            map.keySet().removeIf(filter);
+        }
+    }
+
+    /**
+     * Perform action for every entry, doesn't change the access order
+     *
+     * @param action action, must not modify the cache
+     */
+    public void forEach(BiConsumer<K, V> action) {
+        synchronized (map) {
+            map.forEach(action);
+        }
+    }
+
+    /**
+     * Remove all entries, counters stay untouched
+     */
+    public void clear() {
+        synchronized (map) {
+            map.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (map) {
+            return map.size();
+        }
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+}
@@ -0,0 +1,197 @@
+package yehor.epam.cache;
+
+import org.slf4j.Logger;
+import yehor.epam.dao.factories.DaoFactory;
+import yehor.epam.dao.factories.DaoFactoryDeliver;
+import yehor.epam.entities.Genre;
+import yehor.epam.entities.Seat;
+import yehor.epam.exceptions.DaoException;
+import yehor.epam.utilities.LoggerManager;
+import yehor.epam.utilities.MBeanManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Registry of reference data which is rarely changed: genres dictionary and cinema hall seat layout.
+ * Data is kept in arrays indexed by id, so lookup by id is O(1) and doesn't allocate.
+ * Returned genres and seats are immutable and shared, DAOs use them too instead of reading them from DB.
+ * <p>
+ * Until the first successful loading the registry is empty and services should use DAO instead
+ */
+public class ReferenceDataRegistry implements ReferenceDataRegistryMBean {
+    private static final Logger logger = LoggerManager.getLogger(ReferenceDataRegistry.class);
+
+    /**
+     * All data is swapped at once, so readers never see genres and seats of different loadings
+     */
+    private volatile Data data;
+
+    public ReferenceDataRegistry() {
+    }
+
+    private static final class ReferenceDataRegistryHolder {
+        private static final ReferenceDataRegistry registry = createRegistry();
+
+        private static ReferenceDataRegistry createRegistry() {
+            final ReferenceDataRegistry registry = new ReferenceDataRegistry();
+            MBeanManager.register(registry, "Cache", "ReferenceDataRegistry");
+            return registry;
+        }
+    }
+
+    /**
+     * Get application-wide ReferenceDataRegistry
+     *
+     * @return ReferenceDataRegistry
+     */
+    public static ReferenceDataRegistry getInstance() {
+        return ReferenceDataRegistryHolder.registry;
+    }
+
+    /**
+     * Load genres and seats from DB
+     *
+     * @throws DaoException if couldn't load data, previously loaded data stays untouched
+     */
+    public void refresh() throws DaoException {
+        try (DaoFactory factory = DaoFactoryDeliver.getInstance().getFactory()) {
+            load(factory.getGenreDAO().findAll(), factory.getSeatDao().findAll());
+        } catch (DaoException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new DaoException("Couldn't load reference data", e);
+        }
+    }
+
+    /**
+     * Replace registry data by given genres and seats
+     *
+     * @param genreList all genres
+     * @param seatList  all seats
+     */
+    public void load(List<Genre> genreList, List<Seat> seatList) {
+        // Genre and Seat are immutable, so only the lists are copied
+        final List<Genre> genres = new ArrayList<>(genreList);
+        final List<Seat> seats = new ArrayList<>(seatList);
+        data = new Data(genres, seats);
+        logger.info("Reference data loaded: {} genres, {} seats", genres.size(), seats.size());
+    }
+
+    /**
+     * Get genre by id
+     *
+     * @param id genre id
+     * @return genre or null if registry isn't loaded or there is no such genre
+     */
+    public Genre getGenre(int id) {
+        final Data current = data;
+        if (current == null || id < 0 || id >= current.genresById.length) return null;
+        return current.genresById[id];
+    }
+
+    /**
+     * Get seat by id
+     *
+     * @param id seat id
+     * @return seat or null if registry isn't loaded or there is no such seat
+     */
+    public Seat getSeat(int id) {
+        final Data current = data;
+        if (current == null || id < 0 || id >= current.seatsById.length) return null;
+        return current.seatsById[id];
+    }
+
+    /**
+     * Get all genres
+     *
+     * @return unmodifiable list or null if registry isn't loaded
+     */
+    public List<Genre> getGenres() {
+        final Data current = data;
+        return current == null ? null : current.genres;
+    }
+
+    /**
+     * Get all seats of cinema hall
+     *
+     * @return unmodifiable list or null if registry isn't loaded
+     */
+    public List<Seat> getSeats() {
+        final Data current = data;
+        return current == null ? null : current.seats;
+    }
+
+    @Override
+    public boolean isLoaded() {
+        return data != null;
+    }
+
+    @Override
+    public int getGenreCount() {
+        final Data current = data;
+        return current == null ? 0 : current.genres.size();
+    }
+
+    @Override
+    public int getSeatCount() {
+        final Data current = data;
+        return current == null ? 0 : current.seats.size();
+    }
+
+    @Override
+    public String getLoadedAt() {
+        final Data current = data;
+        return current == null ? "" : current.loadedAt.toString();
+    }
+
+    @Override
+    public boolean reload() {
+        try {
+            refresh();
+            return true;
+        } catch (DaoException e) {
+            logger.error("Couldn't reload reference data", e);
+            return false;
+        }
+    }
+
+    private static final class Data {
+        private final Genre[] genresById;
+        private final Seat[] seatsById;
+        private final List<Genre> genres;
+        private final List<Seat> seats;
+        private final LocalDateTime loadedAt = LocalDateTime.now();
+
+        private Data(List<Genre> genres, List<Seat> seats) {
+            this.genres = Collections.unmodifiableList(genres);
+            this.seats = Collections.unmodifiableList(seats);
+            genresById = new Genre[maxGenreId(genres) + 1];
+            for (Genre genre : genres) {
+                genresById[genre.getId()] = genre;
+            }
+            seatsById = new Seat[maxSeatId(seats) + 1];
+            for (Seat seat : seats) {
+                seatsById[seat.getId()] = seat;
+            }
+        }
+
+        private static int maxGenreId(List<Genre> genres) {
+            int max = -1;
+            for (Genre genre : genres) {
+                max = Math.max(max, genre.getId());
+            }
+            return max;
+        }
+
+        private static int maxSeatId(List<Seat> seats) {
+            int max = -1;
+            for (Seat seat : seats) {
+                max = Math.max(max, seat.getId());
+            }
+            return max;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package yehor.epam.cache;
+
+/**
+ * JMX view of ReferenceDataRegistry
+ */
+public interface ReferenceDataRegistryMBean {
+    boolean isLoaded();
+
+    int getGenreCount();
+
+    int getSeatCount();
+
+    /**
+     * Get time of the last successful loading
+     *
+     * @return time in ISO format or empty string if never loaded
+     */
+    String getLoadedAt();
+
+    /**
+     * Reload genres and seat layout from DB
+     *
+     * @return true if reloaded successfully
+     */
+    boolean reload();
+}
@@ -0,0 +1,400 @@
+package yehor.epam.cache;
+
+import org.slf4j.Logger;
+import yehor.epam.entities.Ticket;
+import yehor.epam.utilities.LoggerManager;
+import yehor.epam.utilities.MBeanManager;
+import yehor.epam.utilities.TicketPdfEngine;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.*;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+import static yehor.epam.utilities.constants.OtherConstants.*;
+
+/**
+ * Cache of rendered PDF tickets by ticket id and locale.
+ * Ticket doesn't change after purchase, so rendered files are kept on disk in a directory per session until
+ * the session is deleted or they get older than max age, and the most recently used ones in memory.
+ * A rendered ticket is written to disk straight from the render buffer and gets into memory only when it's
+ * requested again. Amount of tickets on disk is bounded: on reaching it expired ones are purged, and if there
+ * are still too many, new tickets aren't stored.
+ * Deleting a session should call {@link #evictSession(int)}, deleting a film - {@link #invalidate()}.
+ * Values rendered under an older generation are not stored, see FilmCache
+ */
+public class RenderedTicketCache implements RenderedTicketCacheMBean {
+    private static final Logger logger = LoggerManager.getLogger(RenderedTicketCache.class);
+    private static final String FILE_SUFFIX = "_v" + TicketPdfEngine.TEMPLATE_VERSION + ".pdf";
+
+    private final LruCache<Key, byte[]> memory;
+    /**
+     * Session id of every ticket stored in memory or on disk
+     */
+    private final Map<Integer, Integer> sessionByTicket = new ConcurrentHashMap<>();
+    private final int maxTickets;
+    private final long maxAgeMillis;
+    private final Path directory;
+    private final AtomicLong generation = new AtomicLong();
+    private final LongAdder diskHits = new LongAdder();
+
+    public RenderedTicketCache(int maxSize, Path directory) {
+        this(maxSize, RENDERED_TICKET_CACHE_MAX_TICKETS, RENDERED_TICKET_CACHE_MAX_AGE, directory);
+    }
+
+    /**
+     * Create cache and index tickets already stored in the directory, expired ones are deleted
+     *
+     * @param maxSize    max amount of tickets kept in memory
+     * @param maxTickets max amount of tickets kept on disk
+     * @param maxAge     age of rendered ticket after which it may be purged
+     * @param directory  directory for rendered tickets
+     */
+    public RenderedTicketCache(int maxSize, int maxTickets, Duration maxAge, Path directory) {
+        this.memory = new LruCache<>(maxSize);
+        this.maxTickets = maxTickets;
+        this.maxAgeMillis = maxAge.toMillis();
+        this.directory = directory;
+        indexDirectory();
+    }
+
+    private static final class RenderedTicketCacheHolder {
+        private static final RenderedTicketCache renderedTicketCache = createRenderedTicketCache();
+
+        private static RenderedTicketCache createRenderedTicketCache() {
+            final RenderedTicketCache cache = new RenderedTicketCache(RENDERED_TICKET_CACHE_MAX_SIZE, RENDERED_TICKET_CACHE_DIR);
+            MBeanManager.register(cache, "Cache", "RenderedTicketCache");
+            return cache;
+        }
+    }
+
+    /**
+     * Get application-wide RenderedTicketCache
+     *
+     * @return RenderedTicketCache
+     */
+    public static RenderedTicketCache getInstance() {
+        return RenderedTicketCacheHolder.renderedTicketCache;
+    }
+
+    /**
+     * Get ETag of rendered ticket, it depends only on ticket id, locale and layout version
+     *
+     * @param ticketId ticket id
+     * @param locale   locale of the ticket labels
+     * @return weak ETag
+     */
+    public static String eTag(int ticketId, Locale locale) {
+        return "W/\"ticket-" + ticketId + '-' + localeTag(locale) + "-v" + TicketPdfEngine.TEMPLATE_VERSION + '"';
+    }
+
+    /**
+     * Get current generation, must be taken before rendering
+     *
+     * @return generation
+     */
+    public long getGeneration() {
+        return generation.get();
+    }
+
+    /**
+     * Get rendered ticket from memory
+     *
+     * @param ticketId ticket id
+     * @param locale   locale of the ticket labels
+     * @return PDF content, must not be modified, or null if absent
+     */
+    public byte[] get(int ticketId, Locale locale) {
+        return memory.get(new Key(ticketId, localeTag(locale)));
+    }
+
+    /**
+     * Get file of rendered ticket from disk
+     *
+     * @param ticketId ticket id
+     * @param locale   locale of the ticket labels
+     * @return path to PDF file or null if absent
+     */
+    public Path getFile(int ticketId, Locale locale) {
+        final Integer sessionId = sessionByTicket.get(ticketId);
+        if (sessionId == null) return null;
+        final Path file = ticketFile(sessionId, ticketId, localeTag(locale));
+        if (!Files.isRegularFile(file)) return null;
+        diskHits.increment();
+        return file;
+    }
+
+    /**
+     * Read rendered ticket from disk and keep it in memory
+     *
+     * @param ticketId ticket id
+     * @param locale   locale of the ticket labels
+     * @return PDF content, must not be modified, or null if absent
+     */
+    public byte[] load(int ticketId, Locale locale) {
+        final long loadGeneration = getGeneration();
+        final Path file = getFile(ticketId, locale);
+        if (file == null) return null;
+        final byte[] content;
+        try {
+            content = Files.readAllBytes(file);
+        } catch (IOException e) {
+            logger.warn("Couldn't read rendered ticket " + file, e);
+            return null;
+        }
+        synchronized (this) {
+            if (isActual(loadGeneration)) memory.put(new Key(ticketId, localeTag(locale)), content);
+        }
+        return content;
+    }
+
+    /**
+     * Store rendered ticket on disk, failure of disk writing is only logged.
+     * Content is written straight from the buffer, so it may be reused after the call
+     *
+     * @param ticket     ticket with session
+     * @param locale     locale of the ticket labels
+     * @param content    PDF content
+     * @param generation generation taken before rendering
+     */
+    public void put(Ticket ticket, Locale locale, ByteArrayOutputStream content, long generation) {
+        final int ticketId = ticket.getId();
+        final int sessionId = ticket.getSession().getId();
+        final String localeTag = localeTag(locale);
+        if (!sessionByTicket.containsKey(ticketId) && sessionByTicket.size() >= maxTickets) {
+            purgeExpired();
+            if (sessionByTicket.size() >= maxTickets) {
+                logger.debug("Rendered ticket {} isn't stored, there are {} tickets on disk", ticketId, maxTickets);
+                return;
+            }
+        }
+        synchronized (this) {
+            if (!isActual(generation)) return;
+            sessionByTicket.put(ticketId, sessionId);
+        }
+        writeToDisk(sessionId, ticketId, localeTag, content, generation);
+    }
+
+    /**
+     * Remove all rendered tickets of the session from memory and disk
+     *
+     * @param sessionId session id
+     */
+    public synchronized void evictSession(int sessionId) {
+        generation.incrementAndGet();
+        sessionByTicket.values().removeIf(id -> id == sessionId);
+        memory.removeIf(key -> !sessionByTicket.containsKey(key.ticketId));
+        deleteRecursively(directory.resolve(String.valueOf(sessionId)));
+        logger.debug("Rendered tickets of session {} were evicted", sessionId);
+    }
+
+    @Override
+    public synchronized void invalidate() {
+        generation.incrementAndGet();
+        memory.clear();
+        sessionByTicket.clear();
+        deleteRecursively(directory);
+        logger.debug("Rendered ticket cache was invalidated");
+    }
+
+    @Override
+    public long getHitCount() {
+        return memory.getHitCount();
+    }
+
+    @Override
+    public long getMissCount() {
+        return memory.getMissCount();
+    }
+
+    @Override
+    public long getEvictionCount() {
+        return memory.getEvictionCount();
+    }
+
+    @Override
+    public long getDiskHitCount() {
+        return diskHits.sum();
+    }
+
+    @Override
+    public int getSize() {
+        return memory.size();
+    }
+
+    @Override
+    public int getTicketCount() {
+        return sessionByTicket.size();
+    }
+
+    /**
+     * Write file to a temporary one and move it in place only if the session wasn't evicted meanwhile
+     */
+    private void writeToDisk(int sessionId, int ticketId, String localeTag, ByteArrayOutputStream content, long generation) {
+        Path tempFile = null;
+        try {
+            final Path sessionDirectory = Files.createDirectories(directory.resolve(String.valueOf(sessionId)));
+            tempFile = Files.createTempFile(sessionDirectory, ticketId + "_", ".tmp");
+            try (OutputStream out = Files.newOutputStream(tempFile)) {
+                content.writeTo(out);
+            }
+            synchronized (this) {
+                if (isActual(generation)) {
+                    Files.move(tempFile, ticketFile(sessionId, ticketId, localeTag),
+                            StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                    tempFile = null;
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Couldn't store rendered ticket " + ticketId + " on disk", e);
+        } finally {
+            if (tempFile != null) {
+                deleteQuietly(tempFile);
+            }
+        }
+    }
+
+    /**
+     * Delete tickets rendered longer than max age ago, their sessions are most likely over.
+     * A ticket rendered in several locales is forgotten on the first expired file and rendered again if needed
+     */
+    private synchronized void purgeExpired() {
+        if (!Files.isDirectory(directory)) return;
+        final long before = sessionByTicket.size();
+        try (Stream<Path> sessionDirectories = Files.list(directory)) {
+            sessionDirectories.filter(Files::isDirectory).forEach(this::purgeExpired);
+        } catch (IOException | UncheckedIOException e) {
+            logger.warn("Couldn't purge rendered tickets in " + directory, e);
+        }
+        logger.debug("{} expired rendered tickets were purged", before - sessionByTicket.size());
+    }
+
+    private void purgeExpired(Path sessionDirectory) {
+        try (Stream<Path> files = Files.list(sessionDirectory)) {
+            files.filter(this::isExpired).forEach(file -> {
+                deleteQuietly(file);
+                final Integer ticketId = parseTicketId(file.getFileName().toString());
+                if (ticketId != null) sessionByTicket.remove(ticketId);
+            });
+        } catch (IOException | UncheckedIOException e) {
+            logger.warn("Couldn't purge rendered tickets in " + sessionDirectory, e);
+            return;
+        }
+        try (Stream<Path> files = Files.list(sessionDirectory)) {
+            if (files.findAny().isEmpty()) deleteQuietly(sessionDirectory);
+        } catch (IOException | UncheckedIOException e) {
+            logger.warn("Couldn't check rendered tickets in " + sessionDirectory, e);
+        }
+    }
+
+    private boolean isExpired(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis() < System.currentTimeMillis() - maxAgeMillis;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Register tickets stored by previous application runs, remove temporary files, expired files
+     * and files of other layout version
+     */
+    private void indexDirectory() {
+        if (!Files.isDirectory(directory)) return;
+        try (Stream<Path> files = Files.walk(directory, 2)) {
+            files.filter(Files::isRegularFile).forEach(this::indexFile);
+        } catch (IOException | UncheckedIOException e) {
+            logger.warn("Couldn't index rendered tickets in " + directory, e);
+        }
+        logger.info("Found {} rendered tickets in {}", sessionByTicket.size(), directory);
+    }
+
+    private void indexFile(Path file) {
+        final Integer ticketId = parseTicketId(file.getFileName().toString());
+        try {
+            if (ticketId == null || isExpired(file)) throw new NumberFormatException(file.toString());
+            final int sessionId = Integer.parseInt(file.getParent().getFileName().toString());
+            sessionByTicket.put(ticketId, sessionId);
+        } catch (NumberFormatException e) {
+            deleteQuietly(file);
+        }
+    }
+
+    /**
+     * Get ticket id from name of rendered ticket file
+     *
+     * @return ticket id or null if it isn't a rendered ticket of the current layout version
+     */
+    private static Integer parseTicketId(String fileName) {
+        final int separator = fileName.indexOf('_');
+        if (!fileName.endsWith(FILE_SUFFIX) || separator < 0) return null;
+        try {
+            return Integer.parseInt(fileName.substring(0, separator));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private Path ticketFile(int sessionId, int ticketId, String localeTag) {
+        return directory.resolve(String.valueOf(sessionId)).resolve(ticketId + "_" + localeTag + FILE_SUFFIX);
+    }
+
+    private boolean isActual(long renderGeneration) {
+        return generation.get() == renderGeneration;
+    }
+
+    private static String localeTag(Locale locale) {
+        final String tag = locale.toLanguageTag().replaceAll("[^A-Za-z0-9-]", "");
+        return tag.isEmpty() ? "und" : tag;
+    }
+
+    private static void deleteRecursively(Path path) {
+        if (!Files.exists(path)) return;
+        try (Stream<Path> files = Files.walk(path)) {
+            files.sorted(Comparator.reverseOrder()).forEach(RenderedTicketCache::deleteQuietly);
+        } catch (IOException | UncheckedIOException e) {
+            logger.warn("Couldn't delete rendered tickets in " + path, e);
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            logger.warn("Couldn't delete " + path, e);
+        }
+    }
+
+    private static final class Key {
+        private final int ticketId;
+        private final String localeTag;
+
+        private Key(int ticketId, String localeTag) {
+            this.ticketId = ticketId;
+            this.localeTag = localeTag;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Key key = (Key) o;
+            return ticketId == key.ticketId && localeTag.equals(key.localeTag);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(ticketId, localeTag);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package yehor.epam.cache;
+
+/**
+ * JMX view of RenderedTicketCache
+ */
+public interface RenderedTicketCacheMBean {
+    long getHitCount();
+
+    long getMissCount();
+
+    long getEvictionCount();
+
+    long getDiskHitCount();
+
+    int getSize();
+
+    /**
+     * Amount of tickets rendered in any locale and stored in memory or on disk
+     */
+    int getTicketCount();
+
+    /**
+     * Drop all rendered tickets from memory and disk
+     */
+    void invalidate();
+}
@@ -0,0 +1,331 @@
+package yehor.epam.cache;
+
+import org.slf4j.Logger;
+import yehor.epam.entities.Session;
+import yehor.epam.utilities.LoggerManager;
+import yehor.epam.utilities.MBeanManager;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static yehor.epam.utilities.constants.OtherConstants.*;
+
+/**
+ * Cache of schedule pages: session lists by filter/sort settings and page, and total session amount.
+ * <p>
+ * Filtered lists contain only upcoming sessions, so all pages expire when the clock crosses the next session start.
+ * Saving or deleting a session should call {@link #invalidate()}, selling a ticket - {@link #onTicketSold(int)}.
+ * Values loaded under an older generation are not stored, see FilmCache
+ */
+public class ScheduleCache implements ScheduleCacheMBean {
+    private static final Logger logger = LoggerManager.getLogger(ScheduleCache.class);
+
+    private final LruCache<Key, List<Session>> pages;
+    private final AtomicLong generation = new AtomicLong();
+    private final Clock clock;
+    private volatile Integer totalRows;
+    /**
+     * Start of the nearest upcoming session, null if not loaded yet
+     */
+    private volatile LocalDateTime expiresAt;
+
+    public ScheduleCache(int maxSize) {
+        this(maxSize, Clock.systemDefaultZone());
+    }
+
+    ScheduleCache(int maxSize, Clock clock) {
+        this.pages = new LruCache<>(maxSize);
+        this.clock = clock;
+    }
+
+    private static final class ScheduleCacheHolder {
+        private static final ScheduleCache scheduleCache = createScheduleCache();
+
+        private static ScheduleCache createScheduleCache() {
+            final ScheduleCache cache = new ScheduleCache(SCHEDULE_CACHE_MAX_SIZE);
+            MBeanManager.register(cache, "Cache", "ScheduleCache");
+            return cache;
+        }
+    }
+
+    /**
+     * Get application-wide ScheduleCache
+     *
+     * @return ScheduleCache
+     */
+    public static ScheduleCache getInstance() {
+        return ScheduleCacheHolder.scheduleCache;
+    }
+
+    /**
+     * Get key of filtered and sorted page, the map is interpreted the same way as by SessionDao
+     *
+     * @param filterSortMap map containing only filter and sort params
+     * @param page          page number
+     * @param size          page size
+     * @return key
+     */
+    public static Key filteredKey(Map<String, String> filterSortMap, int page, int size) {
+        final boolean onlyAvailable = filterSortMap.containsValue(SESSION_FILTER_SHOW_ONLY_AVAILABLE);
+        final boolean descending = filterSortMap.containsValue(SESSION_SORT_METHOD_DESC);
+        String sortBy = SESSION_SORT_BY_DATETIME;
+        if (filterSortMap.containsValue(SESSION_SORT_BY_FILM_NAME)) {
+            sortBy = SESSION_SORT_BY_FILM_NAME;
+        } else if (filterSortMap.containsValue(SESSION_SORT_BY_SEATS_REMAIN)) {
+            sortBy = SESSION_SORT_BY_SEATS_REMAIN;
+        }
+        return new Key(true, sortBy, descending, onlyAvailable, page, size);
+    }
+
+    /**
+     * Get key of not filtered page
+     *
+     * @param page page number
+     * @param size page size
+     * @return key
+     */
+    public static Key unfilteredKey(int page, int size) {
+        return new Key(false, SESSION_SORT_BY_DATETIME, false, false, page, size);
+    }
+
+    /**
+     * Get current generation, must be taken before loading values from DB
+     *
+     * @return generation
+     */
+    public long getGeneration() {
+        return generation.get();
+    }
+
+    /**
+     * Get version of cached pages, changes on invalidation, expiration and ticket selling
+     *
+     * @return version
+     */
+    public long getVersion() {
+        expireIfNeeded();
+        return generation.get();
+    }
+
+    /**
+     * Get session list of schedule page
+     *
+     * @param key page key
+     * @return unmodifiable list of sessions or null if absent
+     */
+    public List<Session> get(Key key) {
+        expireIfNeeded();
+        return pages.get(key);
+    }
+
+    /**
+     * Store session list of schedule page
+     *
+     * @param key         page key
+     * @param sessionList sessions from DB
+     * @param generation  generation taken before loading
+     * @return unmodifiable list of sessions
+     */
+    public List<Session> put(Key key, List<Session> sessionList, long generation) {
+        final List<Session> list = Collections.unmodifiableList(sessionList);
+        synchronized (this) {
+            if (isActual(generation)) {
+                pages.put(key, list);
+            }
+        }
+        return list;
+    }
+
+    /**
+     * Get total amount of sessions in DB
+     *
+     * @return amount or null if absent
+     */
+    public Integer getTotalRows() {
+        expireIfNeeded();
+        return totalRows;
+    }
+
+    /**
+     * Store total amount of sessions in DB
+     *
+     * @param amount     amount
+     * @param generation generation taken before loading
+     */
+    public synchronized void putTotalRows(int amount, long generation) {
+        if (isActual(generation)) {
+            totalRows = amount;
+        }
+    }
+
+    /**
+     * Check if the expiration time is known
+     *
+     * @return false if next session start should be loaded and set by {@link #setNextSessionStart}
+     */
+    public boolean isExpiryKnown() {
+        return expiresAt != null;
+    }
+
+    /**
+     * Set start of the nearest upcoming session, all pages expire after it
+     *
+     * @param nextSessionStart session start or null if there is no upcoming sessions
+     * @param generation       generation taken before loading
+     */
+    public synchronized void setNextSessionStart(LocalDateTime nextSessionStart, long generation) {
+        if (isActual(generation)) {
+            expiresAt = nextSessionStart == null ? LocalDateTime.MAX : nextSessionStart;
+        }
+    }
+
+    /**
+     * Update cached pages after selling a ticket of the session: pages which depend on free seats order or filter
+     * are removed, other pages containing the session are replaced by copies with decremented free seat amount.
+     * Cached sessions are never changed in place, they may be rendered by other requests at the moment
+     *
+     * @param sessionId session id
+     */
+    public synchronized void onTicketSold(int sessionId) {
+        generation.incrementAndGet();
+        pages.removeIf(Key::dependsOnFreeSeats);
+        final Map<Key, List<Session>> patched = new HashMap<>();
+        pages.forEach((key, sessionList) -> {
+            final List<Session> patchedList = withSeatSold(sessionList, sessionId);
+            if (patchedList != sessionList) patched.put(key, patchedList);
+        });
+        patched.forEach(pages::put);
+    }
+
+    /**
+     * Copy the list replacing the sold session by its copy with one seat less
+     *
+     * @return the same list if it doesn't contain the session
+     */
+    private static List<Session> withSeatSold(List<Session> sessionList, int sessionId) {
+        List<Session> copy = null;
+        for (int i = 0; i < sessionList.size(); i++) {
+            final Session session = sessionList.get(i);
+            if (session.getId() == sessionId && session.getSeatsAmount() > 0) {
+                if (copy == null) copy = new ArrayList<>(sessionList);
+                copy.set(i, new Session(session.getId(), session.getTicketPrice(), session.getDate(), session.getTime(),
+                        session.getFilm(), session.getSeatsAmount() - 1));
+            }
+        }
+        return copy == null ? sessionList : Collections.unmodifiableList(copy);
+    }
+
+    @Override
+    public synchronized void invalidate() {
+        generation.incrementAndGet();
+        pages.clear();
+        totalRows = null;
+        expiresAt = null;
+        logger.debug("Schedule cache was invalidated");
+    }
+
+    @Override
+    public long getHitCount() {
+        return pages.getHitCount();
+    }
+
+    @Override
+    public long getMissCount() {
+        return pages.getMissCount();
+    }
+
+    @Override
+    public long getEvictionCount() {
+        return pages.getEvictionCount();
+    }
+
+    @Override
+    public int getSize() {
+        return pages.size();
+    }
+
+    @Override
+    public String getExpiresAt() {
+        final LocalDateTime expires = expiresAt;
+        return expires == null ? "" : expires.toString();
+    }
+
+    private void expireIfNeeded() {
+        final LocalDateTime expires = expiresAt;
+        if (expires != null && LocalDateTime.now(clock).isAfter(expires)) {
+            synchronized (this) {
+                if (expires.equals(expiresAt)) {
+                    logger.debug("Schedule cache expired at {}", expires);
+                    invalidate();
+                }
+            }
+        }
+    }
+
+    private boolean isActual(long loadGeneration) {
+        return generation.get() == loadGeneration;
+    }
+
+    /**
+     * Key of schedule page
+     */
+    public static final class Key {
+        private final boolean filtered;
+        private final String sortBy;
+        private final boolean descending;
+        private final boolean onlyAvailable;
+        private final int page;
+        private final int size;
+
+        private Key(boolean filtered, String sortBy, boolean descending, boolean onlyAvailable, int page, int size) {
+            this.filtered = filtered;
+            this.sortBy = sortBy;
+            this.descending = descending;
+            this.onlyAvailable = onlyAvailable;
+            this.page = page;
+            this.size = size;
+        }
+
+        /**
+         * Check if selling a ticket might change the page content or order
+         *
+         * @return true if the page is filtered by available seats or sorted by free seats amount
+         */
+        boolean dependsOnFreeSeats() {
+            return onlyAvailable || SESSION_SORT_BY_SEATS_REMAIN.equals(sortBy);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Key key = (Key) o;
+            return filtered == key.filtered && descending == key.descending && onlyAvailable == key.onlyAvailable
+                    && page == key.page && size == key.size && sortBy.equals(key.sortBy);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(filtered, sortBy, descending, onlyAvailable, page, size);
+        }
+
+        @Override
+        public String toString() {
+            return "Key{" +
+                    "filtered=" + filtered +
+                    ", sortBy=" + sortBy +
+                    ", descending=" + descending +
+                    ", onlyAvailable=" + onlyAvailable +
+                    ", page=" + page +
+                    ", size=" + size +
+                    '}';
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package yehor.epam.cache;
+
+/**
+ * JMX view of ScheduleCache
+ */
+public interface ScheduleCacheMBean {
+    long getHitCount();
+
+    long getMissCount();
+
+    long getEvictionCount();
+
+    int getSize();
+
+    /**
+     * Get time when all cached pages expire
+     *
+     * @return time in ISO format or empty string if not defined
+     */
+    String getExpiresAt();
+
+    /**
+     * Drop all cached schedule pages
+     */
+    void invalidate();
+}
@@ -43,6 +43,10 @@ public class ConnectionPool {
      * The maximum number of established connections
      */
     private int maxIdle;
+    /**
+     * The maximum number of active connections, requests over it wait up to maxWait
+     */
+    private int maxTotal;
     /**
      * The maximum number of milliseconds that the pool will wait
      */
@@ -98,6 +102,7 @@ public class ConnectionPool {
         url = properties.getProperty("url");
         minIdle = Integer.parseInt(properties.getProperty("minIdle"));
         maxIdle = Integer.parseInt(properties.getProperty("maxIdle"));
+        maxTotal = Integer.parseInt(properties.getProperty("maxTotal"));
         maxWait = Long.parseLong(properties.getProperty("maxWait"));
     }
 
@@ -120,6 +125,7 @@ public class ConnectionPool {
         ds.setUrl(url);
         ds.setMinIdle(minIdle);
         ds.setMaxIdle(maxIdle);
+        ds.setMaxTotal(maxTotal);
         ds.setMaxWaitMillis(maxWait);
     }
 
@@ -3,6 +3,7 @@ package yehor.epam.dao;
 import yehor.epam.entities.Session;
 import yehor.epam.exceptions.DaoException;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 
@@ -47,4 +48,12 @@ public interface SessionDao extends DAO<Session>, PaginatableDao<Session> {
      */
     boolean delete(int sessionId) throws DaoException;
 
+    /**
+     * Find start of the nearest session after received time
+     *
+     * @param after time
+     * @return date and time of session start or null if there is no such session
+     */
+    LocalDateTime findNextSessionStart(LocalDateTime after) throws DaoException;
+
 }
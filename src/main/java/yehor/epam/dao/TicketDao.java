@@ -14,4 +14,21 @@ public interface TicketDao extends DAO<Ticket> {
     List<Ticket> findAllByUserId(int userId, int start, int size) throws DaoException;
 
     int countTotalRowByUserId(int userId) throws DaoException;
+
+    /**
+     * Get all tickets of the session with their session, film and seat by one query
+     *
+     * @param sessionId id of Session
+     * @return list of tickets ordered by id, users contain only id
+     */
+    List<Ticket> findAllBySessionId(int sessionId) throws DaoException;
+
+    /**
+     * Get all User's tickets of the session with their session, film and seat by one query
+     *
+     * @param sessionId id of Session
+     * @param userId    id of User
+     * @return list of tickets ordered by id, users contain only id
+     */
+    List<Ticket> findAllBySessionIdAndUserId(int sessionId, int userId) throws DaoException;
 }
@@ -4,8 +4,6 @@ import yehor.epam.exceptions.AuthException;
 import yehor.epam.entities.User;
 import yehor.epam.exceptions.DaoException;
 
-import java.util.Map;
-
 public interface UserDao extends DAO<User> {
     /**
      * Get user by login. Use ONLY after password checking
@@ -17,18 +15,23 @@ public interface UserDao extends DAO<User> {
     User getUserByLogin(String login) throws AuthException, DaoException;
 
     /**
-     * Get max if of user table for setting User's id to user object
+     * Replace password hash of the user if it's still the expected one
      *
-     * @return max id of user's table
+     * @param userId      user id
+     * @param oldPassword current password hash
+     * @param password    new password hash
+     * @param salt        new salt
+     * @return true if the password is replaced, false if it was changed meanwhile
+     * @throws DaoException
      */
-    int getMaxId() throws DaoException;
+    boolean replacePassword(int userId, String oldPassword, String password, String salt) throws DaoException;
 
     /**
-     * Get Map containing User's salt value and encrypted password by received login
+     * Increase token version of the user, so all refresh tokens issued before are rejected
      *
-     * @param login User's login/email
-     * @return Map containing User's salt value and encrypted password
-     * @throws AuthException throw if there is no user with the login or password is incorrect
+     * @param userId user id
+     * @return true if the user exists
+     * @throws DaoException
      */
-    Map<String, String> getSaltAndPassByLogin(String login) throws AuthException, DaoException;
+    boolean incrementTokenVersion(int userId) throws DaoException;
 }
@@ -1,6 +1,7 @@
 package yehor.epam.dao.mysql;
 
 import org.slf4j.Logger;
+import yehor.epam.cache.ReferenceDataRegistry;
 import yehor.epam.dao.BaseDAO;
 import yehor.epam.dao.FilmDao;
 import yehor.epam.entities.Film;
@@ -18,8 +19,13 @@ import java.util.List;
 
 public class MySQLFilmDao extends BaseDAO implements FilmDao {
     private static final Logger logger = LoggerManager.getLogger(MySQLFilmDao.class);
-    private static final String SELECT_ALL = "SELECT * FROM films ORDER BY film_id DESC";
-    private static final String SELECT_BY_ID = "SELECT * FROM films WHERE film_id=?";
+    /**
+     * Genre ids of the film are selected with it, genres themselves are taken from ReferenceDataRegistry
+     */
+    private static final String SELECT_FILM = "SELECT F.*, (SELECT GROUP_CONCAT(F_G.genre_id) FROM films_genres AS F_G " +
+            "WHERE F_G.film_id = F.film_id) AS genre_ids FROM films AS F";
+    private static final String SELECT_ALL = SELECT_FILM + " ORDER BY F.film_id DESC";
+    private static final String SELECT_BY_ID = SELECT_FILM + " WHERE F.film_id=?";
     private static final String INSERT_FILM = "INSERT INTO films VALUES(film_id, ?,?,?,?)";
     private static final String DELETE_BY_FILM_ID = "DELETE  FROM films WHERE film_id=?";
     private static final String LIMIT = " LIMIT ?, ?";
@@ -171,7 +177,8 @@ public class MySQLFilmDao extends BaseDAO implements FilmDao {
                     rs.getString("poster_url"),
                     Duration.ofMinutes(rs.getInt("duration"))
             );
-            final List<Genre> genreList = getGenresDAO().getGenreListOfFilm(film.getId());
+            List<Genre> genreList = getGenresFromRegistry(rs.getString("genre_ids"));
+            if (genreList == null) genreList = getGenresDAO().getGenreListOfFilm(film.getId());
             film.setGenreList(genreList);
         } catch (SQLException e) {
             logger.error("Couldn't get film from ResultSet", e);
@@ -180,6 +187,26 @@ public class MySQLFilmDao extends BaseDAO implements FilmDao {
         return film;
     }
 
+    /**
+     * Get genres by ids joined by comma
+     *
+     * @param genreIds genre ids, null if the film has no genres
+     * @return genres or null if the registry isn't loaded or misses any of them
+     */
+    private static List<Genre> getGenresFromRegistry(String genreIds) {
+        final ReferenceDataRegistry registry = ReferenceDataRegistry.getInstance();
+        if (!registry.isLoaded()) return null;
+        if (genreIds == null || genreIds.isEmpty()) return new ArrayList<>();
+        final String[] ids = genreIds.split(",");
+        final List<Genre> genreList = new ArrayList<>(ids.length);
+        for (String id : ids) {
+            final Genre genre = registry.getGenre(Integer.parseInt(id));
+            if (genre == null) return null;
+            genreList.add(genre);
+        }
+        return genreList;
+    }
+
     private MySQLGenreDAO getGenresDAO() {
         final MySQLGenreDAO mySQLGenreDAO = new MySQLGenreDAO();
         mySQLGenreDAO.setConnection(getConnection());
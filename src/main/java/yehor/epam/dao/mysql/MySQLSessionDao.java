@@ -10,6 +10,7 @@ import yehor.epam.utilities.LoggerManager;
 
 import java.sql.*;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -25,6 +26,7 @@ public class MySQLSessionDao extends BaseDAO implements SessionDao {
     private static final String SELECT_BY_ID = "SELECT * FROM sessions s JOIN films f on s.film_id = f.film_id WHERE s.session_id=?";
     private static final String SELECT_FREE_SEATS_BY_ID = "SELECT free_seats FROM sessions WHERE session_id=?";
     private static final String DELETE_BY_SESSION_ID = "DELETE FROM sessions WHERE session_id=?";
+    private static final String SELECT_NEXT_SESSION_START = "SELECT MIN(TIMESTAMP(date, time)) FROM sessions WHERE TIMESTAMP(date, time)>?";
 
     private static final String WHERE_DEFAULT = " WHERE s.date>=? AND IF (s.date=?, s.time>=?, s.time>=?)";
     private static final String AND_FREE_SEATS = " AND s.free_seats>0";
@@ -257,6 +259,23 @@ public class MySQLSessionDao extends BaseDAO implements SessionDao {
         return isDecremented;
     }
 
+    @Override
+    public LocalDateTime findNextSessionStart(LocalDateTime after) throws DaoException {
+        LocalDateTime nextStart = null;
+        try (PreparedStatement statement = getConnection().prepareStatement(SELECT_NEXT_SESSION_START)) {
+            statement.setTimestamp(1, Timestamp.valueOf(after));
+            ResultSet resultSet = statement.executeQuery();
+            while (resultSet.next()) {
+                final Timestamp timestamp = resultSet.getTimestamp(1);
+                if (timestamp != null) nextStart = timestamp.toLocalDateTime();
+            }
+        } catch (SQLException e) {
+            logger.error("Couldn't find next session start", e);
+            throw new DaoException("Couldn't find next session start", e);
+        }
+        return nextStart;
+    }
+
     /**
      * Build request based on received filter and sort settings
      *
@@ -1,8 +1,10 @@
 package yehor.epam.dao.mysql;
 
 import org.slf4j.Logger;
+import yehor.epam.cache.ReferenceDataRegistry;
 import yehor.epam.dao.BaseDAO;
 import yehor.epam.dao.TicketDao;
+import yehor.epam.entities.Film;
 import yehor.epam.entities.Seat;
 import yehor.epam.entities.Session;
 import yehor.epam.entities.Ticket;
@@ -14,6 +16,7 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -24,6 +27,15 @@ public class MySQLTicketDao extends BaseDAO implements TicketDao {
     private static final String SELECT_BY_ID = "SELECT * FROM tickets t WHERE ticket_id=?";
     private static final String COUNT_TOTAL_ROWS = "SELECT COUNT(*) FROM tickets WHERE user_id=?";
     private static final String LIMIT = " LIMIT ?, ?";
+    private static final String SELECT_JOINED = "SELECT t.ticket_id, t.user_id, t.ticket_price," +
+            " s.session_id, s.date, s.time, s.ticket_price AS session_price, s.free_seats," +
+            " f.film_id, f.film_name, f.description, f.poster_url, f.duration," +
+            " st.seat_id, st.`row_number`, st.place_number" +
+            " FROM tickets t JOIN sessions s ON t.session_id = s.session_id" +
+            " JOIN films f ON s.film_id = f.film_id JOIN seats st ON t.seat_id = st.seat_id";
+    private static final String SELECT_JOINED_BY_SESSION_ID = SELECT_JOINED + " WHERE t.session_id=? ORDER BY t.ticket_id";
+    private static final String SELECT_JOINED_BY_SESSION_AND_USER_ID = SELECT_JOINED +
+            " WHERE t.session_id=? AND t.user_id=? ORDER BY t.ticket_id";
 
     @Override
     public boolean insert(Ticket ticket) throws DaoException {
@@ -116,7 +128,9 @@ public class MySQLTicketDao extends BaseDAO implements TicketDao {
         try {
             User user = getUserDAO().findById(rs.getInt("user_id"));
             Session session = getSessionDAO().findById(rs.getInt("session_id"));
-            Seat seat = getSeatDAO().findById(rs.getInt("seat_id"));
+            final int seatId = rs.getInt("seat_id");
+            Seat seat = ReferenceDataRegistry.getInstance().getSeat(seatId);
+            if (seat == null) seat = getSeatDAO().findById(seatId);
             ticket = new Ticket(
                     rs.getInt("ticket_id"),
                     session, user, seat,
@@ -183,4 +197,62 @@ public class MySQLTicketDao extends BaseDAO implements TicketDao {
         }
         return amount;
     }
+
+    @Override
+    public List<Ticket> findAllBySessionId(int sessionId) throws DaoException {
+        List<Ticket> ticketList = new ArrayList<>();
+        try (PreparedStatement statement = getConnection().prepareStatement(SELECT_JOINED_BY_SESSION_ID)) {
+            statement.setInt(1, sessionId);
+            ResultSet resultSet = statement.executeQuery();
+            while (resultSet.next()) {
+                ticketList.add(getTicketFromJoinedResultSet(resultSet));
+            }
+        } catch (SQLException e) {
+            logger.error("Couldn't get session ticket list from Database", e);
+            throw new DaoException("Couldn't get session ticket list from Database");
+        }
+        return ticketList;
+    }
+
+    @Override
+    public List<Ticket> findAllBySessionIdAndUserId(int sessionId, int userId) throws DaoException {
+        List<Ticket> ticketList = new ArrayList<>();
+        try (PreparedStatement statement = getConnection().prepareStatement(SELECT_JOINED_BY_SESSION_AND_USER_ID)) {
+            statement.setInt(1, sessionId);
+            statement.setInt(2, userId);
+            ResultSet resultSet = statement.executeQuery();
+            while (resultSet.next()) {
+                ticketList.add(getTicketFromJoinedResultSet(resultSet));
+            }
+        } catch (SQLException e) {
+            logger.error("Couldn't get user's session ticket list from Database", e);
+            throw new DaoException("Couldn't get user's session ticket list from Database");
+        }
+        return ticketList;
+    }
+
+    /**
+     * Get ticket from row of joined query, unlike getTicketFromResultSet doesn't query related entities
+     */
+    private Ticket getTicketFromJoinedResultSet(ResultSet rs) throws SQLException {
+        final Film film = new Film(
+                rs.getInt("film_id"),
+                rs.getString("film_name"),
+                rs.getString("description"),
+                rs.getString("poster_url"),
+                Duration.ofMinutes(rs.getInt("duration"))
+        );
+        final Session session = new Session(
+                rs.getInt("session_id"),
+                rs.getBigDecimal("session_price"),
+                rs.getDate("date").toLocalDate(),
+                rs.getTime("time").toLocalTime(),
+                film,
+                rs.getInt("free_seats")
+        );
+        final Seat seat = new Seat(rs.getInt("seat_id"), rs.getInt("row_number"), rs.getInt("place_number"));
+        final User user = new User();
+        user.setId(rs.getInt("user_id"));
+        return new Ticket(rs.getInt("ticket_id"), session, user, seat, rs.getBigDecimal("ticket_price"));
+    }
 }
@@ -17,29 +17,74 @@ import java.util.*;
 
 public class MySQLUserDao extends BaseDAO implements UserDao {
     private static final Logger logger = LoggerManager.getLogger(MySQLUserDao.class);
-    private static final String GET_MAX_ID = "SELECT MAX(user_id) FROM users";
-    private String SELECT = "SELECT * FROM users s JOIN roles r on s.role_id = r.role_id WHERE s.email=?";
+    private static final int ER_DUP_ENTRY = 1062;
+    private String SELECT = "SELECT s.user_id, s.first_name, s.second_name, s.email, s.password, s.salt, s.phone_number, " +
+            "s.notification, s.token_version, r.role_name FROM users s JOIN roles r on s.role_id = r.role_id WHERE s.email=?";
     private String SELECT_BY_ID = "SELECT * FROM users s JOIN roles r on s.role_id = r.role_id WHERE s.user_id=?";
     private String INSERT = "INSERT INTO users(user_id, first_name, second_name, email, password, phone_number, notification, salt) VALUES(user_id,?,?,?,?,?,?,?)";
-    private String SELECT_PASS_AND_SALT = "SELECT password, salt FROM users WHERE email=?";
+    private static final String UPDATE_PASSWORD = "UPDATE users SET password=?, salt=? WHERE user_id=? AND password=?";
+    private static final String INCREMENT_TOKEN_VERSION = "UPDATE users SET token_version=token_version+1 WHERE user_id=?";
 
     @Override
     public boolean insert(User user) throws DaoException {
         boolean inserted = false;
         try (PreparedStatement statement = getConnection().prepareStatement(INSERT, Statement.RETURN_GENERATED_KEYS)) {
             setUserToStatement(user, statement);
-            statement.executeUpdate();
+            userInsertTransaction(user, statement);
             inserted = true;
         } catch (SQLException e) {
             logger.error("Couldn't add user to Database", e);
-            if (e.getMessage().contains("Duplicate entry '" + user.getEmail() + "'"))
-                throw new RegisterException("There is a user with such an email already");
+            if (isDuplicateEntry(e))
+                throw new RegisterException("There is a user with such an email already", e);
             else
-                throw new DaoException("Couldn't add user");
+                throw new DaoException("Couldn't add user", e);
         }
         return inserted;
     }
 
+    /**
+     * Transaction method inserting user and setting its generated id on the same connection,
+     * so id of concurrently registered user can't be taken
+     *
+     * @param user      User item
+     * @param statement PreparedStatement
+     */
+    private void userInsertTransaction(User user, PreparedStatement statement) throws SQLException {
+        getConnection().setAutoCommit(false);
+        try {
+            statement.executeUpdate();
+            final int userId = getLastGeneratedKey(statement);
+            if (userId < 1) throw new SQLException("Generated user id wasn't returned");
+            getConnection().commit();
+            user.setId(userId);
+        } catch (SQLException e) {
+            getConnection().rollback();
+            logger.debug("rollback, User was not inserted");
+            throw e;
+        } finally {
+            getConnection().setAutoCommit(true);
+        }
+    }
+
+    private int getLastGeneratedKey(PreparedStatement statement) throws SQLException {
+        int key = -1;
+        try (ResultSet generatedKeys = statement.getGeneratedKeys()) {
+            while (generatedKeys.next())
+                key = generatedKeys.getInt(1);
+        }
+        return key;
+    }
+
+    /**
+     * Check if insert failed because of unique key, email is the only unique column of users except the id
+     *
+     * @param e SQLException
+     * @return true if MySQL returned ER_DUP_ENTRY
+     */
+    private boolean isDuplicateEntry(SQLException e) {
+        return e.getErrorCode() == ER_DUP_ENTRY;
+    }
+
     private void setUserToStatement(User user, PreparedStatement statement) throws SQLException {
         try {
             statement.setString(1, user.getFirstName());
@@ -104,38 +149,28 @@ public class MySQLUserDao extends BaseDAO implements UserDao {
     }
 
     @Override
-    public int getMaxId() throws DaoException {
-        int maxId = 0;
-        try (Statement statement = getConnection().createStatement()) {
-            final ResultSet resultSet = statement.executeQuery(GET_MAX_ID);
-            while (resultSet.next())
-                maxId = resultSet.getInt(1);
-            if (maxId == 0) throw new DaoException("Received maxId = 0");
+    public boolean replacePassword(int userId, String oldPassword, String password, String salt) throws DaoException {
+        try (PreparedStatement statement = getConnection().prepareStatement(UPDATE_PASSWORD)) {
+            statement.setString(1, password);
+            statement.setString(2, salt);
+            statement.setInt(3, userId);
+            statement.setString(4, oldPassword);
+            return statement.executeUpdate() > 0;
         } catch (SQLException e) {
-            logger.error("Couldn't get max id from Database", e);
-            throw new DaoException("Couldn't get id from Database", e);
+            logger.error("Couldn't replace password of user: " + userId, e);
+            throw new DaoException("Couldn't replace password of user", e);
         }
-        return maxId;
     }
 
     @Override
-    public Map<String, String> getSaltAndPassByLogin(String login) throws AuthException, DaoException {
-        Map<String, String> map = new HashMap<>();
-        try (PreparedStatement statement = getConnection().prepareStatement(SELECT_PASS_AND_SALT)) {
-            statement.setString(1, login);
-            ResultSet resultSet = statement.executeQuery();
-            while (resultSet.next()) {
-                final String salt = resultSet.getString("salt");
-                map.put("salt", salt);
-                final String password = resultSet.getString("password");
-                map.put("password", password);
-            }
-            if (map.isEmpty()) throw new AuthException("Couldn't find user with this login");
+    public boolean incrementTokenVersion(int userId) throws DaoException {
+        try (PreparedStatement statement = getConnection().prepareStatement(INCREMENT_TOKEN_VERSION)) {
+            statement.setInt(1, userId);
+            return statement.executeUpdate() > 0;
         } catch (SQLException e) {
-            logger.error("Couldn't get salt and password from Database", e);
-            throw new DaoException("Couldn't get salt and password from Database", e);
+            logger.error("Couldn't increment token version of user: " + userId, e);
+            throw new DaoException("Couldn't increment token version of user", e);
         }
-        return map;
     }
 
     private User getUserFromResultSet(ResultSet rs) throws DaoException {
@@ -156,6 +191,7 @@ public class MySQLUserDao extends BaseDAO implements UserDao {
 
             final User.Role role = getUserRole(rs);
             user.setUserRole(role);
+            user.setTokenVersion(rs.getInt("token_version"));
         } catch (SQLException e) {
             logger.error("Couldn't get user from ResultSet", e);
             throw new DaoException("Couldn't get user from ResultSet", e);
@@ -0,0 +1,39 @@
+package yehor.epam.entities;
+
+import java.time.Instant;
+
+/**
+ * Verified content of signed authentication token
+ */
+public final class AuthToken {
+    private final int userId;
+    private final User.Role role;
+    private final Instant expiresAt;
+
+    public AuthToken(int userId, User.Role role, Instant expiresAt) {
+        this.userId = userId;
+        this.role = role;
+        this.expiresAt = expiresAt;
+    }
+
+    public int getUserId() {
+        return userId;
+    }
+
+    public User.Role getRole() {
+        return role;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    @Override
+    public String toString() {
+        return "AuthToken{" +
+                "userId=" + userId +
+                ", role=" + role +
+                ", expiresAt=" + expiresAt +
+                '}';
+    }
+}
@@ -1,27 +1,25 @@
 package yehor.epam.entities;
 
 /**
- * Film's genre
+ * Film's genre. Immutable, so genres of ReferenceDataRegistry are shared among requests
  */
 public class Genre extends BaseEntity {
     /**
      * Genre's name
      */
-    private String name;
+    private final String name;
 
     public Genre(int id, String name) {
         super(id);
         this.name = name;
     }
 
-    public Genre() {
-    }
-
     public String getName() {
         return name;
     }
 
-    public void setName(String name) {
-        this.name = name;
+    @Override
+    public void setId(int id) {
+        throw new UnsupportedOperationException("Genre is immutable");
     }
 }
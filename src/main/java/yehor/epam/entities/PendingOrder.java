@@ -0,0 +1,47 @@
+package yehor.epam.entities;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * Tickets chosen on buy ticket page and waiting for payment.
+ * Kept in HTTP session, so it holds only ids instead of whole Ticket, User, Session and Film graphs
+ */
+public final class PendingOrder implements Serializable {
+    private static final long serialVersionUID = 1L;
+    private final int sessionId;
+    private final int userId;
+    private final int[] seatIds;
+
+    public PendingOrder(int sessionId, int userId, int[] seatIds) {
+        this.sessionId = sessionId;
+        this.userId = userId;
+        this.seatIds = seatIds.clone();
+    }
+
+    public int getSessionId() {
+        return sessionId;
+    }
+
+    public int getUserId() {
+        return userId;
+    }
+
+    /**
+     * Get ids of chosen seats as request parameters are
+     *
+     * @return seat ids
+     */
+    public String[] getSeatIdParams() {
+        return Arrays.stream(seatIds).mapToObj(String::valueOf).toArray(String[]::new);
+    }
+
+    @Override
+    public String toString() {
+        return "PendingOrder{" +
+                "sessionId=" + sessionId +
+                ", userId=" + userId +
+                ", seatIds=" + Arrays.toString(seatIds) +
+                '}';
+    }
+}
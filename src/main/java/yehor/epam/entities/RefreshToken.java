@@ -0,0 +1,39 @@
+package yehor.epam.entities;
+
+import java.time.Instant;
+
+/**
+ * Verified content of signed refresh token, it's valid only while user's token version in DB is the same
+ */
+public final class RefreshToken {
+    private final int userId;
+    private final int tokenVersion;
+    private final Instant expiresAt;
+
+    public RefreshToken(int userId, int tokenVersion, Instant expiresAt) {
+        this.userId = userId;
+        this.tokenVersion = tokenVersion;
+        this.expiresAt = expiresAt;
+    }
+
+    public int getUserId() {
+        return userId;
+    }
+
+    public int getTokenVersion() {
+        return tokenVersion;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    @Override
+    public String toString() {
+        return "RefreshToken{" +
+                "userId=" + userId +
+                ", tokenVersion=" + tokenVersion +
+                ", expiresAt=" + expiresAt +
+                '}';
+    }
+}
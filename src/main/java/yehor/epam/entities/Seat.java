@@ -1,20 +1,17 @@
 package yehor.epam.entities;
 
 /**
- * Class of Session's Seat
+ * Class of Session's Seat. Immutable, so seats of ReferenceDataRegistry are shared among requests
  */
 public class Seat extends BaseEntity {
     /**
      * Number of row
      */
-    private int rowNumber;
+    private final int rowNumber;
     /**
      * Number of place
      */
-    private int placeNumber;
-
-    public Seat() {
-    }
+    private final int placeNumber;
 
     public Seat(int id, int rowNumber, int placeNumber) {
         super(id);
@@ -31,19 +28,15 @@ public class Seat extends BaseEntity {
         return rowNumber;
     }
 
-    public void setRowNumber(int rowNumber) {
-        this.rowNumber = rowNumber;
-    }
-
     public int getPlaceNumber() {
         return placeNumber;
     }
 
-    public void setPlaceNumber(int placeNumber) {
-        this.placeNumber = placeNumber;
+    @Override
+    public void setId(int id) {
+        throw new UnsupportedOperationException("Seat is immutable");
     }
 
-
     @Override
     public String toString() {
         return "Seat{" +
@@ -36,6 +36,10 @@ public class User extends BaseEntity {
      * User's encryption
      */
     private String salt;
+    /**
+     * Version of refresh tokens, increasing it revokes all of them
+     */
+    private int tokenVersion;
 
     public User() {
     }
@@ -139,6 +143,14 @@ public class User extends BaseEntity {
         this.salt = salt;
     }
 
+    public int getTokenVersion() {
+        return tokenVersion;
+    }
+
+    public void setTokenVersion(int tokenVersion) {
+        this.tokenVersion = tokenVersion;
+    }
+
     /**
      * Possible User roles
      */
@@ -0,0 +1,14 @@
+package yehor.epam.exceptions;
+
+/**
+ * Exception is used in SessionStore classes. Thrown when session couldn't be read from or written to shared store
+ */
+public class SessionStoreException extends Exception {
+    public SessionStoreException(String message) {
+        super(message);
+    }
+
+    public SessionStoreException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
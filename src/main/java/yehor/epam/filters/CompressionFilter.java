@@ -0,0 +1,285 @@
+package yehor.epam.filters;
+
+import jakarta.servlet.*;
+import jakarta.servlet.annotation.WebFilter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.slf4j.Logger;
+import yehor.epam.utilities.DeflaterPool;
+import yehor.epam.utilities.LoggerManager;
+import yehor.epam.utilities.PooledGzipOutputStream;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+
+import static yehor.epam.utilities.constants.OtherConstants.*;
+
+/**
+ * Filter compressing HTML pages rendered by the Controller with GZIP if the client accepts it.
+ * Output is buffered until it reaches COMPRESSION_MIN_SIZE, so small responses are sent as is.
+ * Other content types, e.g. PDF tickets, aren't touched
+ */
+@WebFilter(filterName = "CompressionFilter", servletNames = {"controller"}, asyncSupported = true)
+public class CompressionFilter implements Filter {
+    private static final Logger logger = LoggerManager.getLogger(CompressionFilter.class);
+    private static final String CLASS_NAME = CompressionFilter.class.getName();
+    private final DeflaterPool deflaterPool;
+    private final int minSize;
+
+    public CompressionFilter() {
+        this(DeflaterPool.getInstance(), COMPRESSION_MIN_SIZE);
+    }
+
+    CompressionFilter(DeflaterPool deflaterPool, int minSize) {
+        this.deflaterPool = deflaterPool;
+        this.minSize = minSize;
+    }
+
+    @Override
+    public void init(FilterConfig filterConfig) throws ServletException {
+        logger.info("Init {}", CLASS_NAME);
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        final HttpServletRequest req = (HttpServletRequest) request;
+        final HttpServletResponse res = (HttpServletResponse) response;
+        res.addHeader(VARY_HEADER, ACCEPT_ENCODING_HEADER);
+        if (!acceptsGzip(req.getHeader(ACCEPT_ENCODING_HEADER))) {
+            chain.doFilter(request, response);
+            return;
+        }
+        final CompressionResponse compressionResponse = new CompressionResponse(res, deflaterPool, minSize);
+        chain.doFilter(request, compressionResponse);
+        if (req.isAsyncStarted()) {
+            // page of asynchronous command is rendered by a later dispatch, the container doesn't close the wrapper
+            req.getAsyncContext().addListener(new FinishingListener(compressionResponse));
+        } else {
+            compressionResponse.finish();
+        }
+    }
+
+    /**
+     * Check if client accepts GZIP content coding
+     *
+     * @param acceptEncoding Accept-Encoding header
+     * @return true if gzip is listed without zero quality
+     */
+    public static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) return false;
+        for (String coding : acceptEncoding.split(",")) {
+            final String[] parts = coding.trim().split(";");
+            if (!GZIP_ENCODING.equalsIgnoreCase(parts[0].trim())) continue;
+            return parts.length == 1 || !parts[1].trim().replace(" ", "").matches("q=0(\\.0*)?");
+        }
+        return false;
+    }
+
+    @Override
+    public void destroy() {
+        logger.info("Destroy {}", CLASS_NAME);
+    }
+
+    /**
+     * Writes the rest of compressed output when async processing is completed
+     */
+    private static final class FinishingListener implements AsyncListener {
+        private final CompressionResponse compressionResponse;
+
+        private FinishingListener(CompressionResponse compressionResponse) {
+            this.compressionResponse = compressionResponse;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            try {
+                compressionResponse.finish();
+            } catch (IOException | RuntimeException e) {
+                logger.warn("Couldn't finish compressed response", e);
+            }
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+
+    /**
+     * Response which output is compressed if it's HTML and big enough
+     */
+    static final class CompressionResponse extends HttpServletResponseWrapper {
+        private final DeflaterPool deflaterPool;
+        private final int minSize;
+        private CompressionOutputStream outputStream;
+        private PrintWriter writer;
+
+        CompressionResponse(HttpServletResponse response, DeflaterPool deflaterPool, int minSize) {
+            super(response);
+            this.deflaterPool = deflaterPool;
+            this.minSize = minSize;
+        }
+
+        private HttpServletResponse getHttpResponse() {
+            return (HttpServletResponse) getResponse();
+        }
+
+        boolean isCompressible() {
+            final String contentType = getContentType();
+            final int status = getStatus();
+            return contentType != null && contentType.startsWith("text/html")
+                    && getHttpResponse().getHeader(CONTENT_ENCODING_HEADER) == null
+                    && status != SC_NO_CONTENT && status != SC_NOT_MODIFIED && status != SC_PARTIAL_CONTENT;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (writer != null) throw new IllegalStateException("getWriter() has already been called");
+            if (outputStream == null) outputStream = new CompressionOutputStream(this);
+            return outputStream;
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (writer == null) {
+                if (outputStream != null) throw new IllegalStateException("getOutputStream() has already been called");
+                outputStream = new CompressionOutputStream(this);
+                writer = new PrintWriter(new OutputStreamWriter(outputStream, Charset.forName(getCharacterEncoding())));
+            }
+            return writer;
+        }
+
+        @Override
+        public void setContentLength(int len) {
+            if (!isCompressible()) super.setContentLength(len);
+        }
+
+        @Override
+        public void setContentLengthLong(long len) {
+            if (!isCompressible()) super.setContentLengthLong(len);
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            if (writer != null) writer.flush();
+            else if (outputStream != null) outputStream.flush();
+            else super.flushBuffer();
+        }
+
+        @Override
+        public void resetBuffer() {
+            if (outputStream != null) outputStream.resetBuffer();
+            super.resetBuffer();
+        }
+
+        @Override
+        public void reset() {
+            if (outputStream != null) outputStream.resetBuffer();
+            super.reset();
+        }
+
+        /**
+         * Write buffered or compressed rest of the output
+         *
+         * @throws IOException if writing failed
+         */
+        void finish() throws IOException {
+            if (writer != null) writer.close();
+            else if (outputStream != null) outputStream.close();
+        }
+    }
+
+    /**
+     * Stream buffering output until it's known whether to compress it
+     */
+    static final class CompressionOutputStream extends ServletOutputStream {
+        private final CompressionResponse response;
+        private ByteArrayOutputStream buffer;
+        private ServletOutputStream target;
+        private PooledGzipOutputStream gzip;
+        private boolean closed;
+
+        CompressionOutputStream(CompressionResponse response) {
+            this.response = response;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (closed) throw new IOException("Stream is closed");
+            if (gzip != null) {
+                gzip.write(b, off, len);
+            } else if (target != null) {
+                target.write(b, off, len);
+            } else if (buffer == null && !response.isCompressible()) {
+                target = response.getResponse().getOutputStream();
+                target.write(b, off, len);
+            } else {
+                if (buffer == null) buffer = new ByteArrayOutputStream(response.minSize);
+                buffer.write(b, off, len);
+                if (buffer.size() >= response.minSize) startGzip();
+            }
+        }
+
+        private void startGzip() throws IOException {
+            final HttpServletResponse httpResponse = response.getHttpResponse();
+            httpResponse.setHeader(CONTENT_ENCODING_HEADER, GZIP_ENCODING);
+            gzip = new PooledGzipOutputStream(httpResponse.getOutputStream(), response.deflaterPool);
+            buffer.writeTo(gzip);
+            buffer = null;
+        }
+
+        /**
+         * Flush is delayed while output is buffered, so a JSP flushing its small buffer doesn't prevent compression
+         */
+        @Override
+        public void flush() throws IOException {
+            if (gzip != null) gzip.flush();
+            else if (target != null) target.flush();
+        }
+
+        void resetBuffer() {
+            if (buffer != null) buffer.reset();
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) return;
+            closed = true;
+            if (gzip != null) {
+                gzip.close();
+            } else if (buffer != null) {
+                final ServletOutputStream out = response.getResponse().getOutputStream();
+                response.getResponse().setContentLength(buffer.size());
+                buffer.writeTo(out);
+                buffer = null;
+            }
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            throw new UnsupportedOperationException("Non-blocking output isn't supported by " + CLASS_NAME);
+        }
+    }
+}
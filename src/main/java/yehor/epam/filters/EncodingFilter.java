@@ -11,7 +11,7 @@ import java.io.IOException;
 /**
  * Encoding to UTF-8 filter
  */
-@WebFilter(urlPatterns = {"/*"}, filterName = "EncodingFilter")
+@WebFilter(urlPatterns = {"/*"}, filterName = "EncodingFilter", asyncSupported = true)
 public class EncodingFilter implements Filter {
     private static final Logger logger = LoggerManager.getLogger(EncodingFilter.class);
     private static final String CLASS_NAME = EncodingFilter.class.getName();
@@ -4,31 +4,32 @@ import jakarta.servlet.*;
 import jakarta.servlet.annotation.WebFilter;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import jakarta.servlet.http.HttpSession;
 import jakarta.servlet.jsp.jstl.core.Config;
 import org.slf4j.Logger;
 import yehor.epam.services.CookieService;
-import yehor.epam.services.GeneralService;
-import yehor.epam.services.impl.CookieServiceImpl;
-import yehor.epam.services.impl.GeneralServiceImpl;
+import yehor.epam.services.ServiceContainer;
 import yehor.epam.utilities.LoggerManager;
+import yehor.epam.utilities.RequestContext;
 
 import java.io.IOException;
-import java.util.Locale;
 
-import static yehor.epam.utilities.constants.OtherConstants.*;
+import static yehor.epam.utilities.constants.OtherConstants.USER_ID;
+import static yehor.epam.utilities.constants.OtherConstants.USER_ROLE;
 
 /**
- * Filter for localization
+ * Filter for localization: resolves RequestContext once per request,
+ * writes language cookie and session attributes only when they change, and login cookies when login is refreshed
  */
-@WebFilter(filterName = "LocaleFilter", urlPatterns = {"/*"})
+@WebFilter(filterName = "LocaleFilter", urlPatterns = {"/*"}, asyncSupported = true)
 public class LocaleFilter implements Filter {
     private static final Logger logger = LoggerManager.getLogger(LocaleFilter.class);
     private static final String CLASS_NAME = LocaleFilter.class.getName();
+    private CookieService cookieService;
 
     @Override
     public void init(FilterConfig arg0) throws ServletException {
         logger.info("Init {}", CLASS_NAME);
+        cookieService = ServiceContainer.getInstance().get(CookieService.class);
     }
 
     public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
@@ -36,48 +37,29 @@ public class LocaleFilter implements Filter {
 
         HttpServletRequest req = (HttpServletRequest) request;
         HttpServletResponse res = (HttpServletResponse) response;
-        HttpSession session = req.getSession(true);
+        final RequestContext context = RequestContext.get(req);
 
-        setSessionWithCookies(req, session);
-        GeneralService generalService = new GeneralServiceImpl();
-        generalService.initParams(req);
-
-        String locale = session.getAttribute(LANG) != null ? (String) session.getAttribute(LANG) : DEFAULT_LANG;
-
-        //get locale from request if it has
-        if (req.getParameter(LANG) != null) {
-            final String langParameter = req.getParameter(LANG);
-            CookieServiceImpl cookieService = new CookieServiceImpl();
-            cookieService.setLocaleCookie(res, langParameter);
-            session.setAttribute(LANG, langParameter);
-            locale = langParameter;
-            logger.info("Set locale = {} from request", langParameter);
+        if (context.isLangChanged()) {
+            cookieService.setLocaleCookie(res, context.getLang());
+            logger.debug("Set locale = {} from request", context.getLang());
         }
+        if (context.getLoginRefresh() == RequestContext.LoginRefresh.REFRESHED) {
+            cookieService.refreshLoginCookie(res, context.getUserId(), context.getRole());
+        } else if (context.getLoginRefresh() == RequestContext.LoginRefresh.REVOKED) {
+            cookieService.logoutCookie(req, res);
+        }
+        context.syncSession(req);
+        req.setAttribute(USER_ROLE, context.getRole().toString());
+        req.setAttribute(USER_ID, context.getUserId());
 
-        //set locale
-        Locale localeObj = new Locale(locale);
-        Config.set(req.getSession(), Config.FMT_LOCALE, localeObj);
+        // request scope, so anonymous visitors don't need a session for fmt tags
+        Config.set(req, Config.FMT_LOCALE, context.getLocale());
 
         chain.doFilter(request, response);
     }
 
-    /**
-     * Get info from Cookies and set to Session
-     *
-     * @param req     HttpServletRequest
-     * @param session current HttpSession
-     */
-    private void setSessionWithCookies(HttpServletRequest req, HttpSession session) {
-        if (session == null || session.getAttribute(USER_ROLE) == null || session.getAttribute(USER_ID).equals(0) || session.getAttribute(LANG) == null) {
-            CookieService cookieService = new CookieServiceImpl();
-            cookieService.initSessionWithCookie(req);
-        } else logger.debug("Skip getCookies block in {}, session lang = {}", CLASS_NAME, session.getAttribute(LANG));
-    }
-
     @Override
     public void destroy() {
         logger.info("Destroy {}", CLASS_NAME);
     }
-
-
-}
\ No newline at end of file
+}
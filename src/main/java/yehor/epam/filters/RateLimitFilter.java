@@ -0,0 +1,40 @@
+package yehor.epam.filters;
+
+import jakarta.servlet.*;
+import jakarta.servlet.annotation.WebFilter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import yehor.epam.servletController.RateLimiter;
+
+import java.io.IOException;
+
+import static yehor.epam.utilities.constants.OtherConstants.RETRY_AFTER_HEADER;
+import static yehor.epam.utilities.constants.OtherConstants.SC_TOO_MANY_REQUESTS;
+
+/**
+ * Rejects login, register and purchase requests exceeding RateLimiter limits with 429,
+ * before the command hashes a password or touches DB
+ */
+@WebFilter(servletNames = {"controller"}, filterName = "RateLimitFilter", asyncSupported = true)
+public class RateLimitFilter implements Filter {
+    private RateLimiter rateLimiter;
+
+    @Override
+    public void init(FilterConfig filterConfig) {
+        rateLimiter = RateLimiter.getInstance();
+    }
+
+    @Override
+    public void doFilter(ServletRequest servletRequest, ServletResponse servletResponse, FilterChain filterChain) throws IOException, ServletException {
+        HttpServletRequest req = (HttpServletRequest) servletRequest;
+        HttpServletResponse resp = (HttpServletResponse) servletResponse;
+        final String command = req.getParameter("command");
+        final long retryAfter = command == null ? 0 : rateLimiter.tryAcquire(command, req);
+        if (retryAfter > 0) {
+            resp.setHeader(RETRY_AFTER_HEADER, String.valueOf(retryAfter));
+            resp.sendError(SC_TOO_MANY_REQUESTS);
+            return;
+        }
+        filterChain.doFilter(req, resp);
+    }
+}
@@ -0,0 +1,132 @@
+package yehor.epam.filters;
+
+import jakarta.servlet.*;
+import jakarta.servlet.annotation.WebFilter;
+import jakarta.servlet.http.*;
+import org.slf4j.Logger;
+import yehor.epam.sessionstore.SharedSessionManager;
+import yehor.epam.utilities.LoggerManager;
+
+import java.io.IOException;
+import java.util.Map;
+
+import static yehor.epam.utilities.constants.OtherConstants.SHARED_SESSION_KEY;
+
+/**
+ * Filter binding HTTP sessions to the shared store. If the node has no session for the shared session cookie,
+ * the stored one is loaded on the first getSession call, so requests which don't use session never read the store.
+ * Local session is checked against the store on the first getSession call too. New session always gets a new key,
+ * key of the cookie isn't used if nothing is stored for it.
+ * Does nothing if shared store isn't configured
+ */
+@WebFilter(filterName = "SharedSessionFilter", urlPatterns = {"/*"}, asyncSupported = true)
+public class SharedSessionFilter implements Filter {
+    private static final Logger logger = LoggerManager.getLogger(SharedSessionFilter.class);
+    private static final String CLASS_NAME = SharedSessionFilter.class.getName();
+    private final SharedSessionManager manager;
+
+    public SharedSessionFilter() {
+        this(SharedSessionManager.getInstance());
+    }
+
+    SharedSessionFilter(SharedSessionManager manager) {
+        this.manager = manager;
+    }
+
+    @Override
+    public void init(FilterConfig filterConfig) throws ServletException {
+        logger.info("Init {}, shared sessions enabled = {}", CLASS_NAME, manager.isEnabled());
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        if (!manager.isEnabled()) {
+            chain.doFilter(request, response);
+            return;
+        }
+        chain.doFilter(new SharedSessionRequest((HttpServletRequest) request, (HttpServletResponse) response, manager),
+                response);
+    }
+
+    @Override
+    public void destroy() {
+        logger.info("Destroy {}", CLASS_NAME);
+    }
+
+    /**
+     * Request which restores or binds local session when it's got
+     */
+    static final class SharedSessionRequest extends HttpServletRequestWrapper {
+        private final HttpServletResponse response;
+        private final SharedSessionManager manager;
+        private final String cookieKey;
+        private boolean restoreTried;
+        private boolean refreshTried;
+
+        SharedSessionRequest(HttpServletRequest request, HttpServletResponse response, SharedSessionManager manager) {
+            super(request);
+            this.response = response;
+            this.manager = manager;
+            this.cookieKey = findCookieKey(request);
+        }
+
+        private static String findCookieKey(HttpServletRequest request) {
+            final Cookie[] cookies = request.getCookies();
+            if (cookies == null) return null;
+            for (Cookie cookie : cookies) {
+                if (SHARED_SESSION_KEY.equals(cookie.getName())) {
+                    return SharedSessionManager.isValidKey(cookie.getValue()) ? cookie.getValue() : null;
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public HttpSession getSession() {
+            return getSession(true);
+        }
+
+        @Override
+        public HttpSession getSession(boolean create) {
+            HttpSession session = super.getSession(false);
+            if (session != null && manager.getKey(session) != null) {
+                if (!refreshTried) {
+                    refreshTried = true;
+                    manager.refreshIfStale(session);
+                }
+                return session;
+            }
+            if (session == null && cookieKey != null && !restoreTried) {
+                restoreTried = true;
+                final Map<String, Object> attributes = manager.load(cookieKey);
+                if (attributes != null) {
+                    session = super.getSession(true);
+                    manager.restore(session, cookieKey, attributes);
+                    return session;
+                }
+                if (!create) {
+                    // nothing is stored for the key, so next requests shouldn't look for it
+                    addKeyCookie("", 0);
+                    return null;
+                }
+            }
+            if (session == null) {
+                if (!create) return null;
+                session = super.getSession(true);
+            }
+            // key of the cookie isn't trusted, it might be planted
+            addKeyCookie(manager.bind(session), -1);
+            return session;
+        }
+
+        private void addKeyCookie(String key, int maxAge) {
+            if (response.isCommitted()) return;
+            final Cookie cookie = new Cookie(SHARED_SESSION_KEY, key);
+            cookie.setHttpOnly(true);
+            cookie.setMaxAge(maxAge);
+            cookie.setPath(getContextPath().isEmpty() ? "/" : getContextPath());
+            response.addCookie(cookie);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package yehor.epam.filters;
+
+import jakarta.servlet.*;
+import jakarta.servlet.annotation.WebFilter;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import org.slf4j.Logger;
+import yehor.epam.entities.PendingOrder;
+import yehor.epam.entities.User;
+import yehor.epam.services.ServiceContainer;
+import yehor.epam.services.WaitingRoomService;
+import yehor.epam.servletController.RateLimiter;
+import yehor.epam.utilities.LoggerManager;
+import yehor.epam.utilities.RequestContext;
+
+import java.io.IOException;
+import java.util.Set;
+
+import static yehor.epam.utilities.constants.CommandConstants.*;
+import static yehor.epam.utilities.constants.JspPagePathConstants.WAITING_ROOM_PAGE_PATH;
+import static yehor.epam.utilities.constants.OtherConstants.*;
+
+/**
+ * Lets only users admitted by the waiting room of the cinema session to its seat map and purchase.
+ * Others get waiting room page, which polls WaitingRoomServlet, so queued users don't touch DB.
+ * Joins are limited by RateLimiter per IP, so a client dropping cookies can't take many places
+ */
+@WebFilter(servletNames = {"controller"}, filterName = "WaitingRoomFilter", asyncSupported = true)
+public class WaitingRoomFilter implements Filter {
+    private static final Logger logger = LoggerManager.getLogger(WaitingRoomFilter.class);
+    private static final Set<String> GATED_COMMANDS = Set.of(COMMAND_VIEW_SESSION_PAGE, COMMAND_VIEW_BUY_TICKET_PAGE, COMMAND_BUY_TICKET);
+    /**
+     * Request attribute names of waiting room page
+     */
+    private static final String QUEUE_POSITION_ATTRIBUTE = "queuePosition";
+    private static final String QUEUE_SESSION_ID_ATTRIBUTE = "queueSessionId";
+    private static final String POLL_SECONDS_ATTRIBUTE = "pollSeconds";
+
+    private WaitingRoomService waitingRoomService;
+    private RateLimiter rateLimiter;
+
+    @Override
+    public void init(FilterConfig filterConfig) {
+        waitingRoomService = ServiceContainer.getInstance().get(WaitingRoomService.class);
+        rateLimiter = RateLimiter.getInstance();
+    }
+
+    @Override
+    public void doFilter(ServletRequest servletRequest, ServletResponse servletResponse, FilterChain filterChain) throws IOException, ServletException {
+        HttpServletRequest req = (HttpServletRequest) servletRequest;
+        HttpServletResponse resp = (HttpServletResponse) servletResponse;
+        final Integer sessionId = GATED_COMMANDS.contains(req.getParameter("command")) ? getSessionId(req) : null;
+        // command itself handles requests without valid session id
+        if (sessionId == null) {
+            filterChain.doFilter(req, resp);
+            return;
+        }
+        final String cookieName = getCookieName(sessionId);
+        final String[] holders = getTicketHolders(req);
+        long position = waitingRoomService.getPosition(sessionId, getCookieValue(req, cookieName), holders);
+        if (position < 0) {
+            final long retryAfter = rateLimiter.tryAcquire(WAITING_ROOM_JOIN, req);
+            if (retryAfter > 0) {
+                resp.setHeader(RETRY_AFTER_HEADER, String.valueOf(retryAfter));
+                resp.sendError(SC_TOO_MANY_REQUESTS);
+                return;
+            }
+            final String ticket = waitingRoomService.join(sessionId, holders[0]);
+            // no such cinema session, the command shows it
+            if (ticket == null) {
+                filterChain.doFilter(req, resp);
+                return;
+            }
+            final Cookie cookie = new Cookie(cookieName, ticket);
+            cookie.setMaxAge((int) WAITING_ROOM_TICKET_LIFETIME.toSeconds());
+            cookie.setHttpOnly(true);
+            resp.addCookie(cookie);
+            position = waitingRoomService.getPosition(sessionId, ticket, holders);
+        }
+        if (position == 0) {
+            filterChain.doFilter(req, resp);
+            return;
+        }
+        logger.debug("User is in the queue of session {}, position = {}", sessionId, position);
+        req.setAttribute(QUEUE_POSITION_ATTRIBUTE, position);
+        req.setAttribute(QUEUE_SESSION_ID_ATTRIBUTE, sessionId);
+        req.setAttribute(POLL_SECONDS_ATTRIBUTE, WAITING_ROOM_POLL_SECONDS);
+        resp.setHeader(CACHE_CONTROL_HEADER, "no-store");
+        req.getRequestDispatcher(WAITING_ROOM_PAGE_PATH).forward(req, resp);
+    }
+
+    /**
+     * Purchase has no session id param, it's taken from the pending order
+     */
+    private static Integer getSessionId(HttpServletRequest req) {
+        final String param = req.getParameter(SESSION_ID_PARAM);
+        if (param != null) {
+            try {
+                return Integer.parseInt(param);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        final HttpSession session = req.getSession(false);
+        if (session != null && session.getAttribute(PENDING_ORDER_ATTRIBUTE) instanceof PendingOrder order) {
+            return order.getSessionId();
+        }
+        return null;
+    }
+
+    /**
+     * Get name of cookie keeping waiting room ticket of the cinema session
+     *
+     * @param sessionId cinema session id
+     * @return cookie name
+     */
+    public static String getCookieName(int sessionId) {
+        return WAITING_ROOM_COOKIE_PREFIX + sessionId;
+    }
+
+    /**
+     * Get who may hold waiting room ticket of the request. Ticket is issued to the user if logged in,
+     * otherwise to IP; IP is accepted for a logged in user too, so logging in doesn't lose the place in the queue
+     *
+     * @param req HttpServletRequest
+     * @return holders, the first one is the one new ticket is issued to
+     */
+    public static String[] getTicketHolders(HttpServletRequest req) {
+        final String ip = "ip:" + req.getRemoteAddr();
+        final RequestContext context = RequestContext.get(req);
+        if (context.getRole() == User.Role.GUEST) return new String[]{ip};
+        return new String[]{"user:" + context.getUserId(), ip};
+    }
+
+    /**
+     * Get value of the request cookie
+     *
+     * @param req  HttpServletRequest
+     * @param name cookie name
+     * @return cookie value or null if there is no such cookie
+     */
+    public static String getCookieValue(HttpServletRequest req, String name) {
+        final Cookie[] cookies = req.getCookies();
+        if (cookies == null) return null;
+        for (Cookie cookie : cookies) {
+            if (name.equals(cookie.getName())) return cookie.getValue();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,18 @@
+package yehor.epam.listeners;
+
+import jakarta.servlet.ServletContextEvent;
+import jakarta.servlet.ServletContextListener;
+import jakarta.servlet.annotation.WebListener;
+import yehor.epam.services.GeneralService;
+import yehor.epam.services.ServiceContainer;
+
+/**
+ * Listener that sets constant application params once on application start
+ */
+@WebListener
+public class ApplicationParamsListener implements ServletContextListener {
+    @Override
+    public void contextInitialized(ServletContextEvent sce) {
+        ServiceContainer.getInstance().get(GeneralService.class).initParams(sce.getServletContext());
+    }
+}
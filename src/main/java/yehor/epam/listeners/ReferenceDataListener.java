@@ -0,0 +1,45 @@
+package yehor.epam.listeners;
+
+import jakarta.servlet.ServletContextEvent;
+import jakarta.servlet.ServletContextListener;
+import jakarta.servlet.annotation.WebListener;
+import org.slf4j.Logger;
+import yehor.epam.cache.ReferenceDataRegistry;
+import yehor.epam.utilities.LoggerManager;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static yehor.epam.utilities.constants.OtherConstants.REFERENCE_DATA_REFRESH_PERIOD;
+
+/**
+ * Listener that loads ReferenceDataRegistry on application start and reloads it periodically
+ */
+@WebListener
+public class ReferenceDataListener implements ServletContextListener {
+    private static final Logger logger = LoggerManager.getLogger(ReferenceDataListener.class);
+    private ScheduledExecutorService scheduler;
+
+    @Override
+    public void contextInitialized(ServletContextEvent sce) {
+        final ReferenceDataRegistry registry = ReferenceDataRegistry.getInstance();
+        if (!registry.reload()) {
+            logger.warn("Reference data isn't loaded, DAO will be used until next reloading");
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "reference-data-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        final long period = REFERENCE_DATA_REFRESH_PERIOD.toMinutes();
+        scheduler.scheduleAtFixedRate(registry::reload, period, period, TimeUnit.MINUTES);
+    }
+
+    @Override
+    public void contextDestroyed(ServletContextEvent sce) {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+}
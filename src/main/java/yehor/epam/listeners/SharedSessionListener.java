@@ -0,0 +1,68 @@
+package yehor.epam.listeners;
+
+import jakarta.servlet.ServletContextEvent;
+import jakarta.servlet.ServletContextListener;
+import jakarta.servlet.annotation.WebListener;
+import jakarta.servlet.http.HttpSessionAttributeListener;
+import jakarta.servlet.http.HttpSessionBindingEvent;
+import jakarta.servlet.http.HttpSessionEvent;
+import jakarta.servlet.http.HttpSessionListener;
+import yehor.epam.sessionstore.SharedSessionManager;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static yehor.epam.utilities.constants.OtherConstants.SESSION_STORE_CLEANUP_PERIOD;
+import static yehor.epam.utilities.constants.OtherConstants.SESSION_STORE_FLUSH_PERIOD;
+
+/**
+ * Listener that marks changed sessions dirty and writes them to the shared store in background
+ */
+@WebListener
+public class SharedSessionListener implements ServletContextListener, HttpSessionAttributeListener, HttpSessionListener {
+    private final SharedSessionManager manager = SharedSessionManager.getInstance();
+    private ScheduledExecutorService scheduler;
+
+    @Override
+    public void contextInitialized(ServletContextEvent sce) {
+        if (!manager.isEnabled()) return;
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "shared-session-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        final long flushPeriod = SESSION_STORE_FLUSH_PERIOD.toMillis();
+        scheduler.scheduleWithFixedDelay(manager::flush, flushPeriod, flushPeriod, TimeUnit.MILLISECONDS);
+        final long cleanupPeriod = SESSION_STORE_CLEANUP_PERIOD.toMinutes();
+        scheduler.scheduleWithFixedDelay(manager::removeExpired, cleanupPeriod, cleanupPeriod, TimeUnit.MINUTES);
+    }
+
+    @Override
+    public void contextDestroyed(ServletContextEvent sce) {
+        if (scheduler != null) {
+            scheduler.shutdown();
+            manager.flush();
+        }
+    }
+
+    @Override
+    public void attributeAdded(HttpSessionBindingEvent event) {
+        manager.markDirty(event.getSession(), event.getName());
+    }
+
+    @Override
+    public void attributeRemoved(HttpSessionBindingEvent event) {
+        manager.markDirty(event.getSession(), event.getName());
+    }
+
+    @Override
+    public void attributeReplaced(HttpSessionBindingEvent event) {
+        manager.markDirty(event.getSession(), event.getName());
+    }
+
+    @Override
+    public void sessionDestroyed(HttpSessionEvent se) {
+        manager.destroyed(se.getSession());
+    }
+}
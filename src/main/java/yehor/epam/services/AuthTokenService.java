@@ -0,0 +1,45 @@
+package yehor.epam.services;
+
+import yehor.epam.entities.AuthToken;
+import yehor.epam.entities.RefreshToken;
+import yehor.epam.entities.User;
+
+import java.time.Duration;
+
+public interface AuthTokenService {
+    /**
+     * Issue signed token of logged user
+     *
+     * @param userId   user id
+     * @param role     user role
+     * @param lifetime time after which token expires
+     * @return token to be stored in cookie
+     */
+    String issueToken(int userId, User.Role role, Duration lifetime);
+
+    /**
+     * Verify signature and expiry of token without DB or session lookup
+     *
+     * @param token token from cookie, may be null
+     * @return AuthToken or null if token is absent, malformed, forged or expired
+     */
+    AuthToken verifyToken(String token);
+
+    /**
+     * Issue signed refresh token of logged user, it doesn't carry the role
+     *
+     * @param userId       user id
+     * @param tokenVersion user's token version, increasing it revokes the token
+     * @param lifetime     time after which token expires
+     * @return token to be stored in cookie
+     */
+    String issueRefreshToken(int userId, int tokenVersion, Duration lifetime);
+
+    /**
+     * Verify signature and expiry of refresh token, token version must be checked against DB by caller
+     *
+     * @param token token from cookie, may be null
+     * @return RefreshToken or null if token is absent, malformed, forged or expired
+     */
+    RefreshToken verifyRefreshToken(String token);
+}
@@ -0,0 +1,27 @@
+package yehor.epam.services;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+public interface ConditionalGetService {
+    /**
+     * Set ETag and Last-Modified headers for cacheable read pages and check request's If-None-Match header.
+     * If client's copy is actual, sets 304 status to the response
+     *
+     * @param request  HttpServletRequest
+     * @param response HttpServletResponse
+     * @return true if 304 was set and command shouldn't be executed, otherwise - false
+     */
+    boolean isNotModified(HttpServletRequest request, HttpServletResponse response);
+
+    /**
+     * Set ETag header of a resource which content depends only on the ETag and check request's If-None-Match header.
+     * If client's copy is actual, sets 304 status to the response
+     *
+     * @param request  HttpServletRequest
+     * @param response HttpServletResponse
+     * @param eTag     ETag of the resource
+     * @return true if 304 was set and the resource shouldn't be written, otherwise - false
+     */
+    boolean isNotModified(HttpServletRequest request, HttpServletResponse response, String eTag);
+}
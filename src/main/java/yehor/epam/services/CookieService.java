@@ -6,7 +6,7 @@ import yehor.epam.entities.User;
 
 public interface CookieService {
     /**
-     * Set Cookie after login
+     * Set auth and refresh token cookies after login
      *
      * @param response   HttpServletResponse
      * @param user       user
@@ -14,6 +14,15 @@ public interface CookieService {
      */
     void loginCookie(HttpServletResponse response, User user, String rememberMe);
 
+    /**
+     * Set new auth token cookie after login is refreshed by refresh token
+     *
+     * @param response HttpServletResponse
+     * @param userId   user id
+     * @param role     user role taken from DB
+     */
+    void refreshLoginCookie(HttpServletResponse response, int userId, User.Role role);
+
     /**
      * Clean login cookies
      *
@@ -29,11 +38,4 @@ public interface CookieService {
      * @param locale   locale param value
      */
     void setLocaleCookie(HttpServletResponse response, String locale);
-
-    /**
-     * Init cookies when start session
-     *
-     * @param request HttpServletRequest
-     */
-    void initSessionWithCookie(HttpServletRequest request);
 }
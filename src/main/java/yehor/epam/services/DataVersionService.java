@@ -0,0 +1,33 @@
+package yehor.epam.services;
+
+public interface DataVersionService {
+    /**
+     * Kind of data which version is tracked
+     */
+    enum DataType {
+        FILM, SESSION, TICKET
+    }
+
+    /**
+     * Increment version after writing data of the type
+     *
+     * @param type data type
+     */
+    void increment(DataType type);
+
+    /**
+     * Get current version of data of the type, versions differ between application starts
+     *
+     * @param type data type
+     * @return version
+     */
+    long getVersion(DataType type);
+
+    /**
+     * Get time of the last version change
+     *
+     * @param type data type
+     * @return time in milliseconds since epoch
+     */
+    long getLastModified(DataType type);
+}
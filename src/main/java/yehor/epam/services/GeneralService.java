@@ -1,12 +1,12 @@
 package yehor.epam.services;
 
-import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.ServletContext;
 
 public interface GeneralService {
     /**
-     * Initialization commonly used params
+     * Initialization commonly used constant params once on application start
      *
-     * @param request HttpServletRequest
+     * @param context ServletContext
      */
-    void initParams(HttpServletRequest request);
+    void initParams(ServletContext context);
 }
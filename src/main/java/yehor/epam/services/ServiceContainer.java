@@ -0,0 +1,100 @@
+package yehor.epam.services;
+
+import org.slf4j.Logger;
+import yehor.epam.services.impl.*;
+import yehor.epam.utilities.LoggerManager;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Small dependency injection container: keeps one shared instance of every service interface.
+ * Services are stateless, so the instances are created lazily once and shared among all commands and requests.
+ * Created instances are read without a lock, it's taken only to create or replace one
+ */
+public final class ServiceContainer {
+    private static final Logger logger = LoggerManager.getLogger(ServiceContainer.class);
+    private final Map<Class<?>, Supplier<?>> suppliers = new HashMap<>();
+    private final Map<Class<?>, Object> instances = new ConcurrentHashMap<>();
+
+    private ServiceContainer() {
+        register(ValidService.class, ValidServiceImpl::new);
+        register(PaginationService.class, PaginationServiceImpl::new);
+        register(AuthTokenService.class, AuthTokenServiceImpl::new);
+        register(CookieService.class, () -> new CookieServiceImpl(get(AuthTokenService.class)));
+        register(GeneralService.class, GeneralServiceImpl::new);
+        register(VerifyService.class, VerifyServiceImpl::new);
+        register(GenreService.class, GenreServiceImpl::new);
+        register(SeatService.class, SeatServiceImpl::new);
+        register(TicketPdfService.class, TicketPdfServiceImpl::new);
+        register(TicketExportService.class, TicketExportServiceImpl::new);
+        register(DataVersionService.class, DataVersionServiceImpl::getInstance);
+        register(ConditionalGetService.class, ConditionalGetServiceImpl::new);
+        register(FilmService.class, () -> new FilmServiceImpl(get(ValidService.class)));
+        register(SessionService.class, () -> new SessionServiceImpl(get(ValidService.class)));
+        register(WaitingRoomService.class, () -> new WaitingRoomServiceImpl(get(SessionService.class)));
+        register(UserService.class, () -> new UserServiceImpl(get(ValidService.class)));
+        register(TicketService.class, () -> {
+            final TicketService ticketService = new TicketServiceImpl();
+            ticketService.setSeatService(get(SeatService.class));
+            return ticketService;
+        });
+    }
+
+    private static final class ServiceContainerHolder {
+        private static final ServiceContainer serviceContainer = new ServiceContainer();
+    }
+
+    /**
+     * Get application-wide ServiceContainer
+     *
+     * @return ServiceContainer
+     */
+    public static ServiceContainer getInstance() {
+        return ServiceContainerHolder.serviceContainer;
+    }
+
+    /**
+     * Register how to create the service, replaces previously created instance
+     *
+     * @param type     service interface
+     * @param supplier creator of service implementation
+     * @param <T>      service type
+     */
+    public synchronized <T> void register(Class<T> type, Supplier<? extends T> supplier) {
+        suppliers.put(type, supplier);
+        instances.remove(type);
+    }
+
+    /**
+     * Get shared service instance, create it on the first call
+     *
+     * @param type service interface
+     * @param <T>  service type
+     * @return service
+     */
+    public <T> T get(Class<T> type) {
+        final Object instance = instances.get(type);
+        return type.cast(instance != null ? instance : create(type));
+    }
+
+    /**
+     * Create the instance under the lock, suppliers may get their dependencies from the container
+     *
+     * @param type service interface
+     * @return created or concurrently created service
+     */
+    private synchronized Object create(Class<?> type) {
+        Object instance = instances.get(type);
+        if (instance == null) {
+            final Supplier<?> supplier = suppliers.get(type);
+            if (supplier == null) throw new IllegalArgumentException("There is no service registered for " + type.getName());
+            instance = supplier.get();
+            instances.put(type, instance);
+            logger.debug("Created {} for {}", instance.getClass().getSimpleName(), type.getSimpleName());
+        }
+        return instance;
+    }
+}
@@ -0,0 +1,33 @@
+package yehor.epam.services;
+
+import jakarta.servlet.http.HttpServletResponse;
+import yehor.epam.entities.Ticket;
+
+import java.util.List;
+import java.util.Locale;
+
+public interface TicketExportService {
+    /**
+     * Format of exported file
+     */
+    enum Format {
+        /**
+         * One PDF file with a page per ticket
+         */
+        PDF,
+        /**
+         * ZIP archive with a PDF file per ticket
+         */
+        ZIP
+    }
+
+    /**
+     * Render tickets in parallel and write them to HttpServletResponse in the list order
+     *
+     * @param ticketList tickets with loaded session, film and seat
+     * @param locale     locale of the ticket labels
+     * @param format     format of exported file
+     * @param response   HttpServletResponse
+     */
+    void writeTicketsToResponse(List<Ticket> ticketList, Locale locale, Format format, HttpServletResponse response);
+}
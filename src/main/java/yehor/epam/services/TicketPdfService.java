@@ -2,6 +2,7 @@ package yehor.epam.services;
 
 import yehor.epam.entities.Ticket;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.ByteArrayOutputStream;
 import java.util.Locale;
@@ -21,4 +22,25 @@ public interface TicketPdfService {
      * @param response HttpServletResponse
      */
     void writePdfToResponse(ByteArrayOutputStream byteArrayOutputStream, HttpServletResponse response);
+
+    /**
+     * Form PDF file from ticket object and write it to HttpServletResponse without keeping a separate copy per download
+     *
+     * @param ticket   Ticket object
+     * @param locale   locale of the ticket labels
+     * @param response HttpServletResponse
+     */
+    void writePdfTicketToResponse(Ticket ticket, Locale locale, HttpServletResponse response);
+
+    /**
+     * Write previously rendered PDF ticket to HttpServletResponse, file from disk is sent by zero-copy transfer
+     * if the container supports it
+     *
+     * @param ticketId ticket id
+     * @param locale   locale of the ticket labels
+     * @param request  HttpServletRequest
+     * @param response HttpServletResponse
+     * @return false if the ticket wasn't rendered yet and nothing was written
+     */
+    boolean writeCachedPdfTicketToResponse(int ticketId, Locale locale, HttpServletRequest request, HttpServletResponse response);
 }
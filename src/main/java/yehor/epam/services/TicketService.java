@@ -80,4 +80,23 @@ public interface TicketService {
      * @throws ServiceException
      */
     Ticket getById(int id) throws ServiceException;
+
+    /**
+     * Get all tickets of the session with loaded session, film and seat
+     *
+     * @param sessionId session id
+     * @return ticket list
+     * @throws ServiceException
+     */
+    List<Ticket> getAllBySessionId(int sessionId) throws ServiceException;
+
+    /**
+     * Get all user's tickets of the session with loaded session, film and seat
+     *
+     * @param sessionId session id
+     * @param userId    user id
+     * @return ticket list
+     * @throws ServiceException
+     */
+    List<Ticket> getAllBySessionIdAndUserId(int sessionId, int userId) throws ServiceException;
 }
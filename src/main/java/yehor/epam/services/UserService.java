@@ -9,14 +9,15 @@ import java.util.Map;
 
 public interface UserService {
     /**
-     * Authenticate user by its login and plain password
+     * Authenticate user by its login and plain password, user with credentials is got by one query
      *
      * @param login    email
      * @param password plain password
+     * @return authenticated user without password and salt
      * @throws ServiceException
      * @throws AuthException    throws when couldn't authenticate user
      */
-    void authenticateUser(String login, String password) throws ServiceException, AuthException;
+    User authenticate(String login, String password) throws ServiceException, AuthException;
 
     /**
      * Get user by its login
@@ -53,15 +54,15 @@ public interface UserService {
     User getById(int id) throws ServiceException;
 
     /**
-     * Get max id of user table
+     * Revoke refresh tokens of the user on every device, logins end when their short auth tokens expire
      *
-     * @return max user id of table
+     * @param userId user id
      * @throws ServiceException
      */
-    int getMaxId() throws ServiceException;
+    void revokeLogins(int userId) throws ServiceException;
 
     /**
-     * Save user
+     * Save user in one transaction and set its generated id
      *
      * @param user user
      * @return true if saved, otherwise false
@@ -1,14 +1,17 @@
 package yehor.epam.services;
 
 import jakarta.servlet.http.HttpServletRequest;
-import jakarta.servlet.http.HttpServletResponse;
+
+import java.util.concurrent.CompletableFuture;
 
 public interface VerifyService {
     /**
-     * Validate Google Recaptcha
+     * Start Google Recaptcha verification of the request without waiting for it,
+     * so other work of the request may be done meanwhile
      *
-     * @param request  HttpServletRequest
-     * @param response HttpServletResponse
+     * @param request HttpServletRequest
+     * @return future of true if captcha is passed and false if not, it's completed by VerifyException
+     * if captcha couldn't be verified
      */
-    void captchaValidation(HttpServletRequest request, HttpServletResponse response);
+    CompletableFuture<Boolean> verifyAsync(HttpServletRequest request);
 }
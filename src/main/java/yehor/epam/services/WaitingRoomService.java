@@ -0,0 +1,23 @@
+package yehor.epam.services;
+
+public interface WaitingRoomService {
+    /**
+     * Put user at the end of the queue of cinema session
+     *
+     * @param sessionId cinema session id
+     * @param holder    who the ticket is issued to, e.g. user id or IP
+     * @return signed ticket to be stored in cookie, or null if there is no such cinema session
+     */
+    String join(int sessionId, String holder);
+
+    /**
+     * Get position of the ticket in the queue of cinema session
+     *
+     * @param sessionId cinema session id
+     * @param ticket    ticket from cookie, may be null
+     * @param holders   who may hold the ticket, e.g. user id and IP, ticket is valid if it's issued to any of them
+     * @return 0 if user is let in, position in the queue starting from 1, or -1 if ticket is absent,
+     * forged, expired, issued to somebody else or for another cinema session
+     */
+    long getPosition(int sessionId, String ticket, String... holders);
+}
@@ -0,0 +1,147 @@
+package yehor.epam.services.impl;
+
+import org.slf4j.Logger;
+import yehor.epam.entities.AuthToken;
+import yehor.epam.entities.RefreshToken;
+import yehor.epam.entities.User;
+import yehor.epam.services.AuthTokenService;
+import yehor.epam.utilities.LoggerManager;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+import static yehor.epam.utilities.constants.OtherConstants.AUTH_SECRET_ENV;
+import static yehor.epam.utilities.constants.OtherConstants.AUTH_SECRET_PROPERTY;
+
+/**
+ * Stateless authentication tokens: {@code base64url(version:userId:role:expiry).base64url(HMAC-SHA256)}.
+ * Any node having the same key verifies the token, so neither session nor DB is needed.
+ * Refresh tokens {@code base64url(refreshVersion:userId:tokenVersion:expiry).base64url(HMAC-SHA256)} have
+ * their own version, so one kind of token is never accepted as the other
+ */
+public class AuthTokenServiceImpl implements AuthTokenService {
+    private static final Logger logger = LoggerManager.getLogger(AuthTokenServiceImpl.class);
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final String VERSION = "1";
+    private static final String REFRESH_VERSION = "r1";
+    private static final int GENERATED_KEY_LENGTH = 32;
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+    private final SecretKeySpec key;
+    private final Clock clock;
+    /**
+     * Mac isn't thread-safe, so every thread initializes its own once
+     */
+    private final ThreadLocal<Mac> mac;
+
+    public AuthTokenServiceImpl() {
+        this(loadKey(), Clock.systemUTC());
+    }
+
+    public AuthTokenServiceImpl(byte[] key, Clock clock) {
+        this.key = new SecretKeySpec(key, ALGORITHM);
+        this.clock = clock;
+        this.mac = ThreadLocal.withInitial(this::createMac);
+    }
+
+    private static byte[] loadKey() {
+        String secret = System.getProperty(AUTH_SECRET_PROPERTY);
+        if (secret == null || secret.isBlank()) secret = System.getenv(AUTH_SECRET_ENV);
+        if (secret != null && !secret.isBlank()) {
+            return Base64.getDecoder().decode(secret.trim());
+        }
+        logger.warn("Auth token key isn't configured by {} or {}, random key is generated: " +
+                "tokens are valid only on this node until restart", AUTH_SECRET_PROPERTY, AUTH_SECRET_ENV);
+        final byte[] key = new byte[GENERATED_KEY_LENGTH];
+        new SecureRandom().nextBytes(key);
+        return key;
+    }
+
+    private Mac createMac() {
+        try {
+            final Mac instance = Mac.getInstance(ALGORITHM);
+            instance.init(key);
+            return instance;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Couldn't initialize " + ALGORITHM, e);
+        }
+    }
+
+    @Override
+    public String issueToken(int userId, User.Role role, Duration lifetime) {
+        return issue(VERSION + ':' + userId + ':' + role.name(), lifetime);
+    }
+
+    @Override
+    public AuthToken verifyToken(String token) {
+        try {
+            final String[] fields = verify(token, VERSION);
+            if (fields == null) return null;
+            return new AuthToken(Integer.parseInt(fields[1]), User.Role.valueOf(fields[2]), Instant.ofEpochSecond(Long.parseLong(fields[3])));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Malformed auth token");
+            return null;
+        }
+    }
+
+    @Override
+    public String issueRefreshToken(int userId, int tokenVersion, Duration lifetime) {
+        return issue(REFRESH_VERSION + ':' + userId + ':' + tokenVersion, lifetime);
+    }
+
+    @Override
+    public RefreshToken verifyRefreshToken(String token) {
+        try {
+            final String[] fields = verify(token, REFRESH_VERSION);
+            if (fields == null) return null;
+            return new RefreshToken(Integer.parseInt(fields[1]), Integer.parseInt(fields[2]), Instant.ofEpochSecond(Long.parseLong(fields[3])));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Malformed refresh token");
+            return null;
+        }
+    }
+
+    private String issue(String fields, Duration lifetime) {
+        final long expiry = clock.instant().plus(lifetime).getEpochSecond();
+        final byte[] payload = (fields + ':' + expiry).getBytes(StandardCharsets.US_ASCII);
+        return ENCODER.encodeToString(payload) + '.' + ENCODER.encodeToString(sign(payload));
+    }
+
+    /**
+     * Check signature, version and expiry of token
+     *
+     * @return four fields of payload, the last one is expiry, or null if token isn't valid
+     * @throws IllegalArgumentException if token is malformed
+     */
+    private String[] verify(String token, String version) {
+        if (token == null) return null;
+        final int dot = token.indexOf('.');
+        if (dot <= 0) return null;
+        final byte[] payload = DECODER.decode(token.substring(0, dot));
+        final byte[] signature = DECODER.decode(token.substring(dot + 1));
+        if (!MessageDigest.isEqual(sign(payload), signature)) {
+            logger.warn("Token with wrong signature");
+            return null;
+        }
+        final String[] fields = new String(payload, StandardCharsets.US_ASCII).split(":");
+        if (fields.length != 4 || !version.equals(fields[0])) return null;
+        final Instant expiresAt = Instant.ofEpochSecond(Long.parseLong(fields[3]));
+        if (!clock.instant().isBefore(expiresAt)) {
+            logger.debug("Token expired at {}", expiresAt);
+            return null;
+        }
+        return fields;
+    }
+
+    private byte[] sign(byte[] payload) {
+        return mac.get().doFinal(payload);
+    }
+}
@@ -0,0 +1,193 @@
+package yehor.epam.services.impl;
+
+import org.slf4j.Logger;
+import yehor.epam.exceptions.VerifyException;
+import yehor.epam.utilities.CircuitBreaker;
+import yehor.epam.utilities.LoggerManager;
+import yehor.epam.utilities.MBeanManager;
+
+import javax.json.Json;
+import javax.json.JsonObject;
+import javax.json.JsonReader;
+import java.io.StringReader;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+
+import static yehor.epam.utilities.constants.OtherConstants.*;
+
+/**
+ * Client of Google Recaptcha siteverify API. One {@link HttpClient} is shared, so TLS connections are kept
+ * alive and reused instead of a handshake per registration, and the reply is awaited without holding a thread.
+ * Amount of verifications in flight is limited and a circuit breaker stops calling the provider while it fails,
+ * so a slow provider can't take every worker thread. Provider URL may be replaced by system property
+ * {@value yehor.epam.utilities.constants.OtherConstants#CAPTCHA_URL_PROPERTY}, e.g. with a local stub server
+ */
+public class CaptchaClient implements CaptchaClientMBean {
+    private static final Logger logger = LoggerManager.getLogger(CaptchaClient.class);
+    private final HttpClient httpClient;
+    private final URI uri;
+    private final String secret;
+    private final Duration requestTimeout;
+    private final int maxConcurrent;
+    private final Semaphore permits;
+    private final CircuitBreaker circuitBreaker;
+    private final LongAdder verified = new LongAdder();
+    private final LongAdder notVerified = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    public CaptchaClient(URI uri, String secret, Duration connectTimeout, Duration requestTimeout, int maxConcurrent,
+                         CircuitBreaker circuitBreaker) {
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(connectTimeout)
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build();
+        this.uri = uri;
+        this.secret = secret;
+        this.requestTimeout = requestTimeout;
+        this.maxConcurrent = maxConcurrent;
+        this.permits = new Semaphore(maxConcurrent);
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    private static final class CaptchaClientHolder {
+        private static final CaptchaClient captchaClient = createCaptchaClient();
+
+        private static CaptchaClient createCaptchaClient() {
+            final String url = System.getProperty(CAPTCHA_URL_PROPERTY, CAPTCHA_URL);
+            final CaptchaClient client = new CaptchaClient(URI.create(url), CAPTCHA_SECRET_KEY, CAPTCHA_CONNECT_TIMEOUT,
+                    CAPTCHA_REQUEST_TIMEOUT, CAPTCHA_MAX_CONCURRENT,
+                    new CircuitBreaker(CAPTCHA_BREAKER_FAILURES, CAPTCHA_BREAKER_OPEN_DURATION));
+            MBeanManager.register(client, "Service", "CaptchaClient");
+            logger.info("Captcha is verified by {}", url);
+            return client;
+        }
+    }
+
+    public static CaptchaClient getInstance() {
+        return CaptchaClientHolder.captchaClient;
+    }
+
+    /**
+     * Send captcha response to the provider
+     *
+     * @param gRecaptchaResponse Google recaptcha string response
+     * @param remoteIp           client IP, may be null
+     * @return future of true if captcha is passed and false if not, it's completed by {@link VerifyException}
+     * if the provider is unavailable, too slow or too busy
+     */
+    public CompletableFuture<Boolean> verify(String gRecaptchaResponse, String remoteIp) {
+        if (!permits.tryAcquire()) {
+            rejected.increment();
+            logger.warn("Captcha verification is rejected, {} verifications are in flight", maxConcurrent);
+            return CompletableFuture.failedFuture(new VerifyException("Too many registrations now, try again later"));
+        }
+        if (!circuitBreaker.tryAcquire()) {
+            permits.release();
+            rejected.increment();
+            logger.warn("Captcha verification is rejected, circuit breaker is {}", circuitBreaker.getState());
+            return CompletableFuture.failedFuture(new VerifyException("Captcha verification is unavailable, try again later"));
+        }
+        final CompletableFuture<Boolean> result;
+        try {
+            result = httpClient.sendAsync(buildRequest(gRecaptchaResponse, remoteIp), HttpResponse.BodyHandlers.ofString())
+                    .handle((response, e) -> {
+                        if (e != null) {
+                            circuitBreaker.onFailure();
+                            failed.increment();
+                            logger.error("Exception while verifying recaptcha", e);
+                            throw new VerifyException("Exception while verifying recaptcha", e);
+                        }
+                        return readResponse(response);
+                    });
+        } catch (RuntimeException e) {
+            permits.release();
+            circuitBreaker.onFailure();
+            failed.increment();
+            logger.error("Couldn't send recaptcha verification", e);
+            return CompletableFuture.failedFuture(new VerifyException("Exception while verifying recaptcha", e));
+        }
+        return result.whenComplete((success, e) -> permits.release());
+    }
+
+    private HttpRequest buildRequest(String gRecaptchaResponse, String remoteIp) {
+        String body = "secret=" + URLEncoder.encode(secret, StandardCharsets.UTF_8)
+                + "&response=" + URLEncoder.encode(gRecaptchaResponse, StandardCharsets.UTF_8);
+        if (remoteIp != null) body += "&remoteip=" + URLEncoder.encode(remoteIp, StandardCharsets.UTF_8);
+        return HttpRequest.newBuilder(uri)
+                .timeout(requestTimeout)
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    /**
+     * Read verification result, answer other than 200 with JSON is a failure of the provider
+     *
+     * @param response provider response
+     * @return true if captcha is passed and false if not
+     */
+    private boolean readResponse(HttpResponse<String> response) {
+        final boolean success;
+        try {
+            if (response.statusCode() != 200) throw new VerifyException("Captcha provider answered " + response.statusCode());
+            try (JsonReader jsonReader = Json.createReader(new StringReader(response.body()))) {
+                final JsonObject jsonObject = jsonReader.readObject();
+                success = jsonObject.getBoolean("success", false);
+            }
+        } catch (RuntimeException e) {
+            circuitBreaker.onFailure();
+            failed.increment();
+            logger.error("Couldn't read recaptcha verification", e);
+            throw e instanceof VerifyException ? e : new VerifyException("Couldn't read recaptcha verification", e);
+        }
+        circuitBreaker.onSuccess();
+        if (success) verified.increment();
+        else notVerified.increment();
+        logger.debug("Recaptcha verification response code: {}, success: {}", response.statusCode(), success);
+        return success;
+    }
+
+    @Override
+    public long getVerifiedCount() {
+        return verified.sum();
+    }
+
+    @Override
+    public long getNotVerifiedCount() {
+        return notVerified.sum();
+    }
+
+    @Override
+    public long getFailedCount() {
+        return failed.sum();
+    }
+
+    @Override
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    @Override
+    public int getInFlightCount() {
+        return maxConcurrent - permits.availablePermits();
+    }
+
+    @Override
+    public String getCircuitState() {
+        return circuitBreaker.getState().name();
+    }
+
+    @Override
+    public long getCircuitOpenedCount() {
+        return circuitBreaker.getOpenedCount();
+    }
+}
@@ -0,0 +1,30 @@
+package yehor.epam.services.impl;
+
+/**
+ * JMX view of CaptchaClient
+ */
+public interface CaptchaClientMBean {
+    long getVerifiedCount();
+
+    long getNotVerifiedCount();
+
+    /**
+     * Get amount of verifications failed by timeout, connection error or bad answer of the provider
+     *
+     * @return amount of failed verifications
+     */
+    long getFailedCount();
+
+    /**
+     * Get amount of verifications rejected by concurrency limit or open circuit without calling the provider
+     *
+     * @return amount of rejected verifications
+     */
+    long getRejectedCount();
+
+    int getInFlightCount();
+
+    String getCircuitState();
+
+    long getCircuitOpenedCount();
+}
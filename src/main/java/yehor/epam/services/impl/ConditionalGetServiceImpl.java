@@ -0,0 +1,129 @@
+package yehor.epam.services.impl;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import yehor.epam.cache.ScheduleCache;
+import yehor.epam.services.ConditionalGetService;
+import yehor.epam.services.DataVersionService;
+import yehor.epam.services.DataVersionService.DataType;
+import yehor.epam.utilities.LoggerManager;
+import yehor.epam.utilities.RequestContext;
+
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import static yehor.epam.utilities.constants.CommandConstants.*;
+import static yehor.epam.utilities.constants.OtherConstants.*;
+
+/**
+ * Service for HTTP conditional GET of read pages.
+ * ETag consists of versions of data shown on the page, user's language and role, so page is re-rendered only
+ * after appropriate data writing or changing user's language or role
+ */
+public class ConditionalGetServiceImpl implements ConditionalGetService {
+    private static final Logger logger = LoggerManager.getLogger(ConditionalGetServiceImpl.class);
+    /**
+     * Pages are personalized by role and language, so only browser might keep them and must revalidate
+     */
+    private static final String CACHE_CONTROL = "private, no-cache";
+    /**
+     * Read commands and data types shown on their pages
+     */
+    private static final Map<String, Set<DataType>> PAGE_DATA_TYPES = new HashMap<>();
+
+    static {
+        PAGE_DATA_TYPES.put(COMMAND_VIEW_MAIN_PAGE, EnumSet.of(DataType.FILM));
+        PAGE_DATA_TYPES.put(COMMAND_VIEW_FILM_PAGE_PAGE, EnumSet.of(DataType.FILM));
+        PAGE_DATA_TYPES.put(COMMAND_VIEW_SCHEDULE_PAGE, EnumSet.allOf(DataType.class));
+        PAGE_DATA_TYPES.put(COMMAND_VIEW_SESSION_PAGE, EnumSet.allOf(DataType.class));
+    }
+
+    private final DataVersionService dataVersionService;
+    private final ScheduleCache scheduleCache;
+
+    public ConditionalGetServiceImpl() {
+        this(DataVersionServiceImpl.getInstance(), ScheduleCache.getInstance());
+    }
+
+    public ConditionalGetServiceImpl(DataVersionService dataVersionService, ScheduleCache scheduleCache) {
+        this.dataVersionService = dataVersionService;
+        this.scheduleCache = scheduleCache;
+    }
+
+    @Override
+    public boolean isNotModified(HttpServletRequest request, HttpServletResponse response) {
+        final String method = request.getMethod();
+        if (!"GET".equals(method) && !"HEAD".equals(method)) return false;
+        String command = request.getParameter("command");
+        if (command == null || command.isEmpty()) command = COMMAND_VIEW_MAIN_PAGE;
+        final Set<DataType> dataTypes = PAGE_DATA_TYPES.get(command);
+        if (dataTypes == null) return false;
+
+        final String eTag = getETag(request, command, dataTypes);
+        response.setDateHeader(LAST_MODIFIED_HEADER, getLastModified(dataTypes));
+        return isNotModified(request, response, eTag);
+    }
+
+    @Override
+    public boolean isNotModified(HttpServletRequest request, HttpServletResponse response, String eTag) {
+        response.setHeader(ETAG_HEADER, eTag);
+        response.setHeader(CACHE_CONTROL_HEADER, CACHE_CONTROL);
+        request.setAttribute(CONDITIONAL_GET_ATTRIBUTE, eTag);
+
+        if (matches(request.getHeader(IF_NONE_MATCH_HEADER), eTag)) {
+            logger.debug("Resource isn't modified, ETag = {}", eTag);
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return true;
+        }
+        return false;
+    }
+
+    private String getETag(HttpServletRequest request, String command, Set<DataType> dataTypes) {
+        final RequestContext context = RequestContext.get(request);
+
+        StringBuilder eTag = new StringBuilder("W/\"").append(command);
+        for (DataType type : dataTypes) {
+            eTag.append('-').append(Long.toHexString(dataVersionService.getVersion(type)));
+        }
+        if (COMMAND_VIEW_SCHEDULE_PAGE.equals(command)) {
+            // upcoming sessions depend on the clock
+            eTag.append('-').append(Long.toHexString(scheduleCache.getVersion()));
+        }
+        eTag.append('-').append(context.getLang())
+                .append('-').append(context.getRole())
+                .append('"');
+        return eTag.toString();
+    }
+
+    private long getLastModified(Set<DataType> dataTypes) {
+        long lastModified = 0;
+        for (DataType type : dataTypes) {
+            lastModified = Math.max(lastModified, dataVersionService.getLastModified(type));
+        }
+        return lastModified;
+    }
+
+    /**
+     * Check If-None-Match header against ETag using weak comparison
+     *
+     * @param ifNoneMatch header value, might be null
+     * @param eTag        current ETag
+     * @return true if header contains the ETag or "*"
+     */
+    private boolean matches(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null || ifNoneMatch.isEmpty()) return false;
+        final String opaqueTag = stripWeakPrefix(eTag);
+        for (String tag : ifNoneMatch.split(",")) {
+            final String trimmed = tag.trim();
+            if (trimmed.equals("*") || stripWeakPrefix(trimmed).equals(opaqueTag)) return true;
+        }
+        return false;
+    }
+
+    private String stripWeakPrefix(String tag) {
+        return tag.startsWith("W/") ? tag.substring(2) : tag;
+    }
+}
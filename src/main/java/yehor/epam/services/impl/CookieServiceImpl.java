@@ -3,60 +3,76 @@ package yehor.epam.services.impl;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import jakarta.servlet.http.HttpSession;
 import org.slf4j.Logger;
 import yehor.epam.entities.User;
+import yehor.epam.services.AuthTokenService;
 import yehor.epam.services.CookieService;
 import yehor.epam.utilities.LoggerManager;
 
+import java.time.Duration;
+
 import static yehor.epam.utilities.constants.OtherConstants.*;
 
 /**
- * Class service for Cookies
+ * Class service for Cookies. Login is kept in short-lived signed token cookie, see {@link AuthTokenService},
+ * and refreshed by refresh token cookie which may be revoked. Both are HttpOnly, Secure and SameSite=Lax,
+ * Servlet 5 Cookie has no SameSite, so they are written as Set-Cookie headers
  */
 public class CookieServiceImpl implements CookieService {
     private static final Logger logger = LoggerManager.getLogger(CookieServiceImpl.class);
+    private static final String SET_COOKIE_HEADER = "Set-Cookie";
+    private final AuthTokenService authTokenService;
 
+    public CookieServiceImpl(AuthTokenService authTokenService) {
+        this.authTokenService = authTokenService;
+    }
 
     @Override
     public void loginCookie(HttpServletResponse response, User user, String rememberMe) {
-        Cookie cookieId = new Cookie(USER_ID, Integer.toString(user.getId()));
-        Cookie cookieRole = new Cookie(USER_ROLE, user.getUserRole().toString());
-        int cookieLifetime = COOKIE_LOGIN_LIFETIME;
-        if (rememberMe == null || rememberMe.isEmpty()) cookieLifetime = -1;
-        cookieId.setMaxAge(cookieLifetime);
-        cookieRole.setMaxAge(cookieLifetime);
-        response.addCookie(cookieId);
-        response.addCookie(cookieRole);
-        logger.debug("Set user's cookie with id: " + user.getId() + ", role = " + user.getUserRole().toString() + " login");
+        final boolean remember = rememberMe != null && !rememberMe.isEmpty();
+        final Duration lifetime = remember ? Duration.ofSeconds(COOKIE_LOGIN_LIFETIME) : REFRESH_TOKEN_LIFETIME;
+        refreshLoginCookie(response, user.getId(), user.getUserRole());
+        addAuthCookie(response, REFRESH_TOKEN_COOKIE,
+                authTokenService.issueRefreshToken(user.getId(), user.getTokenVersion(), lifetime),
+                remember ? COOKIE_LOGIN_LIFETIME : -1);
+        logger.debug("Set user's token cookies with id: " + user.getId() + ", role = " + user.getUserRole().toString() + " login");
+    }
+
+    @Override
+    public void refreshLoginCookie(HttpServletResponse response, int userId, User.Role role) {
+        addAuthCookie(response, AUTH_TOKEN_COOKIE, authTokenService.issueToken(userId, role, AUTH_TOKEN_LIFETIME), -1);
+    }
+
+    /**
+     * Add HttpOnly, Secure, SameSite=Lax cookie
+     *
+     * @param maxAge max age in seconds, -1 for browser session cookie and 0 for deleting it
+     */
+    private static void addAuthCookie(HttpServletResponse response, String name, String value, int maxAge) {
+        final StringBuilder header = new StringBuilder(name).append('=').append(value);
+        if (maxAge >= 0) header.append("; Max-Age=").append(maxAge);
+        header.append("; HttpOnly; Secure; SameSite=Lax");
+        response.addHeader(SET_COOKIE_HEADER, header.toString());
     }
 
 
     @Override
     public void logoutCookie(HttpServletRequest request, HttpServletResponse response) {
         final Cookie[] cookies = request.getCookies();
-        int userId = -1;
-        String userRole = null;
+        if (cookies == null) return;
         for (Cookie cookie : cookies) {
-            if (cookie != null) {
-                final String cookieName = cookie.getName();
-                final boolean isUserID = cookieName.equals(USER_ID);
-                final boolean isUserRole = cookieName.equals(USER_ROLE);
-                if (isUserID || isUserRole) {
-                    if (isUserID) {
-                        userId = Integer.parseInt(cookie.getValue());
-                        cookie.setValue("");
-                    }
-                    if (isUserRole) {
-                        userRole = cookie.getValue();
-                        cookie.setValue(User.Role.GUEST.toString());
-                    }
-                    cookie.setMaxAge(-1);
-                    response.addCookie(cookie);
-                }
+            final String cookieName = cookie.getName();
+            if (cookieName.equals(AUTH_TOKEN_COOKIE) || cookieName.equals(REFRESH_TOKEN_COOKIE)) {
+                addAuthCookie(response, cookieName, "", 0);
+            } else if (cookieName.equals(USER_ID) || cookieName.equals(USER_ROLE)) {
+                // plain id and role cookies were used before signed tokens
+                final Cookie expired = new Cookie(cookieName, "");
+                expired.setMaxAge(0);
+                expired.setHttpOnly(true);
+                response.addCookie(expired);
             }
         }
-        logger.debug("User with id: " + userId + ", role: " + userRole + "has erased his login cookies");
+        logger.debug("Login cookies were erased");
     }
 
 
@@ -65,25 +81,6 @@ public class CookieServiceImpl implements CookieService {
         Cookie cookie = new Cookie(LANG, locale);
         cookie.setMaxAge(COOKIE_LANG_LIFETIME);
         response.addCookie(cookie);
-        logger.info("Set locale cookie, where " + LANG + " = " + locale);
-    }
-
-
-    @Override
-    public void initSessionWithCookie(HttpServletRequest request) {
-        final HttpSession session = request.getSession(true);
-        final Cookie[] cookies = request.getCookies();
-        if (cookies != null && cookies.length != 0) {
-            for (Cookie cookie : cookies) {
-                final String cookieName = cookie.getName();
-                if (cookieName.equals(USER_ID))
-                    session.setAttribute(USER_ID, cookie.getValue());
-                if (cookieName.equals(USER_ROLE))
-                    session.setAttribute(USER_ROLE, cookie.getValue());
-                if (cookieName.equals(LANG))
-                    session.setAttribute(LANG, cookie.getValue());
-            }
-            logger.info("Initialize session with cookies, sessionId = " + session.getId());
-        }
+        logger.debug("Set locale cookie, where " + LANG + " = " + locale);
     }
 }
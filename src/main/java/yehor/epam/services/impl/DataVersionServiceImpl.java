@@ -0,0 +1,55 @@
+package yehor.epam.services.impl;
+
+import org.slf4j.Logger;
+import yehor.epam.services.DataVersionService;
+import yehor.epam.utilities.LoggerManager;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Application-wide version counters of films, sessions and tickets.
+ * Counters start from application start time, so versions of different starts don't repeat
+ */
+public class DataVersionServiceImpl implements DataVersionService {
+    private static final Logger logger = LoggerManager.getLogger(DataVersionServiceImpl.class);
+    private final AtomicLongArray versions = new AtomicLongArray(DataType.values().length);
+    private final AtomicLongArray lastModified = new AtomicLongArray(DataType.values().length);
+
+    public DataVersionServiceImpl() {
+        final long startTime = System.currentTimeMillis();
+        for (DataType type : DataType.values()) {
+            versions.set(type.ordinal(), startTime);
+            lastModified.set(type.ordinal(), startTime);
+        }
+    }
+
+    private static final class DataVersionServiceHolder {
+        private static final DataVersionService dataVersionService = new DataVersionServiceImpl();
+    }
+
+    /**
+     * Get application-wide DataVersionService
+     *
+     * @return DataVersionService
+     */
+    public static DataVersionService getInstance() {
+        return DataVersionServiceHolder.dataVersionService;
+    }
+
+    @Override
+    public void increment(DataType type) {
+        final long version = versions.incrementAndGet(type.ordinal());
+        lastModified.set(type.ordinal(), System.currentTimeMillis());
+        logger.debug("{} data version was changed to {}", type, version);
+    }
+
+    @Override
+    public long getVersion(DataType type) {
+        return versions.get(type.ordinal());
+    }
+
+    @Override
+    public long getLastModified(DataType type) {
+        return lastModified.get(type.ordinal());
+    }
+}
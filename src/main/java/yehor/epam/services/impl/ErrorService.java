@@ -6,7 +6,7 @@ import org.slf4j.Logger;
 import yehor.epam.actions.commands.ErrorPageCommand;
 import yehor.epam.utilities.LoggerManager;
 
-import static yehor.epam.utilities.constants.OtherConstants.REQUEST_PARAM_ERROR_MESSAGE;
+import static yehor.epam.utilities.constants.OtherConstants.*;
 
 /**
  * Class for handling error and then forward to ErrorPage
@@ -29,6 +29,11 @@ public class ErrorService {
     public static void handleException(HttpServletRequest request, HttpServletResponse response, String message, String className, Throwable e) {
         logger.error(message + ". Class: " + className, e);
         if (!response.isCommitted()) {
+            if (request.getAttribute(CONDITIONAL_GET_ATTRIBUTE) != null) {
+                // error page mustn't be revalidated as the page of the command
+                response.setHeader(ETAG_HEADER, null);
+                response.setHeader(LAST_MODIFIED_HEADER, null);
+            }
             request.setAttribute(REQUEST_PARAM_ERROR_MESSAGE, e.getMessage());
             logger.debug("Call ErrorPageCommand().execute from " + ErrorService.class.getName());
             new ErrorPageCommand().execute(request, response);
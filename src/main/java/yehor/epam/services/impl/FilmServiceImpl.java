@@ -1,11 +1,16 @@
 package yehor.epam.services.impl;
 
 import org.slf4j.Logger;
+import yehor.epam.cache.FilmCache;
+import yehor.epam.cache.RenderedTicketCache;
+import yehor.epam.cache.ScheduleCache;
 import yehor.epam.dao.FilmDao;
 import yehor.epam.dao.factories.DaoFactory;
 import yehor.epam.dao.factories.DaoFactoryDeliver;
 import yehor.epam.entities.Film;
 import yehor.epam.exceptions.ServiceException;
+import yehor.epam.services.DataVersionService;
+import yehor.epam.services.DataVersionService.DataType;
 import yehor.epam.services.FilmService;
 import yehor.epam.services.ValidService;
 import yehor.epam.utilities.LoggerManager;
@@ -23,17 +28,32 @@ public class FilmServiceImpl implements FilmService {
     private static final Logger logger = LoggerManager.getLogger(FilmServiceImpl.class);
     private static final String CLASS_NAME = FilmServiceImpl.class.getName();
     private final ValidService validService;
+    private final FilmCache filmCache;
+    private final ScheduleCache scheduleCache;
+    private final DataVersionService dataVersionService;
+    private final RenderedTicketCache renderedTicketCache;
 
     public FilmServiceImpl() {
-        this.validService = new ValidServiceImpl();
+        this(new ValidServiceImpl());
     }
 
     public FilmServiceImpl(ValidService validService) {
+        this(validService, FilmCache.getInstance());
+    }
+
+    public FilmServiceImpl(ValidService validService, FilmCache filmCache) {
         this.validService = validService;
+        this.filmCache = filmCache;
+        this.scheduleCache = ScheduleCache.getInstance();
+        this.dataVersionService = DataVersionServiceImpl.getInstance();
+        this.renderedTicketCache = RenderedTicketCache.getInstance();
     }
 
     @Override
     public List<Film> getAll() throws ServiceException {
+        final List<Film> cachedList = filmCache.getAll();
+        if (cachedList != null) return cachedList;
+        final long generation = filmCache.getGeneration();
         List<Film> filmList = new ArrayList<>();
         try (DaoFactory factory = DaoFactoryDeliver.getInstance().getFactory()) {
             logCreatingDaoFactory();
@@ -42,11 +62,14 @@ public class FilmServiceImpl implements FilmService {
         } catch (Exception e) {
             throwServiceException("Couldn't get film list", e);
         }
-        return filmList;
+        return filmCache.putAll(filmList, generation);
     }
 
     @Override
     public List<Film> getAll(int page, int size) throws ServiceException {
+        final List<Film> cachedList = filmCache.getPage(page, size);
+        if (cachedList != null) return cachedList;
+        final long generation = filmCache.getGeneration();
         List<Film> filmList = new ArrayList<>();
         try (DaoFactory factory = DaoFactoryDeliver.getInstance().getFactory()) {
             logCreatingDaoFactory();
@@ -60,22 +83,31 @@ public class FilmServiceImpl implements FilmService {
         } catch (Exception e) {
             throwServiceException("Couldn't get paginated film list", e);
         }
-        return filmList;
+        return filmCache.putPage(page, size, filmList, generation);
     }
 
     @Override
     public int countTotalPages(int size) throws ServiceException {
-        int amount = 0;
+        final int count = countTotalRows();
+        int amount = count / size;
+        amount = count % size == 0 ? amount : amount + 1;
+        return amount;
+    }
+
+    private int countTotalRows() throws ServiceException {
+        final Integer cachedCount = filmCache.getTotalRows();
+        if (cachedCount != null) return cachedCount;
+        final long generation = filmCache.getGeneration();
+        int count = 0;
         try (DaoFactory factory = DaoFactoryDeliver.getInstance().getFactory()) {
             logCreatingDaoFactory();
             final FilmDao filmDAO = factory.getFilmDAO();
-            final int count = filmDAO.countTotalRow();
-            amount = count / size;
-            amount = count % size == 0 ? amount : amount + 1;
+            count = filmDAO.countTotalRow();
         } catch (Exception e) {
             throwServiceException("Couldn't get paginated film list", e);
         }
-        return amount;
+        filmCache.putTotalRows(count, generation);
+        return count;
     }
 
     @Override
@@ -86,6 +118,9 @@ public class FilmServiceImpl implements FilmService {
             filmDAO.insert(film);
         } catch (Exception e) {
             throwServiceException("Couldn't save film", e);
+        } finally {
+            filmCache.invalidate();
+            dataVersionService.increment(DataType.FILM);
         }
     }
 
@@ -97,11 +132,21 @@ public class FilmServiceImpl implements FilmService {
             filmDAO.delete(id);
         } catch (Exception e) {
             throwServiceException("Couldn't delete film", e);
+        } finally {
+            filmCache.invalidate();
+            // schedule pages contain sessions of the film
+            scheduleCache.invalidate();
+            // sessions of the film are deleted with it
+            renderedTicketCache.invalidate();
+            dataVersionService.increment(DataType.FILM);
         }
     }
 
     @Override
     public Film getById(int id) throws ServiceException {
+        final Film cachedFilm = filmCache.getById(id);
+        if (cachedFilm != null) return cachedFilm;
+        final long generation = filmCache.getGeneration();
         Film film = null;
         try (DaoFactory factory = DaoFactoryDeliver.getInstance().getFactory()) {
             logCreatingDaoFactory();
@@ -110,7 +155,7 @@ public class FilmServiceImpl implements FilmService {
         } catch (Exception e) {
             throwServiceException("Couldn't find film", e);
         }
-        return film;
+        return filmCache.put(film, generation);
     }
 
     @Override
@@ -1,6 +1,7 @@
 package yehor.epam.services.impl;
 
 import org.slf4j.Logger;
+import yehor.epam.cache.ReferenceDataRegistry;
 import yehor.epam.dao.GenreDAO;
 import yehor.epam.dao.factories.DaoFactory;
 import yehor.epam.dao.factories.DaoFactoryDeliver;
@@ -19,6 +20,15 @@ import java.util.List;
 public class GenreServiceImpl implements GenreService {
     private static final Logger logger = LoggerManager.getLogger(GenreServiceImpl.class);
     private static final String CLASS_NAME = GenreServiceImpl.class.getName();
+    private final ReferenceDataRegistry registry;
+
+    public GenreServiceImpl() {
+        this(ReferenceDataRegistry.getInstance());
+    }
+
+    public GenreServiceImpl(ReferenceDataRegistry registry) {
+        this.registry = registry;
+    }
 
     @Override
     public List<Genre> getGenreListByIdArray(String[] genreIds) throws ServiceException {
@@ -26,6 +36,8 @@ public class GenreServiceImpl implements GenreService {
             logger.error("Genre Array is null or empty");
             throw new EmptyArrayException("Genre Array is null or empty");
         }
+        final List<Genre> registryList = getGenreListFromRegistry(genreIds);
+        if (registryList != null) return registryList;
         List<Genre> genreList = new ArrayList<>();
         try (DaoFactory factory = DaoFactoryDeliver.getInstance().getFactory()) {
             logCreatingDaoFactory();
@@ -43,6 +55,8 @@ public class GenreServiceImpl implements GenreService {
 
     @Override
     public List<Genre> getAll() throws ServiceException {
+        final List<Genre> registryList = registry.getGenres();
+        if (registryList != null) return registryList;
         List<Genre> genreList = new ArrayList<>();
         try (DaoFactory factory = DaoFactoryDeliver.getInstance().getFactory()) {
             logCreatingDaoFactory();
@@ -59,6 +73,26 @@ public class GenreServiceImpl implements GenreService {
         throw new ServiceException(message, e);
     }
 
+    /**
+     * Get genres from ReferenceDataRegistry
+     *
+     * @return list of genres or null if registry isn't loaded or doesn't contain some of the genres
+     */
+    private List<Genre> getGenreListFromRegistry(String[] genreIds) {
+        if (!registry.isLoaded()) return null;
+        List<Genre> genreList = new ArrayList<>(genreIds.length);
+        try {
+            for (String genreId : genreIds) {
+                final Genre genre = registry.getGenre(Integer.parseInt(genreId));
+                if (genre == null) return null;
+                genreList.add(genre);
+            }
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        return genreList;
+    }
+
     private void logCreatingDaoFactory() {
         logger.debug("Created DAOFactory in " + CLASS_NAME);
     }
@@ -1,6 +1,7 @@
 package yehor.epam.services.impl;
 
 import org.slf4j.Logger;
+import yehor.epam.cache.ReferenceDataRegistry;
 import yehor.epam.dao.SeatDao;
 import yehor.epam.dao.factories.DaoFactory;
 import yehor.epam.dao.factories.DaoFactoryDeliver;
@@ -19,6 +20,15 @@ import java.util.List;
 public class SeatServiceImpl implements SeatService {
     private static final Logger logger = LoggerManager.getLogger(SeatServiceImpl.class);
     private static final String CLASS_NAME = SeatServiceImpl.class.getName();
+    private final ReferenceDataRegistry registry;
+
+    public SeatServiceImpl() {
+        this(ReferenceDataRegistry.getInstance());
+    }
+
+    public SeatServiceImpl(ReferenceDataRegistry registry) {
+        this.registry = registry;
+    }
 
     @Override
     public List<Seat> getSeatListByIdArray(String[] seatIds) throws ServiceException {
@@ -26,6 +36,8 @@ public class SeatServiceImpl implements SeatService {
             logger.error("Seat Array is null or empty");
             throw new EmptyArrayException("Seat Array is null or empty");
         }
+        final List<Seat> registryList = getSeatListFromRegistry(seatIds);
+        if (registryList != null) return registryList;
         List<Seat> seatList = new ArrayList<>();
         try (DaoFactory factory = DaoFactoryDeliver.getInstance().getFactory()) {
             logCreatingDaoFactory();
@@ -56,6 +68,8 @@ public class SeatServiceImpl implements SeatService {
 
     @Override
     public List<Seat> getAll() throws ServiceException {
+        final List<Seat> registryList = registry.getSeats();
+        if (registryList != null) return registryList;
         List<Seat> seatList = new ArrayList<>();
         try (DaoFactory factory = DaoFactoryDeliver.getInstance().getFactory()) {
             logCreatingDaoFactory();
@@ -80,6 +94,26 @@ public class SeatServiceImpl implements SeatService {
         return isFree;
     }
 
+    /**
+     * Get seats from ReferenceDataRegistry
+     *
+     * @return list of seats or null if registry isn't loaded or doesn't contain some of the seats
+     */
+    private List<Seat> getSeatListFromRegistry(String[] seatIds) {
+        if (!registry.isLoaded()) return null;
+        List<Seat> seatList = new ArrayList<>(seatIds.length);
+        try {
+            for (String seatId : seatIds) {
+                final Seat seat = registry.getSeat(Integer.parseInt(seatId));
+                if (seat == null) return null;
+                seatList.add(seat);
+            }
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        return seatList;
+    }
+
     private void logCreatingDaoFactory() {
         logger.debug("Created DAOFactory in " + CLASS_NAME);
     }
@@ -1,16 +1,22 @@
 package yehor.epam.services.impl;
 
 import org.slf4j.Logger;
+import yehor.epam.cache.RenderedTicketCache;
+import yehor.epam.cache.ScheduleCache;
 import yehor.epam.dao.SessionDao;
 import yehor.epam.dao.factories.DaoFactory;
 import yehor.epam.dao.factories.DaoFactoryDeliver;
 import yehor.epam.entities.Session;
+import yehor.epam.exceptions.DaoException;
 import yehor.epam.exceptions.ServiceException;
+import yehor.epam.services.DataVersionService;
+import yehor.epam.services.DataVersionService.DataType;
 import yehor.epam.services.SessionService;
 import yehor.epam.services.ValidService;
 import yehor.epam.utilities.LoggerManager;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -25,13 +31,23 @@ public class SessionServiceImpl implements SessionService {
     private static final Logger logger = LoggerManager.getLogger(SessionServiceImpl.class);
     private static final String CLASS_NAME = SessionServiceImpl.class.getName();
     private final ValidService validService;
+    private final ScheduleCache scheduleCache;
+    private final DataVersionService dataVersionService;
+    private final RenderedTicketCache renderedTicketCache;
 
     public SessionServiceImpl() {
-        this.validService = new ValidServiceImpl();
+        this(new ValidServiceImpl());
     }
 
     public SessionServiceImpl(ValidService validService) {
+        this(validService, ScheduleCache.getInstance());
+    }
+
+    public SessionServiceImpl(ValidService validService, ScheduleCache scheduleCache) {
         this.validService = validService;
+        this.scheduleCache = scheduleCache;
+        this.dataVersionService = DataVersionServiceImpl.getInstance();
+        this.renderedTicketCache = RenderedTicketCache.getInstance();
     }
 
     @Override
@@ -55,22 +71,35 @@ public class SessionServiceImpl implements SessionService {
             sessionDAO.delete(id);
         } catch (Exception e) {
             throwServiceException("Couldn't delete session", e);
+        } finally {
+            scheduleCache.invalidate();
+            renderedTicketCache.evictSession(id);
+            dataVersionService.increment(DataType.SESSION);
         }
     }
 
     @Override
     public int countTotalPages(int size) throws ServiceException {
-        int amount = 0;
+        final int count = countTotalRows();
+        int amount = count / size;
+        amount = count % size == 0 ? amount : amount + 1;
+        return amount;
+    }
+
+    private int countTotalRows() throws ServiceException {
+        final Integer cachedCount = scheduleCache.getTotalRows();
+        if (cachedCount != null) return cachedCount;
+        final long generation = scheduleCache.getGeneration();
+        int count = 0;
         try (DaoFactory factory = DaoFactoryDeliver.getInstance().getFactory()) {
             logCreatingDaoFactory();
             final SessionDao sessionDao = factory.getSessionDao();
-            final int count = sessionDao.countTotalRow();
-            amount = count / size;
-            amount = count % size == 0 ? amount : amount + 1;
+            count = sessionDao.countTotalRow();
         } catch (Exception e) {
             throwServiceException("Couldn't get paginated session list", e);
         }
-        return amount;
+        scheduleCache.putTotalRows(count, generation);
+        return count;
     }
 
     @Override
@@ -81,11 +110,18 @@ public class SessionServiceImpl implements SessionService {
             sessionDAO.insert(session);
         } catch (Exception e) {
             throwServiceException("Couldn't add session", e);
+        } finally {
+            scheduleCache.invalidate();
+            dataVersionService.increment(DataType.SESSION);
         }
     }
 
     @Override
     public List<Session> getAll(int page, int size) throws ServiceException {
+        final ScheduleCache.Key key = ScheduleCache.unfilteredKey(page, size);
+        final List<Session> cachedList = scheduleCache.get(key);
+        if (cachedList != null) return cachedList;
+        final long generation = scheduleCache.getGeneration();
         List<Session> sessionList = new ArrayList<>();
         try (DaoFactory factory = DaoFactoryDeliver.getInstance().getFactory()) {
             logCreatingDaoFactory();
@@ -96,14 +132,19 @@ public class SessionServiceImpl implements SessionService {
                 start = start * size + 1;
             }
             sessionList = sessionDao.findAll(start, size);
+            loadScheduleExpiry(sessionDao, generation);
         } catch (Exception e) {
             throwServiceException("Couldn't get paginated session list", e);
         }
-        return sessionList;
+        return scheduleCache.put(key, sessionList, generation);
     }
 
     @Override
     public List<Session> getFilteredAndSorted(Map<String, String> filterSortMap, int page, int size) throws ServiceException {
+        final ScheduleCache.Key key = ScheduleCache.filteredKey(filterSortMap, page, size);
+        final List<Session> cachedList = scheduleCache.get(key);
+        if (cachedList != null) return cachedList;
+        final long generation = scheduleCache.getGeneration();
         List<Session> sessionList = new ArrayList<>();
         try (DaoFactory factory = DaoFactoryDeliver.getInstance().getFactory()) {
             logCreatingDaoFactory();
@@ -114,10 +155,11 @@ public class SessionServiceImpl implements SessionService {
             }
             final SessionDao sessionDAO = factory.getSessionDao();
             sessionList = sessionDAO.findFilteredAndSortedSessionList(filterSortMap, start, size);
+            loadScheduleExpiry(sessionDAO, generation);
         } catch (Exception e) {
             throwServiceException("Couldn't get session list", e);
         }
-        return sessionList;
+        return scheduleCache.put(key, sessionList, generation);
     }
 
     @Override
@@ -158,6 +200,15 @@ public class SessionServiceImpl implements SessionService {
         return errorList;
     }
 
+    /**
+     * Load the nearest session start if schedule cache doesn't know when to expire
+     */
+    private void loadScheduleExpiry(SessionDao sessionDao, long generation) throws DaoException {
+        if (!scheduleCache.isExpiryKnown()) {
+            scheduleCache.setNextSessionStart(sessionDao.findNextSessionStart(LocalDateTime.now()), generation);
+        }
+    }
+
     private void logCreatingDaoFactory() {
         logger.debug("Created DAOFactory in " + CLASS_NAME);
     }
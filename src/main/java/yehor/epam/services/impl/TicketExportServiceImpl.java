@@ -0,0 +1,181 @@
+package yehor.epam.services.impl;
+
+import com.itextpdf.text.Document;
+import com.itextpdf.text.DocumentException;
+import com.itextpdf.text.pdf.PdfCopy;
+import com.itextpdf.text.pdf.PdfReader;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import yehor.epam.entities.Ticket;
+import yehor.epam.exceptions.EmptyListException;
+import yehor.epam.exceptions.PdfException;
+import yehor.epam.exceptions.WritePdfToResponseException;
+import yehor.epam.services.TicketExportService;
+import yehor.epam.utilities.LoggerManager;
+import yehor.epam.utilities.TicketPdfEngine;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static yehor.epam.utilities.constants.OtherConstants.*;
+
+/**
+ * Service for exporting several tickets at once.
+ * Tickets are rendered on a shared bounded pool, and only a limited amount of rendered tickets
+ * waits to be written, so memory taken by export doesn't depend on ticket amount
+ */
+public class TicketExportServiceImpl implements TicketExportService {
+    private static final Logger logger = LoggerManager.getLogger(TicketExportServiceImpl.class);
+    private final TicketPdfEngine engine;
+    private final ExecutorService executor;
+    private final int maxPending;
+
+    public TicketExportServiceImpl() {
+        this(TicketPdfEngine.getInstance(), RenderExecutorHolder.executor, TICKET_EXPORT_MAX_PENDING);
+    }
+
+    public TicketExportServiceImpl(TicketPdfEngine engine, ExecutorService executor, int maxPending) {
+        this.engine = engine;
+        this.executor = executor;
+        this.maxPending = maxPending;
+    }
+
+    private static final class RenderExecutorHolder {
+        private static final ExecutorService executor = createExecutor();
+
+        /**
+         * Pool with bounded queue, request thread renders the ticket itself if the queue is full
+         */
+        private static ExecutorService createExecutor() {
+            final AtomicInteger counter = new AtomicInteger();
+            return new ThreadPoolExecutor(TICKET_EXPORT_THREADS, TICKET_EXPORT_THREADS, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(TICKET_EXPORT_THREADS * TICKET_EXPORT_MAX_PENDING),
+                    runnable -> {
+                        final Thread thread = new Thread(runnable, "ticket-export-" + counter.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    },
+                    new ThreadPoolExecutor.CallerRunsPolicy());
+        }
+    }
+
+    @Override
+    public void writeTicketsToResponse(List<Ticket> ticketList, Locale locale, Format format, HttpServletResponse response) {
+        if (ticketList == null || ticketList.isEmpty()) {
+            logger.warn("Received ticket list is null or empty");
+            throw new EmptyListException("There is no tickets to export");
+        }
+        logger.debug("Export {} tickets to {}", ticketList.size(), format);
+        try {
+            final ServletOutputStream outputStream = response.getOutputStream();
+            if (format == Format.ZIP) {
+                response.setContentType(ZIP_CONTENT_TYPE);
+                response.addHeader("Content-Disposition", "attachment; filename=" + DEF_TICKET_FILENAME + "s.zip");
+                writeZip(ticketList, locale, outputStream);
+            } else {
+                response.setContentType(PDF_CONTENT_TYPE);
+                response.addHeader("Content-Disposition", "inline; filename=" + DEF_TICKET_FILENAME + "s.pdf");
+                writePdf(ticketList, locale, outputStream);
+            }
+            outputStream.flush();
+        } catch (IOException e) {
+            logger.error("Couldn't write exported tickets to HttpServletResponse", e);
+            throw new WritePdfToResponseException("Couldn't write exported tickets to HttpServletResponse", e);
+        } catch (DocumentException e) {
+            logger.error("Couldn't merge tickets to one PDF", e);
+            throw new PdfException("Couldn't merge tickets to one PDF", e);
+        }
+    }
+
+    private void writePdf(List<Ticket> ticketList, Locale locale, OutputStream outputStream)
+            throws IOException, DocumentException {
+        Document document = new Document();
+        final PdfCopy copy = new PdfCopy(document, outputStream);
+        copy.setCloseStream(false);
+        document.open();
+        renderInOrder(ticketList, locale, rendered -> {
+            PdfReader reader = new PdfReader(rendered.content);
+            copy.addDocument(reader);
+            copy.freeReader(reader);
+            reader.close();
+        });
+        document.close();
+    }
+
+    private void writeZip(List<Ticket> ticketList, Locale locale, OutputStream outputStream)
+            throws IOException, DocumentException {
+        final ZipOutputStream zip = new ZipOutputStream(outputStream);
+        // PDF content is compressed already
+        zip.setLevel(Deflater.BEST_SPEED);
+        renderInOrder(ticketList, locale, rendered -> {
+            zip.putNextEntry(new ZipEntry(DEF_TICKET_FILENAME + "_" + rendered.ticketId + ".pdf"));
+            zip.write(rendered.content);
+            zip.closeEntry();
+        });
+        zip.finish();
+    }
+
+    /**
+     * Submit tickets for rendering keeping at most maxPending of them in flight, and pass results to the consumer
+     * in the list order
+     */
+    private void renderInOrder(List<Ticket> ticketList, Locale locale, RenderedTicketConsumer consumer)
+            throws IOException, DocumentException {
+        final Deque<Future<RenderedTicket>> pending = new ArrayDeque<>();
+        final Iterator<Ticket> iterator = ticketList.iterator();
+        try {
+            while (iterator.hasNext() || !pending.isEmpty()) {
+                while (iterator.hasNext() && pending.size() < maxPending) {
+                    final Ticket ticket = iterator.next();
+                    pending.add(executor.submit(() -> render(ticket, locale)));
+                }
+                consumer.accept(await(pending.poll()));
+            }
+        } finally {
+            for (Future<RenderedTicket> future : pending) {
+                future.cancel(true);
+            }
+        }
+    }
+
+    private RenderedTicket render(Ticket ticket, Locale locale) {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        engine.render(ticket, locale, outputStream);
+        return new RenderedTicket(ticket.getId(), outputStream.toByteArray());
+    }
+
+    private RenderedTicket await(Future<RenderedTicket> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PdfException("Ticket export was interrupted", e);
+        } catch (ExecutionException e) {
+            logger.error("Couldn't render ticket for export", e.getCause());
+            throw new PdfException("Couldn't render ticket for export", e.getCause());
+        }
+    }
+
+    private static final class RenderedTicket {
+        private final int ticketId;
+        private final byte[] content;
+
+        private RenderedTicket(int ticketId, byte[] content) {
+            this.ticketId = ticketId;
+            this.content = content;
+        }
+    }
+
+    @FunctionalInterface
+    private interface RenderedTicketConsumer {
+        void accept(RenderedTicket rendered) throws IOException, DocumentException;
+    }
+}
@@ -1,89 +1,52 @@
 package yehor.epam.services.impl;
 
-import com.itextpdf.text.*;
-import com.itextpdf.text.pdf.BaseFont;
-import com.itextpdf.text.pdf.PdfPCell;
-import com.itextpdf.text.pdf.PdfPTable;
-import com.itextpdf.text.pdf.PdfWriter;
 import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import jakarta.servlet.jsp.jstl.core.Config;
 import org.slf4j.Logger;
-import yehor.epam.entities.Film;
-import yehor.epam.entities.Seat;
-import yehor.epam.entities.Session;
+import yehor.epam.cache.RenderedTicketCache;
 import yehor.epam.entities.Ticket;
 import yehor.epam.exceptions.PdfException;
 import yehor.epam.exceptions.WritePdfToResponseException;
 import yehor.epam.services.TicketPdfService;
 import yehor.epam.utilities.LoggerManager;
-import yehor.epam.utilities.constants.OtherConstants;
+import yehor.epam.utilities.PdfBufferPool;
+import yehor.epam.utilities.TicketPdfEngine;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.text.DecimalFormat;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Locale;
-import java.util.ResourceBundle;
 
-import static yehor.epam.utilities.constants.OtherConstants.FONTS_BAHNSCHRIFT_TTF_PATH;
+import static yehor.epam.utilities.constants.OtherConstants.*;
 
 /**
  * Class service for ticket in particular for PDF formation purpose
  */
 public class TicketPdfServiceImpl implements TicketPdfService {
     private static final Logger logger = LoggerManager.getLogger(TicketPdfServiceImpl.class);
-    private final Font headFont;
+    private final TicketPdfEngine engine;
+    private final PdfBufferPool bufferPool;
+    private final RenderedTicketCache renderedTicketCache;
 
     /**
-     * Create TicketService object and set main Font for pdf file
+     * Create TicketPdfService object which uses shared TicketPdfEngine, PdfBufferPool and RenderedTicketCache
      */
     public TicketPdfServiceImpl() {
-        BaseFont unicode = null;
-        try {
-            unicode = BaseFont.createFont(FONTS_BAHNSCHRIFT_TTF_PATH, BaseFont.IDENTITY_H, BaseFont.EMBEDDED);
-        } catch (DocumentException | IOException e) {
-            logger.error("Couldn't set front for PDF", e);
-            throw new PdfException("Couldn't set front for PDF", e);
-        }
-        headFont = new Font(unicode, 12);
+        this(TicketPdfEngine.getInstance(), PdfBufferPool.getInstance(), RenderedTicketCache.getInstance());
+    }
+
+    public TicketPdfServiceImpl(TicketPdfEngine engine, PdfBufferPool bufferPool, RenderedTicketCache renderedTicketCache) {
+        this.engine = engine;
+        this.bufferPool = bufferPool;
+        this.renderedTicketCache = renderedTicketCache;
     }
 
     @Override
     public ByteArrayOutputStream formPDFTicket(Ticket ticket, Locale locale) {
-        Document document = new Document();
         ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-
-        try {
-            PdfPTable table = new PdfPTable(2);
-            table.setWidthPercentage(100);
-            table.setTotalWidth(PageSize.A4.getWidth() - 25);
-
-
-            final Session session = ticket.getSession();
-            final Film film = session.getFilm();
-            final Seat seat = ticket.getSeat();
-            final String ticketPriceInFormat = getTicketPriceInFormat(ticket);
-
-            logger.debug("Locale in PDF service. Lang = {}, country = {}", locale.getLanguage(), locale.getCountry());
-            final ResourceBundle bundle = ResourceBundle.getBundle("i18n", locale);
-
-            addRowToTable(bundle.getString("ticket.pdf.number") + ": ", table, String.valueOf(ticket.getId()));
-            addRowToTable(bundle.getString("ticket.pdf.film") + ": ", table, film.getName());
-            addRowToTable(bundle.getString("ticket.pdf.date") + ": ", table, session.getDate().toString());
-            addRowToTable(bundle.getString("ticket.pdf.time") + ": ", table, session.getTime().toString());
-            addRowToTable(bundle.getString("ticket.pdf.rowNo") + ": ", table, String.valueOf(seat.getRowNumber()));
-            addRowToTable(bundle.getString("ticket.pdf.placeNo") + ": ", table, String.valueOf(seat.getPlaceNumber()));
-            addRowToTable(bundle.getString("ticket.pdf.ticketPrice") + ": ", table, ticketPriceInFormat);
-
-            PdfWriter.getInstance(document, outputStream);
-            document.open();
-            document.add(table);
-            document.close();
-        } catch (DocumentException e) {
-            logger.error("Couldn't create pdf ticket", e);
-            throw new PdfException("Couldn't create pdf ticket", e);
-        }
-
+        engine.render(ticket, locale, outputStream);
         return outputStream;
     }
 
@@ -97,11 +60,90 @@ public class TicketPdfServiceImpl implements TicketPdfService {
         }
     }
 
+    @Override
+    public void writePdfTicketToResponse(Ticket ticket, Locale locale, HttpServletResponse response) {
+        final PdfBufferPool.Buffer buffer = bufferPool.acquire();
+        try {
+            if (buffer == null) {
+                logger.debug("All PDF buffers are in use, ticket is streamed without Content-Length");
+                setPdfHeaders(response);
+                engine.render(ticket, locale, response.getOutputStream());
+            } else {
+                final long generation = renderedTicketCache.getGeneration();
+                // headers are set only for a rendered ticket, so a failure is answered by the error page
+                engine.render(ticket, locale, buffer);
+                renderedTicketCache.put(ticket, locale, buffer, generation);
+                setPdfHeaders(response);
+                response.setContentLength(buffer.size());
+                buffer.writeTo(response.getOutputStream(), PDF_RESPONSE_CHUNK_SIZE);
+            }
+            response.getOutputStream().flush();
+        } catch (IOException e) {
+            logger.error("Couldn't write pdf ticket to HttpServletResponse", e);
+            throw new WritePdfToResponseException("Couldn't write pdf ticket to HttpServletResponse", e);
+        } catch (RuntimeException e) {
+            resetPdfHeaders(response);
+            throw e;
+        } finally {
+            if (buffer != null) {
+                bufferPool.release(buffer);
+            }
+        }
+    }
+
+    @Override
+    public boolean writeCachedPdfTicketToResponse(int ticketId, Locale locale, HttpServletRequest request,
+                                                  HttpServletResponse response) {
+        try {
+            byte[] content = renderedTicketCache.get(ticketId, locale);
+            if (content == null && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT_ATTRIBUTE))) {
+                final Path file = renderedTicketCache.getFile(ticketId, locale);
+                if (file == null) return false;
+                final long size = Files.size(file);
+                logger.debug("Send rendered ticket {} by sendfile", ticketId);
+                setPdfHeaders(response);
+                response.setContentLengthLong(size);
+                request.setAttribute(SENDFILE_FILENAME_ATTRIBUTE, file.toAbsolutePath().toString());
+                request.setAttribute(SENDFILE_START_ATTRIBUTE, 0L);
+                request.setAttribute(SENDFILE_END_ATTRIBUTE, size);
+                return true;
+            }
+            // requested again, so it's worth keeping in memory
+            if (content == null) content = renderedTicketCache.load(ticketId, locale);
+            if (content == null) return false;
+            setPdfHeaders(response);
+            response.setContentLength(content.length);
+            final ServletOutputStream servletOutputStream = response.getOutputStream();
+            for (int offset = 0; offset < content.length; offset += PDF_RESPONSE_CHUNK_SIZE) {
+                servletOutputStream.write(content, offset, Math.min(PDF_RESPONSE_CHUNK_SIZE, content.length - offset));
+                servletOutputStream.flush();
+            }
+            return true;
+        } catch (IOException e) {
+            logger.error("Couldn't write rendered ticket to HttpServletResponse", e);
+            throw new WritePdfToResponseException("Couldn't write rendered ticket to HttpServletResponse", e);
+        }
+    }
+
+    private void setPdfHeaders(HttpServletResponse response) {
+        response.setContentType(PDF_CONTENT_TYPE);
+        response.setHeader(CONTENT_DISPOSITION_HEADER, "inline; filename=" + DEF_TICKET_FILENAME + ".pdf");
+    }
+
+    /**
+     * Remove PDF headers and partly streamed content if nothing is sent yet, so the error page isn't served as PDF
+     */
+    private void resetPdfHeaders(HttpServletResponse response) {
+        if (response.isCommitted()) return;
+        response.resetBuffer();
+        response.setContentType(null);
+        response.setHeader(CONTENT_DISPOSITION_HEADER, null);
+    }
+
     private void writeByteArrayOutputStreamToResponse(ByteArrayOutputStream byteArrayOutputStream, HttpServletResponse response)
             throws IOException {
         try {
-            response.setContentType("application/pdf");
-            response.addHeader("Content-Disposition", "inline; filename=" + OtherConstants.DEF_TICKET_FILENAME + ".pdf");
+            setPdfHeaders(response);
             ServletOutputStream servletOutputStream = response.getOutputStream();
             byteArrayOutputStream.writeTo(servletOutputStream);
         } catch (Exception e) {
@@ -114,47 +156,4 @@ public class TicketPdfServiceImpl implements TicketPdfService {
             }
         }
     }
-
-    /**
-     * Add appropriate row to PDF table
-     *
-     * @param string text
-     * @param table  the PDF table
-     * @param ticket Ticket
-     */
-    private void addRowToTable(String string, PdfPTable table, String ticket) {
-        PdfPCell lCell;
-        PdfPCell rCell;
-        lCell = new PdfPCell(new Phrase(string, headFont));
-        setLeftCell(lCell);
-        table.addCell(lCell);
-
-        rCell = new PdfPCell(new Phrase(ticket, headFont));
-        setRightCell(rCell);
-        table.addCell(rCell);
-    }
-
-    private void setLeftCell(PdfPCell lCell) {
-        lCell.setHorizontalAlignment(Element.ALIGN_LEFT);
-    }
-
-    private void setRightCell(PdfPCell cell) {
-        cell.setVerticalAlignment(Element.ALIGN_MIDDLE);
-        cell.setHorizontalAlignment(Element.ALIGN_MIDDLE);
-        cell.setPaddingRight(5);
-    }
-
-    /**
-     * get ticket price from BigDecimal in two digits after comma format
-     *
-     * @param ticket ticket
-     * @return formatted value in String
-     */
-    private String getTicketPriceInFormat(Ticket ticket) {
-        DecimalFormat df = new DecimalFormat();
-        df.setMaximumFractionDigits(2);
-        df.setMinimumFractionDigits(0);
-        df.setGroupingUsed(false);
-        return df.format(ticket.getTicketPrice());
-    }
 }
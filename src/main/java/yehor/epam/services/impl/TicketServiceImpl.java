@@ -1,6 +1,7 @@
 package yehor.epam.services.impl;
 
 import org.slf4j.Logger;
+import yehor.epam.cache.ScheduleCache;
 import yehor.epam.dao.TicketDao;
 import yehor.epam.dao.factories.DaoFactory;
 import yehor.epam.dao.factories.DaoFactoryDeliver;
@@ -11,6 +12,8 @@ import yehor.epam.entities.User;
 import yehor.epam.exceptions.EmptyListException;
 import yehor.epam.exceptions.ServiceException;
 import yehor.epam.exceptions.TicketException;
+import yehor.epam.services.DataVersionService;
+import yehor.epam.services.DataVersionService.DataType;
 import yehor.epam.services.SeatService;
 import yehor.epam.services.TicketService;
 import yehor.epam.utilities.LoggerManager;
@@ -25,10 +28,14 @@ import java.util.List;
 public class TicketServiceImpl implements TicketService {
     private static final Logger logger = LoggerManager.getLogger(TicketServiceImpl.class);
     private static final String CLASS_NAME = TicketServiceImpl.class.getName();
+    private final ScheduleCache scheduleCache;
+    private final DataVersionService dataVersionService;
     private SeatService seatService;
 
     public TicketServiceImpl() {
         seatService = new SeatServiceImpl();
+        scheduleCache = ScheduleCache.getInstance();
+        dataVersionService = DataVersionServiceImpl.getInstance();
     }
 
     @Override
@@ -61,6 +68,8 @@ public class TicketServiceImpl implements TicketService {
             if (seatService.isSeatFreeBySessionId(seatId, sessionId)) {
                 logger.debug("Seat is free, id: " + seatId + " and sessionId: " + sessionId);
                 ticketDao.insert(ticket);
+                scheduleCache.onTicketSold(sessionId);
+                dataVersionService.increment(DataType.TICKET);
             } else {
                 logger.warn("Seat is already reserved");
                 throw new TicketException("Seat is already reserved, choose another one");
@@ -144,6 +153,32 @@ public class TicketServiceImpl implements TicketService {
         return ticket;
     }
 
+    @Override
+    public List<Ticket> getAllBySessionId(int sessionId) throws ServiceException {
+        List<Ticket> ticketList = new ArrayList<>();
+        try (DaoFactory factory = DaoFactoryDeliver.getInstance().getFactory()) {
+            logCreatingDaoFactory();
+            final TicketDao ticketDao = factory.getTicketDao();
+            ticketList = ticketDao.findAllBySessionId(sessionId);
+        } catch (Exception e) {
+            throwServiceException("Couldn't get ticket list by session id", e);
+        }
+        return ticketList;
+    }
+
+    @Override
+    public List<Ticket> getAllBySessionIdAndUserId(int sessionId, int userId) throws ServiceException {
+        List<Ticket> ticketList = new ArrayList<>();
+        try (DaoFactory factory = DaoFactoryDeliver.getInstance().getFactory()) {
+            logCreatingDaoFactory();
+            final TicketDao ticketDao = factory.getTicketDao();
+            ticketList = ticketDao.findAllBySessionIdAndUserId(sessionId, userId);
+        } catch (Exception e) {
+            throwServiceException("Couldn't get ticket list by session id and user id", e);
+        }
+        return ticketList;
+    }
+
     private void logCreatingDaoFactory() {
         logger.debug("Created DAOFactory in " + CLASS_NAME);
     }
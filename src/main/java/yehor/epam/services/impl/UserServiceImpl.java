@@ -14,7 +14,6 @@ import yehor.epam.utilities.LoggerManager;
 import yehor.epam.utilities.PassEncryptionManager;
 
 import java.util.ArrayList;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -36,28 +35,44 @@ public class UserServiceImpl implements UserService {
         this.validService = validService;
     }
 
-    private Map<String, String> getSaltAndPassByLogin(String login) throws ServiceException {
-        Map<String, String> saltAndPassByLogin = new LinkedHashMap<>();
+    @Override
+    public User authenticate(String login, String password) throws ServiceException, AuthException {
+        final PassEncryptionManager passManager = new PassEncryptionManager();
+        User user = null;
         try (DaoFactory factory = DaoFactoryDeliver.getInstance().getFactory()) {
             logCreatingDaoFactory();
-            final UserDao userDAO = factory.getUserDao();
-            saltAndPassByLogin = userDAO.getSaltAndPassByLogin(login);
+            user = factory.getUserDao().getUserByLogin(login);
         } catch (AuthException e) {
-            throwServiceException("Couldn't find such user", e);
+            // unknown email costs the same hashing as a wrong password, so it isn't revealed by response time
+            passManager.verifyDummyPassword(password);
+            throw new AuthException("Wrong email or password");
         } catch (Exception e) {
-            throwServiceException("Couldn't get salt by login", e);
+            throwServiceException("Couldn't get user by login", e);
+        }
+        // connection is returned to the pool before hashing
+        final boolean isVerified = passManager.verifyUserPassword(password, user.getPassword(), user.getSalt());
+        if (!isVerified) throw new AuthException("Wrong email or password");
+        if (passManager.needsRehash(user.getPassword())) {
+            rehashPassword(user, password, passManager);
         }
-        return saltAndPassByLogin;
+        user.setPassword(null);
+        user.setSalt(null);
+        return user;
     }
 
-    @Override
-    public void authenticateUser(String login, String password) throws ServiceException, AuthException {
-        final Map<String, String> saltAndPass = getSaltAndPassByLogin(login);
-        final String saltValue = saltAndPass.get("salt");
-        final String encryptedPass = saltAndPass.get("password");
-        PassEncryptionManager passManager = new PassEncryptionManager();
-        final boolean isVerified = passManager.verifyUserPassword(password, encryptedPass, saltValue);
-        if (!isVerified) throw new AuthException("Wrong email or password");
+    /**
+     * Replace hash of old algorithm or cost by the current one, login doesn't fail if it couldn't be done
+     */
+    private void rehashPassword(User user, String password, PassEncryptionManager passManager) {
+        final String salt = passManager.getSaltValue(SALT_LENGTH);
+        final String securePassword = passManager.generateSecurePassword(password, salt);
+        try (DaoFactory factory = DaoFactoryDeliver.getInstance().getFactory()) {
+            if (factory.getUserDao().replacePassword(user.getId(), user.getPassword(), securePassword, salt)) {
+                logger.info("Password hash of user with id: {} is upgraded", user.getId());
+            }
+        } catch (Exception e) {
+            logger.warn("Couldn't upgrade password hash of user with id: " + user.getId(), e);
+        }
     }
 
     @Override
@@ -124,15 +139,15 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
-    public int getMaxId() throws ServiceException {
+    public void revokeLogins(int userId) throws ServiceException {
         try (DaoFactory factory = DaoFactoryDeliver.getInstance().getFactory()) {
             logCreatingDaoFactory();
             final UserDao userDAO = factory.getUserDao();
-            return userDAO.getMaxId();
+            userDAO.incrementTokenVersion(userId);
+            logger.info("Logins of user with id: {} are revoked", userId);
         } catch (Exception e) {
-            throwServiceException("Couldn't get max id", e);
+            throwServiceException("Couldn't revoke logins of user with id: " + userId, e);
         }
-        return -1;
     }
 
     @Override
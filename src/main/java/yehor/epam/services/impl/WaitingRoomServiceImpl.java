@@ -0,0 +1,209 @@
+package yehor.epam.services.impl;
+
+import org.slf4j.Logger;
+import yehor.epam.exceptions.ServiceException;
+import yehor.epam.services.SessionService;
+import yehor.epam.services.WaitingRoomService;
+import yehor.epam.utilities.LoggerManager;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntPredicate;
+
+import static yehor.epam.utilities.constants.OtherConstants.*;
+
+/**
+ * In-memory waiting room: every cinema session has its own queue of numbered tickets and a counter
+ * of let in tickets growing by release rate, so position is just their difference.
+ * Ticket is {@code base64url(sessionId:number:issuedAt).base64url(HMAC-SHA256)} kept by client, the signature
+ * also covers the holder, so a ticket copied to another user or IP isn't valid. Queues are created only for
+ * existing cinema sessions.
+ * Queues live on the node, so behind a load balancer clients must stick to one node
+ */
+public class WaitingRoomServiceImpl implements WaitingRoomService {
+    private static final Logger logger = LoggerManager.getLogger(WaitingRoomServiceImpl.class);
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int KEY_LENGTH = 32;
+    private static final long CLEANUP_PERIOD_MILLIS = Duration.ofMinutes(1).toMillis();
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+    private final Map<Integer, SessionQueue> queues = new ConcurrentHashMap<>();
+    private final AtomicLong nextCleanupMillis = new AtomicLong();
+    private final int releaseRate;
+    private final int burst;
+    private final long ticketLifetimeMillis;
+    private final Clock clock;
+    private final IntPredicate sessionExists;
+    private final SecretKeySpec key;
+    /**
+     * Mac isn't thread-safe, so every thread initializes its own once
+     */
+    private final ThreadLocal<Mac> mac;
+
+    public WaitingRoomServiceImpl(SessionService sessionService) {
+        this(WAITING_ROOM_RELEASE_RATE, WAITING_ROOM_BURST, WAITING_ROOM_TICKET_LIFETIME, Clock.systemUTC(),
+                id -> sessionExists(sessionService, id));
+    }
+
+    public WaitingRoomServiceImpl(int releaseRate, int burst, Duration ticketLifetime, Clock clock,
+                                  IntPredicate sessionExists) {
+        if (releaseRate < 1) throw new IllegalArgumentException("Release rate must be positive");
+        if (burst < 0) throw new IllegalArgumentException("Burst must not be negative");
+        this.releaseRate = releaseRate;
+        this.burst = burst;
+        this.ticketLifetimeMillis = ticketLifetime.toMillis();
+        this.clock = clock;
+        this.sessionExists = sessionExists;
+        final byte[] bytes = new byte[KEY_LENGTH];
+        new SecureRandom().nextBytes(bytes);
+        this.key = new SecretKeySpec(bytes, ALGORITHM);
+        this.mac = ThreadLocal.withInitial(this::createMac);
+    }
+
+    private Mac createMac() {
+        try {
+            final Mac instance = Mac.getInstance(ALGORITHM);
+            instance.init(key);
+            return instance;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Couldn't initialize " + ALGORITHM, e);
+        }
+    }
+
+    /**
+     * DB failure isn't a reason to skip the queue, so the session is treated as existing then
+     */
+    private static boolean sessionExists(SessionService sessionService, int sessionId) {
+        try {
+            return sessionService.getById(sessionId) != null;
+        } catch (ServiceException e) {
+            logger.error("Couldn't check existence of session " + sessionId, e);
+            return true;
+        }
+    }
+
+    @Override
+    public String join(int sessionId, String holder) {
+        final long now = clock.millis();
+        removeIdleQueues(now);
+        SessionQueue queue = queues.get(sessionId);
+        if (queue == null) {
+            if (!sessionExists.test(sessionId)) {
+                logger.debug("Waiting room of missing session {} isn't created", sessionId);
+                return null;
+            }
+            queue = queues.computeIfAbsent(sessionId, id -> new SessionQueue(now));
+        }
+        final long number = queue.issue(now);
+        logger.debug("Ticket {} of session {} is issued", number, sessionId);
+        final byte[] payload = (sessionId + ":" + number + ':' + now).getBytes(StandardCharsets.US_ASCII);
+        return ENCODER.encodeToString(payload) + '.' + ENCODER.encodeToString(sign(payload, holder));
+    }
+
+    @Override
+    public long getPosition(int sessionId, String ticket, String... holders) {
+        if (ticket == null) return -1;
+        final int dot = ticket.indexOf('.');
+        if (dot <= 0) return -1;
+        try {
+            final byte[] payload = DECODER.decode(ticket.substring(0, dot));
+            final byte[] signature = DECODER.decode(ticket.substring(dot + 1));
+            if (!isSignedForAny(payload, signature, holders)) {
+                logger.warn("Waiting room ticket with wrong signature or holder");
+                return -1;
+            }
+            final String[] fields = new String(payload, StandardCharsets.US_ASCII).split(":");
+            if (fields.length != 3 || Integer.parseInt(fields[0]) != sessionId) return -1;
+            final long now = clock.millis();
+            if (now - Long.parseLong(fields[2]) >= ticketLifetimeMillis) return -1;
+            final SessionQueue queue = queues.get(sessionId);
+            if (queue == null) return -1;
+            return Math.max(0, Long.parseLong(fields[1]) - queue.releasedUpTo(now));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Malformed waiting room ticket");
+            return -1;
+        }
+    }
+
+    private boolean isSignedForAny(byte[] payload, byte[] signature, String... holders) {
+        for (String holder : holders) {
+            if (MessageDigest.isEqual(sign(payload, holder), signature)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Payload has fixed format, so a zero byte is enough to separate it from the holder
+     */
+    private byte[] sign(byte[] payload, String holder) {
+        final Mac instance = mac.get();
+        instance.update(payload);
+        instance.update((byte) 0);
+        return instance.doFinal(holder.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Drop queues nobody joined for ticket lifetime, all their tickets are expired anyway
+     */
+    private void removeIdleQueues(long now) {
+        final long next = nextCleanupMillis.get();
+        if (now < next || !nextCleanupMillis.compareAndSet(next, now + CLEANUP_PERIOD_MILLIS)) return;
+        queues.values().removeIf(queue -> now - queue.lastJoinMillis >= ticketLifetimeMillis);
+    }
+
+    /**
+     * Queue of one cinema session. Tickets are numbered from 1, ticket is let in if its number
+     * isn't greater than released
+     */
+    private final class SessionQueue {
+        private volatile long lastJoinMillis;
+        private long issued;
+        private long released = burst;
+        private long lastReleaseMillis;
+
+        private SessionQueue(long now) {
+            this.lastJoinMillis = now;
+            this.lastReleaseMillis = now;
+        }
+
+        /**
+         * Releases are settled before the ticket is added, otherwise time passed while the queue was quiet
+         * would let in everybody who joined since then
+         */
+        private synchronized long issue(long now) {
+            lastJoinMillis = now;
+            releasedUpTo(now);
+            return ++issued;
+        }
+
+        /**
+         * Let in tickets for time passed since the last release. Unused releases aren't saved up
+         * beyond burst, so a quiet queue doesn't let in a crowd at once
+         */
+        private synchronized long releasedUpTo(long now) {
+            final long elapsed = now - lastReleaseMillis;
+            final long newlyReleased = elapsed * releaseRate / 1000;
+            if (newlyReleased > 0) {
+                final long limit = issued + burst;
+                if (released + newlyReleased >= limit) {
+                    released = Math.max(released, limit);
+                    lastReleaseMillis = now;
+                } else {
+                    released += newlyReleased;
+                    lastReleaseMillis += newlyReleased * 1000 / releaseRate;
+                }
+            }
+            return released;
+        }
+    }
+}
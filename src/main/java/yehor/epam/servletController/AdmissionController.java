@@ -0,0 +1,250 @@
+package yehor.epam.servletController;
+
+import org.slf4j.Logger;
+import yehor.epam.actions.BaseCommand;
+import yehor.epam.utilities.LoggerManager;
+import yehor.epam.utilities.MBeanManager;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import static yehor.epam.utilities.constants.OtherConstants.ADMISSION_PROPERTIES_FILE;
+
+/**
+ * Limits amount of requests executed at once per command class, so spikes of heavy commands
+ * (purchases, password hashing, PDF rendering) don't take all container threads and pooled connections
+ * from page views. Request waits for a free slot only if the command's wait queue isn't full and
+ * at most for the command's max wait, otherwise it's shed and the client gets 503.
+ * Limits are read from {@value yehor.epam.utilities.constants.OtherConstants#ADMISSION_PROPERTIES_FILE}
+ * and may be changed via JMX
+ */
+public class AdmissionController implements AdmissionControllerMBean {
+    private static final Logger logger = LoggerManager.getLogger(AdmissionController.class);
+    private static final String DEFAULT_KEY = "default";
+    private static final int DEFAULT_LIMIT = 64;
+    private static final int DEFAULT_QUEUE = 64;
+    private static final long DEFAULT_WAIT = 1000L;
+    private final Properties properties;
+    private final Map<String, Gate> gates = new ConcurrentHashMap<>();
+    private final LongAdder admitted = new LongAdder();
+    private final LongAdder shed = new LongAdder();
+
+    AdmissionController(Properties properties) {
+        this.properties = properties;
+    }
+
+    private static final class AdmissionControllerHolder {
+        private static final AdmissionController admissionController = createAdmissionController();
+
+        private static AdmissionController createAdmissionController() {
+            final AdmissionController controller = new AdmissionController(loadProperties());
+            MBeanManager.register(controller, "Controller", "AdmissionController");
+            return controller;
+        }
+    }
+
+    public static AdmissionController getInstance() {
+        return AdmissionControllerHolder.admissionController;
+    }
+
+    private static Properties loadProperties() {
+        final Properties properties = new Properties();
+        try (InputStream inputStream = AdmissionController.class.getResourceAsStream(ADMISSION_PROPERTIES_FILE)) {
+            if (inputStream != null) properties.load(inputStream);
+        } catch (IOException e) {
+            logger.error("Can't load admission properties, defaults are used", e);
+        }
+        return properties;
+    }
+
+    /**
+     * Take a slot of the command, waiting for it if allowed
+     *
+     * @param command command to execute
+     * @return Permit which must be closed when the command finishes, or null if the request is shed
+     */
+    public Permit tryAdmit(BaseCommand command) {
+        final Gate gate = gateOf(command.getClass().getSimpleName());
+        try {
+            // timed tryAcquire keeps the order of waiting requests, untimed one would barge ahead of them
+            if (gate.semaphore.tryAcquire(0, TimeUnit.MILLISECONDS)) {
+                return admit(gate);
+            }
+            if (gate.waiting.incrementAndGet() > gate.queueCapacity) {
+                gate.waiting.decrementAndGet();
+                return reject(gate);
+            }
+            try {
+                if (gate.semaphore.tryAcquire(gate.maxWaitMillis, TimeUnit.MILLISECONDS)) {
+                    return admit(gate);
+                }
+            } finally {
+                gate.waiting.decrementAndGet();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return reject(gate);
+    }
+
+    private Permit admit(Gate gate) {
+        gate.admitted.increment();
+        admitted.increment();
+        return new Permit(gate.semaphore);
+    }
+
+    private Permit reject(Gate gate) {
+        gate.shed.increment();
+        shed.increment();
+        logger.debug("Request of {} is shed, limit = {}", gate.command, gate.limit);
+        return null;
+    }
+
+    private Gate gateOf(String command) {
+        return gates.computeIfAbsent(command, name -> new Gate(name,
+                getIntProperty(name, "limit", DEFAULT_LIMIT),
+                getIntProperty(name, "queue", DEFAULT_QUEUE),
+                getLongProperty(name, "wait", DEFAULT_WAIT)));
+    }
+
+    private long getLongProperty(String command, String key, long defaultValue) {
+        String value = properties.getProperty(command + '.' + key);
+        if (value == null) value = properties.getProperty(DEFAULT_KEY + '.' + key);
+        if (value == null) return defaultValue;
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            logger.warn("Invalid admission setting {}.{} = {}", command, key, value);
+            return defaultValue;
+        }
+    }
+
+    private int getIntProperty(String command, String key, int defaultValue) {
+        return (int) getLongProperty(command, key, defaultValue);
+    }
+
+    @Override
+    public long getAdmittedCount() {
+        return admitted.sum();
+    }
+
+    @Override
+    public long getShedCount() {
+        return shed.sum();
+    }
+
+    @Override
+    public String getStatistics() {
+        final StringBuilder statistics = new StringBuilder();
+        new TreeMap<>(gates).values().forEach(gate -> statistics.append(gate).append('\n'));
+        return statistics.toString();
+    }
+
+    @Override
+    public long getShedCount(String command) {
+        final Gate gate = gates.get(command);
+        return gate == null ? 0 : gate.shed.sum();
+    }
+
+    @Override
+    public int getLimit(String command) {
+        return gateOf(command).limit;
+    }
+
+    @Override
+    public void setLimit(String command, int limit) {
+        if (limit < 1) throw new IllegalArgumentException("Limit must be positive");
+        gateOf(command).resize(limit);
+        logger.info("Admission limit of {} is set to {}", command, limit);
+    }
+
+    @Override
+    public void setQueueCapacity(String command, int queueCapacity) {
+        if (queueCapacity < 0) throw new IllegalArgumentException("Queue capacity must not be negative");
+        gateOf(command).queueCapacity = queueCapacity;
+    }
+
+    @Override
+    public void setMaxWaitMillis(String command, long maxWaitMillis) {
+        if (maxWaitMillis < 0) throw new IllegalArgumentException("Max wait must not be negative");
+        gateOf(command).maxWaitMillis = maxWaitMillis;
+    }
+
+    /**
+     * Slot of admitted request, closing it more than once has no effect
+     */
+    public static final class Permit implements AutoCloseable {
+        private final Semaphore semaphore;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(Semaphore semaphore) {
+            this.semaphore = semaphore;
+        }
+
+        @Override
+        public void close() {
+            if (released.compareAndSet(false, true)) {
+                semaphore.release();
+            }
+        }
+    }
+
+    /**
+     * Limit and counters of one command
+     */
+    private static final class Gate {
+        private final String command;
+        private final ResizableSemaphore semaphore;
+        private final AtomicInteger waiting = new AtomicInteger();
+        private final LongAdder admitted = new LongAdder();
+        private final LongAdder shed = new LongAdder();
+        private volatile int limit;
+        private volatile int queueCapacity;
+        private volatile long maxWaitMillis;
+
+        private Gate(String command, int limit, int queueCapacity, long maxWaitMillis) {
+            this.command = command;
+            this.semaphore = new ResizableSemaphore(limit);
+            this.limit = limit;
+            this.queueCapacity = queueCapacity;
+            this.maxWaitMillis = maxWaitMillis;
+        }
+
+        /**
+         * Running requests above the new limit finish normally, new ones wait until amount goes below it
+         */
+        private synchronized void resize(int newLimit) {
+            final int delta = newLimit - limit;
+            if (delta > 0) semaphore.release(delta);
+            else if (delta < 0) semaphore.reducePermits(-delta);
+            limit = newLimit;
+        }
+
+        @Override
+        public String toString() {
+            return command + ": limit=" + limit + ", running=" + (limit - semaphore.availablePermits())
+                    + ", waiting=" + waiting.get() + ", queue=" + queueCapacity + ", wait=" + maxWaitMillis
+                    + "ms, admitted=" + admitted.sum() + ", shed=" + shed.sum();
+        }
+    }
+
+    private static final class ResizableSemaphore extends Semaphore {
+        private ResizableSemaphore(int permits) {
+            super(permits, true);
+        }
+
+        @Override
+        protected void reducePermits(int reduction) {
+            super.reducePermits(reduction);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package yehor.epam.servletController;
+
+/**
+ * JMX view and runtime settings of AdmissionController
+ */
+public interface AdmissionControllerMBean {
+    long getAdmittedCount();
+
+    long getShedCount();
+
+    /**
+     * Get limits, load and counters of every command executed so far, a line per command
+     *
+     * @return statistics
+     */
+    String getStatistics();
+
+    long getShedCount(String command);
+
+    int getLimit(String command);
+
+    void setLimit(String command, int limit);
+
+    void setQueueCapacity(String command, int queueCapacity);
+
+    void setMaxWaitMillis(String command, long maxWaitMillis);
+}
@@ -0,0 +1,261 @@
+package yehor.epam.servletController;
+
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import yehor.epam.actions.BaseCommand;
+import yehor.epam.actions.SlowCommand;
+import yehor.epam.actions.SlowCommand.Workload;
+import yehor.epam.services.impl.ErrorService;
+import yehor.epam.utilities.LoggerManager;
+import yehor.epam.utilities.VirtualThreads;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static yehor.epam.utilities.constants.OtherConstants.*;
+
+/**
+ * Executes commands marked by {@link SlowCommand} through AsyncContext on bounded executors of their workload,
+ * so container threads stay free for fast commands.
+ * If the executor is full, the client gets 503 with Retry-After.
+ * Workload timeout is the container async timeout: when it fires, the client gets 503 unless the response is
+ * already committed, the request is completed and the command is interrupted. The command gets a
+ * {@link ClosableResponse}, which is closed first, so the worker never writes to the completed response.
+ * JDBC, hashing and PDF work may ignore the interrupt, so the executor thread and admission permit are held until
+ * the command returns, and login, register or purchase may still be saved after the 503.
+ * Forward of the command is done by {@link AsyncContext#dispatch(String)} on a container thread.
+ * In {@link CommandExecutionMode#VIRTUAL} mode every command runs on its own virtual thread instead
+ */
+public class AsyncCommandDispatcher {
+    private static final Logger logger = LoggerManager.getLogger(AsyncCommandDispatcher.class);
+    private static final String CLASS_NAME = AsyncCommandDispatcher.class.getName();
+    private final Map<Workload, ExecutorService> executors;
+    /**
+     * Executor of all commands in virtual mode, null in platform mode
+     */
+    private final ExecutorService virtualExecutor;
+
+    public AsyncCommandDispatcher() {
+        this(CommandExecutionMode.fromConfiguration());
+    }
+
+    public AsyncCommandDispatcher(CommandExecutionMode mode) {
+        this(createExecutors(), mode == CommandExecutionMode.VIRTUAL
+                ? VirtualThreads.newVirtualThreadPerTaskExecutor("command-virtual-") : null);
+    }
+
+    AsyncCommandDispatcher(Map<Workload, ExecutorService> executors) {
+        this(executors, null);
+    }
+
+    AsyncCommandDispatcher(Map<Workload, ExecutorService> executors, ExecutorService virtualExecutor) {
+        this.executors = executors;
+        this.virtualExecutor = virtualExecutor;
+    }
+
+    private static Map<Workload, ExecutorService> createExecutors() {
+        final Map<Workload, ExecutorService> executors = new EnumMap<>(Workload.class);
+        for (Workload workload : Workload.values()) {
+            final String namePrefix = "command-" + workload.name().toLowerCase() + "-";
+            final AtomicInteger counter = new AtomicInteger();
+            executors.put(workload, new ThreadPoolExecutor(workload.getThreads(), workload.getThreads(),
+                    0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(workload.getQueueCapacity()),
+                    runnable -> {
+                        final Thread thread = new Thread(runnable, namePrefix + counter.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    }));
+        }
+        return executors;
+    }
+
+    /**
+     * Get workload of the command
+     *
+     * @param command command
+     * @return workload or null if the command isn't slow
+     */
+    public static Workload getWorkload(BaseCommand command) {
+        final SlowCommand slowCommand = command.getClass().getAnnotation(SlowCommand.class);
+        return slowCommand == null ? null : slowCommand.value();
+    }
+
+    /**
+     * Check if command of the workload should be dispatched asynchronously
+     *
+     * @param workload workload of the command, null for fast command
+     * @return true for slow commands and for all commands in virtual mode
+     */
+    public boolean isAsync(Workload workload) {
+        return workload != null || virtualExecutor != null;
+    }
+
+    /**
+     * Start async processing and submit the command to executor of its workload or to virtual thread
+     *
+     * @param command  command
+     * @param workload workload of the command, null for fast command in virtual mode
+     * @param request  HttpServletRequest supporting async processing
+     * @param response HttpServletResponse
+     */
+    public void dispatch(BaseCommand command, Workload workload, HttpServletRequest request, HttpServletResponse response) {
+        dispatch(command, workload, request, response, () -> {
+        });
+    }
+
+    /**
+     * Start async processing and submit the command to executor of its workload or to virtual thread
+     *
+     * @param command    command
+     * @param workload   workload of the command, null for fast command in virtual mode
+     * @param request    HttpServletRequest supporting async processing
+     * @param response   HttpServletResponse
+     * @param onFinished called once when the command has returned or is rejected, so resources held by
+     *                   the command (e.g. admission permit) aren't released while it's still running
+     */
+    public void dispatch(BaseCommand command, Workload workload, HttpServletRequest request, HttpServletResponse response,
+                         Runnable onFinished) {
+        final AsyncContext asyncContext = request.startAsync(request, response);
+        final Duration timeout = workload == null ? Duration.ofMillis(VIRTUAL_COMMAND_TIMEOUT) : workload.getTimeout();
+        asyncContext.setTimeout(timeout.toMillis());
+        final ClosableResponse commandResponse = new ClosableResponse(response);
+        final AtomicReference<Thread> worker = new AtomicReference<>();
+        asyncContext.addListener(new AsyncListener() {
+            @Override
+            public void onTimeout(AsyncEvent event) {
+                // the worker has already finished async processing, e.g. the forward page is being rendered
+                if (!commandResponse.close()) return;
+                logger.warn("Command {} exceeded timeout of {}", command.getClass().getSimpleName(), timeout);
+                interrupt(worker);
+                try {
+                    sendServiceUnavailable(response);
+                } finally {
+                    asyncContext.complete();
+                }
+            }
+
+            @Override
+            public void onComplete(AsyncEvent event) {
+            }
+
+            @Override
+            public void onError(AsyncEvent event) {
+                // the container completes the request itself, the command is only asked to stop
+                if (!commandResponse.close()) return;
+                logger.warn("Client of command {} is gone", command.getClass().getSimpleName());
+                interrupt(worker);
+            }
+
+            @Override
+            public void onStartAsync(AsyncEvent event) {
+            }
+        });
+        try {
+            final ExecutorService executor = virtualExecutor != null ? virtualExecutor : executors.get(workload);
+            // the task isn't cancelled, so onFinished is always called by the worker
+            executor.execute(() -> {
+                worker.set(Thread.currentThread());
+                try {
+                    if (!commandResponse.isClosed()) execute(command, timeout, request, commandResponse, asyncContext);
+                } finally {
+                    synchronized (worker) {
+                        worker.set(null);
+                    }
+                    Thread.interrupted();
+                    onFinished.run();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            logger.warn("Executor of {} is full, command {} is rejected", workload, command.getClass().getSimpleName());
+            try {
+                sendServiceUnavailable(response);
+            } finally {
+                asyncContext.complete();
+                onFinished.run();
+            }
+        }
+    }
+
+    /**
+     * Stop all executors
+     */
+    public void shutdown() {
+        executors.values().forEach(ExecutorService::shutdownNow);
+        if (virtualExecutor != null) virtualExecutor.shutdownNow();
+    }
+
+    /**
+     * Interrupt the worker if it's still running the command
+     *
+     * @param worker thread running the command, null after the command has returned
+     */
+    private static void interrupt(AtomicReference<Thread> worker) {
+        synchronized (worker) {
+            final Thread thread = worker.get();
+            if (thread != null) thread.interrupt();
+        }
+    }
+
+    private void execute(BaseCommand command, Duration timeout, HttpServletRequest request, ClosableResponse response,
+                         AsyncContext asyncContext) {
+        final long start = System.nanoTime();
+        final ForwardRecordingRequest commandRequest = new ForwardRecordingRequest(request);
+        try {
+            command.execute(commandRequest, response);
+        } catch (Exception e) {
+            if (commandRequest.getForwardPath() == null) {
+                ErrorService.handleException(commandRequest, response, CLASS_NAME, e);
+            } else {
+                logger.error("Command " + command.getClass().getSimpleName() + " failed after forward", e);
+            }
+        } finally {
+            final Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+            if (elapsed.compareTo(timeout) > 0) {
+                logger.warn("Command {} exceeded timeout of {}, took {}", command.getClass().getSimpleName(), timeout, elapsed);
+            }
+            finish(asyncContext, commandRequest.getForwardPath(), response);
+        }
+    }
+
+    /**
+     * Render the page the command forwarded to on a container thread or complete async processing,
+     * nothing is done if the request has already timed out or failed
+     */
+    private void finish(AsyncContext asyncContext, String forwardPath, ClosableResponse response) {
+        if (!response.close()) return;
+        try {
+            if (forwardPath != null) {
+                asyncContext.dispatch(forwardPath);
+            } else {
+                asyncContext.complete();
+            }
+        } catch (IllegalStateException e) {
+            logger.warn("Couldn't finish async processing, it's already completed", e);
+        }
+    }
+
+    /**
+     * Answer 503 with Retry-After to request rejected because of overload
+     *
+     * @param response HttpServletResponse
+     */
+    static void sendServiceUnavailable(HttpServletResponse response) {
+        try {
+            if (!response.isCommitted()) {
+                response.setHeader(RETRY_AFTER_HEADER, String.valueOf(ASYNC_RETRY_AFTER_SECONDS));
+                response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            }
+        } catch (IOException e) {
+            logger.warn("Couldn't send 503 response", e);
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package yehor.epam.servletController;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+
+/**
+ * Response given to a command executed on an executor thread. Once the request is timed out or failed, the response
+ * is closed: later output and headers of the command are dropped, so the worker doesn't write to a response
+ * the container has already completed. Writes and closing are serialized, so a write in progress is finished
+ * before the response is closed
+ */
+class ClosableResponse extends HttpServletResponseWrapper {
+    private boolean closed;
+    private ServletOutputStream outputStream;
+    private PrintWriter writer;
+
+    ClosableResponse(HttpServletResponse response) {
+        super(response);
+    }
+
+    /**
+     * Close the response, waits for a write in progress
+     *
+     * @return true if the response was open
+     */
+    synchronized boolean close() {
+        if (closed) return false;
+        closed = true;
+        return true;
+    }
+
+    synchronized boolean isClosed() {
+        return closed;
+    }
+
+    @Override
+    public synchronized ServletOutputStream getOutputStream() throws IOException {
+        if (outputStream == null) outputStream = new ClosableOutputStream(closed ? null : super.getOutputStream());
+        return outputStream;
+    }
+
+    @Override
+    public synchronized PrintWriter getWriter() throws IOException {
+        if (writer == null) writer = new PrintWriter(new ClosableWriter(closed ? null : super.getWriter()));
+        return writer;
+    }
+
+    @Override
+    public synchronized void flushBuffer() throws IOException {
+        if (!closed) super.flushBuffer();
+    }
+
+    @Override
+    public synchronized void sendError(int sc, String msg) throws IOException {
+        if (!closed) super.sendError(sc, msg);
+    }
+
+    @Override
+    public synchronized void sendError(int sc) throws IOException {
+        if (!closed) super.sendError(sc);
+    }
+
+    @Override
+    public synchronized void sendRedirect(String location) throws IOException {
+        if (!closed) super.sendRedirect(location);
+    }
+
+    @Override
+    public synchronized void setStatus(int sc) {
+        if (!closed) super.setStatus(sc);
+    }
+
+    @Override
+    public synchronized void setHeader(String name, String value) {
+        if (!closed) super.setHeader(name, value);
+    }
+
+    @Override
+    public synchronized void addHeader(String name, String value) {
+        if (!closed) super.addHeader(name, value);
+    }
+
+    @Override
+    public synchronized void setIntHeader(String name, int value) {
+        if (!closed) super.setIntHeader(name, value);
+    }
+
+    @Override
+    public synchronized void addIntHeader(String name, int value) {
+        if (!closed) super.addIntHeader(name, value);
+    }
+
+    @Override
+    public synchronized void setDateHeader(String name, long date) {
+        if (!closed) super.setDateHeader(name, date);
+    }
+
+    @Override
+    public synchronized void addDateHeader(String name, long date) {
+        if (!closed) super.addDateHeader(name, date);
+    }
+
+    @Override
+    public synchronized void addCookie(Cookie cookie) {
+        if (!closed) super.addCookie(cookie);
+    }
+
+    @Override
+    public synchronized void setContentType(String type) {
+        if (!closed) super.setContentType(type);
+    }
+
+    @Override
+    public synchronized void setContentLength(int len) {
+        if (!closed) super.setContentLength(len);
+    }
+
+    @Override
+    public synchronized void setContentLengthLong(long len) {
+        if (!closed) super.setContentLengthLong(len);
+    }
+
+    @Override
+    public synchronized void setCharacterEncoding(String charset) {
+        if (!closed) super.setCharacterEncoding(charset);
+    }
+
+    @Override
+    public synchronized void resetBuffer() {
+        if (!closed) super.resetBuffer();
+    }
+
+    @Override
+    public synchronized void reset() {
+        if (!closed) super.reset();
+    }
+
+    /**
+     * Stream dropping output after the response is closed
+     */
+    private final class ClosableOutputStream extends ServletOutputStream {
+        private final ServletOutputStream target;
+
+        private ClosableOutputStream(ServletOutputStream target) {
+            this.target = target;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            synchronized (ClosableResponse.this) {
+                if (!closed) target.write(b);
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            synchronized (ClosableResponse.this) {
+                if (!closed) target.write(b, off, len);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            synchronized (ClosableResponse.this) {
+                if (!closed) target.flush();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            synchronized (ClosableResponse.this) {
+                if (!closed) target.close();
+            }
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            throw new UnsupportedOperationException("Non-blocking output isn't supported for commands");
+        }
+    }
+
+    /**
+     * Writer dropping output after the response is closed
+     */
+    private final class ClosableWriter extends Writer {
+        private final Writer target;
+
+        private ClosableWriter(Writer target) {
+            this.target = target;
+        }
+
+        @Override
+        public void write(char[] cbuf, int off, int len) throws IOException {
+            synchronized (ClosableResponse.this) {
+                if (!closed) target.write(cbuf, off, len);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            synchronized (ClosableResponse.this) {
+                if (!closed) target.flush();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            synchronized (ClosableResponse.this) {
+                if (!closed) target.close();
+            }
+        }
+    }
+}
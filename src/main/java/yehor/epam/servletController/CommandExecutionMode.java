@@ -0,0 +1,68 @@
+package yehor.epam.servletController;
+
+import org.slf4j.Logger;
+import yehor.epam.utilities.LoggerManager;
+import yehor.epam.utilities.VirtualThreads;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Locale;
+import java.util.Properties;
+
+import static yehor.epam.utilities.constants.OtherConstants.*;
+
+/**
+ * Threads executing commands of the Controller
+ */
+public enum CommandExecutionMode {
+    /**
+     * Fast commands run on container threads, slow ones on bounded executors of their workload
+     */
+    PLATFORM,
+    /**
+     * Every command runs on its own virtual thread, waiting for pooled connection is the only back-pressure
+     */
+    VIRTUAL;
+
+    private static final Logger logger = LoggerManager.getLogger(CommandExecutionMode.class);
+
+    /**
+     * Get configured mode: system property {@value yehor.epam.utilities.constants.OtherConstants#COMMAND_EXECUTION_PROPERTY}
+     * or build-time value from {@value yehor.epam.utilities.constants.OtherConstants#EXECUTION_PROPERTIES_FILE}.
+     * Falls back to PLATFORM if JVM doesn't support virtual threads
+     *
+     * @return CommandExecutionMode
+     */
+    public static CommandExecutionMode fromConfiguration() {
+        String value = System.getProperty(COMMAND_EXECUTION_PROPERTY);
+        if (value == null) {
+            value = loadProperties().getProperty(COMMAND_EXECUTION_PROPERTY, PLATFORM.name());
+        }
+        final CommandExecutionMode mode = of(value);
+        if (mode == VIRTUAL && !VirtualThreads.isSupported()) {
+            logger.warn("Virtual threads are not supported by Java {}, commands run on platform threads", Runtime.version());
+            return PLATFORM;
+        }
+        logger.info("Commands run in {} execution mode", mode);
+        return mode;
+    }
+
+    private static CommandExecutionMode of(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Unknown command execution mode '{}', {} is used", value, PLATFORM);
+            return PLATFORM;
+        }
+    }
+
+    private static Properties loadProperties() {
+        final Properties properties = new Properties();
+        try (InputStream inputStream = CommandExecutionMode.class.getResourceAsStream(EXECUTION_PROPERTIES_FILE)) {
+            if (inputStream != null) properties.load(inputStream);
+        } catch (IOException e) {
+            logger.error("Can't load execution properties", e);
+        }
+        return properties;
+    }
+}
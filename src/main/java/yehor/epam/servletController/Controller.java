@@ -7,6 +7,9 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import yehor.epam.actions.BaseCommand;
 import yehor.epam.actions.CommandFactory;
+import yehor.epam.actions.SlowCommand.Workload;
+import yehor.epam.services.ConditionalGetService;
+import yehor.epam.services.ServiceContainer;
 import yehor.epam.utilities.LoggerManager;
 
 import static yehor.epam.utilities.constants.CommandConstants.COMMAND_MAIN_SERVLET;
@@ -14,15 +17,28 @@ import static yehor.epam.utilities.constants.CommandConstants.COMMAND_MAIN_SERVL
 /**
  * Main Servlet
  */
-@WebServlet(name = "controller", value = "/" + COMMAND_MAIN_SERVLET + "")
+@WebServlet(name = "controller", value = "/" + COMMAND_MAIN_SERVLET + "", asyncSupported = true)
 public class Controller extends HttpServlet {
     private static final Logger logger = LoggerManager.getLogger(Controller.class);
+    private final ConditionalGetService conditionalGetService = ServiceContainer.getInstance().get(ConditionalGetService.class);
+    /**
+     * Commands are built once per servlet and shared among requests
+     */
+    private final CommandFactory factory = new CommandFactory();
+    private final AsyncCommandDispatcher asyncDispatcher = new AsyncCommandDispatcher();
+    private final AdmissionController admissionController = AdmissionController.getInstance();
 
     @Override
     public void init() {
         logger.info("Main servlet was initialized");
     }
 
+    @Override
+    public void destroy() {
+        asyncDispatcher.shutdown();
+        logger.info("Main servlet was destroyed");
+    }
+
     @Override
     protected void doGet(HttpServletRequest request, HttpServletResponse response) {
         processRequest(request, response);
@@ -40,8 +56,26 @@ public class Controller extends HttpServlet {
      * @param response HttpServletResponse
      */
     private void processRequest(HttpServletRequest request, HttpServletResponse response) {
-        CommandFactory factory = new CommandFactory();
+        if (conditionalGetService.isNotModified(request, response)) return;
         BaseCommand command = factory.defineCommand(request);
-        command.execute(request, response);
+        final AdmissionController.Permit permit = admissionController.tryAdmit(command);
+        if (permit == null) {
+            AsyncCommandDispatcher.sendServiceUnavailable(response);
+            return;
+        }
+        final Workload workload = AsyncCommandDispatcher.getWorkload(command);
+        if (asyncDispatcher.isAsync(workload) && request.isAsyncSupported()) {
+            try {
+                // the permit is held until the command returns, even if its client is gone
+                asyncDispatcher.dispatch(command, workload, request, response, permit::close);
+            } catch (RuntimeException e) {
+                permit.close();
+                throw e;
+            }
+        } else {
+            try (permit) {
+                command.execute(request, response);
+            }
+        }
     }
 }
\ No newline at end of file
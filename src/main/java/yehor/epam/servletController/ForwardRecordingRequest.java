@@ -0,0 +1,49 @@
+package yehor.epam.servletController;
+
+import jakarta.servlet.RequestDispatcher;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+
+import java.io.IOException;
+
+/**
+ * Request given to a command executed on an executor thread: forward of the command is only recorded,
+ * so the page is rendered by {@link jakarta.servlet.AsyncContext#dispatch(String)} on a container thread
+ * instead of forwarding from the executor thread. Include is done immediately
+ */
+class ForwardRecordingRequest extends HttpServletRequestWrapper {
+    private volatile String forwardPath;
+
+    ForwardRecordingRequest(HttpServletRequest request) {
+        super(request);
+    }
+
+    @Override
+    public RequestDispatcher getRequestDispatcher(String path) {
+        final RequestDispatcher dispatcher = super.getRequestDispatcher(path);
+        return new RequestDispatcher() {
+            @Override
+            public void forward(ServletRequest request, ServletResponse response) {
+                if (forwardPath != null) throw new IllegalStateException("Request is already forwarded to " + forwardPath);
+                forwardPath = path;
+            }
+
+            @Override
+            public void include(ServletRequest request, ServletResponse response) throws ServletException, IOException {
+                dispatcher.include(request, response);
+            }
+        };
+    }
+
+    /**
+     * Get path the command forwarded to
+     *
+     * @return path or null if the command didn't forward
+     */
+    String getForwardPath() {
+        return forwardPath;
+    }
+}
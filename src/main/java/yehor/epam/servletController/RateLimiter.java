@@ -0,0 +1,224 @@
+package yehor.epam.servletController;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import yehor.epam.entities.User;
+import yehor.epam.utilities.LoggerManager;
+import yehor.epam.utilities.MBeanManager;
+import yehor.epam.utilities.RequestContext;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+import static yehor.epam.utilities.constants.CommandConstants.*;
+import static yehor.epam.utilities.constants.OtherConstants.*;
+
+/**
+ * Limits rate of expensive commands (password hashing, purchases) and waiting room joins by client IP and by account,
+ * so credential stuffing or a purchase bot is rejected before any hashing or DB work.
+ * Every rule has its own token bucket per key, buckets are kept in bounded maps and idle ones are dropped.
+ * Buckets of IPs and of accounts have separate bounds, so a flood from distinct IPs can't reset account limits
+ * and a spray of distinct logins can't take every bucket.
+ * IP is taken from {@link HttpServletRequest#getRemoteAddr()}, so behind a proxy RemoteIpValve must be set up
+ */
+public class RateLimiter implements RateLimiterMBean {
+    private static final Logger logger = LoggerManager.getLogger(RateLimiter.class);
+    private static final int MAX_ACCOUNT_LENGTH = 254;
+    private final Map<String, List<Rule>> rulesByCommand = new HashMap<>();
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final Map<String, TokenBucket> accountBuckets = new ConcurrentHashMap<>();
+    private final int maxBuckets;
+    private final int maxAccountBuckets;
+    private final LongSupplier nanoTime;
+    private final AtomicBoolean dropping = new AtomicBoolean();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder droppedBuckets = new LongAdder();
+
+    RateLimiter(List<Rule> rules, int maxBuckets, int maxAccountBuckets, LongSupplier nanoTime) {
+        for (Rule rule : rules) {
+            rulesByCommand.computeIfAbsent(rule.command, command -> new ArrayList<>()).add(rule);
+        }
+        this.maxBuckets = maxBuckets;
+        this.maxAccountBuckets = maxAccountBuckets;
+        this.nanoTime = nanoTime;
+    }
+
+    private static final class RateLimiterHolder {
+        private static final RateLimiter rateLimiter = createRateLimiter();
+
+        private static RateLimiter createRateLimiter() {
+            final Function<HttpServletRequest, String> ip = HttpServletRequest::getRemoteAddr;
+            final Function<HttpServletRequest, String> userId = request -> {
+                final RequestContext context = RequestContext.get(request);
+                return context.getRole() == User.Role.GUEST ? null : String.valueOf(context.getUserId());
+            };
+            final RateLimiter limiter = new RateLimiter(List.of(
+                    new Rule(COMMAND_LOGIN, "ip", RATE_LIMIT_LOGIN_PER_IP, RATE_LIMIT_PERIOD, false, ip),
+                    new Rule(COMMAND_LOGIN, "account", RATE_LIMIT_LOGIN_PER_ACCOUNT, RATE_LIMIT_PERIOD, true, accountOf("login")),
+                    new Rule(COMMAND_REGISTER, "ip", RATE_LIMIT_REGISTER_PER_IP, RATE_LIMIT_PERIOD, false, ip),
+                    new Rule(COMMAND_REGISTER, "account", RATE_LIMIT_REGISTER_PER_ACCOUNT, RATE_LIMIT_PERIOD, true, accountOf(EMAIL_PARAM)),
+                    new Rule(COMMAND_BUY_TICKET, "ip", RATE_LIMIT_PURCHASE_PER_IP, RATE_LIMIT_PERIOD, false, ip),
+                    new Rule(COMMAND_BUY_TICKET, "account", RATE_LIMIT_PURCHASE_PER_ACCOUNT, RATE_LIMIT_PERIOD, true, userId),
+                    new Rule(WAITING_ROOM_JOIN, "ip", RATE_LIMIT_WAITING_ROOM_JOIN_PER_IP, RATE_LIMIT_PERIOD, false, ip)
+            ), RATE_LIMIT_MAX_BUCKETS, RATE_LIMIT_MAX_ACCOUNT_BUCKETS, System::nanoTime);
+            MBeanManager.register(limiter, "Controller", "RateLimiter");
+            return limiter;
+        }
+    }
+
+    public static RateLimiter getInstance() {
+        return RateLimiterHolder.rateLimiter;
+    }
+
+    /**
+     * Get key of the rule from request param, case and surrounding spaces of login don't make a new account
+     *
+     * @param param request param name
+     * @return key function
+     */
+    static Function<HttpServletRequest, String> accountOf(String param) {
+        return request -> {
+            final String value = request.getParameter(param);
+            if (value == null || value.isBlank()) return null;
+            final String account = value.trim().toLowerCase(Locale.ROOT);
+            return account.length() > MAX_ACCOUNT_LENGTH ? account.substring(0, MAX_ACCOUNT_LENGTH) : account;
+        };
+    }
+
+    /**
+     * Take a token from every bucket of the command's rules, stop on the first empty one
+     *
+     * @param command command name
+     * @param request HttpServletRequest
+     * @return 0 if the request is allowed, otherwise seconds until it may be repeated
+     */
+    public long tryAcquire(String command, HttpServletRequest request) {
+        final List<Rule> rules = rulesByCommand.get(command);
+        if (rules == null) return 0;
+        final long now = nanoTime.getAsLong();
+        for (Rule rule : rules) {
+            final String key = rule.key.apply(request);
+            if (key == null) continue;
+            final long waitNanos = bucketOf(rule, key, now).tryAcquire(now);
+            if (waitNanos > 0) {
+                rule.rejected.increment();
+                rejected.increment();
+                logger.warn("Request of {} is rejected by rule {}, key = {}", command, rule.name, key);
+                return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Get bucket of the key, room is made in the map of the rule's kind when it's full
+     */
+    private TokenBucket bucketOf(Rule rule, String key, long now) {
+        final String bucketKey = rule.name + ':' + key;
+        final Map<String, TokenBucket> map = rule.perAccount ? accountBuckets : buckets;
+        final TokenBucket bucket = map.get(bucketKey);
+        if (bucket != null) return bucket;
+        final int max = rule.perAccount ? maxAccountBuckets : maxBuckets;
+        if (map.size() >= max) dropBuckets(map, max, now);
+        return map.computeIfAbsent(bucketKey, k -> new TokenBucket(rule.capacity, rule.refillNanos, now));
+    }
+
+    /**
+     * Drop full buckets, they are the same as new ones. If there are still too many, e.g. under a flood from
+     * distinct IPs or logins, buckets closest to full are dropped, so keys being attacked keep their limits longest.
+     * The map is shrunk to 3/4 of its bound, so buckets are sorted once per a quarter of the bound of new keys,
+     * not on every new key. While another thread drops, new buckets are added over the bound
+     */
+    private void dropBuckets(Map<String, TokenBucket> map, int max, long now) {
+        if (!dropping.compareAndSet(false, true)) return;
+        try {
+            final int before = map.size();
+            map.values().removeIf(bucket -> bucket.isFull(now));
+            final int excess = map.size() - max * 3 / 4;
+            if (excess > 0) {
+                map.entrySet().stream()
+                        .sorted(Comparator.comparingLong(entry -> entry.getValue().getFullAtNanos()))
+                        .limit(excess)
+                        .map(Map.Entry::getKey)
+                        .collect(Collectors.toList())
+                        .forEach(map::remove);
+            }
+            droppedBuckets.add(Math.max(0, before - map.size()));
+        } finally {
+            dropping.set(false);
+        }
+    }
+
+    @Override
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    @Override
+    public long getRejectedCount(String rule) {
+        return rulesByCommand.values().stream().flatMap(List::stream)
+                .filter(r -> r.name.equals(rule)).mapToLong(r -> r.rejected.sum()).sum();
+    }
+
+    @Override
+    public int getBucketCount() {
+        return buckets.size() + accountBuckets.size();
+    }
+
+    @Override
+    public long getDroppedBucketCount() {
+        return droppedBuckets.sum();
+    }
+
+    @Override
+    public String getStatistics() {
+        final StringBuilder statistics = new StringBuilder();
+        new TreeMap<>(rulesByCommand).values().forEach(rules -> rules.forEach(rule -> statistics.append(rule).append('\n')));
+        return statistics.toString();
+    }
+
+    /**
+     * Limit of the command per key, e.g. per IP
+     */
+    static final class Rule {
+        private final String command;
+        private final String name;
+        private final int capacity;
+        private final long refillNanos;
+        private final boolean perAccount;
+        private final Function<HttpServletRequest, String> key;
+        private final LongAdder rejected = new LongAdder();
+
+        /**
+         * @param command    command name
+         * @param keyName    name of the key, rule is named command.keyName
+         * @param capacity   amount of requests allowed per period
+         * @param period     period, requests are refilled evenly within it
+         * @param perAccount key is an account, its buckets are bounded apart from buckets of IPs
+         * @param key        key of request, null means the rule doesn't apply to the request
+         */
+        Rule(String command, String keyName, int capacity, Duration period, boolean perAccount,
+             Function<HttpServletRequest, String> key) {
+            if (capacity < 1) throw new IllegalArgumentException("Capacity must be positive");
+            this.command = command;
+            this.name = command + '.' + keyName;
+            this.capacity = capacity;
+            this.refillNanos = period.toNanos() / capacity;
+            this.perAccount = perAccount;
+            this.key = key;
+        }
+
+        @Override
+        public String toString() {
+            return name + ": capacity=" + capacity + ", refill=" + TimeUnit.NANOSECONDS.toMillis(refillNanos)
+                    + "ms, rejected=" + rejected.sum();
+        }
+    }
+}
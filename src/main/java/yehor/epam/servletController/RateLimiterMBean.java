@@ -0,0 +1,27 @@
+package yehor.epam.servletController;
+
+/**
+ * JMX view of RateLimiter
+ */
+public interface RateLimiterMBean {
+    long getRejectedCount();
+
+    /**
+     * Get amount of requests rejected by the rule
+     *
+     * @param rule rule name, e.g. login.ip
+     * @return amount of rejected requests
+     */
+    long getRejectedCount(String rule);
+
+    int getBucketCount();
+
+    long getDroppedBucketCount();
+
+    /**
+     * Get limits and counters of every rule, a line per rule
+     *
+     * @return statistics
+     */
+    String getStatistics();
+}
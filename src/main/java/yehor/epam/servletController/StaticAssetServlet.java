@@ -0,0 +1,108 @@
+package yehor.epam.servletController;
+
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.annotation.WebServlet;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import yehor.epam.filters.CompressionFilter;
+import yehor.epam.utilities.LoggerManager;
+import yehor.epam.utilities.StaticAssetBuilder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+import static yehor.epam.utilities.constants.OtherConstants.*;
+
+/**
+ * Servlet of fingerprinted CSS and JS built by StaticAssetBuilder. Assets never change under their URL,
+ * so they are cached by clients for a year. GZIP copy is sent if client accepts it, by sendfile when possible.
+ * Application attribute STATIC_ASSETS_ATTRIBUTE maps source asset path to its URL for JSP
+ */
+@WebServlet(name = "staticAssets", urlPatterns = {STATIC_ASSET_PATH + "/*"}, loadOnStartup = 1)
+public class StaticAssetServlet extends HttpServlet {
+    private static final Logger logger = LoggerManager.getLogger(StaticAssetServlet.class);
+    /**
+     * Asset files by fingerprinted path, only they are served
+     */
+    private final Map<String, Path> files = new HashMap<>();
+
+    @Override
+    public void init() {
+        final ServletContext context = getServletContext();
+        final Map<String, String> urls = new HashMap<>();
+        try {
+            final Path directory = findAssetDirectory(context);
+            for (Map.Entry<String, String> entry : loadManifest(directory).entrySet()) {
+                files.put(entry.getValue(), directory.resolve(entry.getValue()));
+                urls.put(entry.getKey(), STATIC_ASSET_PATH + '/' + entry.getValue());
+            }
+            logger.info("Serving {} static assets from {}", files.size(), directory);
+        } catch (IOException e) {
+            logger.error("Couldn't load static assets, they are inlined into pages", e);
+        }
+        context.setAttribute(STATIC_ASSETS_ATTRIBUTE, Collections.unmodifiableMap(urls));
+    }
+
+    /**
+     * Take assets packed into the war, build them if application runs from sources
+     */
+    private static Path findAssetDirectory(ServletContext context) throws IOException {
+        final String packed = context.getRealPath(STATIC_ASSET_PATH);
+        if (packed != null && Files.exists(Paths.get(packed, STATIC_ASSET_MANIFEST))) {
+            return Paths.get(packed);
+        }
+        final String webInf = context.getRealPath("/WEB-INF");
+        if (webInf == null) throw new IOException("Application isn't unpacked, assets couldn't be built");
+        logger.warn("Static assets aren't packed, building them in {}", STATIC_ASSET_FALLBACK_DIR);
+        StaticAssetBuilder.build(Paths.get(webInf), STATIC_ASSET_FALLBACK_DIR);
+        return STATIC_ASSET_FALLBACK_DIR;
+    }
+
+    private static Map<String, String> loadManifest(Path directory) throws IOException {
+        final Properties manifest = new Properties();
+        try (InputStream in = Files.newInputStream(directory.resolve(STATIC_ASSET_MANIFEST))) {
+            manifest.load(in);
+        }
+        final Map<String, String> entries = new HashMap<>();
+        manifest.stringPropertyNames().forEach(name -> entries.put(name, manifest.getProperty(name)));
+        return entries;
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        final String pathInfo = request.getPathInfo();
+        final Path file = pathInfo == null ? null : files.get(pathInfo.substring(1));
+        if (file == null) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        response.setContentType(getServletContext().getMimeType(file.getFileName().toString()));
+        response.setHeader(CACHE_CONTROL_HEADER, STATIC_ASSET_CACHE_CONTROL);
+        response.setHeader(VARY_HEADER, ACCEPT_ENCODING_HEADER);
+
+        Path body = file;
+        final Path gzipFile = StaticAssetBuilder.gzipFileOf(file);
+        if (CompressionFilter.acceptsGzip(request.getHeader(ACCEPT_ENCODING_HEADER)) && Files.exists(gzipFile)) {
+            response.setHeader(CONTENT_ENCODING_HEADER, GZIP_ENCODING);
+            body = gzipFile;
+        }
+        final long size = Files.size(body);
+        response.setContentLengthLong(size);
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT_ATTRIBUTE))) {
+            request.setAttribute(SENDFILE_FILENAME_ATTRIBUTE, body.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START_ATTRIBUTE, 0L);
+            request.setAttribute(SENDFILE_END_ATTRIBUTE, size);
+        } else {
+            Files.copy(body, response.getOutputStream());
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package yehor.epam.servletController;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket. Instead of token amount it keeps the time the bucket is full again,
+ * so taking a token is a single compare-and-set of that time
+ */
+final class TokenBucket {
+    private final long refillNanos;
+    private final long capacityNanos;
+    private final AtomicLong fullAtNanos;
+
+    /**
+     * @param capacity    max amount of tokens, bucket is created full
+     * @param refillNanos time of refilling one token
+     * @param nowNanos    current time
+     */
+    TokenBucket(int capacity, long refillNanos, long nowNanos) {
+        this.refillNanos = refillNanos;
+        this.capacityNanos = capacity * refillNanos;
+        this.fullAtNanos = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Take a token if there is any
+     *
+     * @param nowNanos current time
+     * @return 0 if the token is taken, otherwise nanos until the next token
+     */
+    long tryAcquire(long nowNanos) {
+        while (true) {
+            final long fullAt = fullAtNanos.get();
+            final long next = Math.max(fullAt - nowNanos, 0) + refillNanos;
+            if (next > capacityNanos) return next - capacityNanos;
+            if (fullAtNanos.compareAndSet(fullAt, nowNanos + next)) return 0;
+        }
+    }
+
+    /**
+     * Get time the bucket is full again, the earlier it is the less the bucket is used
+     */
+    long getFullAtNanos() {
+        return fullAtNanos.get();
+    }
+
+    /**
+     * Full bucket is the same as a new one, so it may be dropped
+     */
+    boolean isFull(long nowNanos) {
+        return fullAtNanos.get() - nowNanos <= 0;
+    }
+}
@@ -0,0 +1,48 @@
+package yehor.epam.servletController;
+
+import jakarta.servlet.annotation.WebServlet;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import yehor.epam.services.ServiceContainer;
+import yehor.epam.services.WaitingRoomService;
+
+import java.io.IOException;
+
+import static yehor.epam.filters.WaitingRoomFilter.getCookieName;
+import static yehor.epam.filters.WaitingRoomFilter.getCookieValue;
+import static yehor.epam.filters.WaitingRoomFilter.getTicketHolders;
+import static yehor.epam.utilities.constants.OtherConstants.CACHE_CONTROL_HEADER;
+import static yehor.epam.utilities.constants.OtherConstants.SESSION_ID_PARAM;
+
+/**
+ * Polled by waiting room page: answers queue position of the ticket cookie as
+ * {@code {"position":N,"admitted":true|false}}, position -1 means the ticket isn't valid any more.
+ * Bypasses Controller filters and never touches DB, so thousands of queued clients stay cheap
+ */
+@WebServlet(name = "waitingRoom", urlPatterns = {"/waitingRoom"})
+public class WaitingRoomServlet extends HttpServlet {
+    private WaitingRoomService waitingRoomService;
+
+    @Override
+    public void init() {
+        waitingRoomService = ServiceContainer.getInstance().get(WaitingRoomService.class);
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+        final int sessionId;
+        try {
+            sessionId = Integer.parseInt(req.getParameter(SESSION_ID_PARAM));
+        } catch (NumberFormatException e) {
+            resp.sendError(HttpServletResponse.SC_BAD_REQUEST);
+            return;
+        }
+        final long position = waitingRoomService.getPosition(sessionId, getCookieValue(req, getCookieName(sessionId)),
+                getTicketHolders(req));
+        resp.setContentType("application/json");
+        resp.setCharacterEncoding("UTF-8");
+        resp.setHeader(CACHE_CONTROL_HEADER, "no-store");
+        resp.getWriter().write("{\"position\":" + position + ",\"admitted\":" + (position == 0) + '}');
+    }
+}
@@ -0,0 +1,97 @@
+package yehor.epam.sessionstore;
+
+import yehor.epam.exceptions.SessionStoreException;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.time.Instant;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * SessionStore keeping a file per session in a directory, which may be a network share of all nodes.
+ * File is replaced atomically, so the other node never reads a half-written session
+ */
+public class FileSessionStore implements SessionStore {
+    private static final Pattern KEY_PATTERN = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+    private static final String FILE_SUFFIX = ".session";
+    private static final String TEMP_SUFFIX = ".tmp";
+    private final Path directory;
+
+    public FileSessionStore(Path directory) {
+        this.directory = directory;
+    }
+
+    @Override
+    public byte[] load(String key) throws SessionStoreException {
+        try {
+            return Files.readAllBytes(pathOf(key));
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            throw new SessionStoreException("Couldn't read session " + key, e);
+        }
+    }
+
+    @Override
+    public long getSavedAt(String key) throws SessionStoreException {
+        try {
+            return Files.getLastModifiedTime(pathOf(key)).toMillis();
+        } catch (NoSuchFileException e) {
+            return -1;
+        } catch (IOException e) {
+            throw new SessionStoreException("Couldn't read session " + key, e);
+        }
+    }
+
+    @Override
+    public void save(String key, byte[] data) throws SessionStoreException {
+        final Path path = pathOf(key);
+        try {
+            Files.createDirectories(directory);
+            final Path temp = Files.createTempFile(directory, key, TEMP_SUFFIX);
+            try {
+                Files.write(temp, data);
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            throw new SessionStoreException("Couldn't write session " + key, e);
+        }
+    }
+
+    @Override
+    public void remove(String key) throws SessionStoreException {
+        try {
+            Files.deleteIfExists(pathOf(key));
+        } catch (IOException e) {
+            throw new SessionStoreException("Couldn't remove session " + key, e);
+        }
+    }
+
+    @Override
+    public int removeSavedBefore(Instant savedBefore) throws SessionStoreException {
+        if (!Files.isDirectory(directory)) return 0;
+        int removed = 0;
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                if (file.getFileName().toString().endsWith(FILE_SUFFIX)
+                        && Files.getLastModifiedTime(file).toInstant().isBefore(savedBefore)
+                        && Files.deleteIfExists(file)) {
+                    removed++;
+                }
+            }
+        } catch (IOException e) {
+            throw new SessionStoreException("Couldn't remove expired sessions", e);
+        }
+        return removed;
+    }
+
+    private Path pathOf(String key) throws SessionStoreException {
+        if (key == null || !KEY_PATTERN.matcher(key).matches()) {
+            throw new SessionStoreException("Invalid session key");
+        }
+        return directory.resolve(key + FILE_SUFFIX);
+    }
+}
@@ -0,0 +1,90 @@
+package yehor.epam.sessionstore;
+
+import yehor.epam.connection.ConnectionPool;
+import yehor.epam.exceptions.ConnectionException;
+import yehor.epam.exceptions.SessionStoreException;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+
+/**
+ * SessionStore keeping sessions in http_sessions table of the application database,
+ * see src/sql/http_sessions.sql
+ */
+public class JdbcSessionStore implements SessionStore {
+    private static final String SELECT_BY_KEY = "SELECT data FROM http_sessions WHERE session_key = ?";
+    private static final String SELECT_SAVED_AT_BY_KEY = "SELECT saved_at FROM http_sessions WHERE session_key = ?";
+    private static final String UPSERT = "INSERT INTO http_sessions (session_key, data, saved_at) VALUES (?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE data = VALUES(data), saved_at = VALUES(saved_at)";
+    private static final String DELETE_BY_KEY = "DELETE FROM http_sessions WHERE session_key = ?";
+    private static final String DELETE_SAVED_BEFORE = "DELETE FROM http_sessions WHERE saved_at < ?";
+    private final ConnectionPool connectionPool;
+
+    public JdbcSessionStore(ConnectionPool connectionPool) {
+        this.connectionPool = connectionPool;
+    }
+
+    @Override
+    public byte[] load(String key) throws SessionStoreException {
+        try (Connection connection = connectionPool.getConnection();
+             PreparedStatement statement = connection.prepareStatement(SELECT_BY_KEY)) {
+            statement.setString(1, key);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() ? resultSet.getBytes(1) : null;
+            }
+        } catch (SQLException | ConnectionException e) {
+            throw new SessionStoreException("Couldn't read session " + key, e);
+        }
+    }
+
+    @Override
+    public long getSavedAt(String key) throws SessionStoreException {
+        try (Connection connection = connectionPool.getConnection();
+             PreparedStatement statement = connection.prepareStatement(SELECT_SAVED_AT_BY_KEY)) {
+            statement.setString(1, key);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() ? resultSet.getLong(1) : -1;
+            }
+        } catch (SQLException | ConnectionException e) {
+            throw new SessionStoreException("Couldn't read session " + key, e);
+        }
+    }
+
+    @Override
+    public void save(String key, byte[] data) throws SessionStoreException {
+        try (Connection connection = connectionPool.getConnection();
+             PreparedStatement statement = connection.prepareStatement(UPSERT)) {
+            statement.setString(1, key);
+            statement.setBytes(2, data);
+            statement.setLong(3, System.currentTimeMillis());
+            statement.executeUpdate();
+        } catch (SQLException | ConnectionException e) {
+            throw new SessionStoreException("Couldn't write session " + key, e);
+        }
+    }
+
+    @Override
+    public void remove(String key) throws SessionStoreException {
+        try (Connection connection = connectionPool.getConnection();
+             PreparedStatement statement = connection.prepareStatement(DELETE_BY_KEY)) {
+            statement.setString(1, key);
+            statement.executeUpdate();
+        } catch (SQLException | ConnectionException e) {
+            throw new SessionStoreException("Couldn't remove session " + key, e);
+        }
+    }
+
+    @Override
+    public int removeSavedBefore(Instant savedBefore) throws SessionStoreException {
+        try (Connection connection = connectionPool.getConnection();
+             PreparedStatement statement = connection.prepareStatement(DELETE_SAVED_BEFORE)) {
+            statement.setLong(1, savedBefore.toEpochMilli());
+            return statement.executeUpdate();
+        } catch (SQLException | ConnectionException e) {
+            throw new SessionStoreException("Couldn't remove expired sessions", e);
+        }
+    }
+}
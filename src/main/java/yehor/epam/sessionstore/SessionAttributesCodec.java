@@ -0,0 +1,124 @@
+package yehor.epam.sessionstore;
+
+import org.slf4j.Logger;
+import yehor.epam.utilities.LoggerManager;
+
+import java.io.*;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Compact binary form of session attributes: Strings and numbers are written as is,
+ * other Serializable values by Java serialization. Values which aren't Serializable are skipped
+ */
+public final class SessionAttributesCodec {
+    private static final Logger logger = LoggerManager.getLogger(SessionAttributesCodec.class);
+    private static final byte FORMAT_VERSION = 1;
+    private static final byte TYPE_STRING = 1;
+    private static final byte TYPE_INTEGER = 2;
+    private static final byte TYPE_LONG = 3;
+    private static final byte TYPE_BOOLEAN = 4;
+    private static final byte TYPE_SERIALIZED = 9;
+    /**
+     * Only application entities and JDK value classes are deserialized from the store
+     */
+    private static final ObjectInputFilter CLASS_FILTER = ObjectInputFilter.Config.createFilter(
+            "yehor.epam.**;java.lang.*;java.util.*;java.math.*;java.time.*;!*");
+
+    private SessionAttributesCodec() {
+    }
+
+    /**
+     * Serialize attributes
+     *
+     * @param attributes attributes by name
+     * @return serialized attributes
+     * @throws IOException if value couldn't be serialized
+     */
+    public static byte[] encode(Map<String, Object> attributes) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(FORMAT_VERSION);
+            final Map<String, Object> stored = new LinkedHashMap<>();
+            attributes.forEach((name, value) -> {
+                if (value instanceof Serializable) stored.put(name, value);
+                else logger.debug("Session attribute {} isn't Serializable and isn't stored", name);
+            });
+            out.writeInt(stored.size());
+            for (Map.Entry<String, Object> attribute : stored.entrySet()) {
+                out.writeUTF(attribute.getKey());
+                writeValue(out, attribute.getValue());
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void writeValue(DataOutputStream out, Object value) throws IOException {
+        if (value instanceof String) {
+            out.writeByte(TYPE_STRING);
+            out.writeUTF((String) value);
+        } else if (value instanceof Integer) {
+            out.writeByte(TYPE_INTEGER);
+            out.writeInt((Integer) value);
+        } else if (value instanceof Long) {
+            out.writeByte(TYPE_LONG);
+            out.writeLong((Long) value);
+        } else if (value instanceof Boolean) {
+            out.writeByte(TYPE_BOOLEAN);
+            out.writeBoolean((Boolean) value);
+        } else {
+            final ByteArrayOutputStream serialized = new ByteArrayOutputStream();
+            try (ObjectOutputStream objectOut = new ObjectOutputStream(serialized)) {
+                objectOut.writeObject(value);
+            }
+            out.writeByte(TYPE_SERIALIZED);
+            out.writeInt(serialized.size());
+            serialized.writeTo(out);
+        }
+    }
+
+    /**
+     * Deserialize attributes
+     *
+     * @param data serialized attributes
+     * @return attributes by name
+     * @throws IOException if data is malformed or of unknown version
+     */
+    public static Map<String, Object> decode(byte[] data) throws IOException {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            final byte version = in.readByte();
+            if (version != FORMAT_VERSION) throw new IOException("Unknown session format version " + version);
+            final int size = in.readInt();
+            final Map<String, Object> attributes = new LinkedHashMap<>();
+            for (int i = 0; i < size; i++) {
+                final String name = in.readUTF();
+                attributes.put(name, readValue(in));
+            }
+            return attributes;
+        }
+    }
+
+    private static Object readValue(DataInputStream in) throws IOException {
+        final byte type = in.readByte();
+        switch (type) {
+            case TYPE_STRING:
+                return in.readUTF();
+            case TYPE_INTEGER:
+                return in.readInt();
+            case TYPE_LONG:
+                return in.readLong();
+            case TYPE_BOOLEAN:
+                return in.readBoolean();
+            case TYPE_SERIALIZED:
+                final byte[] serialized = in.readNBytes(in.readInt());
+                try (ObjectInputStream objectIn = new ObjectInputStream(new ByteArrayInputStream(serialized))) {
+                    objectIn.setObjectInputFilter(CLASS_FILTER);
+                    return objectIn.readObject();
+                } catch (ClassNotFoundException e) {
+                    throw new IOException("Unknown class of session attribute", e);
+                }
+            default:
+                throw new IOException("Unknown type of session attribute " + type);
+        }
+    }
+}
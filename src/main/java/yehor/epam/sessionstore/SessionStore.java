@@ -0,0 +1,54 @@
+package yehor.epam.sessionstore;
+
+import yehor.epam.exceptions.SessionStoreException;
+
+import java.time.Instant;
+
+/**
+ * Shared storage of serialized HTTP sessions, so any node can continue the session of another one
+ */
+public interface SessionStore {
+    /**
+     * Get serialized session
+     *
+     * @param key session key
+     * @return serialized session or null if it isn't stored
+     * @throws SessionStoreException if store isn't available
+     */
+    byte[] load(String key) throws SessionStoreException;
+
+    /**
+     * Get time the session was saved, so a node may check if its local copy is stale without loading it
+     *
+     * @param key session key
+     * @return epoch millis of the last save or -1 if it isn't stored
+     * @throws SessionStoreException if store isn't available
+     */
+    long getSavedAt(String key) throws SessionStoreException;
+
+    /**
+     * Save serialized session, replace the stored one
+     *
+     * @param key  session key
+     * @param data serialized session
+     * @throws SessionStoreException if store isn't available
+     */
+    void save(String key, byte[] data) throws SessionStoreException;
+
+    /**
+     * Remove session
+     *
+     * @param key session key
+     * @throws SessionStoreException if store isn't available
+     */
+    void remove(String key) throws SessionStoreException;
+
+    /**
+     * Remove sessions which were saved before the time
+     *
+     * @param savedBefore time
+     * @return amount of removed sessions
+     * @throws SessionStoreException if store isn't available
+     */
+    int removeSavedBefore(Instant savedBefore) throws SessionStoreException;
+}
@@ -0,0 +1,322 @@
+package yehor.epam.sessionstore;
+
+import jakarta.servlet.http.HttpSession;
+import org.slf4j.Logger;
+import yehor.epam.connection.ConnectionPool;
+import yehor.epam.exceptions.SessionStoreException;
+import yehor.epam.utilities.LoggerManager;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static yehor.epam.utilities.constants.OtherConstants.*;
+
+/**
+ * Keeps HTTP sessions in a shared SessionStore, so another node continues the session after failover.
+ * Session is bound to the store by a random key generated by this class and kept in its attribute and in a cookie,
+ * key from a cookie is used only if the store has the session, so a planted key can't be adopted.
+ * Changed sessions are only marked dirty on the request thread and written by {@link #flush()} later,
+ * unchanged ones cost nothing. Store is read on a node which has no local session for the key, and the save time
+ * of a local session idle for more than SESSION_STORE_FLUSH_PERIOD is compared with the store, so after failback
+ * the node reloads the session changed by another node. Changes not flushed yet by the other node
+ * aren't seen, node clocks should be synchronized.
+ * Mutating an attribute object without setting it again isn't tracked, session attributes are immutable
+ */
+public class SharedSessionManager {
+    private static final Logger logger = LoggerManager.getLogger(SharedSessionManager.class);
+    private static final int KEY_LENGTH = 24;
+    private static final Base64.Encoder KEY_ENCODER = Base64.getUrlEncoder().withoutPadding();
+    /**
+     * Attribute with time the local session was last restored from or written to the store, it isn't stored
+     */
+    private static final String SYNCED_AT = "sharedSessionSyncedAt";
+    private final SessionStore store;
+    private final Map<String, HttpSession> dirtySessions = new ConcurrentHashMap<>();
+    /**
+     * Set while the session is being bound or restored, so its own attributes don't make it dirty
+     */
+    private final ThreadLocal<Boolean> restoring = ThreadLocal.withInitial(() -> false);
+    private final SecureRandom random = new SecureRandom();
+
+    /**
+     * @param store shared store or null to keep sessions only on this node
+     */
+    public SharedSessionManager(SessionStore store) {
+        this.store = store;
+    }
+
+    private static final class SharedSessionManagerHolder {
+        private static final SharedSessionManager sharedSessionManager = new SharedSessionManager(createStore());
+
+        private static SessionStore createStore() {
+            final String type = System.getProperty(SESSION_STORE_PROPERTY, "none").trim().toLowerCase(Locale.ROOT);
+            switch (type) {
+                case "file":
+                    final String directory = System.getProperty(SESSION_STORE_DIR_PROPERTY);
+                    logger.info("Sessions are shared by files in {}", directory != null ? directory : SESSION_STORE_DEFAULT_DIR);
+                    return new FileSessionStore(directory != null ? Paths.get(directory) : SESSION_STORE_DEFAULT_DIR);
+                case "jdbc":
+                    logger.info("Sessions are shared by database table");
+                    return new JdbcSessionStore(ConnectionPool.getInstance());
+                case "none":
+                    return null;
+                default:
+                    logger.warn("Unknown {} = {}, sessions aren't shared", SESSION_STORE_PROPERTY, type);
+                    return null;
+            }
+        }
+    }
+
+    public static SharedSessionManager getInstance() {
+        return SharedSessionManagerHolder.sharedSessionManager;
+    }
+
+    /**
+     * Check if sessions are shared
+     *
+     * @return true if store is configured
+     */
+    public boolean isEnabled() {
+        return store != null;
+    }
+
+    /**
+     * Get key the session is stored by
+     *
+     * @param session HttpSession
+     * @return key or null if session isn't bound to the store
+     */
+    public String getKey(HttpSession session) {
+        return (String) session.getAttribute(SHARED_SESSION_KEY);
+    }
+
+    /**
+     * Bind new local session to the store by a freshly generated key
+     *
+     * @param session HttpSession
+     * @return key of the session
+     */
+    public String bind(HttpSession session) {
+        final String sessionKey = generateKey();
+        restoring.set(true);
+        try {
+            session.setAttribute(SHARED_SESSION_KEY, sessionKey);
+        } finally {
+            restoring.set(false);
+        }
+        return sessionKey;
+    }
+
+    /**
+     * Load session stored by another node
+     *
+     * @param key key from cookie
+     * @return stored attributes or null if session isn't found or store isn't available
+     */
+    public Map<String, Object> load(String key) {
+        try {
+            final byte[] data = store.load(key);
+            return data == null ? null : SessionAttributesCodec.decode(data);
+        } catch (SessionStoreException | IOException e) {
+            logger.warn("Couldn't load shared session, new one is started", e);
+            return null;
+        }
+    }
+
+    /**
+     * Put loaded attributes into the new local session and bind it to the key
+     *
+     * @param session    new HttpSession
+     * @param key        key from cookie
+     * @param attributes attributes returned by {@link #load(String)}
+     */
+    public void restore(HttpSession session, String key, Map<String, Object> attributes) {
+        restoring.set(true);
+        try {
+            attributes.forEach(session::setAttribute);
+            session.setAttribute(SHARED_SESSION_KEY, key);
+            session.setAttribute(SYNCED_AT, System.currentTimeMillis());
+        } finally {
+            restoring.set(false);
+        }
+        logger.debug("Restored shared session with {} attributes", attributes.size());
+    }
+
+    /**
+     * Reload the local session if another node saved it after this node had restored or written it.
+     * Only session idle for more than SESSION_STORE_FLUSH_PERIOD is checked, a change of another node
+     * can't be in the store earlier
+     *
+     * @param session local HttpSession bound to the store
+     */
+    public void refreshIfStale(HttpSession session) {
+        if (store == null) return;
+        try {
+            if (System.currentTimeMillis() - session.getLastAccessedTime() < SESSION_STORE_FLUSH_PERIOD.toMillis()) return;
+            final String key = getKey(session);
+            final Long syncedAt = (Long) session.getAttribute(SYNCED_AT);
+            final long savedAt = store.getSavedAt(key);
+            if (savedAt < 0 || (syncedAt != null && savedAt <= syncedAt)) return;
+            final Map<String, Object> attributes = load(key);
+            if (attributes == null) return;
+            restoring.set(true);
+            try {
+                for (String name : Collections.list(session.getAttributeNames())) {
+                    if (!attributes.containsKey(name) && !SHARED_SESSION_KEY.equals(name)) session.removeAttribute(name);
+                }
+                attributes.forEach(session::setAttribute);
+                session.setAttribute(SYNCED_AT, System.currentTimeMillis());
+            } finally {
+                restoring.set(false);
+            }
+            dirtySessions.remove(key);
+            logger.debug("Reloaded stale shared session with {} attributes", attributes.size());
+        } catch (SessionStoreException e) {
+            logger.warn("Couldn't check shared session, local copy is used", e);
+        } catch (IllegalStateException e) {
+            // session is invalidated
+        }
+    }
+
+    /**
+     * Mark session to be written by the next flush
+     *
+     * @param session       HttpSession
+     * @param attributeName changed attribute
+     */
+    public void markDirty(HttpSession session, String attributeName) {
+        if (store == null || restoring.get() || SHARED_SESSION_KEY.equals(attributeName) || SYNCED_AT.equals(attributeName)) {
+            return;
+        }
+        try {
+            final String key = getKey(session);
+            if (key != null) dirtySessions.put(key, session);
+        } catch (IllegalStateException e) {
+            // attributes of invalidated session are being removed
+        }
+    }
+
+    /**
+     * Write all dirty sessions to the store. Session failed to be written stays dirty
+     *
+     * @return amount of written sessions
+     */
+    public int flush() {
+        if (store == null) return 0;
+        int written = 0;
+        final Map<String, HttpSession> failed = new HashMap<>();
+        for (Iterator<Map.Entry<String, HttpSession>> iterator = dirtySessions.entrySet().iterator(); iterator.hasNext(); ) {
+            final Map.Entry<String, HttpSession> entry = iterator.next();
+            // removed before the snapshot, so a change made meanwhile marks it dirty again
+            iterator.remove();
+            final Map<String, Object> attributes = snapshot(entry.getValue());
+            if (attributes == null) continue;
+            try {
+                store.save(entry.getKey(), SessionAttributesCodec.encode(attributes));
+                markSynced(entry.getValue());
+                written++;
+            } catch (SessionStoreException | IOException e) {
+                logger.warn("Couldn't write shared session, will retry", e);
+                failed.put(entry.getKey(), entry.getValue());
+            }
+        }
+        failed.forEach(dirtySessions::putIfAbsent);
+        return written;
+    }
+
+    private void markSynced(HttpSession session) {
+        restoring.set(true);
+        try {
+            session.setAttribute(SYNCED_AT, System.currentTimeMillis());
+        } catch (IllegalStateException e) {
+            // session was invalidated after it was written
+        } finally {
+            restoring.set(false);
+        }
+    }
+
+    private static Map<String, Object> snapshot(HttpSession session) {
+        try {
+            final Map<String, Object> attributes = new LinkedHashMap<>();
+            for (String name : Collections.list(session.getAttributeNames())) {
+                if (!SHARED_SESSION_KEY.equals(name) && !SYNCED_AT.equals(name)) {
+                    attributes.put(name, session.getAttribute(name));
+                }
+            }
+            return attributes;
+        } catch (IllegalStateException e) {
+            // session was invalidated after it became dirty
+            return null;
+        }
+    }
+
+    /**
+     * Forget destroyed session. It's removed from the store only if it was invalidated,
+     * copy of an expired one may be used by another node and is removed by {@link #removeExpired()}
+     *
+     * @param session destroyed HttpSession
+     */
+    public void destroyed(HttpSession session) {
+        if (store == null) return;
+        final String key = getKey(session);
+        if (key == null) return;
+        dirtySessions.remove(key);
+        final int maxInactive = session.getMaxInactiveInterval();
+        final boolean expired = maxInactive > 0
+                && System.currentTimeMillis() - session.getLastAccessedTime() >= maxInactive * 1000L;
+        if (!expired) {
+            try {
+                store.remove(key);
+            } catch (SessionStoreException e) {
+                logger.warn("Couldn't remove shared session", e);
+            }
+        }
+    }
+
+    /**
+     * Remove sessions which weren't written for SESSION_STORE_TTL
+     */
+    public void removeExpired() {
+        if (store == null) return;
+        try {
+            final int removed = store.removeSavedBefore(Instant.now().minus(SESSION_STORE_TTL));
+            if (removed > 0) logger.debug("Removed {} expired shared sessions", removed);
+        } catch (SessionStoreException e) {
+            logger.warn("Couldn't remove expired shared sessions", e);
+        }
+    }
+
+    /**
+     * Get amount of sessions waiting to be written
+     *
+     * @return amount of dirty sessions
+     */
+    public int getDirtyCount() {
+        return dirtySessions.size();
+    }
+
+    /**
+     * Check if the key may have been generated by this manager, so it's safe to use as file name or column value
+     *
+     * @param key key from cookie
+     * @return true if key is well-formed
+     */
+    public static boolean isValidKey(String key) {
+        if (key == null || key.length() != KEY_LENGTH * 4 / 3) return false;
+        for (int i = 0; i < key.length(); i++) {
+            final char c = key.charAt(i);
+            if (!(Character.isLetterOrDigit(c) && c < 128) && c != '-' && c != '_') return false;
+        }
+        return true;
+    }
+
+    private String generateKey() {
+        final byte[] bytes = new byte[KEY_LENGTH];
+        random.nextBytes(bytes);
+        return KEY_ENCODER.encodeToString(bytes);
+    }
+}
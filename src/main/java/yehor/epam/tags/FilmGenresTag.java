@@ -3,6 +3,7 @@ package yehor.epam.tags;
 import jakarta.servlet.jsp.JspTagException;
 import jakarta.servlet.jsp.JspWriter;
 import jakarta.servlet.jsp.tagext.TagSupport;
+import yehor.epam.cache.FilmSnapshot;
 import yehor.epam.entities.Film;
 import yehor.epam.entities.Genre;
 
@@ -23,6 +24,10 @@ public class FilmGenresTag extends TagSupport {
     public int doStartTag() throws JspTagException {
         try {
             JspWriter out = pageContext.getOut();
+            if (film instanceof FilmSnapshot) {
+                out.write(((FilmSnapshot) film).getGenreNames());
+                return SKIP_BODY;
+            }
             final List<Genre> genreList = film.getGenreList();
             final int size = genreList.size();
             for (int i = 0; i < size; i++) {
@@ -0,0 +1,75 @@
+package yehor.epam.tags;
+
+import jakarta.servlet.jsp.JspTagException;
+import jakarta.servlet.jsp.jstl.core.Config;
+import jakarta.servlet.jsp.tagext.BodyTagSupport;
+import yehor.epam.cache.FragmentCache;
+import yehor.epam.services.DataVersionService;
+import yehor.epam.services.DataVersionService.DataType;
+import yehor.epam.services.impl.DataVersionServiceImpl;
+
+import java.io.IOException;
+
+/**
+ * Class of implementing fragment cache tag, which renders its body once per key, locale and data version
+ * and then prints the cached HTML
+ */
+public class FragmentCacheTag extends BodyTagSupport {
+    private final FragmentCache fragmentCache = FragmentCache.getInstance();
+    private final DataVersionService dataVersionService = DataVersionServiceImpl.getInstance();
+    private String region;
+    private Object key;
+    private DataType dependsOn;
+    private String cacheKey;
+
+    public void setRegion(String region) {
+        this.region = region;
+    }
+
+    public void setKey(Object key) {
+        this.key = key;
+    }
+
+    public void setDependsOn(String dependsOn) {
+        this.dependsOn = DataType.valueOf(dependsOn);
+    }
+
+    @Override
+    public int doStartTag() throws JspTagException {
+        final Object locale = Config.find(pageContext, Config.FMT_LOCALE);
+        cacheKey = FragmentCache.key(region, key, locale, dataVersionService.getVersion(dependsOn));
+        final String html = fragmentCache.get(cacheKey);
+        if (html == null) return EVAL_BODY_BUFFERED;
+        // handler might be reused from pool with the body of previous evaluation
+        bodyContent = null;
+        try {
+            pageContext.getOut().write(html);
+        } catch (IOException e) {
+            throw new JspTagException(e.getMessage());
+        }
+        return SKIP_BODY;
+    }
+
+    @Override
+    public int doEndTag() throws JspTagException {
+        if (bodyContent != null) {
+            final String html = bodyContent.getString();
+            fragmentCache.put(cacheKey, html);
+            try {
+                bodyContent.getEnclosingWriter().write(html);
+            } catch (IOException e) {
+                throw new JspTagException(e.getMessage());
+            }
+        }
+        return EVAL_PAGE;
+    }
+
+    @Override
+    public void release() {
+        super.release();
+        region = null;
+        key = null;
+        dependsOn = null;
+        cacheKey = null;
+    }
+}
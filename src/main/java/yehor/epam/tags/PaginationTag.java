@@ -6,7 +6,7 @@ import jakarta.servlet.jsp.JspWriter;
 import jakarta.servlet.jsp.tagext.TagSupport;
 import org.slf4j.Logger;
 import yehor.epam.services.PaginationService;
-import yehor.epam.services.impl.PaginationServiceImpl;
+import yehor.epam.services.ServiceContainer;
 import yehor.epam.utilities.LoggerManager;
 
 import java.io.IOException;
@@ -46,7 +46,7 @@ public class PaginationTag extends TagSupport {
         try {
             JspWriter out = pageContext.getOut();
             logger.debug("Total pages = {}", totalPages);
-            final PaginationService paginationService = new PaginationServiceImpl();
+            final PaginationService paginationService = ServiceContainer.getInstance().get(PaginationService.class);
             final Map<String, Integer> paginationMap = paginationService.getPaginationParamsFromRequest(request);
             int page = paginationMap.get(PAGE_NO_PARAM);
             int size = paginationMap.get(PAGE_SIZE_PARAM);
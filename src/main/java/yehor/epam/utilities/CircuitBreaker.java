@@ -0,0 +1,80 @@
+package yehor.epam.utilities;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Circuit breaker of a remote call: after {@code failureThreshold} failures in a row calls are rejected
+ * without reaching the remote side for {@code openDuration}, then a single trial call is let through
+ * and its result closes or opens the circuit again
+ */
+public class CircuitBreaker {
+    private final int failureThreshold;
+    private final long openNanos;
+    private final LongSupplier nanoTime;
+    private State state = State.CLOSED;
+    private int failures;
+    private long openedAt;
+    private long openedCount;
+
+    public CircuitBreaker(int failureThreshold, Duration openDuration) {
+        this(failureThreshold, openDuration, System::nanoTime);
+    }
+
+    CircuitBreaker(int failureThreshold, Duration openDuration, LongSupplier nanoTime) {
+        if (failureThreshold < 1) throw new IllegalArgumentException("Failure threshold must be positive");
+        this.failureThreshold = failureThreshold;
+        this.openNanos = openDuration.toNanos();
+        this.nanoTime = nanoTime;
+    }
+
+    /**
+     * Ask permission for a call, the permitted call must be finished by {@link #onSuccess()} or {@link #onFailure()}
+     *
+     * @return true if the call may be done
+     */
+    public synchronized boolean tryAcquire() {
+        switch (state) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                if (nanoTime.getAsLong() - openedAt < openNanos) return false;
+                state = State.HALF_OPEN;
+                return true;
+            default:
+                // the trial call is in flight
+                return false;
+        }
+    }
+
+    public synchronized void onSuccess() {
+        state = State.CLOSED;
+        failures = 0;
+    }
+
+    public synchronized void onFailure() {
+        if (state == State.HALF_OPEN || ++failures >= failureThreshold) {
+            state = State.OPEN;
+            openedAt = nanoTime.getAsLong();
+            openedCount++;
+            failures = 0;
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * Get how many times the circuit was opened
+     *
+     * @return amount of openings
+     */
+    public synchronized long getOpenedCount() {
+        return openedCount;
+    }
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+}
@@ -0,0 +1,66 @@
+package yehor.epam.utilities;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.Deflater;
+
+import static yehor.epam.utilities.constants.OtherConstants.COMPRESSION_LEVEL;
+import static yehor.epam.utilities.constants.OtherConstants.DEFLATER_POOL_SIZE;
+
+/**
+ * Bounded pool of reusable raw Deflater instances.
+ * Deflater allocates native memory of ~256 KB, so it's reset and reused instead of being created per response
+ */
+public class DeflaterPool {
+    private final BlockingQueue<Deflater> freeDeflaters;
+    private final int level;
+
+    public DeflaterPool(int maxSize, int level) {
+        this.freeDeflaters = new ArrayBlockingQueue<>(maxSize);
+        this.level = level;
+    }
+
+    private static final class DeflaterPoolHolder {
+        private static final DeflaterPool pool = new DeflaterPool(DEFLATER_POOL_SIZE, COMPRESSION_LEVEL);
+    }
+
+    /**
+     * Get application-wide DeflaterPool
+     *
+     * @return DeflaterPool
+     */
+    public static DeflaterPool getInstance() {
+        return DeflaterPoolHolder.pool;
+    }
+
+    /**
+     * Take free Deflater without zlib header, it must be returned by {@link #release(Deflater)}
+     *
+     * @return Deflater
+     */
+    public Deflater acquire() {
+        final Deflater deflater = freeDeflaters.poll();
+        return deflater != null ? deflater : new Deflater(level, true);
+    }
+
+    /**
+     * Return Deflater to the pool, it's released at once if the pool is full
+     *
+     * @param deflater Deflater taken by {@link #acquire()}
+     */
+    public void release(Deflater deflater) {
+        deflater.reset();
+        if (!freeDeflaters.offer(deflater)) {
+            deflater.end();
+        }
+    }
+
+    /**
+     * Get amount of Deflater instances waiting for reuse
+     *
+     * @return amount
+     */
+    public int getFreeCount() {
+        return freeDeflaters.size();
+    }
+}
@@ -0,0 +1,39 @@
+package yehor.epam.utilities;
+
+import org.slf4j.Logger;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Manager for registration of app's MBeans (metrics and runtime settings available via JMX)
+ */
+public class MBeanManager {
+    private static final Logger logger = LoggerManager.getLogger(MBeanManager.class);
+    private static final String DOMAIN = "yehor.epam";
+
+    private MBeanManager() {
+    }
+
+    /**
+     * Register MBean in platform MBeanServer, replace the previous one with the same name
+     *
+     * @param mBean object implementing appropriate *MBean interface
+     * @param type  MBean type, e.g. Cache
+     * @param name  MBean name, e.g. FilmCache
+     */
+    public static void register(Object mBean, String type, String name) {
+        try {
+            final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            final ObjectName objectName = new ObjectName(DOMAIN + ":type=" + type + ",name=" + name);
+            if (server.isRegistered(objectName)) {
+                server.unregisterMBean(objectName);
+            }
+            server.registerMBean(mBean, objectName);
+            logger.debug("Registered MBean {}", objectName);
+        } catch (Exception e) {
+            logger.warn("Couldn't register MBean " + type + "/" + name, e);
+        }
+    }
+}
@@ -1,23 +1,77 @@
 package yehor.epam.utilities;
 
+import org.slf4j.Logger;
+
 import javax.crypto.SecretKeyFactory;
 import javax.crypto.spec.PBEKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
 import java.security.spec.InvalidKeySpecException;
 import java.util.Arrays;
 import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Random;
 
+import static yehor.epam.utilities.constants.OtherConstants.*;
+
 /**
- * Class service for encryption password by salt
+ * Class service for encryption password by salt.
+ * Hash is stored as {@code $algorithm$iterations$base64(hash)}, so cost may be raised without breaking
+ * stored passwords: hashes of other algorithm or cost are still verified and reported by {@link #needsRehash(String)}.
+ * Hash without prefix is the legacy PBKDF2WithHmacSHA1 with 10000 iterations, which is also the default cost
  */
 public class PassEncryptionManager {
+    private static final Logger logger = LoggerManager.getLogger(PassEncryptionManager.class);
     private static final Random SECURE_RANDOM = new SecureRandom();
     private static final String CHARACTERS = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz";
-    private static final int ITERATIONS = 10000;
     private static final int KEY_LENGTH = 256;
-    private static final String ALGORITHM = "PBKDF2WithHmacSHA1";
+    private static final Algorithm LEGACY_ALGORITHM = Algorithm.PBKDF2_SHA1;
+    private static final int LEGACY_ITERATIONS = 10000;
+    private static final char SEPARATOR = '$';
+    private static final byte[] DUMMY_SALT = "dummy-salt-for-unknown-users".getBytes(StandardCharsets.UTF_8);
+    private static final Algorithm DEFAULT_ALGORITHM = loadAlgorithm();
+    private static final int DEFAULT_ITERATIONS = loadIterations();
+    /**
+     * SecretKeyFactory isn't thread-safe and its lookup is slow, so every thread keeps its own per algorithm
+     */
+    private static final ThreadLocal<Map<Algorithm, SecretKeyFactory>> FACTORIES = ThreadLocal.withInitial(HashMap::new);
+    private final Algorithm algorithm;
+    private final int iterations;
+    private final String prefix;
+
+    public PassEncryptionManager() {
+        this(DEFAULT_ALGORITHM, DEFAULT_ITERATIONS);
+    }
+
+    public PassEncryptionManager(Algorithm algorithm, int iterations) {
+        if (iterations < 1) throw new IllegalArgumentException("Iterations must be positive");
+        this.algorithm = algorithm;
+        this.iterations = iterations;
+        this.prefix = String.valueOf(SEPARATOR) + algorithm.id + SEPARATOR + iterations + SEPARATOR;
+    }
+
+    private static Algorithm loadAlgorithm() {
+        final String value = System.getProperty(PASSWORD_HASH_ALGORITHM_PROPERTY);
+        if (value != null) {
+            for (Algorithm candidate : Algorithm.values()) {
+                if (candidate.id.equals(value.trim())) return candidate;
+            }
+            logger.warn("Unknown password hash algorithm {}, {} is used", value, LEGACY_ALGORITHM.id);
+        }
+        return LEGACY_ALGORITHM;
+    }
+
+    private static int loadIterations() {
+        final int iterations = Integer.getInteger(PASSWORD_HASH_ITERATIONS_PROPERTY, PASSWORD_HASH_DEFAULT_ITERATIONS);
+        if (iterations < 1) {
+            logger.warn("Invalid password hash iterations {}, {} is used", iterations, PASSWORD_HASH_DEFAULT_ITERATIONS);
+            return PASSWORD_HASH_DEFAULT_ITERATIONS;
+        }
+        return iterations;
+    }
 
     /**
      * Method to generate the password salt value
@@ -36,16 +90,17 @@ public class PassEncryptionManager {
     /**
      * Method to generate the hash value
      *
-     * @param password source password
-     * @param salt     salt value
-     * @return return the key in its primary encoding format, or null if this key does not support encoding.
+     * @param password   source password
+     * @param salt       salt value
+     * @param algorithm  PBKDF2 algorithm
+     * @param iterations iteration count
+     * @return hash
      */
-    private byte[] hash(char[] password, byte[] salt) {
-        PBEKeySpec keySpec = new PBEKeySpec(password, salt, ITERATIONS, KEY_LENGTH);
+    private static byte[] hash(char[] password, byte[] salt, Algorithm algorithm, int iterations) {
+        PBEKeySpec keySpec = new PBEKeySpec(password, salt, iterations, KEY_LENGTH);
         Arrays.fill(password, Character.MIN_VALUE);
         try {
-            SecretKeyFactory skf = SecretKeyFactory.getInstance(ALGORITHM);
-            return skf.generateSecret(keySpec).getEncoded();
+            return getFactory(algorithm).generateSecret(keySpec).getEncoded();
         } catch (NoSuchAlgorithmException | InvalidKeySpecException e) {
             throw new AssertionError("Error while hashing a password: " + e.getMessage(), e);
         } finally {
@@ -53,28 +108,113 @@ public class PassEncryptionManager {
         }
     }
 
+    private static SecretKeyFactory getFactory(Algorithm algorithm) throws NoSuchAlgorithmException {
+        final Map<Algorithm, SecretKeyFactory> factories = FACTORIES.get();
+        SecretKeyFactory factory = factories.get(algorithm);
+        if (factory == null) {
+            factory = SecretKeyFactory.getInstance(algorithm.jcaName);
+            factories.put(algorithm, factory);
+        }
+        return factory;
+    }
+
     /**
      * Method to encrypt the password using the original password and salt value
      *
      * @param password source password
      * @param salt     salt value
-     * @return encrypted password
+     * @return encrypted password with algorithm and cost prefix
      */
     public String generateSecurePassword(String password, String salt) {
-        byte[] securePassword = hash(password.toCharArray(), salt.getBytes());
-        return Base64.getEncoder().encodeToString(securePassword);
+        byte[] securePassword = hash(password.toCharArray(), salt.getBytes(StandardCharsets.UTF_8), algorithm, iterations);
+        return prefix + Base64.getEncoder().encodeToString(securePassword);
     }
 
     /**
-     * Method to verify if both password matches or not
+     * Method to verify if both password matches or not, in constant time
      *
      * @param providedPassword received clean password
-     * @param securedPassword  received encrypted password
+     * @param securedPassword  received encrypted password of any supported format
      * @param salt             salt value
      * @return true if passwords are equal and false if not
      */
     public boolean verifyUserPassword(String providedPassword, String securedPassword, String salt) {
-        String newSecurePassword = generateSecurePassword(providedPassword, salt);
-        return newSecurePassword.equalsIgnoreCase(securedPassword);
+        if (providedPassword == null || securedPassword == null || salt == null) return false;
+        Algorithm storedAlgorithm = LEGACY_ALGORITHM;
+        int storedIterations = LEGACY_ITERATIONS;
+        String encodedHash = securedPassword;
+        try {
+            if (securedPassword.charAt(0) == SEPARATOR) {
+                final String[] fields = securedPassword.split("\\$");
+                if (fields.length != 4) return false;
+                storedAlgorithm = Algorithm.fromId(fields[1]);
+                storedIterations = Integer.parseInt(fields[2]);
+                encodedHash = fields[3];
+                if (storedAlgorithm == null || storedIterations < 1) return false;
+            }
+            final byte[] expected = Base64.getDecoder().decode(encodedHash);
+            final byte[] actual = hash(providedPassword.toCharArray(), salt.getBytes(StandardCharsets.UTF_8),
+                    storedAlgorithm, storedIterations);
+            return MessageDigest.isEqual(expected, actual);
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            logger.warn("Stored password hash is malformed");
+            return false;
+        }
+    }
+
+    /**
+     * Hash the password at the current cost without a stored hash, so login of unknown user takes
+     * as long as login of known one and users can't be enumerated by response time
+     *
+     * @param providedPassword received clean password
+     * @return always false
+     */
+    public boolean verifyDummyPassword(String providedPassword) {
+        final String password = providedPassword == null ? "" : providedPassword;
+        hash(password.toCharArray(), DUMMY_SALT, algorithm, iterations);
+        return false;
+    }
+
+    /**
+     * Check if stored hash was made by other algorithm or cost than the current one,
+     * hash without prefix is kept while the current cost is the legacy one
+     *
+     * @param securedPassword stored encrypted password
+     * @return true if the password should be hashed again after successful verification
+     */
+    public boolean needsRehash(String securedPassword) {
+        if (securedPassword == null) return true;
+        if (securedPassword.isEmpty() || securedPassword.charAt(0) != SEPARATOR) {
+            return algorithm != LEGACY_ALGORITHM || iterations != LEGACY_ITERATIONS;
+        }
+        return !securedPassword.startsWith(prefix);
+    }
+
+    /**
+     * Supported PBKDF2 algorithms with their ids in stored hash
+     */
+    public enum Algorithm {
+        PBKDF2_SHA1("pbkdf2-sha1", "PBKDF2WithHmacSHA1"),
+        PBKDF2_SHA256("pbkdf2-sha256", "PBKDF2WithHmacSHA256"),
+        PBKDF2_SHA512("pbkdf2-sha512", "PBKDF2WithHmacSHA512");
+
+        private final String id;
+        private final String jcaName;
+
+        Algorithm(String id, String jcaName) {
+            this.id = id;
+            this.jcaName = jcaName;
+        }
+
+        private static Algorithm fromId(String id) {
+            for (Algorithm algorithm : values()) {
+                if (algorithm.id.equals(id)) return algorithm;
+            }
+            return null;
+        }
+
+        public String getId() {
+            return id;
+        }
     }
 }
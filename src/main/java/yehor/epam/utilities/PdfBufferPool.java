@@ -0,0 +1,108 @@
+package yehor.epam.utilities;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static yehor.epam.utilities.constants.OtherConstants.*;
+
+/**
+ * Bounded pool of reusable buffers for rendered PDF files.
+ * Buffers are created lazily up to the pool size, so memory taken by concurrent downloads doesn't grow with their amount
+ */
+public class PdfBufferPool {
+    private final BlockingQueue<Buffer> freeBuffers;
+    private final AtomicInteger created = new AtomicInteger();
+    private final int maxSize;
+    private final int initialBufferSize;
+    private final int maxRetainedBufferSize;
+
+    public PdfBufferPool(int maxSize, int initialBufferSize, int maxRetainedBufferSize) {
+        this.freeBuffers = new ArrayBlockingQueue<>(maxSize);
+        this.maxSize = maxSize;
+        this.initialBufferSize = initialBufferSize;
+        this.maxRetainedBufferSize = maxRetainedBufferSize;
+    }
+
+    private static final class PdfBufferPoolHolder {
+        private static final PdfBufferPool pool = new PdfBufferPool(PDF_BUFFER_POOL_SIZE, PDF_BUFFER_INITIAL_SIZE,
+                PDF_BUFFER_MAX_RETAINED_SIZE);
+    }
+
+    /**
+     * Get application-wide PdfBufferPool
+     *
+     * @return PdfBufferPool
+     */
+    public static PdfBufferPool getInstance() {
+        return PdfBufferPoolHolder.pool;
+    }
+
+    /**
+     * Take free buffer, it must be returned by {@link #release(Buffer)}
+     *
+     * @return empty buffer or null if all buffers are in use
+     */
+    public Buffer acquire() {
+        final Buffer buffer = freeBuffers.poll();
+        if (buffer != null) return buffer;
+        if (created.incrementAndGet() <= maxSize) {
+            return new Buffer(initialBufferSize);
+        }
+        created.decrementAndGet();
+        return null;
+    }
+
+    /**
+     * Return buffer to the pool, buffer which grew too much is replaced with a new one
+     *
+     * @param buffer buffer taken by {@link #acquire()}
+     */
+    public void release(Buffer buffer) {
+        if (buffer.capacity() > maxRetainedBufferSize) {
+            freeBuffers.offer(new Buffer(initialBufferSize));
+        } else {
+            buffer.reset();
+            freeBuffers.offer(buffer);
+        }
+    }
+
+    /**
+     * Get amount of buffers not in use at the moment
+     *
+     * @return amount
+     */
+    public int getFreeCount() {
+        return freeBuffers.size() + maxSize - created.get();
+    }
+
+    /**
+     * Reusable byte buffer
+     */
+    public static final class Buffer extends ByteArrayOutputStream {
+        private Buffer(int size) {
+            super(size);
+        }
+
+        int capacity() {
+            return buf.length;
+        }
+
+        /**
+         * Write content to output stream by chunks, flushing it after each chunk
+         *
+         * @param out       output stream
+         * @param chunkSize size of chunk in bytes
+         * @throws IOException if writing failed
+         */
+        public synchronized void writeTo(OutputStream out, int chunkSize) throws IOException {
+            for (int offset = 0; offset < count; offset += chunkSize) {
+                out.write(buf, offset, Math.min(chunkSize, count - offset));
+                out.flush();
+            }
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package yehor.epam.utilities;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * GZIP stream like GZIPOutputStream, but with Deflater taken from DeflaterPool and returned on {@link #close()}.
+ * Closing doesn't close the target stream
+ */
+public class PooledGzipOutputStream extends OutputStream {
+    private static final byte[] HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+    private static final int BUFFER_SIZE = 8 * 1024;
+    private final OutputStream out;
+    private final DeflaterPool pool;
+    private final CRC32 crc = new CRC32();
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private Deflater deflater;
+
+    public PooledGzipOutputStream(OutputStream out, DeflaterPool pool) throws IOException {
+        this.out = out;
+        this.pool = pool;
+        this.deflater = pool.acquire();
+        out.write(HEADER);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        write(new byte[]{(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        if (deflater == null) throw new IOException("Stream is closed");
+        if (len == 0) return;
+        crc.update(b, off, len);
+        deflater.setInput(b, off, len);
+        while (!deflater.needsInput()) {
+            deflate(Deflater.NO_FLUSH);
+        }
+    }
+
+    /**
+     * Write all data compressed so far, so client may render it
+     */
+    @Override
+    public void flush() throws IOException {
+        if (deflater == null) return;
+        int length;
+        do {
+            length = deflate(Deflater.SYNC_FLUSH);
+        } while (length == buffer.length);
+        out.flush();
+    }
+
+    /**
+     * Write the rest of data and GZIP trailer, return Deflater to the pool
+     */
+    @Override
+    public void close() throws IOException {
+        if (deflater == null) return;
+        try {
+            deflater.finish();
+            while (!deflater.finished()) {
+                deflate(Deflater.NO_FLUSH);
+            }
+            writeIntLE((int) crc.getValue());
+            writeIntLE((int) deflater.getBytesRead());
+        } finally {
+            pool.release(deflater);
+            deflater = null;
+        }
+    }
+
+    private int deflate(int flush) throws IOException {
+        final int length = deflater.deflate(buffer, 0, buffer.length, flush);
+        if (length > 0) out.write(buffer, 0, length);
+        return length;
+    }
+
+    private void writeIntLE(int value) throws IOException {
+        out.write(value & 0xff);
+        out.write((value >> 8) & 0xff);
+        out.write((value >> 16) & 0xff);
+        out.write((value >> 24) & 0xff);
+    }
+}
@@ -0,0 +1,200 @@
+package yehor.epam.utilities;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpSession;
+import org.slf4j.Logger;
+import yehor.epam.entities.AuthToken;
+import yehor.epam.entities.RefreshToken;
+import yehor.epam.entities.User;
+import yehor.epam.exceptions.ServiceException;
+import yehor.epam.services.AuthTokenService;
+import yehor.epam.services.ServiceContainer;
+import yehor.epam.services.UserService;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static yehor.epam.utilities.constants.OtherConstants.*;
+
+/**
+ * Per-request data resolved once by LocaleFilter from signed token cookie, session and lang parameter:
+ * user role and id, language and Locale. Stored as request attribute and shared by filters and commands.
+ * Login is taken only from the token, so it doesn't need HTTP session. Expired token is refreshed by refresh token
+ * if user's token version in DB is still the same, then the role is taken from DB too
+ */
+public final class RequestContext {
+    private static final Logger logger = LoggerManager.getLogger(RequestContext.class);
+    /**
+     * Locale instances by language, filled up to LOCALE_CACHE_SIZE languages
+     */
+    private static final Map<String, Locale> LOCALES = new ConcurrentHashMap<>();
+
+    private final User.Role role;
+    private final int userId;
+    private final String lang;
+    private final Locale locale;
+    /**
+     * Language was chosen by request parameter and differs from the cookie one
+     */
+    private final boolean langChanged;
+    private final LoginRefresh loginRefresh;
+
+    private RequestContext(User.Role role, int userId, String lang, boolean langChanged, LoginRefresh loginRefresh) {
+        this.role = role;
+        this.userId = userId;
+        this.lang = lang;
+        this.langChanged = langChanged;
+        this.loginRefresh = loginRefresh;
+        this.locale = getLocale(lang);
+    }
+
+    /**
+     * Result of login refreshing, cookies are written by LocaleFilter according to it
+     */
+    public enum LoginRefresh {
+        /**
+         * Auth token is valid or there is no refresh token
+         */
+        NONE,
+        /**
+         * New auth token must be issued
+         */
+        REFRESHED,
+        /**
+         * Refresh token is revoked or user doesn't exist, login cookies must be erased
+         */
+        REVOKED
+    }
+
+    /**
+     * Get context of the request, resolve it on the first call
+     *
+     * @param request HttpServletRequest
+     * @return RequestContext
+     */
+    public static RequestContext get(HttpServletRequest request) {
+        RequestContext context = (RequestContext) request.getAttribute(REQUEST_CONTEXT_ATTRIBUTE);
+        if (context == null) {
+            context = resolve(request);
+            request.setAttribute(REQUEST_CONTEXT_ATTRIBUTE, context);
+        }
+        return context;
+    }
+
+    /**
+     * Get shared Locale of the language
+     *
+     * @param lang language
+     * @return Locale
+     */
+    public static Locale getLocale(String lang) {
+        final Locale locale = LOCALES.get(lang);
+        if (locale != null) return locale;
+        if (LOCALES.size() >= LOCALE_CACHE_SIZE) return new Locale(lang);
+        return LOCALES.computeIfAbsent(lang, Locale::new);
+    }
+
+    private static RequestContext resolve(HttpServletRequest request) {
+        String token = null;
+        String refreshToken = null;
+        String cookieLang = null;
+        final Cookie[] cookies = request.getCookies();
+        if (cookies != null) {
+            for (Cookie cookie : cookies) {
+                final String cookieName = cookie.getName();
+                if (AUTH_TOKEN_COOKIE.equals(cookieName)) token = cookie.getValue();
+                else if (REFRESH_TOKEN_COOKIE.equals(cookieName)) refreshToken = cookie.getValue();
+                else if (LANG.equals(cookieName)) cookieLang = cookie.getValue();
+            }
+        }
+        final AuthTokenService tokenService = ServiceContainer.getInstance().get(AuthTokenService.class);
+        final AuthToken authToken = token == null ? null : tokenService.verifyToken(token);
+        User.Role role = authToken == null ? User.Role.GUEST : authToken.getRole();
+        int userId = authToken == null ? 0 : authToken.getUserId();
+        LoginRefresh loginRefresh = LoginRefresh.NONE;
+        if (authToken == null && refreshToken != null) {
+            final RefreshToken refresh = tokenService.verifyRefreshToken(refreshToken);
+            try {
+                final User user = refresh == null ? null
+                        : ServiceContainer.getInstance().get(UserService.class).getById(refresh.getUserId());
+                if (user == null || user.getTokenVersion() != refresh.getTokenVersion()) {
+                    logger.info("Refresh token is expired or revoked: {}", refresh);
+                    loginRefresh = LoginRefresh.REVOKED;
+                } else {
+                    loginRefresh = LoginRefresh.REFRESHED;
+                    role = user.getUserRole();
+                    userId = user.getId();
+                }
+            } catch (ServiceException e) {
+                // request is served as guest, cookies are kept for the next one
+                logger.error("Couldn't refresh login of user with id: " + refresh.getUserId(), e);
+            }
+        }
+
+        final HttpSession session = request.getSession(false);
+
+        String lang = request.getParameter(LANG);
+        final boolean langChanged = lang != null && !lang.isEmpty() && !lang.equals(cookieLang);
+        if (lang == null || lang.isEmpty()) {
+            final Object sessionLang = session == null ? null : session.getAttribute(LANG);
+            lang = sessionLang != null ? sessionLang.toString() : cookieLang != null ? cookieLang : DEFAULT_LANG;
+        }
+        logger.debug("Resolved request context: role = {}, lang = {}", role, lang);
+        return new RequestContext(role, userId, lang, langChanged, loginRefresh);
+    }
+
+    /**
+     * Copy language to existing session only if it changed, session is never created
+     *
+     * @param request HttpServletRequest
+     */
+    public void syncSession(HttpServletRequest request) {
+        final HttpSession session = request.getSession(false);
+        if (session != null) {
+            setIfChanged(session, LANG, lang);
+        }
+    }
+
+    private static void setIfChanged(HttpSession session, String name, Object value) {
+        if (!Objects.equals(session.getAttribute(name), value)) {
+            session.setAttribute(name, value);
+        }
+    }
+
+    /**
+     * Check if language cookie should be written
+     *
+     * @return true if language was chosen by request parameter and differs from the cookie one
+     */
+    public boolean isLangChanged() {
+        return langChanged;
+    }
+
+    public LoginRefresh getLoginRefresh() {
+        return loginRefresh;
+    }
+
+    public User.Role getRole() {
+        return role;
+    }
+
+    /**
+     * Get id of logged user
+     *
+     * @return user id or 0 for guest
+     */
+    public int getUserId() {
+        return userId;
+    }
+
+    public String getLang() {
+        return lang;
+    }
+
+    public Locale getLocale() {
+        return locale;
+    }
+}
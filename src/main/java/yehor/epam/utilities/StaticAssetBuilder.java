@@ -0,0 +1,149 @@
+package yehor.epam.utilities;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+import static yehor.epam.utilities.constants.OtherConstants.STATIC_ASSET_MANIFEST;
+
+/**
+ * Build step copying CSS and JS files to the assets directory under fingerprinted names
+ * with GZIP copies compressed at the best level, and writing manifest of source path to fingerprinted one.
+ * Minified file is taken instead of the plain one if both exist, source maps aren't copied.
+ * Relative urls in CSS are rebased to the application root.
+ * Run by Maven at prepare-package: {@code StaticAssetBuilder <WEB-INF directory> <assets directory>}
+ */
+public final class StaticAssetBuilder {
+    private static final List<String> ASSET_DIRECTORIES = List.of("css", "js");
+    private static final List<String> ASSET_EXTENSIONS = List.of(".css", ".js");
+    private static final int FINGERPRINT_LENGTH = 10;
+    private static final String GZIP_SUFFIX = ".gz";
+    private static final Pattern RELATIVE_URL = Pattern.compile("url\\((['\"]?)\\./");
+
+    private StaticAssetBuilder() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            throw new IllegalArgumentException("Usage: StaticAssetBuilder <source directory> <target directory>");
+        }
+        final Map<String, String> manifest = build(Paths.get(args[0]), Paths.get(args[1]));
+        System.out.println("Built " + manifest.size() + " static assets in " + args[1]);
+    }
+
+    /**
+     * Build fingerprinted assets
+     *
+     * @param source directory containing css and js directories
+     * @param target assets directory
+     * @return source path to fingerprinted path, both relative to the directories
+     * @throws IOException if reading or writing failed
+     */
+    public static Map<String, String> build(Path source, Path target) throws IOException {
+        final Map<String, String> manifest = new TreeMap<>();
+        for (String directory : ASSET_DIRECTORIES) {
+            final Path sourceDirectory = source.resolve(directory);
+            if (!Files.isDirectory(sourceDirectory)) continue;
+            final Path targetDirectory = target.resolve(directory);
+            Files.createDirectories(targetDirectory);
+            try (Stream<Path> files = Files.list(sourceDirectory)) {
+                for (Path file : (Iterable<Path>) files.sorted()::iterator) {
+                    final String name = file.getFileName().toString();
+                    if (!isAsset(name) || hasMinified(file, name)) continue;
+                    final String fingerprinted = buildAsset(file, name, targetDirectory);
+                    manifest.put(directory + '/' + name, directory + '/' + fingerprinted);
+                }
+            }
+        }
+        writeManifest(manifest, target.resolve(STATIC_ASSET_MANIFEST));
+        return manifest;
+    }
+
+    private static boolean isAsset(String name) {
+        return ASSET_EXTENSIONS.stream().anyMatch(name::endsWith);
+    }
+
+    private static boolean hasMinified(Path file, String name) {
+        if (name.contains(".min.")) return false;
+        final int dot = name.lastIndexOf('.');
+        return Files.exists(file.resolveSibling(name.substring(0, dot) + ".min" + name.substring(dot)));
+    }
+
+    private static String buildAsset(Path file, String name, Path targetDirectory) throws IOException {
+        byte[] content = Files.readAllBytes(file);
+        if (name.endsWith(".css")) content = rebaseUrls(content);
+        final int dot = name.lastIndexOf('.');
+        final String fingerprinted = name.substring(0, dot) + '.' + fingerprint(content) + name.substring(dot);
+        final Path targetFile = targetDirectory.resolve(fingerprinted);
+        Files.write(targetFile, content);
+
+        final byte[] compressed = gzip(content);
+        final Path gzipFile = targetDirectory.resolve(fingerprinted + GZIP_SUFFIX);
+        if (compressed.length < content.length) Files.write(gzipFile, compressed);
+        else Files.deleteIfExists(gzipFile);
+        return fingerprinted;
+    }
+
+    /**
+     * Inlined CSS refers to images relatively to the page at the application root,
+     * asset is served two levels deeper
+     */
+    private static byte[] rebaseUrls(byte[] content) {
+        final String css = new String(content, StandardCharsets.UTF_8);
+        return RELATIVE_URL.matcher(css).replaceAll("url($1../../").getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String fingerprint(byte[] content) {
+        try {
+            final byte[] digest = MessageDigest.getInstance("SHA-256").digest(content);
+            final StringBuilder hex = new StringBuilder();
+            for (byte b : digest) hex.append(String.format("%02x", b));
+            return hex.substring(0, FINGERPRINT_LENGTH);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 isn't supported", e);
+        }
+    }
+
+    private static byte[] gzip(byte[] content) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream(content.length / 4);
+        try (OutputStream out = new GZIPOutputStream(bytes) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            out.write(content);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void writeManifest(Map<String, String> manifest, Path file) throws IOException {
+        Files.createDirectories(file.getParent());
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            for (Map.Entry<String, String> entry : manifest.entrySet()) {
+                writer.write(entry.getKey() + '=' + entry.getValue() + '\n');
+            }
+        }
+    }
+
+    /**
+     * Get gzip copy path of the asset file
+     *
+     * @param file asset file
+     * @return path of gzip copy, which may not exist
+     */
+    public static Path gzipFileOf(Path file) {
+        return file.resolveSibling(file.getFileName() + GZIP_SUFFIX);
+    }
+}
@@ -0,0 +1,142 @@
+package yehor.epam.utilities;
+
+import com.itextpdf.text.*;
+import com.itextpdf.text.pdf.BaseFont;
+import com.itextpdf.text.pdf.PdfPCell;
+import com.itextpdf.text.pdf.PdfPTable;
+import com.itextpdf.text.pdf.PdfWriter;
+import org.slf4j.Logger;
+import yehor.epam.entities.Seat;
+import yehor.epam.entities.Session;
+import yehor.epam.entities.Ticket;
+import yehor.epam.exceptions.PdfException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.text.DecimalFormat;
+import java.util.Locale;
+import java.util.Map;
+import java.util.ResourceBundle;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static yehor.epam.utilities.constants.OtherConstants.FONTS_BAHNSCHRIFT_TTF_PATH;
+
+/**
+ * Engine rendering tickets to PDF.
+ * Font is parsed once, table with localized labels is built once per locale as a template,
+ * rendering a ticket copies the template and fills in only the value cells. Thread-safe
+ */
+public class TicketPdfEngine {
+    /**
+     * Version of ticket layout, must be changed with the layout so that previously rendered tickets aren't reused
+     */
+    public static final int TEMPLATE_VERSION = 1;
+    private static final Logger logger = LoggerManager.getLogger(TicketPdfEngine.class);
+    private static final String[] LABEL_KEYS = {"ticket.pdf.number", "ticket.pdf.film", "ticket.pdf.date",
+            "ticket.pdf.time", "ticket.pdf.rowNo", "ticket.pdf.placeNo", "ticket.pdf.ticketPrice"};
+    private static final String LABEL_SUFFIX = ": ";
+    /**
+     * Max amount of cached templates, locale comes from request, so the amount is limited
+     */
+    private static final int MAX_TEMPLATES = 16;
+    private static final ThreadLocal<DecimalFormat> PRICE_FORMAT = ThreadLocal.withInitial(() -> {
+        DecimalFormat df = new DecimalFormat();
+        df.setMaximumFractionDigits(2);
+        df.setMinimumFractionDigits(0);
+        df.setGroupingUsed(false);
+        return df;
+    });
+
+    private final Font font;
+    private final Map<Locale, PdfPTable> templates = new ConcurrentHashMap<>();
+
+    private TicketPdfEngine() {
+        try {
+            final BaseFont unicode = BaseFont.createFont(FONTS_BAHNSCHRIFT_TTF_PATH, BaseFont.IDENTITY_H, BaseFont.EMBEDDED);
+            font = new Font(unicode, 12);
+        } catch (DocumentException | IOException e) {
+            logger.error("Couldn't set front for PDF", e);
+            throw new PdfException("Couldn't set front for PDF", e);
+        }
+        logger.info("TicketPdfEngine was initialized");
+    }
+
+    private static final class TicketPdfEngineHolder {
+        private static final TicketPdfEngine engine = new TicketPdfEngine();
+    }
+
+    /**
+     * Get application-wide TicketPdfEngine
+     *
+     * @return TicketPdfEngine
+     */
+    public static TicketPdfEngine getInstance() {
+        return TicketPdfEngineHolder.engine;
+    }
+
+    /**
+     * Render ticket to PDF document
+     *
+     * @param ticket       ticket
+     * @param locale       locale of labels
+     * @param outputStream stream for the document, it isn't closed
+     */
+    public void render(Ticket ticket, Locale locale, OutputStream outputStream) {
+        final Session session = ticket.getSession();
+        final Seat seat = ticket.getSeat();
+        final PdfPTable table = new PdfPTable(getTemplate(locale));
+        setValue(table, 0, String.valueOf(ticket.getId()));
+        setValue(table, 1, session.getFilm().getName());
+        setValue(table, 2, session.getDate().toString());
+        setValue(table, 3, session.getTime().toString());
+        setValue(table, 4, String.valueOf(seat.getRowNumber()));
+        setValue(table, 5, String.valueOf(seat.getPlaceNumber()));
+        setValue(table, 6, PRICE_FORMAT.get().format(ticket.getTicketPrice()));
+
+        Document document = new Document();
+        try {
+            final PdfWriter writer = PdfWriter.getInstance(document, outputStream);
+            writer.setCloseStream(false);
+            document.open();
+            document.add(table);
+            document.close();
+        } catch (DocumentException e) {
+            logger.error("Couldn't create pdf ticket", e);
+            throw new PdfException("Couldn't create pdf ticket", e);
+        }
+    }
+
+    private void setValue(PdfPTable table, int row, String value) {
+        table.getRow(row).getCells()[1].setPhrase(new Phrase(value, font));
+    }
+
+    private PdfPTable getTemplate(Locale locale) {
+        final PdfPTable template = templates.get(locale);
+        if (template != null) return template;
+        if (templates.size() >= MAX_TEMPLATES) return createTemplate(locale);
+        return templates.computeIfAbsent(locale, this::createTemplate);
+    }
+
+    /**
+     * Create table with label cells and empty value cells, must not be changed after creation
+     */
+    private PdfPTable createTemplate(Locale locale) {
+        logger.debug("Create PDF template. Lang = {}, country = {}", locale.getLanguage(), locale.getCountry());
+        final ResourceBundle bundle = ResourceBundle.getBundle("i18n", locale);
+        PdfPTable table = new PdfPTable(2);
+        table.setWidthPercentage(100);
+        table.setTotalWidth(PageSize.A4.getWidth() - 25);
+        for (String key : LABEL_KEYS) {
+            PdfPCell lCell = new PdfPCell(new Phrase(bundle.getString(key) + LABEL_SUFFIX, font));
+            lCell.setHorizontalAlignment(Element.ALIGN_LEFT);
+            table.addCell(lCell);
+
+            PdfPCell rCell = new PdfPCell(new Phrase("", font));
+            rCell.setVerticalAlignment(Element.ALIGN_MIDDLE);
+            rCell.setHorizontalAlignment(Element.ALIGN_MIDDLE);
+            rCell.setPaddingRight(5);
+            table.addCell(rCell);
+        }
+        return table;
+    }
+}
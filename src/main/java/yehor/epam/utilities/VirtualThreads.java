@@ -0,0 +1,61 @@
+package yehor.epam.utilities;
+
+import org.slf4j.Logger;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Access to virtual threads of Java 21 from code compiled for Java 17.
+ * Thread builder API is looked up reflectively once, so the application still runs on Java 17
+ */
+public final class VirtualThreads {
+    private static final Logger logger = LoggerManager.getLogger(VirtualThreads.class);
+    private static final Method OF_VIRTUAL = findMethod(Thread.class, "ofVirtual");
+
+    private VirtualThreads() {
+    }
+
+    private static Method findMethod(Class<?> type, String name, Class<?>... parameterTypes) {
+        try {
+            return type.getMethod(name, parameterTypes);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Check if running JVM supports virtual threads
+     *
+     * @return true on Java 21 and later
+     */
+    public static boolean isSupported() {
+        return OF_VIRTUAL != null;
+    }
+
+    /**
+     * Create executor starting new named virtual thread for every task
+     *
+     * @param namePrefix prefix of thread names, thread number is appended
+     * @return ExecutorService
+     * @throws UnsupportedOperationException if virtual threads aren't supported by the JVM
+     */
+    public static ExecutorService newVirtualThreadPerTaskExecutor(String namePrefix) {
+        if (!isSupported()) {
+            throw new UnsupportedOperationException("Virtual threads require Java 21, running " + Runtime.version());
+        }
+        try {
+            final Object builder = OF_VIRTUAL.invoke(null);
+            final Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            final Object namedBuilder = builderType.getMethod("name", String.class, long.class).invoke(builder, namePrefix, 0L);
+            final ThreadFactory factory = (ThreadFactory) builderType.getMethod("factory").invoke(namedBuilder);
+            return (ExecutorService) Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class)
+                    .invoke(null, factory);
+        } catch (ReflectiveOperationException e) {
+            logger.error("Couldn't create virtual thread executor", e);
+            throw new UnsupportedOperationException("Couldn't create virtual thread executor", e);
+        }
+    }
+}
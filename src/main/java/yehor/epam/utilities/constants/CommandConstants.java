@@ -20,6 +20,10 @@ public final class CommandConstants {
      * Command to download ticket
      */
     public static final String COMMAND_DOWNLOAD_PDF_TICKET = "downloadTicket";
+    /**
+     * Command to download all tickets of session in one PDF or ZIP file
+     */
+    public static final String COMMAND_EXPORT_TICKETS = "exportTickets";
 
     // Menu pages
     /**
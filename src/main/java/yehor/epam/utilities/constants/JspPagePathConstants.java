@@ -26,6 +26,7 @@ public final class JspPagePathConstants {
 
     public static final String PAYING_PAGE_PATH = "/WEB-INF/jsp/paying.jsp";
     public static final String SUCCESS_PAID_PAGE_PATH = "/WEB-INF/jsp/successPay.jsp";
+    public static final String WAITING_ROOM_PAGE_PATH = "/WEB-INF/jsp/waitingRoom.jsp";
 
     private JspPagePathConstants() {
     }
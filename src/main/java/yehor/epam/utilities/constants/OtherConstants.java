@@ -1,5 +1,7 @@
 package yehor.epam.utilities.constants;
 
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.time.Duration;
 import java.time.LocalTime;
 import java.util.List;
@@ -17,13 +19,54 @@ public final class OtherConstants {
     public static final String PAGE_SIZE_PARAM = "size";
 
     /**
-     * Param name of user's id in session/cookies
+     * Max amount of films and of film pages kept by FilmCache
+     */
+    public static final int FILM_CACHE_MAX_SIZE = 256;
+    /**
+     * Max amount of HTML fragments kept by FragmentCache
+     */
+    public static final int FRAGMENT_CACHE_MAX_SIZE = 1024;
+    /**
+     * Max amount of schedule pages kept by ScheduleCache
+     */
+    public static final int SCHEDULE_CACHE_MAX_SIZE = 128;
+    /**
+     * Period of reloading genres and seat layout by ReferenceDataRegistry
+     */
+    public static final Duration REFERENCE_DATA_REFRESH_PERIOD = Duration.ofMinutes(30);
+
+    /**
+     * Request attribute name of user's id
      */
     public static final String USER_ID = "userID";
     /**
-     * Param name of user's role in session/cookies
+     * Request attribute name of user's role
      */
     public static final String USER_ROLE = "userRole";
+    /**
+     * Cookie name of signed authentication token
+     */
+    public static final String AUTH_TOKEN_COOKIE = "authToken";
+    /**
+     * Lifetime of authentication token, it carries the role, so it's short and then refreshed by refresh token
+     */
+    public static final Duration AUTH_TOKEN_LIFETIME = Duration.ofMinutes(15);
+    /**
+     * Cookie name of signed refresh token, it's checked against user's token version in DB
+     */
+    public static final String REFRESH_TOKEN_COOKIE = "refreshToken";
+    /**
+     * Lifetime of refresh token if user didn't check Remember me
+     */
+    public static final Duration REFRESH_TOKEN_LIFETIME = Duration.ofHours(12);
+    /**
+     * System property with Base64 HMAC key of authentication tokens, must be the same on all nodes
+     */
+    public static final String AUTH_SECRET_PROPERTY = "cinema.auth.secret";
+    /**
+     * Environment variable with Base64 HMAC key, used if system property isn't set
+     */
+    public static final String AUTH_SECRET_ENV = "CINEMA_AUTH_SECRET";
     /**
      * Param name for set error messages
      */
@@ -37,7 +80,7 @@ public final class OtherConstants {
      */
     public static final LocalTime MAX_SESSION_TIME = LocalTime.parse("22:00");
     /**
-     * Lifetime of Cookie login in seconds, equal to 180 days
+     * Lifetime of Cookie login with Remember me in seconds, equal to 180 days, it keeps only refresh token
      */
     public static final int COOKIE_LOGIN_LIFETIME = (int) Duration.ofDays(180).toSeconds();
     /**
@@ -52,6 +95,93 @@ public final class OtherConstants {
      * Default Language param value
      */
     public static final String DEFAULT_LANG = "uk";
+    /**
+     * Maximal number of languages which Locale instances are cached
+     */
+    public static final int LOCALE_CACHE_SIZE = 16;
+    /**
+     * Session attribute name of PendingOrder
+     */
+    public static final String PENDING_ORDER_ATTRIBUTE = "pendingOrder";
+    /**
+     * Request attribute name of RequestContext
+     */
+    public static final String REQUEST_CONTEXT_ATTRIBUTE = "requestContext";
+    /**
+     * System property choosing shared session store: none (default), file or jdbc
+     */
+    public static final String SESSION_STORE_PROPERTY = "cinema.session.store";
+    /**
+     * System property with directory of file session store, shared by all nodes
+     */
+    public static final String SESSION_STORE_DIR_PROPERTY = "cinema.session.store.dir";
+    /**
+     * Default directory of file session store
+     */
+    public static final Path SESSION_STORE_DEFAULT_DIR = Paths.get(System.getProperty("java.io.tmpdir"), "cinema-sessions");
+    /**
+     * Cookie and session attribute name of the key the session is stored by in shared store
+     */
+    public static final String SHARED_SESSION_KEY = "sharedSession";
+    /**
+     * Delay of writing changed sessions to shared store
+     */
+    public static final Duration SESSION_STORE_FLUSH_PERIOD = Duration.ofSeconds(2);
+    /**
+     * Sessions not written to shared store for this time are removed from it
+     */
+    public static final Duration SESSION_STORE_TTL = Duration.ofHours(24);
+    /**
+     * Period of removing expired sessions from shared store
+     */
+    public static final Duration SESSION_STORE_CLEANUP_PERIOD = Duration.ofHours(1);
+    /**
+     * Request param name of cinema session id
+     */
+    public static final String SESSION_ID_PARAM = "sessionId";
+    /**
+     * Users of one cinema session let in by waiting room at once before the queue starts
+     */
+    public static final int WAITING_ROOM_BURST = 50;
+    /**
+     * Users of one cinema session let in by waiting room per second
+     */
+    public static final int WAITING_ROOM_RELEASE_RATE = 5;
+    /**
+     * Lifetime of waiting room ticket, including time spent in the queue
+     */
+    public static final Duration WAITING_ROOM_TICKET_LIFETIME = Duration.ofHours(2);
+    /**
+     * Prefix of cookie name keeping waiting room ticket, followed by cinema session id
+     */
+    public static final String WAITING_ROOM_COOKIE_PREFIX = "waitingRoom";
+    /**
+     * Seconds between polls of queue position by waiting room page
+     */
+    public static final int WAITING_ROOM_POLL_SECONDS = 5;
+    /**
+     * Name RateLimiter limits joins of waiting room by, as if it was a command
+     */
+    public static final String WAITING_ROOM_JOIN = "joinWaitingRoom";
+    /**
+     * Period in which rate limited command may be called RATE_LIMIT_* times, the limit is refilled evenly
+     */
+    public static final Duration RATE_LIMIT_PERIOD = Duration.ofMinutes(1);
+    public static final int RATE_LIMIT_LOGIN_PER_IP = 20;
+    public static final int RATE_LIMIT_LOGIN_PER_ACCOUNT = 5;
+    public static final int RATE_LIMIT_REGISTER_PER_IP = 5;
+    public static final int RATE_LIMIT_REGISTER_PER_ACCOUNT = 3;
+    public static final int RATE_LIMIT_PURCHASE_PER_IP = 30;
+    public static final int RATE_LIMIT_PURCHASE_PER_ACCOUNT = 10;
+    public static final int RATE_LIMIT_WAITING_ROOM_JOIN_PER_IP = 10;
+    /**
+     * Max amount of token buckets of IPs kept by RateLimiter, idle ones are dropped first on exceeding it
+     */
+    public static final int RATE_LIMIT_MAX_BUCKETS = 100_000;
+    /**
+     * Max amount of token buckets of accounts kept by RateLimiter, apart from buckets of IPs
+     */
+    public static final int RATE_LIMIT_MAX_ACCOUNT_BUCKETS = 50_000;
     /**
      * Default currency param value
      */
@@ -60,6 +190,68 @@ public final class OtherConstants {
      * Path to font for PDF former
      */
     public static final String FONTS_BAHNSCHRIFT_TTF_PATH = "fonts/bahnschrift.ttf";
+    /**
+     * Max amount of pooled buffers for PDF tickets, downloads above it are streamed without Content-Length
+     */
+    public static final int PDF_BUFFER_POOL_SIZE = 16;
+    /**
+     * Initial size of pooled PDF buffer in bytes
+     */
+    public static final int PDF_BUFFER_INITIAL_SIZE = 32 * 1024;
+    /**
+     * Max size of PDF buffer in bytes which is returned to the pool, bigger buffers are dropped
+     */
+    public static final int PDF_BUFFER_MAX_RETAINED_SIZE = 256 * 1024;
+    /**
+     * Size of chunk in bytes written and flushed to response at once
+     */
+    public static final int PDF_RESPONSE_CHUNK_SIZE = 8 * 1024;
+    /**
+     * Content type of PDF files
+     */
+    public static final String PDF_CONTENT_TYPE = "application/pdf";
+    /**
+     * Max amount of rendered PDF tickets kept in memory by RenderedTicketCache
+     */
+    public static final int RENDERED_TICKET_CACHE_MAX_SIZE = 128;
+    /**
+     * Directory of rendered PDF tickets stored on disk by RenderedTicketCache
+     */
+    public static final Path RENDERED_TICKET_CACHE_DIR = Paths.get(System.getProperty("java.io.tmpdir"), "cinema-rendered-tickets");
+    /**
+     * Max amount of rendered PDF tickets kept on disk by RenderedTicketCache
+     */
+    public static final int RENDERED_TICKET_CACHE_MAX_TICKETS = 100_000;
+    /**
+     * Age of rendered PDF ticket after which RenderedTicketCache may delete it from disk
+     */
+    public static final Duration RENDERED_TICKET_CACHE_MAX_AGE = Duration.ofDays(30);
+    /**
+     * Request attribute set by Tomcat if the connector is able to send files by zero-copy transfer
+     */
+    public static final String SENDFILE_SUPPORT_ATTRIBUTE = "org.apache.tomcat.sendfile.support";
+    /**
+     * Request attributes asking Tomcat to send the file range after the servlet returns
+     */
+    public static final String SENDFILE_FILENAME_ATTRIBUTE = "org.apache.tomcat.sendfile.filename";
+    public static final String SENDFILE_START_ATTRIBUTE = "org.apache.tomcat.sendfile.start";
+    public static final String SENDFILE_END_ATTRIBUTE = "org.apache.tomcat.sendfile.end";
+    /**
+     * Content type of ZIP files
+     */
+    public static final String ZIP_CONTENT_TYPE = "application/zip";
+    /**
+     * Amount of threads rendering tickets for export
+     */
+    public static final int TICKET_EXPORT_THREADS = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors()));
+    /**
+     * Max amount of rendered tickets of one export kept in memory before they are written to response
+     */
+    public static final int TICKET_EXPORT_MAX_PENDING = 8;
+    /**
+     * Export format request param
+     */
+    public static final String EXPORT_FORMAT_PARAM = "format";
 
     /**
      * Secret key for Recaptcha
@@ -69,6 +261,28 @@ public final class OtherConstants {
      * URL for Recaptcha
      */
     public static final String CAPTCHA_URL = "https://www.google.com/recaptcha/api/siteverify";
+    /**
+     * System property replacing CAPTCHA_URL, e.g. by URL of a local stub server for tests and benchmarks
+     */
+    public static final String CAPTCHA_URL_PROPERTY = "cinema.captcha.url";
+    /**
+     * Request param with Recaptcha response
+     */
+    public static final String CAPTCHA_RESPONSE_PARAM = "g-recaptcha-response";
+    /**
+     * Timeouts of Recaptcha verification, request timeout lasts until the response headers are received
+     */
+    public static final Duration CAPTCHA_CONNECT_TIMEOUT = Duration.ofSeconds(2);
+    public static final Duration CAPTCHA_REQUEST_TIMEOUT = Duration.ofSeconds(3);
+    /**
+     * Max amount of Recaptcha verifications in flight, the rest of registrations are rejected
+     */
+    public static final int CAPTCHA_MAX_CONCURRENT = 32;
+    /**
+     * Failures of Recaptcha provider in a row opening the circuit and time the provider isn't called then
+     */
+    public static final int CAPTCHA_BREAKER_FAILURES = 5;
+    public static final Duration CAPTCHA_BREAKER_OPEN_DURATION = Duration.ofSeconds(30);
 
     // Constants for Filter and Sorter on Schedule page
     /**
@@ -117,6 +331,96 @@ public final class OtherConstants {
      * Salt length for password encrypt
      */
     public static final int SALT_LENGTH = 30;
+    /**
+     * System property choosing algorithm of new password hashes: pbkdf2-sha1 (default), pbkdf2-sha256 or pbkdf2-sha512
+     */
+    public static final String PASSWORD_HASH_ALGORITHM_PROPERTY = "cinema.password.algorithm";
+    /**
+     * System property with iteration count of new password hashes, pick it by PasswordHashBenchmark for login peak
+     */
+    public static final String PASSWORD_HASH_ITERATIONS_PROPERTY = "cinema.password.iterations";
+    /**
+     * Default cost is the legacy one until it's measured on production hardware. Single-thread PBKDF2 timing on one
+     * vCPU (Xeon, JDK 17) gave per login: pbkdf2-sha1 10000 - 11 ms, pbkdf2-sha256 210000 - 74 ms,
+     * pbkdf2-sha256 600000 - 198 ms, so raising it multiplies CPU taken by login peak by 7-18 times
+     */
+    public static final int PASSWORD_HASH_DEFAULT_ITERATIONS = 10_000;
+    /**
+     * Response header names for conditional GET
+     */
+    public static final String ETAG_HEADER = "ETag";
+    public static final String IF_NONE_MATCH_HEADER = "If-None-Match";
+    public static final String LAST_MODIFIED_HEADER = "Last-Modified";
+    public static final String CACHE_CONTROL_HEADER = "Cache-Control";
+    /**
+     * Header names for response compression
+     */
+    public static final String ACCEPT_ENCODING_HEADER = "Accept-Encoding";
+    public static final String CONTENT_ENCODING_HEADER = "Content-Encoding";
+    public static final String VARY_HEADER = "Vary";
+    public static final String GZIP_ENCODING = "gzip";
+    /**
+     * Responses smaller than this amount of bytes are sent uncompressed
+     */
+    public static final int COMPRESSION_MIN_SIZE = 1024;
+    /**
+     * Deflate level of dynamic responses, lower than the maximal one to save CPU
+     */
+    public static final int COMPRESSION_LEVEL = 6;
+    /**
+     * Max amount of Deflater instances kept for reuse
+     */
+    public static final int DEFLATER_POOL_SIZE = 32;
+    /**
+     * Cache-Control of fingerprinted static assets, their URL changes with content
+     */
+    public static final String STATIC_ASSET_CACHE_CONTROL = "public, max-age=31536000, immutable";
+    /**
+     * URL path of fingerprinted static assets and name of the manifest written by StaticAssetBuilder
+     */
+    public static final String STATIC_ASSET_PATH = "/assets";
+    public static final String STATIC_ASSET_MANIFEST = "assets.properties";
+    /**
+     * Directory of fingerprinted static assets built on startup if the war doesn't contain them
+     */
+    public static final Path STATIC_ASSET_FALLBACK_DIR = Paths.get(System.getProperty("java.io.tmpdir"), "cinema-assets");
+    /**
+     * Application attribute name of map from source asset path to its fingerprinted URL path
+     */
+    public static final String STATIC_ASSETS_ATTRIBUTE = "assets";
+    /**
+     * Response header telling client when to retry request rejected because of overload
+     */
+    public static final String RETRY_AFTER_HEADER = "Retry-After";
+    /**
+     * Status of request rejected by rate limit, HttpServletResponse has no constant for it
+     */
+    public static final int SC_TOO_MANY_REQUESTS = 429;
+    public static final String CONTENT_DISPOSITION_HEADER = "Content-Disposition";
+    /**
+     * Seconds after which client may retry request rejected because of overload
+     */
+    public static final int ASYNC_RETRY_AFTER_SECONDS = 5;
+    /**
+     * Timeout of fast command executed asynchronously in virtual execution mode, ms, the client gets 503 after it
+     */
+    public static final long VIRTUAL_COMMAND_TIMEOUT = 30_000L;
+    /**
+     * System property and key in execution properties choosing CommandExecutionMode
+     */
+    public static final String COMMAND_EXECUTION_PROPERTY = "cinema.command.execution";
+    /**
+     * Properties file with CommandExecutionMode set by build profile
+     */
+    public static final String EXECUTION_PROPERTIES_FILE = "/execution.properties";
+    /**
+     * Properties file with concurrency limits of commands used by AdmissionController
+     */
+    public static final String ADMISSION_PROPERTIES_FILE = "/admission.properties";
+    /**
+     * Request attribute name marking that ETag was set to the response
+     */
+    public static final String CONDITIONAL_GET_ATTRIBUTE = "conditionalGet";
     /**
      * Default name for ticket file name
      */
@@ -40,7 +40,7 @@
 </fmt:bundle>
 
 <ftg:header pageTitle="${pageTitle}"/>
-<ftg:menu userRole="${sessionScope.userRole}"/>
+<ftg:menu userRole="${requestScope.userRole}"/>
 
 <main role="main" class="container">
     <div class="row">
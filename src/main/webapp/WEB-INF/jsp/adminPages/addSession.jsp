@@ -39,10 +39,10 @@
 
 <c:set var="minTime" value="${applicationScope.minSessionTime}"/>
 <c:set var="maxTime" value="${applicationScope.maxSessionTime}"/>
-<c:set var="nowDate" value="${sessionScope.nowDate}"/>
+<c:set var="nowDate" value="${requestScope.nowDate}"/>
 
 <ftg:header pageTitle="${pageTitle}"/>
-<ftg:menu userRole="${sessionScope.userRole}"/>
+<ftg:menu userRole="${requestScope.userRole}"/>
 
 <main role="main" class="container">
     <div class="row">
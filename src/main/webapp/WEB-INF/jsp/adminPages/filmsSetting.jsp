@@ -24,7 +24,7 @@
 </fmt:bundle>
 
 <ftg:header pageTitle="${pageTitle}"/>
-<ftg:menu userRole="${sessionScope.userRole}"/>
+<ftg:menu userRole="${requestScope.userRole}"/>
 
 <main role="main" class="container">
     <div class="row">
@@ -38,7 +38,7 @@
                         <thead>
                         </thead>
                         <tbody>
-                        <jsp:useBean id="filmList" scope="session" type="java.util.List"/>
+                        <jsp:useBean id="filmList" scope="request" type="java.util.List"/>
                         <c:forEach var="film" items="${filmList}" varStatus="counter">
                             <tr>
                                 <td>
@@ -24,6 +24,8 @@
     <fmt:message key="film.genres" var="genres"/>
     <fmt:message key="general.selector.multipleSelectTips" var="selectorTips"/>
     <fmt:message key="film.goToFilmPage" var="filmPage"/>
+    <fmt:message key="ticket.exportSessionPdf" var="exportSessionPdf"/>
+    <fmt:message key="ticket.exportSessionZip" var="exportSessionZip"/>
 </fmt:bundle>
 
 <c:set var="session" value="${requestScope.session}"/>
@@ -32,7 +34,7 @@
 <c:set var="freeSeatList" value="${requestScope.freeSeatList}"/>
 
 <ftg:header pageTitle="${pageTitle}"/>
-<ftg:menu userRole="${sessionScope.userRole}"/>
+<ftg:menu userRole="${requestScope.userRole}"/>
 
 <main class="container" data-new-gr-c-s-check-loaded="14.1062.0" data-gr-ext-installed="">
     <div class="container-fluid">
@@ -61,6 +63,14 @@
                                 </li>
                             </ul>
                             <h4 class="card-text">${ticketPrice}: ${session.ticketPrice} ${currency}</h4>
+                            <form name="sessionTickets" method="get" action="main" target="_blank">
+                                <input type="hidden" name="command" value="exportTickets">
+                                <input type="hidden" name="sessionId" value="${session.id}">
+                                <button type="submit" name="format" value="pdf"
+                                        class="btn btn-outline-primary my-2">${exportSessionPdf}</button>
+                                <button type="submit" name="format" value="zip"
+                                        class="btn btn-outline-secondary my-2">${exportSessionZip}</button>
+                            </form>
                         </div>
                         <div>
                             <h4>${sessionSeat}:</h4>
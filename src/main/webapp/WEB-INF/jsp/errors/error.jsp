@@ -18,7 +18,7 @@
 </fmt:bundle>
 
 <ftg:header pageTitle="${pageTitle}"/>
-<ftg:menu userRole="${sessionScope.userRole}"/>
+<ftg:menu userRole="${requestScope.userRole}"/>
 
 <div class="d-flex justify-content-center align-items-center" id="main" style="background-color: wheat;">
     <h1 class="mr-3 pr-3 align-top border-right inline-block align-content-center">${oops}</h1>
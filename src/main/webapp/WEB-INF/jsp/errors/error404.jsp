@@ -16,7 +16,7 @@
     <fmt:message key="error.goMainPage" var="goMainPage"/>
 </fmt:bundle>
 <ftg:header pageTitle="${pageTitle}"/>
-<ftg:menu userRole="${sessionScope.userRole}"/>
+<ftg:menu userRole="${requestScope.userRole}"/>
 
 <div class="d-flex justify-content-center align-items-center" id="main" style="background-color: wheat;">
     <h1 class="mr-3 pr-3 align-top border-right inline-block align-content-center">404</h1>
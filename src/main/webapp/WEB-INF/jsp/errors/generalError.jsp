@@ -17,7 +17,7 @@
     <fmt:message key="error.smthGoesWrong" var="smthGoesWrong"/>
 </fmt:bundle>
 <ftg:header pageTitle="${pageTitle}"/>
-<ftg:menu userRole="${sessionScope.userRole}"/>
+<ftg:menu userRole="${requestScope.userRole}"/>
 <div class="d-flex justify-content-center align-items-center" id="main" style="background-color: wheat;">
     <h1 class="mr-3 pr-3 align-top border-right inline-block align-content-center">${pageContext.errorData.statusCode}</h1>
     <div class="inline-block align-middle">
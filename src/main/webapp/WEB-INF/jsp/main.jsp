@@ -26,7 +26,7 @@
 <c:url value="/main?command=filmPage" var="filmPage_url"/>
 
 <ftg:header pageTitle="${pageTitle}"/>
-<ftg:menu userRole="${sessionScope.userRole}"/>
+<ftg:menu userRole="${requestScope.userRole}"/>
 
 <div class="container">
     <div class="jumbotron p-3 p-md-5 text-white rounded bg-dark main-carousel">
@@ -49,12 +49,13 @@
                     <thead>
                     </thead>
                     <tbody>
-                    <c:forEach var="film" items="${sessionScope.filmList}" varStatus="counter">
+                    <c:forEach var="film" items="${requestScope.filmList}" varStatus="counter">
                         <c:if test="${counter.index % 2 == 0}">
                             <tr>
                             <td>
                             <div class="row">
                         </c:if>
+                        <mtg:fragmentCache region="filmCard" key="${film.id}" dependsOn="FILM">
                         <div class="col-md-6 p-4 film-post card">
                             <div class="row card-body">
                                 <div class="col-md-4">
@@ -83,6 +84,7 @@
                                 </div>
                             </div>
                         </div>
+                        </mtg:fragmentCache>
 
                         <c:if test="${counter.index %2 != 0 && counter.index != 0}">
                             </div>
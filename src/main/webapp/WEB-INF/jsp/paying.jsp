@@ -30,9 +30,9 @@
 </fmt:bundle>
 
 <ftg:header pageTitle="${pageTitle}"/>
-<ftg:menu userRole="${sessionScope.userRole}"/>
+<ftg:menu userRole="${requestScope.userRole}"/>
 
-<c:set var="ticketList" value="${sessionScope.ticketList}"/>
+<c:set var="ticketList" value="${requestScope.ticketList}"/>
 <c:set var="totalCost" value="${requestScope.totalCost}"/>
 
 
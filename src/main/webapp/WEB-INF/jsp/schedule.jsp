@@ -49,7 +49,7 @@
 </fmt:bundle>
 
 <ftg:header pageTitle="${pageTitle}"/>
-<c:set value="${sessionScope.userRole}" var="userRole"/>
+<c:set value="${requestScope.userRole}" var="userRole"/>
 <ftg:menu userRole="${userRole}"/>
 
 
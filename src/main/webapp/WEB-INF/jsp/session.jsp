@@ -28,7 +28,7 @@
 </fmt:bundle>
 
 <ftg:header pageTitle="${pageTitle}"/>
-<ftg:menu userRole="${sessionScope.userRole}"/>
+<ftg:menu userRole="${requestScope.userRole}"/>
 
 <c:set var="session" value="${requestScope.session}"/>
 <c:set var="film" value="${session.film}"/>
@@ -38,11 +38,12 @@
     <fmt:message key="ticket.date" var="dateTitle"/>
     <fmt:message key="ticket.sendMail" var="sendMail"/>
     <fmt:message key="ticket.downloadTicket" var="downloadTicket"/>
+    <fmt:message key="ticket.exportSessionPdf" var="exportSessionPdf"/>
     <fmt:message key="paying.totalCost" var="totalCostTitle"/>
 </fmt:bundle>
 
 <ftg:header pageTitle="${pageTitle}"/>
-<ftg:menu userRole="${sessionScope.userRole}"/>
+<ftg:menu userRole="${requestScope.userRole}"/>
 
 <c:set var="ticketList" value="${requestScope.ticketList}"/>
 
@@ -99,6 +100,17 @@
                                                                         ${downloadTicket}
                                                                 </button>
                                                             </form>
+                                                            <form name="sessionTicketsPDF" method="get" action="main" target="_blank">
+                                                                <input type="hidden" name="command"
+                                                                       value="exportTickets">
+                                                                <input type="hidden" name="sessionId"
+                                                                       value="${session.id}">
+                                                                <input type="hidden" name="format" value="pdf">
+                                                                <button type="submit"
+                                                                        class="btn btn-lg btn-block btn-outline-primary my-2">
+                                                                        ${exportSessionPdf}
+                                                                </button>
+                                                            </form>
                                                         </div>
                                                     </div>
                                                 </div>
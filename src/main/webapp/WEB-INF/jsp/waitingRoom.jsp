@@ -0,0 +1,45 @@
+<%@ taglib uri="http://java.sun.com/jsp/jstl/core" prefix="c" %>
+<%@ taglib prefix="fmt" uri="http://java.sun.com/jsp/jstl/fmt" %>
+<%@ taglib tagdir="/WEB-INF/tags" prefix="ftg" %>
+
+<fmt:bundle basename="i18n">
+    <fmt:message key="waitingRoom.pageTitle" var="pageTitle"/>
+    <fmt:message key="waitingRoom.title" var="title"/>
+    <fmt:message key="waitingRoom.text" var="text"/>
+    <fmt:message key="waitingRoom.position" var="positionLabel"/>
+</fmt:bundle>
+
+<ftg:header pageTitle="${pageTitle}"/>
+<ftg:menu userRole="${requestScope.userRole}"/>
+<div class="d-flex justify-content-center align-items-center" id="main" style="background-color: wheat;">
+    <h1 class="mr-3 pr-3 align-top border-right inline-block align-content-center">${title}</h1>
+    <div class="inline-block align-middle">
+        <h2 class="font-weight-normal lead">${text}</h2>
+        <h3>${positionLabel}: <span id="queuePosition"><c:out value="${requestScope.queuePosition}"/></span></h3>
+    </div>
+</div>
+<script>
+    (function () {
+        const sessionId = ${requestScope.queueSessionId};
+        const sessionPage = 'main?command=sessionPage&sessionId=' + sessionId;
+        const poll = function () {
+            fetch('waitingRoom?sessionId=' + sessionId, {cache: 'no-store', credentials: 'same-origin'})
+                .then(function (response) {
+                    return response.json();
+                })
+                .then(function (queue) {
+                    // expired ticket is replaced by a new one on the session page
+                    if (queue.admitted || queue.position < 0) {
+                        window.location.href = sessionPage;
+                        return;
+                    }
+                    document.getElementById('queuePosition').textContent = queue.position;
+                    setTimeout(poll, ${requestScope.pollSeconds} * 1000);
+                })
+                .catch(function () {
+                    setTimeout(poll, ${requestScope.pollSeconds} * 1000);
+                });
+        };
+        setTimeout(poll, ${requestScope.pollSeconds} * 1000);
+    })();
+</script>
@@ -253,6 +253,7 @@ CREATE TABLE `users` (
   `phone_number` varchar(13) DEFAULT NULL,
   `notification` tinyint NOT NULL DEFAULT '1',
   `salt` varchar(100) NOT NULL,
+  `token_version` int NOT NULL DEFAULT '0',
   PRIMARY KEY (`user_id`),
   UNIQUE KEY `email_UNIQUE` (`email`),
   KEY `user_role_id_idx` (`role_id`),
@@ -266,7 +267,7 @@ CREATE TABLE `users` (
 
 LOCK TABLES `users` WRITE;
 /*!40000 ALTER TABLE `users` DISABLE KEYS */;
-INSERT INTO `users` VALUES (55,2,'Yehor','Liannyk','admin@test.com','iCXKHlYT6GNwwFby3eWafsE3ib74eTG5MpMOupXJ2Lk=','',1,'5WF5hlyTxUYMEz2NxibYMOUCz0njay'),(57,1,'Max','Bondarenko','user@test.com','WvOaKWhYE58fFWTx91vzFzrROQIcthiayUyMzv75ayo=','380679999999',1,'00sghQaHyIeDSi6x7ryV2zHypQmTRZ');
+INSERT INTO `users` VALUES (55,2,'Yehor','Liannyk','admin@test.com','iCXKHlYT6GNwwFby3eWafsE3ib74eTG5MpMOupXJ2Lk=','',1,'5WF5hlyTxUYMEz2NxibYMOUCz0njay',0),(57,1,'Max','Bondarenko','user@test.com','WvOaKWhYE58fFWTx91vzFzrROQIcthiayUyMzv75ayo=','380679999999',1,'00sghQaHyIeDSi6x7ryV2zHypQmTRZ',0);
 /*!40000 ALTER TABLE `users` ENABLE KEYS */;
 UNLOCK TABLES;
 /*!40103 SET TIME_ZONE=@OLD_TIME_ZONE */;
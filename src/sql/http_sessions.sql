@@ -0,0 +1,11 @@
+--
+-- Shared HTTP session store, used when the application runs with -Dcinema.session.store=jdbc
+--
+
+CREATE TABLE IF NOT EXISTS `http_sessions` (
+  `session_key` varchar(64) NOT NULL,
+  `data` mediumblob NOT NULL,
+  `saved_at` bigint NOT NULL,
+  PRIMARY KEY (`session_key`),
+  KEY `saved_at_http_sessions_idx` (`saved_at`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb3;
@@ -0,0 +1,5 @@
+--
+-- Version of refresh tokens per user, increasing it revokes remember-me logins of the user
+--
+
+ALTER TABLE `users` ADD COLUMN `token_version` int NOT NULL DEFAULT '0';
@@ -0,0 +1,43 @@
+package yehor.epam.actions;
+
+import org.junit.jupiter.api.Test;
+import yehor.epam.entities.User;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static yehor.epam.utilities.constants.CommandConstants.*;
+
+class CommandAccessTableTest {
+    private final CommandAccessTable accessTable = CommandAccessTable.getInstance();
+
+    @Test
+    void guestAccess() {
+        assertTrue(accessTable.isAllowed(User.Role.GUEST, null));
+        assertTrue(accessTable.isAllowed(User.Role.GUEST, COMMAND_LOGIN));
+        assertFalse(accessTable.isAllowed(User.Role.GUEST, COMMAND_BUY_TICKET));
+        assertFalse(accessTable.isAllowed(User.Role.GUEST, COMMAND_ADD_FILM));
+    }
+
+    @Test
+    void userAndAdminAccess() {
+        assertTrue(accessTable.isAllowed(User.Role.USER, COMMAND_BUY_TICKET));
+        assertFalse(accessTable.isAllowed(User.Role.USER, COMMAND_ADD_FILM));
+        assertFalse(accessTable.isAllowed(User.Role.USER, COMMAND_LOGIN));
+        assertTrue(accessTable.isAllowed(User.Role.ADMIN, COMMAND_ADD_FILM));
+        assertTrue(accessTable.isAllowed(User.Role.ADMIN, COMMAND_EXPORT_TICKETS));
+        assertFalse(accessTable.isAllowed(User.Role.ADMIN, COMMAND_BUY_TICKET));
+    }
+
+    @Test
+    void unknownCommandIsDenied() {
+        assertEquals(-1, accessTable.indexOf("unknownCommand"));
+        assertFalse(accessTable.isAllowed(User.Role.ADMIN, "unknownCommand"));
+    }
+
+    @Test
+    void toRole() {
+        assertEquals(User.Role.ADMIN, CommandAccessTable.toRole(User.Role.ADMIN));
+        assertEquals(User.Role.USER, CommandAccessTable.toRole("USER"));
+        assertEquals(User.Role.GUEST, CommandAccessTable.toRole(null));
+        assertEquals(User.Role.GUEST, CommandAccessTable.toRole("SUPERUSER"));
+    }
+}
@@ -25,4 +25,16 @@ class CommandFactoryTest {
         when(request.getParameter(command)).thenReturn(COMMAND_VIEW_MAIN_PAGE);
         Assertions.assertInstanceOf(MainPageCommand.class, factory.defineCommand(request));
     }
-}
\ No newline at end of file
+
+    @Test
+    void defineUnknownCommand() {
+        when(request.getParameter("command")).thenReturn("unknownCommand");
+        Assertions.assertInstanceOf(MainPageCommand.class, factory.defineCommand(request));
+    }
+
+    @Test
+    void defineCommandReturnsSameObject() {
+        when(request.getParameter("command")).thenReturn(COMMAND_VIEW_MAIN_PAGE);
+        Assertions.assertSame(factory.defineCommand(request), factory.defineCommand(request));
+    }
+}
@@ -0,0 +1,101 @@
+package yehor.epam.benchmarks;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Local stand-in of Recaptcha siteverify API for tests and benchmarks. Captcha is passed unless its response
+ * is {@value #FAILING_RESPONSE}, delay and status of answers may be changed at runtime to imitate a slow or
+ * broken provider. Run standalone with {@code java yehor.epam.benchmarks.CaptchaStubServer [port] [delayMillis]}
+ * and start the app with {@code -Dcinema.captcha.url=http://localhost:port/siteverify}
+ */
+public class CaptchaStubServer implements AutoCloseable {
+    public static final String FAILING_RESPONSE = "fail";
+    private static final String PATH = "/siteverify";
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final AtomicInteger requestCount = new AtomicInteger();
+    private volatile long delayMillis;
+    private volatile int statusCode = 200;
+
+    public CaptchaStubServer(int port, int threads) throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        executor = Executors.newFixedThreadPool(threads);
+        server.setExecutor(executor);
+        server.createContext(PATH, this::handle);
+        server.start();
+    }
+
+    public static void main(String[] args) throws IOException {
+        final int port = args.length > 0 ? Integer.parseInt(args[0]) : 8099;
+        final CaptchaStubServer stub = new CaptchaStubServer(port, 64);
+        if (args.length > 1) stub.setDelayMillis(Long.parseLong(args[1]));
+        System.out.println("Captcha stub is listening on " + stub.getUri());
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requestCount.incrementAndGet();
+        final String body;
+        try (InputStream in = exchange.getRequestBody()) {
+            body = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        try {
+            if (delayMillis > 0) TimeUnit.MILLISECONDS.sleep(delayMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        final boolean success = !FAILING_RESPONSE.equals(param(body, "response"));
+        final byte[] answer = ("{\"success\": " + success + "}").getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(statusCode, answer.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(answer);
+        }
+    }
+
+    private static String param(String body, String name) {
+        for (String pair : body.split("&")) {
+            final int index = pair.indexOf('=');
+            if (index > 0 && pair.substring(0, index).equals(name)) {
+                return URLDecoder.decode(pair.substring(index + 1), StandardCharsets.UTF_8);
+            }
+        }
+        return null;
+    }
+
+    public URI getUri() {
+        final InetSocketAddress address = server.getAddress();
+        return URI.create("http://" + address.getHostString() + ":" + address.getPort() + PATH);
+    }
+
+    public int getRequestCount() {
+        return requestCount.get();
+    }
+
+    public void setDelayMillis(long delayMillis) {
+        this.delayMillis = delayMillis;
+    }
+
+    public void setStatusCode(int statusCode) {
+        this.statusCode = statusCode;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
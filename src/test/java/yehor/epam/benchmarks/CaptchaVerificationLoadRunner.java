@@ -0,0 +1,55 @@
+package yehor.epam.benchmarks;
+
+import yehor.epam.services.impl.CaptchaClient;
+import yehor.epam.utilities.CircuitBreaker;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+
+import static yehor.epam.utilities.constants.OtherConstants.*;
+
+/**
+ * Burst of registrations against a slow captcha provider imitated by {@link CaptchaStubServer}, then against
+ * a failing one. Reports how many verifications passed, were rejected by the concurrency limit or the open
+ * circuit, and how many threads the JVM has, which doesn't grow with the burst.
+ * Run with {@code mvn -P benchmark verify}, settings are system properties, e.g. {@code -Dcaptcha.delayMillis=5000}
+ */
+public class CaptchaVerificationLoadRunner {
+    private static final int REQUESTS = Integer.getInteger("captcha.requests", 500);
+    private static final long DELAY_MILLIS = Long.getLong("captcha.delayMillis", 1_000L);
+
+    public static void main(String[] args) throws IOException {
+        try (CaptchaStubServer stub = new CaptchaStubServer(0, CAPTCHA_MAX_CONCURRENT)) {
+            final CaptchaClient client = new CaptchaClient(stub.getUri(), "secret", CAPTCHA_CONNECT_TIMEOUT,
+                    CAPTCHA_REQUEST_TIMEOUT, CAPTCHA_MAX_CONCURRENT,
+                    new CircuitBreaker(CAPTCHA_BREAKER_FAILURES, CAPTCHA_BREAKER_OPEN_DURATION));
+            System.out.printf("%d verifications, provider delay %d ms, limit %d in flight%n",
+                    REQUESTS, DELAY_MILLIS, CAPTCHA_MAX_CONCURRENT);
+            stub.setDelayMillis(DELAY_MILLIS);
+            run("slow provider", client, stub);
+            stub.setDelayMillis(0);
+            stub.setStatusCode(503);
+            run("failing provider", client, stub);
+        }
+    }
+
+    private static void run(String name, CaptchaClient client, CaptchaStubServer stub) {
+        final long verifiedBefore = client.getVerifiedCount();
+        final long rejectedBefore = client.getRejectedCount();
+        final long failedBefore = client.getFailedCount();
+        final int requestsBefore = stub.getRequestCount();
+        final CompletableFuture<?>[] futures = new CompletableFuture<?>[REQUESTS];
+        final long start = System.nanoTime();
+        for (int i = 0; i < REQUESTS; i++) {
+            futures[i] = client.verify("token" + i, null);
+        }
+        final int threadsDuringBurst = Thread.activeCount();
+        CompletableFuture.allOf(futures).exceptionally(e -> null).join();
+        final long millis = (System.nanoTime() - start) / 1_000_000;
+        System.out.printf("%s: %d ms, verified %d, rejected %d, failed %d, provider called %d times, " +
+                        "circuit %s, threads %d%n",
+                name, millis, client.getVerifiedCount() - verifiedBefore, client.getRejectedCount() - rejectedBefore,
+                client.getFailedCount() - failedBefore, stub.getRequestCount() - requestsBefore,
+                client.getCircuitState(), threadsDuringBurst);
+    }
+}
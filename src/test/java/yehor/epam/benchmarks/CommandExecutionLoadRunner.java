@@ -0,0 +1,82 @@
+package yehor.epam.benchmarks;
+
+import yehor.epam.utilities.VirtualThreads;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Side-by-side load test of command execution on platform threads (Tomcat-like pool of 200 threads)
+ * and on virtual threads. Commands are simulated: most of them wait for a connection of a pool of
+ * {@code maxTotal} connections and run a short query, the rest wait for a remote call without connection.
+ * Reports throughput, latency percentiles and connection wait timeouts of both modes.
+ * Virtual mode is skipped on JVM without virtual threads.
+ * Run with {@code mvn -P benchmark verify}, settings are system properties, e.g. {@code -Dload.requests=50000}
+ */
+public class CommandExecutionLoadRunner {
+    private static final int REQUESTS = Integer.getInteger("load.requests", 20_000);
+    private static final int PLATFORM_THREADS = Integer.getInteger("load.platformThreads", 200);
+    private static final int MAX_TOTAL = Integer.getInteger("load.maxTotal", 8);
+    private static final long MAX_WAIT_MILLIS = Long.getLong("load.maxWait", 5_000L);
+    private static final long QUERY_MILLIS = Long.getLong("load.queryMillis", 2L);
+    private static final long REMOTE_CALL_MILLIS = Long.getLong("load.remoteCallMillis", 50L);
+    private static final double REMOTE_CALL_SHARE = 0.3;
+
+    public static void main(String[] args) throws InterruptedException {
+        System.out.printf("%d requests, %d connections, query %d ms, remote call %d ms for %.0f%% of requests%n",
+                REQUESTS, MAX_TOTAL, QUERY_MILLIS, REMOTE_CALL_MILLIS, REMOTE_CALL_SHARE * 100);
+        run("platform", Executors.newFixedThreadPool(PLATFORM_THREADS));
+        if (VirtualThreads.isSupported()) {
+            run("virtual", VirtualThreads.newVirtualThreadPerTaskExecutor("load-virtual-"));
+        } else {
+            System.out.println("virtual: skipped, virtual threads require Java 21, running " + Runtime.version());
+        }
+    }
+
+    private static void run(String mode, ExecutorService executor) throws InterruptedException {
+        final Semaphore connections = new Semaphore(MAX_TOTAL, true);
+        final long[] latencies = new long[REQUESTS];
+        final AtomicInteger poolTimeouts = new AtomicInteger();
+        final CountDownLatch done = new CountDownLatch(REQUESTS);
+        final Random random = new Random(42);
+        final long start = System.nanoTime();
+        for (int i = 0; i < REQUESTS; i++) {
+            final int index = i;
+            final boolean remoteCall = random.nextDouble() < REMOTE_CALL_SHARE;
+            final long submitted = System.nanoTime();
+            executor.execute(() -> {
+                try {
+                    if (remoteCall) {
+                        Thread.sleep(REMOTE_CALL_MILLIS);
+                    } else if (connections.tryAcquire(MAX_WAIT_MILLIS, TimeUnit.MILLISECONDS)) {
+                        try {
+                            Thread.sleep(QUERY_MILLIS);
+                        } finally {
+                            connections.release();
+                        }
+                    } else {
+                        poolTimeouts.incrementAndGet();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    latencies[index] = System.nanoTime() - submitted;
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+        final long elapsed = System.nanoTime() - start;
+        executor.shutdown();
+        Arrays.sort(latencies);
+        System.out.printf("%-8s throughput %8.0f req/s, latency p50 %6.1f ms, p95 %6.1f ms, p99 %6.1f ms, pool timeouts %d%n",
+                mode, REQUESTS / (elapsed / 1e9), percentile(latencies, 50), percentile(latencies, 95),
+                percentile(latencies, 99), poolTimeouts.get());
+    }
+
+    private static double percentile(long[] sorted, int percentile) {
+        return sorted[Math.min(sorted.length - 1, sorted.length * percentile / 100)] / 1e6;
+    }
+}
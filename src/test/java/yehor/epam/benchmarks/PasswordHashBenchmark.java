@@ -0,0 +1,47 @@
+package yehor.epam.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import yehor.epam.utilities.PassEncryptionManager;
+import yehor.epam.utilities.PassEncryptionManager.Algorithm;
+
+import java.util.concurrent.TimeUnit;
+
+import static yehor.epam.utilities.constants.OtherConstants.SALT_LENGTH;
+
+/**
+ * Password hashes per second on one core for every algorithm and cost. Cores taken by login peak are
+ * {@code logins per second / score}, so pick the highest cost leaving enough cores for the rest of the load
+ * and set it by cinema.password.iterations, last results are kept at PASSWORD_HASH_DEFAULT_ITERATIONS.
+ * Run with {@code mvn -P benchmark verify}
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+@Threads(1)
+@State(Scope.Thread)
+public class PasswordHashBenchmark {
+    @Param({"PBKDF2_SHA1", "PBKDF2_SHA256", "PBKDF2_SHA512"})
+    private Algorithm algorithm;
+    @Param({"10000", "210000", "600000"})
+    private int iterations;
+    private PassEncryptionManager manager;
+    private String salt;
+    private String hash;
+
+    @Setup
+    public void setUp() {
+        manager = new PassEncryptionManager(algorithm, iterations);
+        salt = manager.getSaltValue(SALT_LENGTH);
+        hash = manager.generateSecurePassword("correct horse battery staple", salt);
+    }
+
+    /**
+     * Cost of one login, wrong password costs the same
+     */
+    @Benchmark
+    public boolean verify() {
+        return manager.verifyUserPassword("correct horse battery staple", hash, salt);
+    }
+}
@@ -0,0 +1,130 @@
+package yehor.epam.benchmarks;
+
+import yehor.epam.entities.*;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.*;
+
+import static yehor.epam.utilities.constants.OtherConstants.DEF_PAGING_SIZE;
+import static yehor.epam.utilities.constants.OtherConstants.PENDING_ORDER_ATTRIBUTE;
+
+/**
+ * Per-attribute HTTP session footprint of a visitor who opened the main page and the buy ticket page,
+ * before (filmList and ticketList in session) and after (only PendingOrder ids in session).
+ * Retained size is estimated by reflection for 64-bit JVM with compressed oops,
+ * internals of JDK classes which aren't open for reflection are counted shallowly.
+ * Run with {@code mvn -P benchmark verify}
+ */
+public class SessionFootprintReport {
+    private static final int OBJECT_HEADER = 12;
+    private static final int ARRAY_HEADER = 16;
+    private static final int REFERENCE = 4;
+    private static final int TICKETS = 4;
+
+    public static void main(String[] args) {
+        final List<Film> filmList = createFilms(DEF_PAGING_SIZE);
+        final User user = new User(7, "Firstname", "Lastname", "user@example.com",
+                "9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08", "+380501234567",
+                User.Role.USER, true, "c29tZS1yYW5kb20tc2FsdC12YWx1ZQ==");
+        final Session session = new Session(3, BigDecimal.valueOf(150.5), LocalDate.now(), LocalTime.NOON, filmList.get(0), 50);
+        final List<Ticket> ticketList = new ArrayList<>();
+        final int[] seatIds = new int[TICKETS];
+        for (int i = 0; i < TICKETS; i++) {
+            ticketList.add(new Ticket(session, user, new Seat(i + 1, 5, i + 1), session.getTicketPrice()));
+            seatIds[i] = i + 1;
+        }
+
+        final Map<String, Object> before = new LinkedHashMap<>();
+        before.put("filmList", filmList);
+        before.put("ticketList", ticketList);
+        final Map<String, Object> after = new LinkedHashMap<>();
+        after.put(PENDING_ORDER_ATTRIBUTE, new PendingOrder(session.getId(), user.getId(), seatIds));
+
+        System.out.println("Session attributes of one visitor, estimated retained bytes");
+        final long beforeTotal = print("before", before);
+        final long afterTotal = print("after", after);
+        System.out.printf("saved %d bytes per session, %.1f MB per 10 000 sessions%n",
+                beforeTotal - afterTotal, (beforeTotal - afterTotal) * 10_000 / 1024.0 / 1024.0);
+    }
+
+    private static long print(String title, Map<String, Object> attributes) {
+        long total = 0;
+        for (Map.Entry<String, Object> attribute : attributes.entrySet()) {
+            final long size = retainedSize(attribute.getValue(), Collections.newSetFromMap(new IdentityHashMap<>()));
+            System.out.printf("%-7s %-14s %8d%n", title, attribute.getKey(), size);
+            total += size;
+        }
+        System.out.printf("%-7s %-14s %8d%n", title, "total", total);
+        return total;
+    }
+
+    private static List<Film> createFilms(int amount) {
+        final List<Genre> genres = List.of(new Genre(1, "drama"), new Genre(2, "comedy"), new Genre(3, "thriller"));
+        final String description = "Film description ".repeat(40);
+        final List<Film> films = new ArrayList<>();
+        for (int i = 0; i < amount; i++) {
+            films.add(new Film(i, "Film name " + i, description + i, "https://example.com/posters/" + i + ".jpg",
+                    Duration.ofMinutes(120), new ArrayList<>(genres)));
+        }
+        return films;
+    }
+
+    private static long retainedSize(Object object, Set<Object> visited) {
+        if (object == null || !visited.add(object)) return 0;
+        final Class<?> type = object.getClass();
+        if (object instanceof String) {
+            return align(OBJECT_HEADER + REFERENCE + 8) + align(ARRAY_HEADER + ((String) object).length());
+        }
+        if (type.isArray()) {
+            final Class<?> component = type.getComponentType();
+            final int length = Array.getLength(object);
+            long size = align(ARRAY_HEADER + (long) length * fieldSize(component));
+            if (!component.isPrimitive()) {
+                for (int i = 0; i < length; i++) size += retainedSize(Array.get(object, i), visited);
+            }
+            return size;
+        }
+        if (object instanceof Collection && type.getName().startsWith("java.")) {
+            // JDK collections aren't open for reflection: backing array plus elements
+            final Collection<?> collection = (Collection<?>) object;
+            long size = align(OBJECT_HEADER + 2 * REFERENCE + 4) + align(ARRAY_HEADER + (long) collection.size() * REFERENCE);
+            for (Object element : collection) size += retainedSize(element, visited);
+            return size;
+        }
+        long shallow = OBJECT_HEADER;
+        long referenced = 0;
+        for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers())) continue;
+                shallow += fieldSize(field.getType());
+                if (field.getType().isPrimitive() || type.isEnum() || field.getType().isEnum()) continue;
+                if (field.trySetAccessible()) {
+                    try {
+                        referenced += retainedSize(field.get(object), visited);
+                    } catch (IllegalAccessException e) {
+                        // counted shallowly
+                    }
+                }
+            }
+        }
+        return align(shallow) + referenced;
+    }
+
+    private static int fieldSize(Class<?> type) {
+        if (type == long.class || type == double.class) return 8;
+        if (type == int.class || type == float.class) return 4;
+        if (type == short.class || type == char.class) return 2;
+        if (type == byte.class || type == boolean.class) return 1;
+        return REFERENCE;
+    }
+
+    private static long align(long size) {
+        return (size + 7) / 8 * 8;
+    }
+}
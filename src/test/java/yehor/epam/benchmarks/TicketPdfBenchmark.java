@@ -0,0 +1,118 @@
+package yehor.epam.benchmarks;
+
+import com.itextpdf.text.*;
+import com.itextpdf.text.pdf.BaseFont;
+import com.itextpdf.text.pdf.PdfPCell;
+import com.itextpdf.text.pdf.PdfPTable;
+import com.itextpdf.text.pdf.PdfWriter;
+import org.openjdk.jmh.annotations.*;
+import yehor.epam.entities.Film;
+import yehor.epam.entities.Seat;
+import yehor.epam.entities.Session;
+import yehor.epam.entities.Ticket;
+import yehor.epam.utilities.TicketPdfEngine;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.text.DecimalFormat;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Locale;
+import java.util.ResourceBundle;
+import java.util.concurrent.TimeUnit;
+
+import static yehor.epam.utilities.constants.OtherConstants.FONTS_BAHNSCHRIFT_TTF_PATH;
+
+/**
+ * Per-ticket PDF render cost: rendering as it was done before TicketPdfEngine
+ * (font parsed by every service, bundle and DecimalFormat per ticket) against the engine.
+ * Run with {@code mvn -P benchmark verify}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TicketPdfBenchmark {
+    private final Locale locale = new Locale("uk");
+    private Ticket ticket;
+    private TicketPdfEngine engine;
+
+    @Setup
+    public void setUp() {
+        final Film film = new Film(1, "Film name", "description", "poster", Duration.ofMinutes(120));
+        final Session session = new Session(1, BigDecimal.valueOf(150.5), LocalDate.now(), LocalTime.NOON, film, 50);
+        ticket = new Ticket(1, session, null, new Seat(1, 3, 7), session.getTicketPrice());
+        engine = TicketPdfEngine.getInstance();
+    }
+
+    /**
+     * Service created per request, as commands did before
+     */
+    @Benchmark
+    public byte[] legacyRender() throws DocumentException, IOException {
+        return new LegacyRenderer().render(ticket, locale).toByteArray();
+    }
+
+    @Benchmark
+    public byte[] engineRender() {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        engine.render(ticket, locale, outputStream);
+        return outputStream.toByteArray();
+    }
+
+    /**
+     * Copy of the former TicketPdfServiceImpl rendering
+     */
+    private static final class LegacyRenderer {
+        private final Font headFont;
+
+        private LegacyRenderer() throws DocumentException, IOException {
+            headFont = new Font(BaseFont.createFont(FONTS_BAHNSCHRIFT_TTF_PATH, BaseFont.IDENTITY_H, BaseFont.EMBEDDED), 12);
+        }
+
+        private ByteArrayOutputStream render(Ticket ticket, Locale locale) throws DocumentException {
+            Document document = new Document();
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            PdfPTable table = new PdfPTable(2);
+            table.setWidthPercentage(100);
+            table.setTotalWidth(PageSize.A4.getWidth() - 25);
+
+            final Session session = ticket.getSession();
+            final Seat seat = ticket.getSeat();
+            DecimalFormat df = new DecimalFormat();
+            df.setMaximumFractionDigits(2);
+            df.setMinimumFractionDigits(0);
+            df.setGroupingUsed(false);
+            final ResourceBundle bundle = ResourceBundle.getBundle("i18n", locale);
+
+            addRow(bundle.getString("ticket.pdf.number") + ": ", table, String.valueOf(ticket.getId()));
+            addRow(bundle.getString("ticket.pdf.film") + ": ", table, session.getFilm().getName());
+            addRow(bundle.getString("ticket.pdf.date") + ": ", table, session.getDate().toString());
+            addRow(bundle.getString("ticket.pdf.time") + ": ", table, session.getTime().toString());
+            addRow(bundle.getString("ticket.pdf.rowNo") + ": ", table, String.valueOf(seat.getRowNumber()));
+            addRow(bundle.getString("ticket.pdf.placeNo") + ": ", table, String.valueOf(seat.getPlaceNumber()));
+            addRow(bundle.getString("ticket.pdf.ticketPrice") + ": ", table, df.format(ticket.getTicketPrice()));
+
+            PdfWriter.getInstance(document, outputStream);
+            document.open();
+            document.add(table);
+            document.close();
+            return outputStream;
+        }
+
+        private void addRow(String label, PdfPTable table, String value) {
+            PdfPCell lCell = new PdfPCell(new Phrase(label, headFont));
+            lCell.setHorizontalAlignment(Element.ALIGN_LEFT);
+            table.addCell(lCell);
+            PdfPCell rCell = new PdfPCell(new Phrase(value, headFont));
+            rCell.setVerticalAlignment(Element.ALIGN_MIDDLE);
+            rCell.setHorizontalAlignment(Element.ALIGN_MIDDLE);
+            rCell.setPaddingRight(5);
+            table.addCell(rCell);
+        }
+    }
+}
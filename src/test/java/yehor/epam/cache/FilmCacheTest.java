@@ -0,0 +1,62 @@
+package yehor.epam.cache;
+
+import org.junit.jupiter.api.Test;
+import yehor.epam.entities.Film;
+import yehor.epam.entities.Genre;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FilmCacheTest {
+
+    private static Film createFilm(int id) {
+        return new Film(id, "name" + id, "description", "poster", Duration.ofMinutes(90));
+    }
+
+    @Test
+    void lruCacheEvictsLeastRecentlyUsed() {
+        LruCache<Integer, String> cache = new LruCache<>(2);
+        cache.put(1, "one");
+        cache.put(2, "two");
+        cache.get(1);
+        cache.put(3, "three");
+        assertNull(cache.get(2));
+        assertEquals("one", cache.get(1));
+        assertEquals(1, cache.getEvictionCount());
+    }
+
+    @Test
+    void getPageCountsHitsAndMisses() {
+        FilmCache cache = new FilmCache(4);
+        assertNull(cache.getPage(1, 2));
+        cache.putPage(1, 2, List.of(createFilm(1)), cache.getGeneration());
+        assertNotNull(cache.getPage(1, 2));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    void putAfterInvalidateIsIgnored() {
+        FilmCache cache = new FilmCache(4);
+        final long generation = cache.getGeneration();
+        cache.invalidate();
+        cache.put(createFilm(1), generation);
+        assertNull(cache.getById(1));
+    }
+
+    @Test
+    void cachedFilmIsImmutable() {
+        FilmCache cache = new FilmCache(4);
+        final Film film = cache.put(createFilm(1), cache.getGeneration());
+        assertThrows(UnsupportedOperationException.class, () -> film.setName("other"));
+    }
+
+    @Test
+    void snapshotJoinsGenreNames() {
+        Film film = createFilm(1);
+        film.setGenreList(List.of(new Genre(1, "Drama"), new Genre(2, "Comedy")));
+        assertEquals("Drama, Comedy", FilmSnapshot.of(film).getGenreNames());
+    }
+}
@@ -0,0 +1,38 @@
+package yehor.epam.cache;
+
+import org.junit.jupiter.api.Test;
+import yehor.epam.entities.Genre;
+import yehor.epam.entities.Seat;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReferenceDataRegistryTest {
+
+    @Test
+    void notLoadedRegistryReturnsNull() {
+        ReferenceDataRegistry registry = new ReferenceDataRegistry();
+        assertFalse(registry.isLoaded());
+        assertNull(registry.getGenre(1));
+        assertNull(registry.getGenres());
+    }
+
+    @Test
+    void getByIdAfterLoading() {
+        ReferenceDataRegistry registry = new ReferenceDataRegistry();
+        registry.load(List.of(new Genre(1, "drama"), new Genre(3, "comedy")), List.of(new Seat(2, 1, 2)));
+        assertEquals("comedy", registry.getGenre(3).getName());
+        assertNull(registry.getGenre(2));
+        assertNull(registry.getGenre(100));
+        assertEquals(2, registry.getSeat(2).getPlaceNumber());
+        assertEquals(2, registry.getGenreCount());
+    }
+
+    @Test
+    void loadedListsAreUnmodifiable() {
+        ReferenceDataRegistry registry = new ReferenceDataRegistry();
+        registry.load(List.of(new Genre(1, "drama")), List.of());
+        assertThrows(UnsupportedOperationException.class, () -> registry.getGenres().add(new Genre(2, "comedy")));
+    }
+}
@@ -0,0 +1,109 @@
+package yehor.epam.cache;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import yehor.epam.entities.Seat;
+import yehor.epam.entities.Session;
+import yehor.epam.entities.Ticket;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RenderedTicketCacheTest {
+    private static final byte[] CONTENT = {1, 2, 3};
+
+    @TempDir
+    Path directory;
+
+    private static Ticket createTicket(int id, int sessionId) {
+        final Session session = new Session(sessionId, BigDecimal.TEN, LocalDate.now(), LocalTime.NOON, 10);
+        return new Ticket(id, session, null, new Seat(1, 1, 1), BigDecimal.TEN);
+    }
+
+    private static ByteArrayOutputStream content() {
+        final ByteArrayOutputStream content = new ByteArrayOutputStream();
+        content.writeBytes(CONTENT);
+        return content;
+    }
+
+    @Test
+    void putStoresTicketOnDiskAndLoadKeepsItInMemory() throws IOException {
+        RenderedTicketCache cache = new RenderedTicketCache(2, directory);
+        cache.put(createTicket(1, 5), Locale.ENGLISH, content(), cache.getGeneration());
+        assertNull(cache.get(1, Locale.ENGLISH), "ticket gets into memory only when it's requested again");
+        final Path file = cache.getFile(1, Locale.ENGLISH);
+        assertNotNull(file);
+        assertArrayEquals(CONTENT, Files.readAllBytes(file));
+        assertArrayEquals(CONTENT, cache.load(1, Locale.ENGLISH));
+        assertArrayEquals(CONTENT, cache.get(1, Locale.ENGLISH));
+        assertNull(cache.load(1, Locale.CHINESE));
+    }
+
+    @Test
+    void diskTierSurvivesRestart() {
+        RenderedTicketCache cache = new RenderedTicketCache(2, directory);
+        cache.put(createTicket(1, 5), Locale.ENGLISH, content(), cache.getGeneration());
+        RenderedTicketCache restarted = new RenderedTicketCache(2, directory);
+        assertNull(restarted.get(1, Locale.ENGLISH));
+        assertNotNull(restarted.getFile(1, Locale.ENGLISH));
+        assertEquals(1, restarted.getTicketCount());
+    }
+
+    @Test
+    void evictSessionRemovesOnlyItsTickets() {
+        RenderedTicketCache cache = new RenderedTicketCache(4, directory);
+        cache.put(createTicket(1, 5), Locale.ENGLISH, content(), cache.getGeneration());
+        cache.put(createTicket(2, 6), Locale.ENGLISH, content(), cache.getGeneration());
+        cache.load(1, Locale.ENGLISH);
+        cache.load(2, Locale.ENGLISH);
+        cache.evictSession(5);
+        assertNull(cache.get(1, Locale.ENGLISH));
+        assertNull(cache.getFile(1, Locale.ENGLISH));
+        assertFalse(Files.exists(directory.resolve("5")));
+        assertNotNull(cache.get(2, Locale.ENGLISH));
+        assertNotNull(cache.getFile(2, Locale.ENGLISH));
+    }
+
+    @Test
+    void putAfterEvictionIsIgnored() {
+        RenderedTicketCache cache = new RenderedTicketCache(2, directory);
+        final long generation = cache.getGeneration();
+        cache.evictSession(5);
+        cache.put(createTicket(1, 5), Locale.ENGLISH, content(), generation);
+        assertNull(cache.get(1, Locale.ENGLISH));
+        assertNull(cache.getFile(1, Locale.ENGLISH));
+    }
+
+    @Test
+    void expiredTicketsArePurgedWhenDiskIsFull() throws IOException {
+        RenderedTicketCache cache = new RenderedTicketCache(2, 2, Duration.ofDays(1), directory);
+        cache.put(createTicket(1, 5), Locale.ENGLISH, content(), cache.getGeneration());
+        cache.put(createTicket(2, 6), Locale.ENGLISH, content(), cache.getGeneration());
+        Files.setLastModifiedTime(cache.getFile(1, Locale.ENGLISH), FileTime.fromMillis(0));
+        cache.put(createTicket(3, 6), Locale.ENGLISH, content(), cache.getGeneration());
+        assertNull(cache.getFile(1, Locale.ENGLISH));
+        assertFalse(Files.exists(directory.resolve("5")));
+        assertNotNull(cache.getFile(3, Locale.ENGLISH));
+
+        cache.put(createTicket(4, 6), Locale.ENGLISH, content(), cache.getGeneration());
+        assertNull(cache.getFile(4, Locale.ENGLISH), "nothing is expired, so the new ticket isn't stored");
+        assertEquals(2, cache.getTicketCount());
+    }
+
+    @Test
+    void eTagDependsOnTicketAndLocale() {
+        assertEquals(RenderedTicketCache.eTag(1, Locale.ENGLISH), RenderedTicketCache.eTag(1, new Locale("en")));
+        assertNotEquals(RenderedTicketCache.eTag(1, Locale.ENGLISH), RenderedTicketCache.eTag(2, Locale.ENGLISH));
+        assertNotEquals(RenderedTicketCache.eTag(1, Locale.ENGLISH), RenderedTicketCache.eTag(1, new Locale("uk")));
+    }
+}
@@ -0,0 +1,69 @@
+package yehor.epam.cache;
+
+import org.junit.jupiter.api.Test;
+import yehor.epam.entities.Session;
+
+import java.math.BigDecimal;
+import java.time.*;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static yehor.epam.utilities.constants.OtherConstants.*;
+
+class ScheduleCacheTest {
+    private static final LocalDateTime NOW = LocalDateTime.of(2022, 6, 1, 12, 0);
+
+    private static Session createSession(int id, int freeSeats) {
+        return new Session(id, BigDecimal.TEN, NOW.toLocalDate(), NOW.toLocalTime().plusHours(1), freeSeats);
+    }
+
+    private static Clock clockAt(LocalDateTime time) {
+        return Clock.fixed(time.atZone(ZoneId.systemDefault()).toInstant(), ZoneId.systemDefault());
+    }
+
+    @Test
+    void pagesExpireAfterNextSessionStart() {
+        ScheduleCache cache = new ScheduleCache(4, clockAt(NOW));
+        final ScheduleCache.Key key = ScheduleCache.unfilteredKey(1, 2);
+        cache.put(key, List.of(createSession(1, 10)), cache.getGeneration());
+        cache.setNextSessionStart(NOW.plusMinutes(30), cache.getGeneration());
+        assertNotNull(cache.get(key));
+
+        ScheduleCache laterCache = new ScheduleCache(4, clockAt(NOW.plusHours(1)));
+        laterCache.put(key, List.of(createSession(1, 10)), laterCache.getGeneration());
+        laterCache.setNextSessionStart(NOW.plusMinutes(30), laterCache.getGeneration());
+        assertNull(laterCache.get(key));
+    }
+
+    @Test
+    void ticketSoldPatchesFreeSeats() {
+        ScheduleCache cache = new ScheduleCache(4, clockAt(NOW));
+        final ScheduleCache.Key key = ScheduleCache.filteredKey(Map.of(SESSION_SORT_BY_PARAM_NAME, SESSION_SORT_BY_FILM_NAME), 1, 2);
+        cache.put(key, List.of(createSession(1, 10), createSession(2, 10)), cache.getGeneration());
+        final List<Session> renderedList = cache.get(key);
+        cache.onTicketSold(1);
+        final List<Session> sessionList = cache.get(key);
+        assertEquals(9, sessionList.get(0).getSeatsAmount());
+        assertEquals(10, sessionList.get(1).getSeatsAmount());
+        assertEquals(10, renderedList.get(0).getSeatsAmount(), "list given out before isn't changed");
+        assertSame(renderedList.get(1), sessionList.get(1));
+    }
+
+    @Test
+    void ticketSoldRemovesPagesSortedByFreeSeats() {
+        ScheduleCache cache = new ScheduleCache(4, clockAt(NOW));
+        final ScheduleCache.Key key = ScheduleCache.filteredKey(Map.of(SESSION_SORT_BY_PARAM_NAME, SESSION_SORT_BY_SEATS_REMAIN), 1, 2);
+        cache.put(key, List.of(createSession(1, 10)), cache.getGeneration());
+        cache.onTicketSold(1);
+        assertNull(cache.get(key));
+    }
+
+    @Test
+    void equalFilterMapsGiveEqualKeys() {
+        final Map<String, String> map = Map.of(SESSION_SORT_BY_PARAM_NAME, SESSION_SORT_BY_FILM_NAME,
+                SESSION_SORT_METHOD_PARAM_NAME, SESSION_SORT_METHOD_DESC);
+        assertEquals(ScheduleCache.filteredKey(map, 1, 2), ScheduleCache.filteredKey(Map.copyOf(map), 1, 2));
+        assertNotEquals(ScheduleCache.filteredKey(map, 1, 2), ScheduleCache.filteredKey(map, 2, 2));
+    }
+}
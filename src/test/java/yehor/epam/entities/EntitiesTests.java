@@ -50,22 +50,17 @@ public class EntitiesTests {
 
     @Test
     public void GenreTest() {
-        Genre genre = spy(Genre.class);
-        genre.setName("name");
-        verify(genre, times(1)).setName("name");
+        Genre genre = new Genre(1, "name");
         assertEquals("name", genre.getName());
+        assertThrows(UnsupportedOperationException.class, () -> genre.setId(2));
     }
 
     @Test
     public void seatTest() {
-        Seat seat = spy(Seat.class);
-
-        seat.setPlaceNumber(1);
+        Seat seat = new Seat(3, 2, 1);
         assertEquals(1, seat.getPlaceNumber());
-
-        seat.setRowNumber(2);
-        verify(seat, times(1)).setRowNumber(2);
         assertEquals(2, seat.getRowNumber());
+        assertThrows(UnsupportedOperationException.class, () -> seat.setId(4));
     }
 
     @Test
@@ -0,0 +1,132 @@
+package yehor.epam.filters;
+
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import yehor.epam.utilities.DeflaterPool;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static yehor.epam.utilities.constants.OtherConstants.*;
+
+class CompressionFilterTest {
+    private static final int MIN_SIZE = 64;
+    private final DeflaterPool deflaterPool = new DeflaterPool(2, COMPRESSION_LEVEL);
+    private final CompressionFilter filter = new CompressionFilter(deflaterPool, MIN_SIZE);
+    private final HttpServletRequest request = mock(HttpServletRequest.class);
+    private final HttpServletResponse response = mock(HttpServletResponse.class);
+    private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+    private final Map<String, String> headers = new HashMap<>();
+
+    CompressionFilterTest() throws IOException {
+        when(request.getHeader(ACCEPT_ENCODING_HEADER)).thenReturn("gzip, deflate, br");
+        when(response.getCharacterEncoding()).thenReturn("UTF-8");
+        when(response.getStatus()).thenReturn(HttpServletResponse.SC_OK);
+        doAnswer(invocation -> headers.put(invocation.getArgument(0), invocation.getArgument(1)))
+                .when(response).setHeader(anyString(), anyString());
+        when(response.getHeader(anyString())).thenAnswer(invocation -> headers.get(invocation.<String>getArgument(0)));
+        when(response.getOutputStream()).thenReturn(new ServletOutputStream() {
+            @Override
+            public void write(int b) {
+                body.write(b);
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+            }
+        });
+    }
+
+    private void render(String contentType, String content) throws Exception {
+        when(response.getContentType()).thenReturn(contentType);
+        final FilterChain chain = (req, res) -> {
+            res.getWriter().write(content);
+            res.flushBuffer();
+        };
+        filter.doFilter(request, response, chain);
+    }
+
+    @Test
+    void bigPageIsCompressed() throws Exception {
+        final String page = "<html>" + "<div>row</div>".repeat(200) + "</html>";
+        render("text/html;charset=UTF-8", page);
+
+        assertEquals(GZIP_ENCODING, headers.get(CONTENT_ENCODING_HEADER));
+        assertTrue(body.size() < page.length() / 4);
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body.toByteArray()))) {
+            assertEquals(page, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        assertEquals(1, deflaterPool.getFreeCount());
+    }
+
+    @Test
+    void smallPageIsSentAsIs() throws Exception {
+        render("text/html;charset=UTF-8", "<p>ok</p>");
+
+        assertNull(headers.get(CONTENT_ENCODING_HEADER));
+        assertEquals("<p>ok</p>", body.toString(StandardCharsets.UTF_8));
+        verify(response).setContentLength(9);
+        assertEquals(0, deflaterPool.getFreeCount());
+    }
+
+    @Test
+    void otherContentIsNotTouched() throws Exception {
+        final String content = "%PDF".repeat(100);
+        render(PDF_CONTENT_TYPE, content);
+
+        assertNull(headers.get(CONTENT_ENCODING_HEADER));
+        assertEquals(content, body.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void pageOfAsyncCommandIsFinishedOnComplete() throws Exception {
+        final String page = "<html>" + "<div>row</div>".repeat(200) + "</html>";
+        final AsyncContext asyncContext = mock(AsyncContext.class);
+        when(request.isAsyncStarted()).thenReturn(true);
+        when(request.getAsyncContext()).thenReturn(asyncContext);
+        when(response.getContentType()).thenReturn("text/html;charset=UTF-8");
+        final FilterChain chain = (req, res) -> res.getWriter().write(page);
+        filter.doFilter(request, response, chain);
+
+        final ArgumentCaptor<AsyncListener> listener = ArgumentCaptor.forClass(AsyncListener.class);
+        verify(asyncContext).addListener(listener.capture());
+        assertEquals(0, body.size());
+        listener.getValue().onComplete(new AsyncEvent(asyncContext));
+
+        assertEquals(GZIP_ENCODING, headers.get(CONTENT_ENCODING_HEADER));
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body.toByteArray()))) {
+            assertEquals(page, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        assertEquals(1, deflaterPool.getFreeCount());
+    }
+
+    @Test
+    void acceptsGzip() {
+        assertTrue(CompressionFilter.acceptsGzip("gzip"));
+        assertTrue(CompressionFilter.acceptsGzip("br;q=1.0, GZIP;q=0.5"));
+        assertFalse(CompressionFilter.acceptsGzip("gzip;q=0"));
+        assertFalse(CompressionFilter.acceptsGzip("deflate, br"));
+        assertFalse(CompressionFilter.acceptsGzip(null));
+    }
+}
@@ -0,0 +1,46 @@
+package yehor.epam.services;
+
+import org.junit.jupiter.api.Test;
+import yehor.epam.services.impl.PaginationServiceImpl;
+
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ServiceContainerTest {
+    private final ServiceContainer container = ServiceContainer.getInstance();
+
+    @Test
+    void getReturnsSharedInstance() {
+        assertSame(container.get(PaginationService.class), container.get(PaginationService.class));
+    }
+
+    @Test
+    void getUnregisteredServiceThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> container.get(Runnable.class));
+    }
+
+    @Test
+    void concurrentGetCreatesOneInstance() throws Exception {
+        container.register(PaginationService.class, PaginationServiceImpl::new);
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            final CountDownLatch start = new CountDownLatch(1);
+            final List<Future<PaginationService>> futures = IntStream.range(0, 8)
+                    .mapToObj(i -> executor.submit(() -> {
+                        start.await();
+                        return container.get(PaginationService.class);
+                    }))
+                    .collect(Collectors.toList());
+            start.countDown();
+            for (Future<PaginationService> future : futures) {
+                assertSame(container.get(PaginationService.class), future.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
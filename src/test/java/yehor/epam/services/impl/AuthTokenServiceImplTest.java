@@ -0,0 +1,79 @@
+package yehor.epam.services.impl;
+
+import org.junit.jupiter.api.Test;
+import yehor.epam.entities.AuthToken;
+import yehor.epam.entities.RefreshToken;
+import yehor.epam.entities.User;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuthTokenServiceImplTest {
+    private static final byte[] KEY = "0123456789abcdef0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+    private static final Instant NOW = Instant.parse("2023-01-01T10:00:00Z");
+    private final AuthTokenServiceImpl service = new AuthTokenServiceImpl(KEY, Clock.fixed(NOW, ZoneOffset.UTC));
+
+    @Test
+    void issuedTokenIsVerified() {
+        final String token = service.issueToken(42, User.Role.ADMIN, Duration.ofHours(1));
+        final AuthToken authToken = service.verifyToken(token);
+        assertNotNull(authToken);
+        assertEquals(42, authToken.getUserId());
+        assertEquals(User.Role.ADMIN, authToken.getRole());
+        assertEquals(NOW.plus(Duration.ofHours(1)), authToken.getExpiresAt());
+    }
+
+    @Test
+    void tokenIsVerifiedByAnotherNodeWithSameKey() {
+        final String token = service.issueToken(42, User.Role.USER, Duration.ofHours(1));
+        final AuthTokenServiceImpl otherNode = new AuthTokenServiceImpl(KEY.clone(), Clock.fixed(NOW, ZoneOffset.UTC));
+        assertNotNull(otherNode.verifyToken(token));
+    }
+
+    @Test
+    void tamperedTokenIsRejected() {
+        final String token = service.issueToken(42, User.Role.USER, Duration.ofHours(1));
+        final String payload = java.util.Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(("1:42:ADMIN:" + NOW.plusSeconds(3600).getEpochSecond()).getBytes(StandardCharsets.US_ASCII));
+        assertNull(service.verifyToken(payload + token.substring(token.indexOf('.'))));
+        final byte[] otherKey = KEY.clone();
+        otherKey[0]++;
+        assertNull(new AuthTokenServiceImpl(otherKey, Clock.fixed(NOW, ZoneOffset.UTC)).verifyToken(token));
+    }
+
+    @Test
+    void expiredTokenIsRejected() {
+        final String token = service.issueToken(42, User.Role.USER, Duration.ofMinutes(5));
+        final AuthTokenServiceImpl later = new AuthTokenServiceImpl(KEY, Clock.fixed(NOW.plus(Duration.ofMinutes(5)), ZoneOffset.UTC));
+        assertNull(later.verifyToken(token));
+    }
+
+    @Test
+    void malformedTokenIsRejected() {
+        assertNull(service.verifyToken(null));
+        assertNull(service.verifyToken(""));
+        assertNull(service.verifyToken("no-dot"));
+        assertNull(service.verifyToken("###.@@@"));
+    }
+
+    @Test
+    void refreshTokenIsVerified() {
+        final String token = service.issueRefreshToken(42, 3, Duration.ofDays(180));
+        final RefreshToken refreshToken = service.verifyRefreshToken(token);
+        assertNotNull(refreshToken);
+        assertEquals(42, refreshToken.getUserId());
+        assertEquals(3, refreshToken.getTokenVersion());
+        assertEquals(NOW.plus(Duration.ofDays(180)), refreshToken.getExpiresAt());
+    }
+
+    @Test
+    void tokenKindsAreNotInterchangeable() {
+        assertNull(service.verifyRefreshToken(service.issueToken(42, User.Role.ADMIN, Duration.ofHours(1))));
+        assertNull(service.verifyToken(service.issueRefreshToken(42, 0, Duration.ofHours(1))));
+    }
+}
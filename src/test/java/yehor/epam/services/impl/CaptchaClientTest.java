@@ -0,0 +1,69 @@
+package yehor.epam.services.impl;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import yehor.epam.benchmarks.CaptchaStubServer;
+import yehor.epam.exceptions.VerifyException;
+import yehor.epam.utilities.CircuitBreaker;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CaptchaClientTest {
+    private CaptchaStubServer stub;
+    private CaptchaClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        stub = new CaptchaStubServer(0, 4);
+        client = new CaptchaClient(stub.getUri(), "secret", Duration.ofSeconds(1), Duration.ofMillis(500), 2,
+                new CircuitBreaker(2, Duration.ofMinutes(1)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        stub.close();
+    }
+
+    private static void assertVerifyException(CompletableFuture<Boolean> future) {
+        final CompletionException e = assertThrows(CompletionException.class, future::join);
+        assertInstanceOf(VerifyException.class, e.getCause());
+    }
+
+    @Test
+    void verify() {
+        assertTrue(client.verify("token", "10.0.0.1").join());
+        assertFalse(client.verify(CaptchaStubServer.FAILING_RESPONSE, null).join());
+        assertEquals(1, client.getVerifiedCount());
+        assertEquals(1, client.getNotVerifiedCount());
+        assertEquals(0, client.getInFlightCount());
+    }
+
+    @Test
+    void slowProviderIsLimitedAndTimedOut() {
+        stub.setDelayMillis(2_000);
+        final CompletableFuture<Boolean> first = client.verify("token", null);
+        final CompletableFuture<Boolean> second = client.verify("token", null);
+        assertVerifyException(client.verify("token", null));
+        assertEquals(1, client.getRejectedCount());
+        assertVerifyException(first);
+        assertVerifyException(second);
+        assertEquals(2, client.getFailedCount());
+    }
+
+    @Test
+    void failingProviderOpensCircuit() {
+        stub.setStatusCode(500);
+        assertVerifyException(client.verify("token", null));
+        assertVerifyException(client.verify("token", null));
+        assertEquals("OPEN", client.getCircuitState());
+        assertVerifyException(client.verify("token", null));
+        assertEquals(2, stub.getRequestCount(), "provider isn't called while circuit is open");
+        assertEquals(1, client.getRejectedCount());
+    }
+}
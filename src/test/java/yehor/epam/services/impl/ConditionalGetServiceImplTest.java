@@ -0,0 +1,75 @@
+package yehor.epam.services.impl;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import yehor.epam.cache.ScheduleCache;
+import yehor.epam.services.ConditionalGetService;
+import yehor.epam.services.DataVersionService;
+import yehor.epam.services.DataVersionService.DataType;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+import static yehor.epam.utilities.constants.CommandConstants.*;
+import static yehor.epam.utilities.constants.OtherConstants.ETAG_HEADER;
+import static yehor.epam.utilities.constants.OtherConstants.IF_NONE_MATCH_HEADER;
+
+class ConditionalGetServiceImplTest {
+    private DataVersionService dataVersionService;
+    private ConditionalGetService conditionalGetService;
+    private HttpServletRequest request;
+
+    @BeforeEach
+    void setup() {
+        dataVersionService = new DataVersionServiceImpl();
+        conditionalGetService = new ConditionalGetServiceImpl(dataVersionService, new ScheduleCache(1));
+        request = mock(HttpServletRequest.class);
+        when(request.getMethod()).thenReturn("GET");
+        when(request.getParameter("command")).thenReturn(COMMAND_VIEW_MAIN_PAGE);
+    }
+
+    private String getETag() {
+        HttpServletResponse response = mock(HttpServletResponse.class);
+        conditionalGetService.isNotModified(request, response);
+        ArgumentCaptor<String> eTag = ArgumentCaptor.forClass(String.class);
+        verify(response).setHeader(eq(ETAG_HEADER), eTag.capture());
+        return eTag.getValue();
+    }
+
+    @Test
+    void notModifiedWhenETagMatches() {
+        final String eTag = getETag();
+        when(request.getHeader(IF_NONE_MATCH_HEADER)).thenReturn(eTag);
+        HttpServletResponse response = mock(HttpServletResponse.class);
+        assertTrue(conditionalGetService.isNotModified(request, response));
+        verify(response).setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+    }
+
+    @Test
+    void modifiedAfterFilmWriting() {
+        final String eTag = getETag();
+        when(request.getHeader(IF_NONE_MATCH_HEADER)).thenReturn(eTag);
+        dataVersionService.increment(DataType.FILM);
+        assertFalse(conditionalGetService.isNotModified(request, mock(HttpServletResponse.class)));
+    }
+
+    @Test
+    void mainPageNotModifiedAfterTicketSelling() {
+        final String eTag = getETag();
+        when(request.getHeader(IF_NONE_MATCH_HEADER)).thenReturn(eTag);
+        dataVersionService.increment(DataType.TICKET);
+        assertTrue(conditionalGetService.isNotModified(request, mock(HttpServletResponse.class)));
+    }
+
+    @Test
+    void writeCommandIsNotConditional() {
+        when(request.getParameter("command")).thenReturn(COMMAND_BUY_TICKET);
+        when(request.getHeader(IF_NONE_MATCH_HEADER)).thenReturn("*");
+        HttpServletResponse response = mock(HttpServletResponse.class);
+        assertFalse(conditionalGetService.isNotModified(request, response));
+        verifyNoInteractions(response);
+    }
+}
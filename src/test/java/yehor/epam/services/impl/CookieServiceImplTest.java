@@ -0,0 +1,50 @@
+package yehor.epam.services.impl;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import yehor.epam.entities.User;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+import static yehor.epam.utilities.constants.OtherConstants.*;
+
+class CookieServiceImplTest {
+    private static final byte[] KEY = "0123456789abcdef0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+    private final CookieServiceImpl cookieService = new CookieServiceImpl(new AuthTokenServiceImpl(KEY, Clock.systemUTC()));
+
+    @Test
+    void rememberedLoginKeepsOnlyRefreshToken() {
+        final HttpServletResponse response = mock(HttpServletResponse.class);
+        final User user = new User(7, "first", "last", "user@mail.com", null, false, null);
+        cookieService.loginCookie(response, user, "on");
+        final ArgumentCaptor<String> headers = ArgumentCaptor.forClass(String.class);
+        verify(response, times(2)).addHeader(eq("Set-Cookie"), headers.capture());
+        final List<String> cookies = headers.getAllValues();
+        assertTrue(cookies.get(0).startsWith(AUTH_TOKEN_COOKIE + '='));
+        assertFalse(cookies.get(0).contains("Max-Age"), "auth token is a browser session cookie");
+        assertTrue(cookies.get(1).startsWith(REFRESH_TOKEN_COOKIE + '='));
+        assertTrue(cookies.get(1).contains("Max-Age=" + COOKIE_LOGIN_LIFETIME));
+        for (String cookie : cookies) {
+            assertTrue(cookie.endsWith("; HttpOnly; Secure; SameSite=Lax"));
+        }
+    }
+
+    @Test
+    void logoutErasesBothTokens() {
+        final HttpServletRequest request = mock(HttpServletRequest.class);
+        final HttpServletResponse response = mock(HttpServletResponse.class);
+        when(request.getCookies()).thenReturn(new Cookie[]{new Cookie(AUTH_TOKEN_COOKIE, "a"),
+                new Cookie(REFRESH_TOKEN_COOKIE, "r"), new Cookie(LANG, "en")});
+        cookieService.logoutCookie(request, response);
+        verify(response).addHeader("Set-Cookie", AUTH_TOKEN_COOKIE + "=; Max-Age=0; HttpOnly; Secure; SameSite=Lax");
+        verify(response).addHeader("Set-Cookie", REFRESH_TOKEN_COOKIE + "=; Max-Age=0; HttpOnly; Secure; SameSite=Lax");
+        verify(response, never()).addCookie(any());
+    }
+}
@@ -3,8 +3,10 @@ package yehor.epam.services.impl;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.MockedStatic;
+import yehor.epam.cache.FilmCache;
 import yehor.epam.dao.FilmDao;
 import yehor.epam.dao.factories.DaoFactory;
 import yehor.epam.dao.factories.DaoFactoryDeliver;
@@ -13,6 +15,7 @@ import yehor.epam.exceptions.DaoException;
 import yehor.epam.exceptions.ServiceException;
 import yehor.epam.services.FilmService;
 
+import java.time.Duration;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -43,9 +46,19 @@ class FilmServiceImplTest {
         factoryDeliver.close();
     }
 
+    @BeforeEach
+    void cleanCache() {
+        FilmCache.getInstance().invalidate();
+        clearInvocations(filmDao);
+    }
+
+    private static Film createFilm(int id) {
+        return new Film(id, "name" + id, "description", "poster", Duration.ofMinutes(90));
+    }
+
     @Test
     void getAll() throws ServiceException, DaoException {
-        List<Film> filmList = mock(List.class);
+        List<Film> filmList = List.of(createFilm(1), createFilm(2));
         when(filmDao.findAll()).thenReturn(filmList);
         final List<Film> all = filmService.getAll();
         Assertions.assertFalse(all.isEmpty());
@@ -53,10 +66,10 @@ class FilmServiceImplTest {
 
     @Test
     void getAllPaginated() throws DaoException, ServiceException {
-        List<Film> filmList = mock(List.class);
+        List<Film> filmList = List.of(createFilm(1));
 
         when(filmDao.findAll(anyInt(), anyInt())).thenReturn(filmList);
-        final List<Film> all = filmService.getAll(anyInt(), anyInt());
+        final List<Film> all = filmService.getAll(1, 1);
 
         Assertions.assertNotNull(all);
         Assertions.assertFalse(all.isEmpty());
@@ -64,12 +77,30 @@ class FilmServiceImplTest {
 
     @Test
     void getAllPaginatedPageBiggerOne() throws DaoException, ServiceException {
-        List<Film> filmList = mock(List.class);
+        List<Film> filmList = List.of(createFilm(2));
         when(filmDao.findAll(2, 1)).thenReturn(filmList);
         final List<Film> all = filmService.getAll(2, 1);
         Assertions.assertFalse(all.isEmpty());
     }
 
+    @Test
+    void getAllPaginatedTwiceReadsDbOnce() throws DaoException, ServiceException {
+        when(filmDao.findAll(anyInt(), anyInt())).thenReturn(List.of(createFilm(1)));
+        filmService.getAll(1, 1);
+        final List<Film> all = filmService.getAll(1, 1);
+        assertEquals(1, all.get(0).getId());
+        verify(filmDao, times(1)).findAll(anyInt(), anyInt());
+    }
+
+    @Test
+    void saveFilmInvalidatesCache() throws DaoException, ServiceException {
+        when(filmDao.findAll()).thenReturn(List.of(createFilm(1)));
+        filmService.getAll();
+        filmService.save(createFilm(2));
+        filmService.getAll();
+        verify(filmDao, times(2)).findAll();
+    }
+
     @Test
     void countTotalPages() throws DaoException, ServiceException {
         when(filmDao.countTotalRow()).thenReturn(4);
@@ -93,9 +124,10 @@ class FilmServiceImplTest {
 
     @Test
     void getFilmById() throws ServiceException, DaoException {
-        Film film = mock(Film.class);
+        Film film = createFilm(1);
         when(filmDao.findById(1)).thenReturn(film);
         final Film filmById = filmService.getById(1);
-        assertEquals(film, filmById);
+        assertEquals(film.getId(), filmById.getId());
+        assertEquals(film.getName(), filmById.getName());
     }
 }
\ No newline at end of file
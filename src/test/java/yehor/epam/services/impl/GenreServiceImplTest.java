@@ -5,6 +5,7 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.mockito.MockedStatic;
+import yehor.epam.cache.ReferenceDataRegistry;
 import yehor.epam.dao.GenreDAO;
 import yehor.epam.dao.factories.DaoFactory;
 import yehor.epam.dao.factories.DaoFactoryDeliver;
@@ -74,4 +75,15 @@ class GenreServiceImplTest {
         Assertions.assertNotNull(all);
         Assertions.assertFalse(all.isEmpty());
     }
+
+    @Test
+    void getGenreListByIdArrayFromRegistry() throws DaoException, ServiceException {
+        ReferenceDataRegistry registry = new ReferenceDataRegistry();
+        registry.load(List.of(new Genre(2, "drama")), List.of());
+        GenreService registryGenreService = new GenreServiceImpl(registry);
+        clearInvocations(genreDao);
+        final List<Genre> list = registryGenreService.getGenreListByIdArray(new String[]{"2"});
+        Assertions.assertEquals("drama", list.get(0).getName());
+        verify(genreDao, never()).findById(anyInt());
+    }
 }
\ No newline at end of file
@@ -5,6 +5,7 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.mockito.MockedStatic;
+import yehor.epam.cache.ReferenceDataRegistry;
 import yehor.epam.dao.FilmDao;
 import yehor.epam.dao.SeatDao;
 import yehor.epam.dao.factories.DaoFactory;
@@ -100,4 +101,15 @@ class SeatServiceImplTest {
         final boolean seatFreeBySessionId = seatService.isSeatFreeBySessionId(seatId, sessionId);
         Assertions.assertFalse(seatFreeBySessionId);
     }
-}
+
+    @Test
+    void getAllFromRegistry() throws DaoException, ServiceException {
+        ReferenceDataRegistry registry = new ReferenceDataRegistry();
+        registry.load(List.of(), List.of(new Seat(1, 1, 1), new Seat(2, 1, 2)));
+        SeatService registrySeatService = new SeatServiceImpl(registry);
+        clearInvocations(seatDao);
+        final List<Seat> all = registrySeatService.getAll();
+        Assertions.assertEquals(2, all.size());
+        verify(seatDao, never()).findAll();
+    }
+}
\ No newline at end of file
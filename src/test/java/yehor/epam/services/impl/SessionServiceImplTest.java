@@ -3,8 +3,10 @@ package yehor.epam.services.impl;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.MockedStatic;
+import yehor.epam.cache.ScheduleCache;
 import yehor.epam.dao.SessionDao;
 import yehor.epam.dao.factories.DaoFactory;
 import yehor.epam.dao.factories.DaoFactoryDeliver;
@@ -45,6 +47,12 @@ class SessionServiceImplTest {
         factoryDeliver.close();
     }
 
+    @BeforeEach
+    void cleanCache() {
+        ScheduleCache.getInstance().invalidate();
+        clearInvocations(sessionDao);
+    }
+
     @Test
     void getById() throws DaoException, ServiceException {
         Session session = mock(Session.class);
@@ -110,4 +118,23 @@ class SessionServiceImplTest {
         final Map<String, String> map = sessionService.getFilterSortMapFromParams(paramMap);
         Assertions.assertFalse(map.isEmpty());
     }
+
+    @Test
+    void getFilteredAndSortedTwiceReadsDbOnce() throws DaoException, ServiceException {
+        Map<String, String> filterSortMap = Map.of(SESSION_SORT_BY_PARAM_NAME, SESSION_SORT_BY_FILM_NAME);
+        when(sessionDao.findFilteredAndSortedSessionList(anyMap(), anyInt(), anyInt())).thenReturn(List.of(new Session()));
+        sessionService.getFilteredAndSorted(filterSortMap, 1, 2);
+        final List<Session> list = sessionService.getFilteredAndSorted(new HashMap<>(filterSortMap), 1, 2);
+        assertEquals(1, list.size());
+        verify(sessionDao, times(1)).findFilteredAndSortedSessionList(anyMap(), anyInt(), anyInt());
+    }
+
+    @Test
+    void addSessionInvalidatesCache() throws DaoException, ServiceException {
+        when(sessionDao.countTotalRow()).thenReturn(4);
+        sessionService.countTotalPages(2);
+        sessionService.save(mock(Session.class));
+        sessionService.countTotalPages(2);
+        verify(sessionDao, times(2)).countTotalRow();
+    }
 }
\ No newline at end of file
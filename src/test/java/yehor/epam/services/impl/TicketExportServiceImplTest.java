@@ -0,0 +1,113 @@
+package yehor.epam.services.impl;
+
+import com.itextpdf.text.pdf.PdfReader;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import yehor.epam.entities.Film;
+import yehor.epam.entities.Seat;
+import yehor.epam.entities.Session;
+import yehor.epam.entities.Ticket;
+import yehor.epam.exceptions.EmptyListException;
+import yehor.epam.services.TicketExportService;
+import yehor.epam.services.TicketExportService.Format;
+import yehor.epam.utilities.TicketPdfEngine;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class TicketExportServiceImplTest {
+    private static ExecutorService executor;
+    private static TicketExportService exportService;
+
+    @BeforeAll
+    static void setup() {
+        executor = Executors.newFixedThreadPool(2);
+        exportService = new TicketExportServiceImpl(TicketPdfEngine.getInstance(), executor, 2);
+    }
+
+    @AfterAll
+    static void clean() {
+        executor.shutdownNow();
+    }
+
+    private static List<Ticket> createTickets(int amount) {
+        final Film film = new Film(1, "name", "description", "poster", Duration.ofMinutes(90));
+        final Session session = new Session(1, BigDecimal.TEN, LocalDate.now(), LocalTime.NOON, film, 10);
+        List<Ticket> ticketList = new ArrayList<>();
+        for (int i = 1; i <= amount; i++) {
+            ticketList.add(new Ticket(i, session, null, new Seat(i, 1, i), BigDecimal.TEN));
+        }
+        return ticketList;
+    }
+
+    private static ByteArrayOutputStream mockOutput(HttpServletResponse response) throws IOException {
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        when(response.getOutputStream()).thenReturn(new ServletOutputStream() {
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+            }
+
+            @Override
+            public void write(int b) {
+                content.write(b);
+            }
+        });
+        return content;
+    }
+
+    @Test
+    void exportPdfContainsPagePerTicket() throws IOException {
+        HttpServletResponse response = mock(HttpServletResponse.class);
+        final ByteArrayOutputStream content = mockOutput(response);
+        exportService.writeTicketsToResponse(createTickets(5), Locale.ENGLISH, Format.PDF, response);
+        verify(response).setContentType("application/pdf");
+        assertEquals(5, new PdfReader(content.toByteArray()).getNumberOfPages());
+    }
+
+    @Test
+    void exportZipContainsFilePerTicketInOrder() throws IOException {
+        HttpServletResponse response = mock(HttpServletResponse.class);
+        final ByteArrayOutputStream content = mockOutput(response);
+        exportService.writeTicketsToResponse(createTickets(3), Locale.ENGLISH, Format.ZIP, response);
+        List<String> names = new ArrayList<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(content.toByteArray()))) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                names.add(entry.getName());
+            }
+        }
+        assertEquals(List.of("ticket_1.pdf", "ticket_2.pdf", "ticket_3.pdf"), names);
+    }
+
+    @Test
+    void exportEmptyListThrowEmptyListException() {
+        HttpServletResponse response = mock(HttpServletResponse.class);
+        assertThrows(EmptyListException.class,
+                () -> exportService.writeTicketsToResponse(List.of(), Locale.ENGLISH, Format.PDF, response));
+        verifyNoInteractions(response);
+    }
+}
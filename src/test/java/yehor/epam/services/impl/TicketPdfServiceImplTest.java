@@ -1,29 +1,40 @@
 package yehor.epam.services.impl;
 
 import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import yehor.epam.cache.RenderedTicketCache;
 import yehor.epam.entities.Film;
 import yehor.epam.entities.Seat;
 import yehor.epam.entities.Session;
 import yehor.epam.entities.Ticket;
 import yehor.epam.exceptions.PdfException;
 import yehor.epam.services.TicketPdfService;
+import yehor.epam.utilities.PdfBufferPool;
+import yehor.epam.utilities.TicketPdfEngine;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.Locale;
 
-import static org.junit.jupiter.api.Assertions.fail;
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
+import static yehor.epam.utilities.constants.OtherConstants.*;
 
 class TicketPdfServiceImplTest {
     private final TicketPdfService ticketPdfService = spy(TicketPdfServiceImpl.class);
 
+    @TempDir
+    Path cacheDirectory;
+
     @Test
     void formPDFTicket() {
         Ticket ticket = mock(Ticket.class);
@@ -71,4 +82,89 @@ class TicketPdfServiceImplTest {
         verify(stream).flush();
         verify(stream).close();
     }
-}
\ No newline at end of file
+
+    @Test
+    void writePdfTicketToResponseSetsContentLength() throws IOException {
+        PdfBufferPool pool = new PdfBufferPool(1, 1024, 1024 * 1024);
+        TicketPdfService service = new TicketPdfServiceImpl(TicketPdfEngine.getInstance(), pool,
+                new RenderedTicketCache(1, cacheDirectory));
+        HttpServletResponse response = mock(HttpServletResponse.class);
+        ServletOutputStream servletOutputStream = mock(ServletOutputStream.class);
+        when(response.getOutputStream()).thenReturn(servletOutputStream);
+        service.writePdfTicketToResponse(createTicket(), Locale.ENGLISH, response);
+        verify(response).setContentLength(intThat(length -> length > 0));
+        verify(servletOutputStream, atLeastOnce()).write(any(byte[].class), anyInt(), anyInt());
+        assertEquals(1, pool.getFreeCount());
+    }
+
+    @Test
+    void writePdfTicketToResponseStreamsWhenPoolIsExhausted() throws IOException {
+        PdfBufferPool pool = new PdfBufferPool(1, 1024, 1024 * 1024);
+        final PdfBufferPool.Buffer buffer = pool.acquire();
+        TicketPdfService service = new TicketPdfServiceImpl(TicketPdfEngine.getInstance(), pool,
+                new RenderedTicketCache(1, cacheDirectory));
+        HttpServletResponse response = mock(HttpServletResponse.class);
+        ServletOutputStream servletOutputStream = mock(ServletOutputStream.class);
+        when(response.getOutputStream()).thenReturn(servletOutputStream);
+        service.writePdfTicketToResponse(createTicket(), Locale.ENGLISH, response);
+        verify(response, never()).setContentLength(anyInt());
+        verify(servletOutputStream, never()).close();
+        pool.release(buffer);
+        assertEquals(1, pool.getFreeCount());
+    }
+
+    @Test
+    void failedRenderingDoesNotSetPdfHeaders() {
+        TicketPdfEngine engine = mock(TicketPdfEngine.class);
+        doThrow(new PdfException("render failed")).when(engine).render(any(), any(), any());
+        TicketPdfService service = new TicketPdfServiceImpl(engine, new PdfBufferPool(1, 1024, 1024 * 1024),
+                new RenderedTicketCache(1, cacheDirectory));
+        HttpServletResponse response = mock(HttpServletResponse.class);
+        assertThrows(PdfException.class, () -> service.writePdfTicketToResponse(createTicket(), Locale.ENGLISH, response));
+        verify(response, never()).setContentType(PDF_CONTENT_TYPE);
+        verify(response, never()).setHeader(eq(CONTENT_DISPOSITION_HEADER), anyString());
+    }
+
+    @Test
+    void writeCachedPdfTicketToResponseUsesSendfile() throws IOException {
+        RenderedTicketCache cache = new RenderedTicketCache(1, cacheDirectory);
+        TicketPdfService service = new TicketPdfServiceImpl(TicketPdfEngine.getInstance(),
+                new PdfBufferPool(1, 1024, 1024 * 1024), cache);
+        HttpServletRequest request = mock(HttpServletRequest.class);
+        HttpServletResponse response = mock(HttpServletResponse.class);
+        when(response.getOutputStream()).thenReturn(mock(ServletOutputStream.class));
+        when(request.getAttribute(SENDFILE_SUPPORT_ATTRIBUTE)).thenReturn(Boolean.TRUE);
+        assertFalse(service.writeCachedPdfTicketToResponse(1, Locale.ENGLISH, request, response));
+
+        // rendered ticket is stored only on disk, so it is sent from there
+        service.writePdfTicketToResponse(createTicket(), Locale.ENGLISH, response);
+        HttpServletResponse cachedResponse = mock(HttpServletResponse.class);
+        assertTrue(service.writeCachedPdfTicketToResponse(1, Locale.ENGLISH, request, cachedResponse));
+        verify(request).setAttribute(eq(SENDFILE_FILENAME_ATTRIBUTE), anyString());
+        verify(cachedResponse).setContentLengthLong(longThat(length -> length > 0));
+        verify(cachedResponse, never()).getOutputStream();
+    }
+
+    @Test
+    void writeCachedPdfTicketToResponseKeepsRequestedTicketInMemory() throws IOException {
+        RenderedTicketCache cache = new RenderedTicketCache(1, cacheDirectory);
+        TicketPdfService service = new TicketPdfServiceImpl(TicketPdfEngine.getInstance(),
+                new PdfBufferPool(1, 1024, 1024 * 1024), cache);
+        HttpServletResponse response = mock(HttpServletResponse.class);
+        when(response.getOutputStream()).thenReturn(mock(ServletOutputStream.class));
+        service.writePdfTicketToResponse(createTicket(), Locale.ENGLISH, response);
+        assertNull(cache.get(1, Locale.ENGLISH));
+
+        HttpServletResponse cachedResponse = mock(HttpServletResponse.class);
+        when(cachedResponse.getOutputStream()).thenReturn(mock(ServletOutputStream.class));
+        assertTrue(service.writeCachedPdfTicketToResponse(1, Locale.ENGLISH, mock(HttpServletRequest.class), cachedResponse));
+        verify(cachedResponse).setContentLength(intThat(length -> length > 0));
+        assertNotNull(cache.get(1, Locale.ENGLISH));
+    }
+
+    private static Ticket createTicket() {
+        Film film = new Film(1, "name", "description", "poster", Duration.ofMinutes(90));
+        Session session = new Session(1, BigDecimal.TEN, LocalDate.now(), LocalTime.NOON, film, 10);
+        return new Ticket(1, session, null, new Seat(1, 1, 1), BigDecimal.TEN);
+    }
+}
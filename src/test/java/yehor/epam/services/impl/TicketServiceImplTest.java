@@ -183,4 +183,18 @@ class TicketServiceImplTest {
         final Ticket ticketServiceById = ticketService.getById(1);
         assertEquals(ticket, ticketServiceById);
     }
-}
\ No newline at end of file
+
+    @Test
+    void getAllBySessionId() throws DaoException, ServiceException {
+        List<Ticket> ticketList = List.of(mock(Ticket.class));
+        when(ticketDao.findAllBySessionId(1)).thenReturn(ticketList);
+        assertEquals(ticketList, ticketService.getAllBySessionId(1));
+    }
+
+    @Test
+    void getAllBySessionIdAndUserId() throws DaoException, ServiceException {
+        List<Ticket> ticketList = List.of(mock(Ticket.class));
+        when(ticketDao.findAllBySessionIdAndUserId(1, 2)).thenReturn(ticketList);
+        assertEquals(ticketList, ticketService.getAllBySessionIdAndUserId(1, 2));
+    }
+}
@@ -4,6 +4,7 @@ import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.MockedStatic;
 import yehor.epam.dao.FilmDao;
 import yehor.epam.dao.UserDao;
@@ -13,14 +14,16 @@ import yehor.epam.entities.Film;
 import yehor.epam.entities.User;
 import yehor.epam.exceptions.AuthException;
 import yehor.epam.exceptions.DaoException;
+import yehor.epam.exceptions.RegisterException;
 import yehor.epam.exceptions.ServiceException;
 import yehor.epam.services.UserService;
-
-import java.util.HashMap;
-import java.util.Map;
+import yehor.epam.utilities.PassEncryptionManager;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.fail;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.*;
 import static org.mockito.Mockito.when;
 
@@ -29,7 +32,6 @@ class UserServiceImplTest {
     private static UserDao userDao;
     private static MockedStatic<DaoFactoryDeliver> factoryDeliver;
 
-
     @BeforeAll
     static void setup() {
         userService = spy(UserServiceImpl.class);
@@ -50,18 +52,46 @@ class UserServiceImplTest {
     }
 
     @Test
-    void authenticateUser() throws ServiceException, AuthException, DaoException {
-        String login = "login";
-        String salt = "salt";
-        String password = "pass";
-        Map<String, String> saltAndPass = mock(Map.class);
-        when(userDao.getSaltAndPassByLogin(login)).thenReturn(saltAndPass);
-        when(saltAndPass.get("salt")).thenReturn(salt);
-        when(saltAndPass.get("password")).thenReturn(password);
-        try {
-            userService.authenticateUser(login, password);
-            fail("AuthException should be thrown");
-        } catch (AuthException e) {}
+    void authenticateReturnsUserFoundByOneQuery() throws ServiceException, AuthException, DaoException {
+        final String login = "single@query.com";
+        final String salt = "salt";
+        final User user = new User(5, "Name", "Surname", login,
+                new PassEncryptionManager().generateSecurePassword("pass", salt), true, salt);
+        when(userDao.getUserByLogin(login)).thenReturn(user);
+
+        final User authenticated = userService.authenticate(login, "pass");
+        assertEquals(5, authenticated.getId());
+        assertNull(authenticated.getPassword());
+        assertNull(authenticated.getSalt());
+        verify(userDao, times(1)).getUserByLogin(login);
+    }
+
+    @Test
+    void authenticateRejectsWrongPasswordAndUnknownUser() throws AuthException, DaoException {
+        final String salt = "salt";
+        when(userDao.getUserByLogin("known@mail.com")).thenReturn(new User(6, "Name", "Surname", "known@mail.com",
+                new PassEncryptionManager().generateSecurePassword("pass", salt), true, salt));
+        when(userDao.getUserByLogin("unknown@mail.com")).thenThrow(new AuthException("Couldn't find user"));
+        assertThrows(AuthException.class, () -> userService.authenticate("known@mail.com", "wrong"));
+        assertThrows(AuthException.class, () -> userService.authenticate("unknown@mail.com", "pass"));
+    }
+
+    @Test
+    void authenticateUpgradesOutdatedHash() throws ServiceException, AuthException, DaoException {
+        final String login = "legacy@mail.com";
+        final String salt = "salt";
+        final String oldHash = new PassEncryptionManager(PassEncryptionManager.Algorithm.PBKDF2_SHA1, 1000)
+                .generateSecurePassword("pass", salt);
+        when(userDao.getUserByLogin(login)).thenReturn(new User(7, "Name", "Surname", login, oldHash, true, salt));
+        when(userDao.replacePassword(eq(7), eq(oldHash), anyString(), anyString())).thenReturn(true);
+
+        userService.authenticate(login, "pass");
+        final ArgumentCaptor<String> newHash = ArgumentCaptor.forClass(String.class);
+        final ArgumentCaptor<String> newSalt = ArgumentCaptor.forClass(String.class);
+        verify(userDao).replacePassword(eq(7), eq(oldHash), newHash.capture(), newSalt.capture());
+        final PassEncryptionManager manager = new PassEncryptionManager();
+        assertFalse(manager.needsRehash(newHash.getValue()));
+        assertTrue(manager.verifyUserPassword("pass", newHash.getValue(), newSalt.getValue()));
     }
 
     @Test
@@ -80,17 +110,17 @@ class UserServiceImplTest {
         assertEquals(user, us);
     }
 
-    @Test
-    void getMaxId() throws DaoException, ServiceException {
-        when(userDao.getMaxId()).thenReturn(2);
-        final int maxId = userService.getMaxId();
-        assertEquals(2, maxId);
-    }
-
     @Test
     void save() throws ServiceException, DaoException {
         User user = mock(User.class);
         userService.save(user);
         verify(userDao).insert(user);
     }
+
+    @Test
+    void saveDuplicateEmail() throws DaoException {
+        User user = mock(User.class);
+        when(userDao.insert(user)).thenThrow(new RegisterException("There is a user with such an email already"));
+        assertThrows(ServiceException.class, () -> userService.save(user));
+    }
 }
\ No newline at end of file
@@ -1,33 +1,32 @@
 package yehor.epam.services.impl;
 
 import jakarta.servlet.http.HttpServletRequest;
-import jakarta.servlet.http.HttpServletResponse;
 import org.junit.jupiter.api.Test;
-import yehor.epam.exceptions.VerifyException;
 import yehor.epam.services.VerifyService;
 
-import static org.junit.jupiter.api.Assertions.fail;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 class VerifyServiceImplTest {
-    private VerifyService verifyService = spy(VerifyServiceImpl.class);
+    private final CaptchaClient captchaClient = mock(CaptchaClient.class);
+    private final VerifyService verifyService = new VerifyServiceImpl(captchaClient);
 
     @Test
-    void captchaValidationThrowVerifyException() {
+    void missingCaptchaIsNotVerified() {
         HttpServletRequest request = mock(HttpServletRequest.class);
-        HttpServletResponse response = mock(HttpServletResponse.class);
         when(request.getParameter("g-recaptcha-response")).thenReturn(null);
-        verifyService.captchaValidation(request, response);
-        verify(response, only()).isCommitted();
+        assertFalse(verifyService.verifyAsync(request).join());
+        verifyNoInteractions(captchaClient);
     }
 
     @Test
-    void captchaValidation() {
+    void captchaIsVerifiedByClient() {
         HttpServletRequest request = mock(HttpServletRequest.class);
-        HttpServletResponse response = mock(HttpServletResponse.class);
         when(request.getParameter("g-recaptcha-response")).thenReturn("response");
-        verifyService.captchaValidation(request, response);
-        verify(verifyService).captchaValidation(request, response);
+        when(request.getRemoteAddr()).thenReturn("10.0.0.1");
+        when(captchaClient.verify("response", "10.0.0.1")).thenReturn(CompletableFuture.completedFuture(true));
+        assertTrue(verifyService.verifyAsync(request).join());
     }
-
-}
\ No newline at end of file
+}
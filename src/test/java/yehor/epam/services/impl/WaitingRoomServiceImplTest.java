@@ -0,0 +1,89 @@
+package yehor.epam.services.impl;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class WaitingRoomServiceImplTest {
+    private static final int SESSION_ID = 7;
+    private static final String HOLDER = "ip:10.0.0.1";
+    private final Clock clock = mock(Clock.class);
+    private WaitingRoomServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        when(clock.millis()).thenReturn(1_000_000L);
+        service = new WaitingRoomServiceImpl(2, 3, Duration.ofHours(2), clock, id -> id == SESSION_ID);
+    }
+
+    @Test
+    void burstIsAdmittedAndOthersQueueInOrder() {
+        final String[] tickets = new String[6];
+        for (int i = 0; i < tickets.length; i++) tickets[i] = service.join(SESSION_ID, HOLDER);
+        assertEquals(0, service.getPosition(SESSION_ID, tickets[0], HOLDER));
+        assertEquals(0, service.getPosition(SESSION_ID, tickets[2], HOLDER));
+        assertEquals(1, service.getPosition(SESSION_ID, tickets[3], HOLDER));
+        assertEquals(3, service.getPosition(SESSION_ID, tickets[5], HOLDER));
+    }
+
+    @Test
+    void queueIsReleasedByRate() {
+        final String[] tickets = new String[8];
+        for (int i = 0; i < tickets.length; i++) tickets[i] = service.join(SESSION_ID, HOLDER);
+        when(clock.millis()).thenReturn(1_000_999L);
+        assertEquals(1, service.getPosition(SESSION_ID, tickets[4], HOLDER), "partial second releases only whole tickets");
+        when(clock.millis()).thenReturn(1_001_500L);
+        assertEquals(0, service.getPosition(SESSION_ID, tickets[5], HOLDER));
+        assertEquals(2, service.getPosition(SESSION_ID, tickets[7], HOLDER));
+    }
+
+    @Test
+    void quietQueueDoesNotSaveUpReleases() {
+        service.join(SESSION_ID, HOLDER);
+        when(clock.millis()).thenReturn(1_000_000L + Duration.ofMinutes(10).toMillis());
+        final String[] tickets = new String[10];
+        for (int i = 0; i < tickets.length; i++) tickets[i] = service.join(SESSION_ID, HOLDER);
+        assertEquals(0, service.getPosition(SESSION_ID, tickets[2], HOLDER));
+        assertEquals(1, service.getPosition(SESSION_ID, tickets[3], HOLDER));
+    }
+
+    @Test
+    void invalidTicketsHaveNoPosition() {
+        final String ticket = service.join(SESSION_ID, HOLDER);
+        assertEquals(-1, service.getPosition(SESSION_ID, null, HOLDER));
+        assertEquals(-1, service.getPosition(SESSION_ID, "garbage", HOLDER));
+        assertEquals(-1, service.getPosition(SESSION_ID + 1, ticket, HOLDER), "ticket is bound to its session");
+        final String forged = ticket.substring(0, ticket.indexOf('.') + 1) + "AAAA";
+        assertEquals(-1, service.getPosition(SESSION_ID, forged, HOLDER));
+        final WaitingRoomServiceImpl otherNode = new WaitingRoomServiceImpl(2, 3, Duration.ofHours(2), clock, id -> id == SESSION_ID);
+        otherNode.join(SESSION_ID, HOLDER);
+        assertEquals(-1, otherNode.getPosition(SESSION_ID, ticket, HOLDER));
+
+        when(clock.millis()).thenReturn(1_000_000L + Duration.ofHours(2).toMillis());
+        assertEquals(-1, service.getPosition(SESSION_ID, ticket, HOLDER), "ticket is expired");
+    }
+
+    @Test
+    void ticketIsBoundToHolder() {
+        final String ticket = service.join(SESSION_ID, HOLDER);
+        assertEquals(0, service.getPosition(SESSION_ID, ticket, HOLDER));
+        assertEquals(-1, service.getPosition(SESSION_ID, ticket, "ip:10.0.0.2"), "copied ticket isn't valid");
+        assertEquals(0, service.getPosition(SESSION_ID, ticket, "user:5", HOLDER), "logging in keeps the place");
+        final String userTicket = service.join(SESSION_ID, "user:5");
+        assertEquals(0, service.getPosition(SESSION_ID, userTicket, "user:5", "ip:10.0.0.2"));
+        assertEquals(-1, service.getPosition(SESSION_ID, userTicket, "user:6", HOLDER));
+    }
+
+    @Test
+    void noQueueForMissingSession() {
+        assertNull(service.join(SESSION_ID + 1, HOLDER));
+        final String ticket = service.join(SESSION_ID, HOLDER);
+        assertEquals(-1, service.getPosition(SESSION_ID + 1, ticket, HOLDER));
+    }
+}
@@ -0,0 +1,82 @@
+package yehor.epam.servletController;
+
+import org.junit.jupiter.api.Test;
+import yehor.epam.actions.BaseCommand;
+import yehor.epam.actions.commands.MainPageCommand;
+import yehor.epam.actions.commands.tickets.BuyTicketCommand;
+
+import java.util.Properties;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdmissionControllerTest {
+    private final BaseCommand buyTicket = new BuyTicketCommand();
+    private final BaseCommand mainPage = new MainPageCommand();
+
+    private static AdmissionController create(String... settings) {
+        final Properties properties = new Properties();
+        for (int i = 0; i < settings.length; i += 2) properties.setProperty(settings[i], settings[i + 1]);
+        return new AdmissionController(properties);
+    }
+
+    @Test
+    void requestAboveLimitIsShedWithoutQueue() {
+        final AdmissionController controller = create("BuyTicketCommand.limit", "1", "BuyTicketCommand.queue", "0");
+        final AdmissionController.Permit permit = controller.tryAdmit(buyTicket);
+        assertNotNull(permit);
+        assertNull(controller.tryAdmit(buyTicket));
+        assertNotNull(controller.tryAdmit(mainPage), "other commands aren't limited by purchases");
+        assertEquals(1, controller.getShedCount("BuyTicketCommand"));
+
+        permit.close();
+        permit.close();
+        assertNotNull(controller.tryAdmit(buyTicket));
+        assertNull(controller.tryAdmit(buyTicket));
+    }
+
+    @Test
+    void queuedRequestWaitsForFreeSlot() throws Exception {
+        final AdmissionController controller = create("BuyTicketCommand.limit", "1",
+                "BuyTicketCommand.queue", "1", "BuyTicketCommand.wait", "5000");
+        final AdmissionController.Permit permit = controller.tryAdmit(buyTicket);
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            final Future<AdmissionController.Permit> queued = executor.submit(() -> controller.tryAdmit(buyTicket));
+            while (!controller.getStatistics().contains("waiting=1")) Thread.onSpinWait();
+            assertNull(controller.tryAdmit(buyTicket), "queue is full");
+            permit.close();
+            assertNotNull(queued.get(5, TimeUnit.SECONDS));
+            assertEquals(2, controller.getAdmittedCount());
+            assertEquals(1, controller.getShedCount());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void requestIsShedAfterMaxWait() {
+        final AdmissionController controller = create("default.limit", "1", "default.queue", "4", "default.wait", "20");
+        assertNotNull(controller.tryAdmit(mainPage));
+        assertNull(controller.tryAdmit(mainPage));
+        assertEquals(1, controller.getShedCount("MainPageCommand"));
+    }
+
+    @Test
+    void limitIsChangedAtRuntime() {
+        final AdmissionController controller = create("default.queue", "0");
+        controller.setLimit("BuyTicketCommand", 2);
+        final AdmissionController.Permit first = controller.tryAdmit(buyTicket);
+        final AdmissionController.Permit second = controller.tryAdmit(buyTicket);
+        assertNotNull(second);
+        assertNull(controller.tryAdmit(buyTicket));
+
+        controller.setLimit("BuyTicketCommand", 1);
+        first.close();
+        assertNull(controller.tryAdmit(buyTicket), "running requests still exceed the new limit");
+        second.close();
+        assertNotNull(controller.tryAdmit(buyTicket));
+        assertEquals(1, controller.getLimit("BuyTicketCommand"));
+        assertThrows(IllegalArgumentException.class, () -> controller.setLimit("BuyTicketCommand", 0));
+    }
+}
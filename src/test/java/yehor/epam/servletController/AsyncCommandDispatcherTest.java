@@ -0,0 +1,236 @@
+package yehor.epam.servletController;
+
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import yehor.epam.actions.BaseCommand;
+import yehor.epam.actions.SlowCommand.Workload;
+import yehor.epam.actions.commands.MainPageCommand;
+import yehor.epam.actions.commands.tickets.DownloadPDFTicketCommand;
+import yehor.epam.utilities.VirtualThreads;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+import static yehor.epam.utilities.constants.OtherConstants.*;
+
+class AsyncCommandDispatcherTest {
+    private ExecutorService executor;
+    private AsyncCommandDispatcher dispatcher;
+    private HttpServletRequest request;
+    private HttpServletResponse response;
+    private AsyncContext asyncContext;
+
+    @BeforeEach
+    void setup() {
+        executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new SynchronousQueue<>());
+        Map<Workload, ExecutorService> executors = new EnumMap<>(Workload.class);
+        executors.put(Workload.PDF, executor);
+        dispatcher = new AsyncCommandDispatcher(executors);
+        request = mock(HttpServletRequest.class);
+        response = mock(HttpServletResponse.class);
+        asyncContext = mock(AsyncContext.class);
+        when(request.startAsync(request, response)).thenReturn(asyncContext);
+    }
+
+    @AfterEach
+    void clean() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void getWorkloadOfMarkedCommand() {
+        assertEquals(Workload.PDF, AsyncCommandDispatcher.getWorkload(mock(DownloadPDFTicketCommand.class)));
+        assertNull(AsyncCommandDispatcher.getWorkload(mock(MainPageCommand.class)));
+    }
+
+    @Test
+    void dispatchExecutesCommandAndCompletes() {
+        BaseCommand command = mock(BaseCommand.class);
+        dispatcher.dispatch(command, Workload.PDF, request, response);
+        verify(command, timeout(1000)).execute(any(HttpServletRequest.class), any(HttpServletResponse.class));
+        verify(asyncContext, timeout(1000)).complete();
+        verify(asyncContext).setTimeout(Workload.PDF.getTimeout().toMillis());
+    }
+
+    @Test
+    void forwardOfCommandIsDispatchedByAsyncContext() {
+        BaseCommand command = (req, resp) -> {
+            try {
+                req.getRequestDispatcher("/WEB-INF/jsp/page.jsp").forward(req, resp);
+            } catch (ServletException | IOException e) {
+                fail(e);
+            }
+        };
+        dispatcher.dispatch(command, Workload.PDF, request, response);
+        verify(asyncContext, timeout(1000)).dispatch("/WEB-INF/jsp/page.jsp");
+        verify(asyncContext, never()).complete();
+    }
+
+    @Test
+    void dispatchToFullExecutorAnswers503() throws IOException, InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        BaseCommand blockingCommand = (req, resp) -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        dispatcher.dispatch(blockingCommand, Workload.PDF, request, response);
+
+        HttpServletRequest rejectedRequest = mock(HttpServletRequest.class);
+        HttpServletResponse rejectedResponse = mock(HttpServletResponse.class);
+        AsyncContext rejectedContext = mock(AsyncContext.class);
+        when(rejectedRequest.startAsync(rejectedRequest, rejectedResponse)).thenReturn(rejectedContext);
+        BaseCommand command = mock(BaseCommand.class);
+        dispatcher.dispatch(command, Workload.PDF, rejectedRequest, rejectedResponse);
+        release.countDown();
+
+        verify(rejectedResponse).sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        verify(rejectedResponse).setHeader(eq(RETRY_AFTER_HEADER), anyString());
+        verify(rejectedContext).complete();
+        verifyNoInteractions(command);
+    }
+
+    @Test
+    void timedOutCommandGets503AndDoesNotWriteAfter() throws IOException, InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch returned = new CountDownLatch(1);
+        BaseCommand blockingCommand = (req, resp) -> {
+            started.countDown();
+            try {
+                new CountDownLatch(1).await();
+            } catch (InterruptedException e) {
+                try {
+                    resp.getOutputStream().write(1);
+                    resp.sendRedirect("/late");
+                } catch (IOException ioException) {
+                    fail(ioException);
+                }
+            } finally {
+                returned.countDown();
+            }
+        };
+        dispatcher.dispatch(blockingCommand, Workload.PDF, request, response);
+        assertTrue(started.await(1, TimeUnit.SECONDS));
+        ArgumentCaptor<AsyncListener> listener = ArgumentCaptor.forClass(AsyncListener.class);
+        verify(asyncContext).addListener(listener.capture());
+        listener.getValue().onTimeout(new AsyncEvent(asyncContext));
+
+        verify(response).sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        verify(asyncContext).complete();
+        assertTrue(returned.await(1, TimeUnit.SECONDS));
+        verify(response, never()).getOutputStream();
+        verify(response, never()).sendRedirect(anyString());
+        verify(asyncContext, after(200).times(1)).complete();
+    }
+
+    @Test
+    void timeoutAfterCommandFinishedIsIgnored() throws IOException {
+        BaseCommand command = mock(BaseCommand.class);
+        dispatcher.dispatch(command, Workload.PDF, request, response);
+        verify(asyncContext, timeout(1000)).complete();
+        ArgumentCaptor<AsyncListener> listener = ArgumentCaptor.forClass(AsyncListener.class);
+        verify(asyncContext).addListener(listener.capture());
+        listener.getValue().onTimeout(new AsyncEvent(asyncContext));
+
+        verify(asyncContext, times(1)).complete();
+        verify(response, never()).sendError(anyInt());
+    }
+
+    @Test
+    void requestCompletedByContainerOnErrorIsNotCompletedAgain() throws IOException, InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        BaseCommand blockingCommand = (req, resp) -> {
+            started.countDown();
+            try {
+                new CountDownLatch(1).await();
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+        };
+        dispatcher.dispatch(blockingCommand, Workload.PDF, request, response);
+        assertTrue(started.await(1, TimeUnit.SECONDS));
+        ArgumentCaptor<AsyncListener> listener = ArgumentCaptor.forClass(AsyncListener.class);
+        verify(asyncContext).addListener(listener.capture());
+
+        listener.getValue().onError(new AsyncEvent(asyncContext));
+
+        assertTrue(interrupted.await(1, TimeUnit.SECONDS));
+        verify(asyncContext, after(200).never()).complete();
+    }
+
+    @Test
+    void onFinishedIsCalledOnlyAfterCommandReturns() throws IOException, InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        BaseCommand blockingCommand = (req, resp) -> {
+            started.countDown();
+            while (true) {
+                try {
+                    release.await();
+                    return;
+                } catch (InterruptedException e) {
+                    // like JDBC or hashing, the command doesn't stop on interrupt
+                }
+            }
+        };
+        Runnable onFinished = mock(Runnable.class);
+        dispatcher.dispatch(blockingCommand, Workload.PDF, request, response, onFinished);
+        assertTrue(started.await(1, TimeUnit.SECONDS));
+        ArgumentCaptor<AsyncListener> listener = ArgumentCaptor.forClass(AsyncListener.class);
+        verify(asyncContext).addListener(listener.capture());
+
+        listener.getValue().onTimeout(new AsyncEvent(asyncContext));
+        listener.getValue().onError(new AsyncEvent(asyncContext));
+        verify(onFinished, after(200).never()).run();
+
+        release.countDown();
+        verify(onFinished, timeout(1000).times(1)).run();
+    }
+
+    @Test
+    void platformModeDispatchesOnlySlowCommands() {
+        assertTrue(dispatcher.isAsync(Workload.PDF));
+        assertFalse(dispatcher.isAsync(null));
+    }
+
+    @Test
+    void virtualModeDispatchesFastCommand() {
+        ExecutorService virtualExecutor = Executors.newSingleThreadExecutor();
+        try {
+            AsyncCommandDispatcher virtualDispatcher = new AsyncCommandDispatcher(new EnumMap<>(Workload.class), virtualExecutor);
+            assertTrue(virtualDispatcher.isAsync(null));
+            BaseCommand command = mock(BaseCommand.class);
+            virtualDispatcher.dispatch(command, null, request, response);
+            verify(command, timeout(1000)).execute(any(HttpServletRequest.class), any(HttpServletResponse.class));
+            verify(asyncContext, timeout(1000)).complete();
+        } finally {
+            virtualExecutor.shutdownNow();
+        }
+    }
+
+    @Test
+    void virtualModeFallsBackToPlatformWithoutVirtualThreads() {
+        System.setProperty(COMMAND_EXECUTION_PROPERTY, "virtual");
+        try {
+            CommandExecutionMode expected = VirtualThreads.isSupported() ? CommandExecutionMode.VIRTUAL : CommandExecutionMode.PLATFORM;
+            assertEquals(expected, CommandExecutionMode.fromConfiguration());
+        } finally {
+            System.clearProperty(COMMAND_EXECUTION_PROPERTY);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package yehor.epam.servletController;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RateLimiterTest {
+    private static final Duration PERIOD = Duration.ofMinutes(1);
+    private final AtomicLong now = new AtomicLong();
+
+    private RateLimiter create(int maxBuckets) {
+        return new RateLimiter(List.of(
+                new RateLimiter.Rule("login", "ip", 4, PERIOD, false, HttpServletRequest::getRemoteAddr),
+                new RateLimiter.Rule("login", "account", 2, PERIOD, true, RateLimiter.accountOf("login"))
+        ), maxBuckets, maxBuckets, now::get);
+    }
+
+    private static HttpServletRequest request(String ip, String login) {
+        final HttpServletRequest request = mock(HttpServletRequest.class);
+        when(request.getRemoteAddr()).thenReturn(ip);
+        when(request.getParameter("login")).thenReturn(login);
+        return request;
+    }
+
+    @Test
+    void accountIsLimitedAcrossIpsAndCase() {
+        final RateLimiter limiter = create(100);
+        assertEquals(0, limiter.tryAcquire("login", request("10.0.0.1", "user@mail.com")));
+        assertEquals(0, limiter.tryAcquire("login", request("10.0.0.2", " USER@mail.com")));
+        assertEquals(30, limiter.tryAcquire("login", request("10.0.0.3", "user@mail.com")));
+        assertEquals(0, limiter.tryAcquire("login", request("10.0.0.3", "other@mail.com")));
+        assertEquals(1, limiter.getRejectedCount("login.account"));
+        assertEquals(0, limiter.getRejectedCount("login.ip"));
+        assertEquals(0, limiter.tryAcquire("register", request("10.0.0.3", "user@mail.com")), "other commands aren't limited");
+    }
+
+    @Test
+    void ipIsLimitedAndRefilledEvenly() {
+        final RateLimiter limiter = create(100);
+        for (int i = 0; i < 4; i++) {
+            assertEquals(0, limiter.tryAcquire("login", request("10.0.0.1", "user" + i)));
+        }
+        assertEquals(15, limiter.tryAcquire("login", request("10.0.0.1", "user9")));
+        now.addAndGet(TimeUnit.SECONDS.toNanos(15));
+        assertEquals(0, limiter.tryAcquire("login", request("10.0.0.1", "user9")));
+        assertEquals(15, limiter.tryAcquire("login", request("10.0.0.1", null)), "missing login is still limited by IP");
+        assertEquals(0, limiter.tryAcquire("login", request("10.0.0.2", "user8")));
+        assertEquals(2, limiter.getRejectedCount());
+    }
+
+    @Test
+    void bucketCountIsBounded() {
+        final RateLimiter limiter = create(8);
+        for (int i = 0; i < 100; i++) {
+            assertEquals(0, limiter.tryAcquire("login", request("10.0.1." + i, null)));
+        }
+        assertTrue(limiter.getBucketCount() <= 8);
+        now.addAndGet(PERIOD.toNanos());
+        limiter.tryAcquire("login", request("10.0.2.1", null));
+        assertEquals(1, limiter.getBucketCount(), "full buckets are dropped first");
+    }
+
+    @Test
+    void accountBucketSurvivesIpFlood() {
+        final RateLimiter limiter = create(8);
+        assertEquals(0, limiter.tryAcquire("login", request("10.0.0.1", "victim@mail.com")));
+        assertEquals(0, limiter.tryAcquire("login", request("10.0.0.1", "victim@mail.com")));
+        for (int i = 0; i < 100; i++) {
+            now.addAndGet(TimeUnit.MILLISECONDS.toNanos(10));
+            assertEquals(0, limiter.tryAcquire("login", request("10.0.1." + i, null)));
+        }
+        assertTrue(limiter.getBucketCount() <= 9);
+        assertTrue(limiter.tryAcquire("login", request("10.0.2.1", "victim@mail.com")) > 0,
+                "account bucket isn't reset by the flood");
+    }
+
+    @Test
+    void loginSprayEvictsAccountsClosestToFull() {
+        final RateLimiter limiter = create(8);
+        assertEquals(0, limiter.tryAcquire("login", request("10.0.0.1", "victim@mail.com")));
+        assertEquals(0, limiter.tryAcquire("login", request("10.0.0.1", "victim@mail.com")));
+        for (int i = 0; i < 100; i++) {
+            now.addAndGet(TimeUnit.MILLISECONDS.toNanos(10));
+            assertEquals(0, limiter.tryAcquire("login", request("10.0.1." + i, "user" + i)), "new logins aren't blocked");
+        }
+        assertTrue(limiter.getBucketCount() <= 2 * 8);
+        assertTrue(limiter.tryAcquire("login", request("10.0.2.1", "victim@mail.com")) > 0,
+                "empty account bucket is kept longest");
+        assertTrue(limiter.getDroppedBucketCount() > 0);
+    }
+}
@@ -0,0 +1,153 @@
+package yehor.epam.sessionstore;
+
+import jakarta.servlet.http.HttpSession;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import yehor.epam.entities.PendingOrder;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static yehor.epam.utilities.constants.OtherConstants.*;
+
+class SharedSessionManagerTest {
+    @TempDir
+    Path directory;
+
+    /**
+     * Session mock calling the manager as SharedSessionListener does
+     */
+    private static HttpSession createSession(SharedSessionManager manager) {
+        final HttpSession session = mock(HttpSession.class);
+        final Map<String, Object> attributes = new HashMap<>();
+        doAnswer(invocation -> {
+            attributes.put(invocation.getArgument(0), invocation.getArgument(1));
+            manager.markDirty(session, invocation.getArgument(0));
+            return null;
+        }).when(session).setAttribute(anyString(), any());
+        doAnswer(invocation -> attributes.remove(invocation.<String>getArgument(0)))
+                .when(session).removeAttribute(anyString());
+        when(session.getAttribute(anyString())).thenAnswer(invocation -> attributes.get(invocation.<String>getArgument(0)));
+        when(session.getAttributeNames()).thenAnswer(invocation -> Collections.enumeration(attributes.keySet()));
+        return session;
+    }
+
+    @Test
+    void codecRoundTrip() throws Exception {
+        final Map<String, Object> attributes = new HashMap<>();
+        attributes.put(LANG, "en");
+        attributes.put(USER_ID, 7);
+        attributes.put(PENDING_ORDER_ATTRIBUTE, new PendingOrder(3, 7, new int[]{1, 2}));
+        attributes.put("notSerializable", new Object());
+
+        final Map<String, Object> decoded = SessionAttributesCodec.decode(SessionAttributesCodec.encode(attributes));
+        assertEquals(3, decoded.size());
+        assertEquals("en", decoded.get(LANG));
+        assertEquals(7, decoded.get(USER_ID));
+        assertArrayEquals(new String[]{"1", "2"}, ((PendingOrder) decoded.get(PENDING_ORDER_ATTRIBUTE)).getSeatIdParams());
+    }
+
+    @Test
+    void onlyChangedSessionsAreWritten() throws Exception {
+        final SessionStore store = spy(new FileSessionStore(directory));
+        final SharedSessionManager manager = new SharedSessionManager(store);
+        final HttpSession session = createSession(manager);
+        final String key = manager.bind(session);
+        assertTrue(SharedSessionManager.isValidKey(key));
+        assertEquals(0, manager.getDirtyCount());
+
+        session.setAttribute(LANG, "en");
+        session.setAttribute(LANG, "uk");
+        assertEquals(1, manager.getDirtyCount());
+        verify(store, never()).save(anyString(), any());
+
+        assertEquals(1, manager.flush());
+        assertEquals(0, manager.flush());
+        verify(store, times(1)).save(eq(key), any());
+    }
+
+    @Test
+    void failoverNodeLoadsStoredSession() {
+        final SharedSessionManager nodeA = new SharedSessionManager(new FileSessionStore(directory));
+        final HttpSession sessionA = createSession(nodeA);
+        final String key = nodeA.bind(sessionA);
+        sessionA.setAttribute(LANG, "en");
+        sessionA.setAttribute(PENDING_ORDER_ATTRIBUTE, new PendingOrder(3, 7, new int[]{5}));
+        nodeA.flush();
+
+        final SharedSessionManager nodeB = new SharedSessionManager(new FileSessionStore(directory));
+        final Map<String, Object> attributes = nodeB.load(key);
+        assertNotNull(attributes);
+        final HttpSession sessionB = createSession(nodeB);
+        nodeB.restore(sessionB, key, attributes);
+
+        assertEquals("en", sessionB.getAttribute(LANG));
+        assertEquals(key, nodeB.getKey(sessionB));
+        assertEquals(0, nodeB.getDirtyCount());
+        assertNull(nodeB.load("unknownKeyOfThirtyTwoCharacters0"));
+    }
+
+    @Test
+    void staleLocalSessionIsReloadedAfterFailback() throws Exception {
+        final SharedSessionManager nodeA = new SharedSessionManager(new FileSessionStore(directory));
+        final HttpSession sessionA = createSession(nodeA);
+        final String key = nodeA.bind(sessionA);
+        sessionA.setAttribute(LANG, "en");
+        sessionA.setAttribute(PENDING_ORDER_ATTRIBUTE, new PendingOrder(3, 7, new int[]{5}));
+        nodeA.flush();
+        when(sessionA.getLastAccessedTime()).thenReturn(System.currentTimeMillis());
+        nodeA.refreshIfStale(sessionA);
+        assertEquals("en", sessionA.getAttribute(LANG), "recently used session isn't checked");
+
+        final SharedSessionManager nodeB = new SharedSessionManager(new FileSessionStore(directory));
+        final HttpSession sessionB = createSession(nodeB);
+        nodeB.restore(sessionB, key, nodeB.load(key));
+        sessionB.setAttribute(LANG, "uk");
+        sessionB.removeAttribute(PENDING_ORDER_ATTRIBUTE);
+        // file modification time may have a coarse resolution
+        Thread.sleep(1100);
+        nodeB.flush();
+
+        when(sessionA.getLastAccessedTime()).thenReturn(System.currentTimeMillis() - SESSION_STORE_FLUSH_PERIOD.toMillis() - 1);
+        nodeA.refreshIfStale(sessionA);
+        assertEquals("uk", sessionA.getAttribute(LANG));
+        assertNull(sessionA.getAttribute(PENDING_ORDER_ATTRIBUTE));
+        assertEquals(key, nodeA.getKey(sessionA));
+        assertEquals(0, nodeA.getDirtyCount());
+    }
+
+    @Test
+    void invalidatedSessionIsRemovedAndExpiredIsKept() throws Exception {
+        final SessionStore store = new FileSessionStore(directory);
+        final SharedSessionManager manager = new SharedSessionManager(store);
+        final HttpSession session = createSession(manager);
+        final String key = manager.bind(session);
+        session.setAttribute(LANG, "en");
+        manager.flush();
+
+        when(session.getMaxInactiveInterval()).thenReturn(1800);
+        when(session.getLastAccessedTime()).thenReturn(System.currentTimeMillis() - 3_600_000);
+        manager.destroyed(session);
+        assertNotNull(store.load(key));
+
+        when(session.getLastAccessedTime()).thenReturn(System.currentTimeMillis());
+        manager.destroyed(session);
+        assertNull(store.load(key));
+    }
+
+    @Test
+    void fileStoreRemovesOldSessions() throws Exception {
+        final SessionStore store = new FileSessionStore(directory);
+        store.save("first", new byte[]{1});
+        assertEquals(0, store.removeSavedBefore(Instant.now().minusSeconds(60)));
+        assertEquals(1, store.removeSavedBefore(Instant.now().plusSeconds(60)));
+        assertNull(store.load("first"));
+        assertThrows(Exception.class, () -> store.load("../first"));
+    }
+}
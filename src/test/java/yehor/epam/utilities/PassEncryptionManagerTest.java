@@ -41,4 +41,43 @@ class PassEncryptionManagerTest {
         final boolean b = manager.verifyUserPassword("321", encodePass, saltValue);
         Assertions.assertFalse(b);
     }
-}
\ No newline at end of file
+
+    @Test
+    void legacyHashIsVerifiedAndRehashedOnlyAtRaisedCost() {
+        final String saltValue = manager.getSaltValue(SALT_LENGTH);
+        final String hash = new PassEncryptionManager(PassEncryptionManager.Algorithm.PBKDF2_SHA1, 10000)
+                .generateSecurePassword("123", saltValue);
+        final String legacyHash = hash.substring(hash.lastIndexOf('$') + 1);
+        Assertions.assertTrue(manager.verifyUserPassword("123", legacyHash, saltValue));
+        Assertions.assertFalse(manager.verifyUserPassword("1234", legacyHash, saltValue));
+        Assertions.assertFalse(manager.needsRehash(legacyHash));
+        Assertions.assertTrue(new PassEncryptionManager(PassEncryptionManager.Algorithm.PBKDF2_SHA256, 1000)
+                .needsRehash(legacyHash));
+    }
+
+    @Test
+    void hashOfOtherCostIsVerifiedAndNeedsRehash() {
+        final String saltValue = manager.getSaltValue(SALT_LENGTH);
+        final String hash = new PassEncryptionManager(PassEncryptionManager.Algorithm.PBKDF2_SHA512, 1000)
+                .generateSecurePassword("123", saltValue);
+        Assertions.assertTrue(hash.startsWith("$pbkdf2-sha512$1000$"));
+        Assertions.assertTrue(manager.verifyUserPassword("123", hash, saltValue));
+        Assertions.assertTrue(manager.needsRehash(hash));
+        Assertions.assertFalse(manager.needsRehash(manager.generateSecurePassword("123", saltValue)));
+    }
+
+    @Test
+    void malformedHashIsNotVerified() {
+        final String saltValue = manager.getSaltValue(SALT_LENGTH);
+        Assertions.assertFalse(manager.verifyUserPassword("123", "$md5$1$abc", saltValue));
+        Assertions.assertFalse(manager.verifyUserPassword("123", "$pbkdf2-sha256$x$abc", saltValue));
+        Assertions.assertFalse(manager.verifyUserPassword("123", "not base64!", saltValue));
+        Assertions.assertFalse(manager.verifyUserPassword("123", "", saltValue));
+    }
+
+    @Test
+    void dummyPasswordIsNeverVerified() {
+        Assertions.assertFalse(manager.verifyDummyPassword("123"));
+        Assertions.assertFalse(manager.verifyDummyPassword(null));
+    }
+}
@@ -0,0 +1,129 @@
+package yehor.epam.utilities;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpSession;
+import org.junit.jupiter.api.Test;
+import yehor.epam.entities.User;
+import yehor.epam.exceptions.ServiceException;
+import yehor.epam.services.AuthTokenService;
+import yehor.epam.services.ServiceContainer;
+import yehor.epam.services.UserService;
+import yehor.epam.services.ValidService;
+import yehor.epam.services.impl.UserServiceImpl;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static yehor.epam.utilities.constants.OtherConstants.*;
+
+class RequestContextTest {
+    private final HttpServletRequest request = mock(HttpServletRequest.class);
+    private final Map<String, Object> attributes = new HashMap<>();
+
+    RequestContextTest() {
+        doAnswer(invocation -> attributes.put(invocation.getArgument(0), invocation.getArgument(1)))
+                .when(request).setAttribute(anyString(), any());
+        when(request.getAttribute(anyString())).thenAnswer(invocation -> attributes.get(invocation.<String>getArgument(0)));
+    }
+
+    @Test
+    void anonymousRequestDoesNotCreateSession() {
+        when(request.getCookies()).thenReturn(new Cookie[]{new Cookie(LANG, "en")});
+        final RequestContext context = RequestContext.get(request);
+        context.syncSession(request);
+
+        assertEquals(User.Role.GUEST, context.getRole());
+        assertEquals("en", context.getLang());
+        assertFalse(context.isLangChanged());
+        verify(request, never()).getSession(true);
+        verify(request, never()).getSession();
+    }
+
+    @Test
+    void contextIsResolvedOnce() {
+        assertSame(RequestContext.get(request), RequestContext.get(request));
+        verify(request, times(1)).getCookies();
+    }
+
+    @Test
+    void localesAreShared() {
+        assertSame(RequestContext.getLocale("uk"), RequestContext.getLocale("uk"));
+        when(request.getParameter(LANG)).thenReturn("uk");
+        assertSame(RequestContext.getLocale("uk"), RequestContext.get(request).getLocale());
+        assertTrue(RequestContext.get(request).isLangChanged());
+    }
+
+    @Test
+    void loginIsTakenFromTokenWithoutSession() {
+        final String token = ServiceContainer.getInstance().get(AuthTokenService.class)
+                .issueToken(7, User.Role.USER, Duration.ofHours(1));
+        when(request.getCookies()).thenReturn(new Cookie[]{new Cookie(AUTH_TOKEN_COOKIE, token)});
+        final RequestContext context = RequestContext.get(request);
+        context.syncSession(request);
+
+        assertEquals(User.Role.USER, context.getRole());
+        assertEquals(7, context.getUserId());
+        verify(request, never()).getSession(true);
+    }
+
+    @Test
+    void plainRoleCookiesAreIgnored() {
+        when(request.getCookies()).thenReturn(new Cookie[]{new Cookie(USER_ID, "1"), new Cookie(USER_ROLE, "ADMIN"),
+                new Cookie(AUTH_TOKEN_COOKIE, "forged.token")});
+        final RequestContext context = RequestContext.get(request);
+        assertEquals(User.Role.GUEST, context.getRole());
+        assertEquals(0, context.getUserId());
+    }
+
+    @Test
+    void unchangedSessionValuesAreNotWritten() {
+        final HttpSession session = mock(HttpSession.class);
+        when(request.getSession(false)).thenReturn(session);
+        when(session.getAttribute(LANG)).thenReturn("en");
+        final RequestContext context = RequestContext.get(request);
+        context.syncSession(request);
+
+        verify(session, never()).setAttribute(anyString(), any());
+    }
+
+    @Test
+    void expiredLoginIsRefreshedWithRoleFromDb() throws ServiceException {
+        final User user = new User(7, "first", "last", "user@mail.com", null, false, null);
+        user.setUserRole(User.Role.ADMIN);
+        user.setTokenVersion(2);
+        final UserService userService = mock(UserService.class);
+        when(userService.getById(7)).thenReturn(user);
+        final String refreshToken = ServiceContainer.getInstance().get(AuthTokenService.class)
+                .issueRefreshToken(7, 2, Duration.ofDays(1));
+        when(request.getCookies()).thenReturn(new Cookie[]{new Cookie(REFRESH_TOKEN_COOKIE, refreshToken)});
+        ServiceContainer.getInstance().register(UserService.class, () -> userService);
+        try {
+            final RequestContext context = RequestContext.get(request);
+            assertEquals(RequestContext.LoginRefresh.REFRESHED, context.getLoginRefresh());
+            assertEquals(User.Role.ADMIN, context.getRole());
+            assertEquals(7, context.getUserId());
+
+            user.setTokenVersion(3);
+            attributes.clear();
+            final RequestContext revoked = RequestContext.get(request);
+            assertEquals(RequestContext.LoginRefresh.REVOKED, revoked.getLoginRefresh());
+            assertEquals(User.Role.GUEST, revoked.getRole());
+        } finally {
+            ServiceContainer.getInstance().register(UserService.class,
+                    () -> new UserServiceImpl(ServiceContainer.getInstance().get(ValidService.class)));
+        }
+    }
+
+    @Test
+    void forgedRefreshTokenIsRevokedWithoutDb() {
+        when(request.getCookies()).thenReturn(new Cookie[]{new Cookie(REFRESH_TOKEN_COOKIE, "forged.token")});
+        final RequestContext context = RequestContext.get(request);
+        assertEquals(RequestContext.LoginRefresh.REVOKED, context.getLoginRefresh());
+        assertEquals(User.Role.GUEST, context.getRole());
+    }
+}
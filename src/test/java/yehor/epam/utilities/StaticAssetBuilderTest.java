@@ -0,0 +1,56 @@
+package yehor.epam.utilities;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static yehor.epam.utilities.constants.OtherConstants.STATIC_ASSET_MANIFEST;
+
+class StaticAssetBuilderTest {
+    @TempDir
+    Path source;
+    @TempDir
+    Path target;
+
+    @Test
+    void minifiedAssetsAreFingerprintedAndCompressed() throws IOException {
+        final Path css = Files.createDirectories(source.resolve("css"));
+        final String minified = ".row{display:flex}".repeat(50);
+        Files.writeString(css.resolve("bootstrap.css"), ".row {\n  display: flex;\n}\n");
+        Files.writeString(css.resolve("bootstrap.min.css"), minified);
+        Files.writeString(css.resolve("bootstrap.min.css.map"), "{}");
+        Files.writeString(css.resolve("my-styles.css"), "body {background-image: url(./images/site_pattern.png);}");
+
+        final Map<String, String> manifest = StaticAssetBuilder.build(source, target);
+
+        assertEquals(2, manifest.size());
+        final String fingerprinted = manifest.get("css/bootstrap.min.css");
+        assertTrue(fingerprinted.matches("css/bootstrap\\.min\\.[0-9a-f]{10}\\.css"));
+        assertEquals(minified, Files.readString(target.resolve(fingerprinted)));
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(StaticAssetBuilder.gzipFileOf(target.resolve(fingerprinted))))) {
+            assertEquals(minified, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        assertTrue(Files.readString(target.resolve(manifest.get("css/my-styles.css"))).contains("url(../../images/site_pattern.png)"));
+        assertTrue(Files.exists(target.resolve(STATIC_ASSET_MANIFEST)));
+    }
+
+    @Test
+    void fingerprintChangesWithContent() throws IOException {
+        final Path js = Files.createDirectories(source.resolve("js"));
+        Files.writeString(js.resolve("app.js"), "var a = 1;");
+        final String first = StaticAssetBuilder.build(source, target).get("js/app.js");
+        Files.writeString(js.resolve("app.js"), "var a = 2;");
+        final String second = StaticAssetBuilder.build(source, target).get("js/app.js");
+
+        assertNotEquals(first, second);
+        assertFalse(Files.exists(StaticAssetBuilder.gzipFileOf(target.resolve(second))), "tiny file isn't worth compressing");
+    }
+}
@@ -0,0 +1,45 @@
+package yehor.epam.utilities;
+
+import com.itextpdf.text.pdf.PdfReader;
+import com.itextpdf.text.pdf.parser.PdfTextExtractor;
+import org.junit.jupiter.api.Test;
+import yehor.epam.entities.Film;
+import yehor.epam.entities.Seat;
+import yehor.epam.entities.Session;
+import yehor.epam.entities.Ticket;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TicketPdfEngineTest {
+    private final TicketPdfEngine engine = TicketPdfEngine.getInstance();
+
+    private static Ticket createTicket(int id, String filmName, BigDecimal price) {
+        final Film film = new Film(id, filmName, "description", "poster", Duration.ofMinutes(90));
+        final Session session = new Session(id, price, LocalDate.of(2030, 1, 1), LocalTime.NOON, film, 10);
+        return new Ticket(id, session, null, new Seat(id, 2, 5), price);
+    }
+
+    private String renderText(Ticket ticket) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        engine.render(ticket, Locale.ENGLISH, outputStream);
+        return PdfTextExtractor.getTextFromPage(new PdfReader(outputStream.toByteArray()), 1);
+    }
+
+    @Test
+    void renderFillsValuesWithoutChangingTemplate() throws IOException {
+        final String first = renderText(createTicket(1, "First film", BigDecimal.valueOf(100.5)));
+        final String second = renderText(createTicket(2, "Second film", BigDecimal.TEN));
+        assertTrue(first.contains("First film"));
+        assertTrue(first.contains("100.5"));
+        assertTrue(second.contains("Second film"));
+        assertFalse(second.contains("First film"));
+    }
+}